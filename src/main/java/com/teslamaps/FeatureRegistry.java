@@ -0,0 +1,165 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps;
+
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.teslamaps.config.TeslaMapsConfig;
+import com.teslamaps.dungeon.DungeonFloor;
+import com.teslamaps.dungeon.DungeonManager;
+import com.teslamaps.perf.Profiler;
+import com.teslamaps.render.WorldCulling;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * Tick, world-render and chat handlers with an activation predicate (config section, area, floor, extra
+ * condition). Predicates are only evaluated when something they read changes - dungeon state or floor,
+ * or a config save - so a detached feature costs nothing per tick. Buses are plain arrays rebuilt on refresh.
+ */
+public class FeatureRegistry {
+
+    public enum Area { ANYWHERE, DUNGEON, BOSS }
+
+    public static final class Feature {
+        private final String name;
+        private String section;
+        private Area area = Area.ANYWHERE;
+        private int floor = -1;
+        private BooleanSupplier condition;
+        private Runnable tick;
+        private Runnable onDetach;
+        private BiConsumer<PoseStack, Vec3> render;
+        private Consumer<String> chat;
+        private WorldCulling.Category cull = WorldCulling.Category.GENERAL;
+        private final String tickName, renderName, chatName;
+        private boolean active;
+
+        private Feature(String name) {
+            this.name = name;
+            this.tickName = "tick:" + name;
+            this.renderName = "world:" + name;
+            this.chatName = "chat:" + name;
+        }
+
+        /** Config section master toggle ({@link TeslaMapsConfig#section}). */
+        public Feature section(String section) { this.section = section; return this; }
+        public Feature area(Area area) { this.area = area; return this; }
+        /** Dungeon floor level (1-7, either mode); implies {@link Area#DUNGEON}. */
+        public Feature floor(int level) { this.floor = level; if (area == Area.ANYWHERE) area = Area.DUNGEON; return this; }
+        /** Extra condition; must only read state that invalidates the registry (config, dungeon state). */
+        public Feature when(BooleanSupplier condition) { this.condition = condition; return this; }
+        public Feature tick(Runnable tick) { this.tick = tick; return this; }
+        public Feature render(BiConsumer<PoseStack, Vec3> render) { this.render = render; return this; }
+        public Feature chat(Consumer<String> chat) { this.chat = chat; return this; }
+        /** Culling category (max distance) for what the render handler draws. */
+        public Feature cull(WorldCulling.Category cull) { this.cull = cull; return this; }
+        /** Run once when the feature goes from active to inactive, in place of the tick's own cleanup branch. */
+        public Feature onDetach(Runnable onDetach) { this.onDetach = onDetach; return this; }
+
+        public String getName() { return name; }
+        public boolean isActive() { return active; }
+
+        public String describe() {
+            StringBuilder sb = new StringBuilder();
+            if (section != null) sb.append("section=").append(section).append(' ');
+            if (area != Area.ANYWHERE) sb.append("area=").append(area).append(' ');
+            if (floor > 0) sb.append("floor=").append(floor).append(' ');
+            if (render != null && cull != WorldCulling.Category.GENERAL) sb.append("cull=").append(cull).append(' ');
+            if (condition != null) sb.append("+cond ");
+            sb.append('[');
+            if (tick != null) sb.append('T');
+            if (render != null) sb.append('R');
+            if (chat != null) sb.append('C');
+            return sb.append(']').toString();
+        }
+
+        private boolean shouldBeActive(TeslaMapsConfig cfg) {
+            if (section != null && !cfg.section(section)) return false;
+            switch (area) {
+                case DUNGEON -> { if (!DungeonManager.isInDungeon()) return false; }
+                case BOSS -> { if (!DungeonManager.isInBoss()) return false; }
+                default -> {}
+            }
+            if (floor > 0) {
+                DungeonFloor f = DungeonManager.getCurrentFloor();
+                if (f == null || f.getLevel() != floor) return false;
+            }
+            return condition == null || condition.getAsBoolean();
+        }
+    }
+
+    private static final Feature[] NONE = new Feature[0];
+    private static final List<Feature> features = new ArrayList<>();
+    private static Feature[] ticking = NONE;
+    private static Feature[] rendering = NONE;
+    private static Feature[] chatting = NONE;
+    private static boolean dirty = true;
+
+    public static Feature register(String name) {
+        Feature f = new Feature(name);
+        features.add(f);
+        dirty = true;
+        return f;
+    }
+
+    /** Something a predicate reads has changed; re-evaluated on the next tick. */
+    public static void invalidate() {
+        dirty = true;
+    }
+
+    public static void tick() {
+        if (dirty) refresh();
+        for (Feature f : ticking) Profiler.run(f.tickName, f.tick);
+    }
+
+    public static void render(PoseStack matrices, Vec3 cameraPos) {
+        for (Feature f : rendering) {
+            WorldCulling.setCategory(f.cull);
+            Profiler.run(f.renderName, f.render, matrices, cameraPos);
+        }
+        WorldCulling.setCategory(WorldCulling.Category.GENERAL);
+    }
+
+    public static void onChatMessage(String text) {
+        for (Feature f : chatting) Profiler.run(f.chatName, f.chat, text);
+    }
+
+    private static void refresh() {
+        dirty = false;
+        TeslaMapsConfig cfg = TeslaMapsConfig.get();
+        List<Feature> t = new ArrayList<>(), r = new ArrayList<>(), c = new ArrayList<>();
+        for (Feature f : features) {
+            boolean now = f.shouldBeActive(cfg);
+            if (f.active && !now && f.onDetach != null) f.onDetach.run();
+            if (f.active != now) TeslaMaps.LOGGER.debug("[Features] {} {}", now ? "attached" : "detached", f.name);
+            f.active = now;
+            if (!now) continue;
+            if (f.tick != null) t.add(f);
+            if (f.render != null) r.add(f);
+            if (f.chat != null) c.add(f);
+        }
+        ticking = t.toArray(NONE);
+        rendering = r.toArray(NONE);
+        chatting = c.toArray(NONE);
+    }
+
+    public static List<Feature> getFeatures() {
+        return Collections.unmodifiableList(features);
+    }
+}
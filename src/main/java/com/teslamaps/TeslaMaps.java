@@ -16,6 +16,7 @@
 package com.teslamaps;
 
 import com.mojang.blaze3d.vertex.PoseStack;
+import com.teslamaps.FeatureRegistry.Area;
 import com.teslamaps.command.TMapCommand;
 import com.teslamaps.config.TeslaMapsConfig;
 import com.teslamaps.database.RoomDatabase;
@@ -40,6 +41,7 @@ import com.teslamaps.dungeon.puzzle.CreeperBeamsSolver;
 import com.teslamaps.dungeon.puzzle.SpiritBearTimer;
 import com.teslamaps.dungeon.puzzle.WaterBoardSolver;
 import com.teslamaps.esp.StarredMobESP;
+import com.teslamaps.perf.Profiler;
 import com.teslamaps.features.AutoGFS;
 import com.teslamaps.features.AutoWish;
 import com.teslamaps.features.LividSolver;
@@ -52,11 +54,13 @@ import com.teslamaps.render.MapRenderer;
 import com.teslamaps.render.TeslaRenderLayers;
 import com.teslamaps.render.TeslaRenderPipelines;
 import com.teslamaps.scanner.MapScanner;
+import com.teslamaps.scanner.RoomFrame;
 import com.teslamaps.scanner.RoomScanner;
 import com.teslamaps.scanner.SecretTracker;
 import com.teslamaps.slayer.SlayerHUD;
 import net.fabricmc.api.ClientModInitializer;
 import net.fabricmc.fabric.api.client.command.v2.ClientCommandRegistrationCallback;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientChunkEvents;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.client.rendering.v1.hud.HudElementRegistry;
 import net.fabricmc.fabric.api.client.rendering.v1.hud.VanillaHudElements;
@@ -66,7 +70,10 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.resources.Identifier;
 import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
+import java.util.function.BooleanSupplier;
 import com.teslamaps.render.ESPRenderer;
+import com.teslamaps.render.WorldCulling;
+import com.teslamaps.render.WorldCulling.Category;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -82,11 +89,14 @@ public class TeslaMaps implements ClientModInitializer {
 
         TeslaMapsConfig.load();
         com.teslamaps.features.StorageCache.load();
+        com.teslamaps.dungeon.RunHistory.load();
+        com.teslamaps.hud.BuiltinHudElements.register();
 
         TeslaRenderPipelines.init();
         TeslaRenderLayers.init();
 
         RoomDatabase.getInstance().load();
+        com.teslamaps.database.RoomColumnIndex.load();
 
         com.teslamaps.dungeon.DungeonWaypoints.load();
         com.teslamaps.dungeon.PrinceWaypoints.load();
@@ -95,21 +105,26 @@ public class TeslaMaps implements ClientModInitializer {
 
         net.fabricmc.fabric.api.client.message.v1.ClientSendMessageEvents.MODIFY_COMMAND.register(TMapCommand::expandShortcut);
 
-        HudElementRegistry.addLast(Identifier.fromNamespaceAndPath(MOD_ID, "map"), (g, d) -> { if (TeslaMapsConfig.get().section("Map")) MapRenderer.render(g, d); });
-        HudElementRegistry.addLast(Identifier.fromNamespaceAndPath(MOD_ID, "slayer"), (g, d) -> { if (TeslaMapsConfig.get().section("Slayer")) SlayerHUD.render(g, d); });
-        HudElementRegistry.addLast(Identifier.fromNamespaceAndPath(MOD_ID, "livid"), (g, d) -> { if (TeslaMapsConfig.get().section("ESP")) LividSolver.renderHUD(g, d); });
-        HudElementRegistry.addLast(Identifier.fromNamespaceAndPath(MOD_ID, "spiritbear"), (g, d) -> { if (TeslaMapsConfig.get().section("Puzzles")) SpiritBearTimer.render(g, d); });
-        HudElementRegistry.addLast(Identifier.fromNamespaceAndPath(MOD_ID, "bearspawn"), (g, d) -> { if (TeslaMapsConfig.get().section("Sounds")) BearSpawnWarning.render(g, d); });
-        HudElementRegistry.addLast(Identifier.fromNamespaceAndPath(MOD_ID, "thornstun"), (g, d) -> { if (TeslaMapsConfig.get().section("Puzzles")) com.teslamaps.features.ThornStunTimer.render(g, d); });
-        HudElementRegistry.addLast(Identifier.fromNamespaceAndPath(MOD_ID, "sprinting"), (g, d) -> { if (TeslaMapsConfig.get().section("Render")) com.teslamaps.features.SprintingOverlay.render(g, d); });
-        HudElementRegistry.addLast(Identifier.fromNamespaceAndPath(MOD_ID, "dungeontimers"), (g, d) -> { if (TeslaMapsConfig.get().section("Timers")) com.teslamaps.features.DungeonTimers.render(g, d); });
-        HudElementRegistry.addLast(Identifier.fromNamespaceAndPath(MOD_ID, "splits"), (g, d) -> { if (TeslaMapsConfig.get().section("Score & Splits")) com.teslamaps.dungeon.Splits.render(g, d); });
-        HudElementRegistry.addLast(Identifier.fromNamespaceAndPath(MOD_ID, "roomsplits"), (g, d) -> { if (TeslaMapsConfig.get().section("Score & Splits")) com.teslamaps.dungeon.RoomSplits.render(g, d); });
-        HudElementRegistry.addLast(Identifier.fromNamespaceAndPath(MOD_ID, "watcherhud"), (g, d) -> { if (TeslaMapsConfig.get().section("Score & Splits")) com.teslamaps.dungeon.WatcherAddons.render(g, d); });
-        HudElementRegistry.addLast(Identifier.fromNamespaceAndPath(MOD_ID, "bloodcamp"), (g, d) -> { if (TeslaMapsConfig.get().section("Blood Camp")) com.teslamaps.dungeon.BloodCamp.render(g, d); });
+        HudElementRegistry.addLast(Identifier.fromNamespaceAndPath(MOD_ID, "map"), Profiler.hud("hud:map", (g, d) -> { if (TeslaMapsConfig.get().section("Map")) MapRenderer.render(g, d); }));
+        HudElementRegistry.addLast(Identifier.fromNamespaceAndPath(MOD_ID, "slayer"), Profiler.hud("hud:slayer", (g, d) -> { if (TeslaMapsConfig.get().section("Slayer")) SlayerHUD.render(g, d); }));
+        HudElementRegistry.addLast(Identifier.fromNamespaceAndPath(MOD_ID, "livid"), Profiler.hud("hud:livid", (g, d) -> { if (TeslaMapsConfig.get().section("ESP")) LividSolver.renderHUD(g, d); }));
+        HudElementRegistry.addLast(Identifier.fromNamespaceAndPath(MOD_ID, "spiritbear"), Profiler.hud("hud:spiritbear", (g, d) -> { if (TeslaMapsConfig.get().section("Puzzles")) SpiritBearTimer.render(g, d); }));
+        HudElementRegistry.addLast(Identifier.fromNamespaceAndPath(MOD_ID, "bearspawn"), Profiler.hud("hud:bearspawn", (g, d) -> { if (TeslaMapsConfig.get().section("Sounds")) BearSpawnWarning.render(g, d); }));
+        HudElementRegistry.addLast(Identifier.fromNamespaceAndPath(MOD_ID, "thornstun"), Profiler.hud("hud:thornstun", (g, d) -> { if (TeslaMapsConfig.get().section("Puzzles")) com.teslamaps.features.ThornStunTimer.render(g, d); }));
+        HudElementRegistry.addLast(Identifier.fromNamespaceAndPath(MOD_ID, "sprinting"), Profiler.hud("hud:sprinting", (g, d) -> { if (TeslaMapsConfig.get().section("Render")) com.teslamaps.features.SprintingOverlay.render(g, d); }));
+        HudElementRegistry.addLast(Identifier.fromNamespaceAndPath(MOD_ID, "dungeontimers"), Profiler.hud("hud:dungeontimers", (g, d) -> { if (TeslaMapsConfig.get().section("Timers")) com.teslamaps.features.DungeonTimers.render(g, d); }));
+        HudElementRegistry.addLast(Identifier.fromNamespaceAndPath(MOD_ID, "splits"), Profiler.hud("hud:splits", (g, d) -> { if (TeslaMapsConfig.get().section("Score & Splits")) com.teslamaps.dungeon.Splits.render(g, d); }));
+        HudElementRegistry.addLast(Identifier.fromNamespaceAndPath(MOD_ID, "roomsplits"), Profiler.hud("hud:roomsplits", (g, d) -> { if (TeslaMapsConfig.get().section("Score & Splits")) com.teslamaps.dungeon.RoomSplits.render(g, d); }));
+        HudElementRegistry.addLast(Identifier.fromNamespaceAndPath(MOD_ID, "watcherhud"), Profiler.hud("hud:watcherhud", (g, d) -> { if (TeslaMapsConfig.get().section("Score & Splits")) com.teslamaps.dungeon.WatcherAddons.render(g, d); }));
+        HudElementRegistry.addLast(Identifier.fromNamespaceAndPath(MOD_ID, "bloodcamp"), Profiler.hud("hud:bloodcamp", (g, d) -> { if (TeslaMapsConfig.get().section("Blood Camp")) com.teslamaps.dungeon.BloodCamp.render(g, d); }));
 
         HudElementRegistry.replaceElement(VanillaHudElements.MOB_EFFECTS, original ->
                 (ctx, delta) -> { if (!TeslaMapsConfig.get().noEffects) original.extractRenderState(ctx, delta); });
+        HudElementRegistry.addLast(Identifier.fromNamespaceAndPath(MOD_ID, "perf"), Profiler::renderHud);
+        HudElementRegistry.addLast(Identifier.fromNamespaceAndPath(MOD_ID, "culling"), WorldCulling::renderDebug);
+        HudElementRegistry.addLast(Identifier.fromNamespaceAndPath(MOD_ID, "hudtext"), com.teslamaps.hud.HudText::renderDebug);
+
+        registerFeatures();
 
         StarredMobESP.init();
 
@@ -120,152 +135,154 @@ public class TeslaMaps implements ClientModInitializer {
             if (mc.gameRenderer != null && mc.gameRenderer.getMainCamera() != null) {
                 Vec3 cameraPos = mc.gameRenderer.getMainCamera().position();
                 Vec3 playerEyePos = cameraPos;
+                ESPRenderer.beginFrame(cameraPos);
                 if (TeslaMapsConfig.get().section("ESP") && !com.teslamaps.features.LegitMode.blocksCheats()) {
+                    WorldCulling.setCategory(WorldCulling.Category.MOBS);
+                    long espStart = Profiler.start();
                     StarredMobESP.renderWorldElements(
                             context.poseStack(),
                             context.bufferSource(),
                             cameraPos,
                             playerEyePos
                     );
+                    Profiler.stop("world:StarredMobESP", espStart);
+                    long lividStart = Profiler.start();
                     LividSolver.renderWorld(
                             context.poseStack(),
                             context.bufferSource(),
                             cameraPos,
                             playerEyePos
                     );
+                    Profiler.stop("world:LividSolver", lividStart);
+                    WorldCulling.setCategory(WorldCulling.Category.GENERAL);
                 }
 
-                if (TeslaMapsConfig.get().section("Puzzles")) {
-                    DungeonBlaze.render(context.poseStack(), cameraPos);
-                    ThreeWeirdos.render(context.poseStack(), cameraPos);
-                    TicTacToe.render(context.poseStack(), cameraPos);
-                    BoulderSolver.render(context.poseStack(), cameraPos);
-                    QuizSolver.render(context.poseStack(), cameraPos);
-                    TPMazeSolver.render(context.poseStack(), cameraPos);
-                    CreeperBeamsSolver.render(context.poseStack(), cameraPos);
-                    WaterBoardSolver.render(context.poseStack(), cameraPos);
-                    com.teslamaps.dungeon.puzzle.IceFillSolver.render(context.poseStack(), cameraPos);
-                    com.teslamaps.dungeon.puzzle.IcePathSolver.render(context.poseStack(), cameraPos);
-                }
-                if (TeslaMapsConfig.get().section("Dragons")) {
-                    com.teslamaps.dungeon.WitherDragons.render(context.poseStack(), cameraPos);
-                    com.teslamaps.features.DragonESP.render(context.poseStack(), cameraPos);
-                }
-                if (TeslaMapsConfig.get().section("ESP") && !com.teslamaps.features.LegitMode.blocksCheats()) {
-                    com.teslamaps.features.HighlightTeammates.render(context.poseStack(), cameraPos);
-                }
-
-                if (TeslaMapsConfig.get().section("Waypoints")) {
-                    SecretWaypoints.render(context.poseStack(), cameraPos);
-                }
-
-                if (TeslaMapsConfig.get().section("ESP")) {
-                    com.teslamaps.features.SecretClickHighlight.render(context.poseStack(), cameraPos);
-                    com.teslamaps.features.ColorPortal.render(context.poseStack(), cameraPos);
-                }
-
-                if (TeslaMapsConfig.get().section("Render")) {
-                    com.teslamaps.features.BlockOverlay.render(context.poseStack(), cameraPos);
-                    com.teslamaps.features.ChatWaypoint.render(context.poseStack(), cameraPos);
-                    com.teslamaps.features.Etherwarp.render(context.poseStack(), cameraPos);
-                }
-
-                if (TeslaMapsConfig.get().section("Waypoints")) {
-                    com.teslamaps.dungeon.DungeonWaypoints.render(context.poseStack(), cameraPos);
-                }
-
-                if (TeslaMapsConfig.get().section("Map")) {
-                    com.teslamaps.dungeon.PrinceWaypoints.render(context.poseStack(), cameraPos);
-                }
-
-                if (TeslaMapsConfig.get().section("ESP") && !com.teslamaps.features.LegitMode.blocksCheats()) {
-                    com.teslamaps.esp.BossESP.render(context.poseStack(), cameraPos);
-                    com.teslamaps.esp.CorpseESP.render(context.poseStack(), cameraPos);
-                }
-
-                if (TeslaMapsConfig.get().section("Blood Camp")) {
-                    com.teslamaps.dungeon.BloodCamp.render(context.poseStack(), cameraPos);
-                }
+                FeatureRegistry.render(context.poseStack(), cameraPos);
 
                 if (TeslaMapsConfig.get().section("ESP") && !com.teslamaps.features.LegitMode.blocksCheats()
                         && DungeonManager.isInDungeon() && !MimicDetector.isMimicKilled() && com.teslamaps.dungeon.DungeonScore.floorHasMimics()) {
-                    renderMimicChestESP(context.poseStack(), cameraPos);
+                    Profiler.run("world:MimicChestESP", TeslaMaps::renderMimicChestESP, context.poseStack(), cameraPos);
                 }
+
+                Profiler.run("world:ESPFlush", ESPRenderer::endFrame, context.poseStack(), cameraPos);
             }
         });
 
+        ClientChunkEvents.CHUNK_LOAD.register((level, chunk) -> RoomFrame.onChunkLoad());
+
         ClientTickEvents.END_CLIENT_TICK.register(client -> {
+            com.teslamaps.hud.HudElements.tick();
             if (client.player != null && client.level != null) {
-                TeslaMapsConfig cfg = TeslaMapsConfig.get();
-                DungeonManager.tick();
-                RoomScanner.tick();
-                PlayerTracker.tick();
-                MapScanner.tick();
-                if (cfg.section("ESP")) StarredMobESP.tick();
-                SecretTracker.tick();
-                if (cfg.section("Slayer")) SlayerHUD.tick();
-                if (cfg.section("Auto")) {
-                    if (!com.teslamaps.features.LegitMode.blocksCheats()) {
-                        AutoGFS.tick();
-                        AutoWish.tick();
-                    }
-                    com.teslamaps.features.LastBreathSound.tick();
-                }
-                if (cfg.section("Timers")) com.teslamaps.features.TimerTriggers.tick();
-                if (cfg.section("Timers")) com.teslamaps.features.SpiritPetReminder.tick();
-                if (cfg.section("ESP")) com.teslamaps.features.ColorPortal.tick();
-                if (!com.teslamaps.features.LegitMode.blocksCheats()) SecretClicker.tick();
-                if (cfg.section("Sounds")) BearSpawnWarning.tick();
-                KeybindMessage.tick();
-                if (cfg.section("Render")) com.teslamaps.features.Zoom.tick();
-                com.teslamaps.features.LegitMode.tick();
-                com.teslamaps.map.LegitGuess.tick();
-                if (cfg.section("Blood Camp")) com.teslamaps.dungeon.BloodCamp.tick();
-                if (cfg.section("Party")) com.teslamaps.dungeon.AutoRequeue.tick();
-                if (cfg.section("ESP") && !com.teslamaps.features.LegitMode.blocksCheats()) LividSolver.tick();
-                MimicDetector.tick();
-                if (cfg.section("Party")) com.teslamaps.features.PartyDuplicateAlert.tick();
-                if (cfg.section("Puzzles")) {
-                DungeonBlaze.tick();
-                ThreeWeirdos.tick();
-                TicTacToe.tick();
-                // replaced by features.TerminalSolver (per-frame highlight); kept for reference
-                // StartsWithTerminal.tick();
-                // SelectAllTerminal.tick();
-                // ClickInOrderTerminal.tick();
-                // CorrectPanesTerminal.tick();
-                // MelodyTerminal.tick();
-                // RubixTerminal.tick();
-                // experimentation table solvers, disabled for now
-                // ChronomatronSolver.tick();
-                // SuperpairsSolver.tick();
-                // UltrasequencerSolver.tick();
-                BoulderSolver.tick();
-                QuizSolver.tick();
-                TPMazeSolver.tick();
-                CreeperBeamsSolver.tick();
-                SpiritBearTimer.tick();
-                com.teslamaps.features.ThornStunTimer.tick();
-                com.teslamaps.features.CustomTitles.tick();
-                WaterBoardSolver.tick();
-                com.teslamaps.dungeon.puzzle.IceFillSolver.tick();
-                com.teslamaps.dungeon.puzzle.IcePathSolver.tick();
-                com.teslamaps.dungeon.puzzle.PuzzleTimers.tick();
-                }
-                if (cfg.section("Timers")) com.teslamaps.features.CombatTimers.tick();
-                if (cfg.section("Inventory")) com.teslamaps.features.BackpackPreview.tick();
-                if (cfg.section("Dragons")) com.teslamaps.dungeon.WitherDragons.tick();
-                if (cfg.section("Waypoints")) SecretWaypoints.tick();
-                if (cfg.section("Score & Splits")) {
-                    com.teslamaps.dungeon.Splits.tick();
-                    com.teslamaps.dungeon.InstaClearAlert.tick();
-                    com.teslamaps.dungeon.RoomSplits.tick();
-                    com.teslamaps.dungeon.WatcherAddons.tick();
-                }
+                Profiler.run("tick:DungeonManager", DungeonManager::tick);
+                FeatureRegistry.tick();
             }
         });
     }
 
+    // Tick order is registration order. DungeonManager ticks ahead of the registry since its state drives it.
+    private static void registerFeatures() {
+        BooleanSupplier cheats = () -> !com.teslamaps.features.LegitMode.blocksCheats();
+
+        FeatureRegistry.register("RoomScanner").tick(RoomScanner::tick);
+        FeatureRegistry.register("PlayerTracker").area(Area.DUNGEON).tick(PlayerTracker::tick);
+        FeatureRegistry.register("MapScanner").tick(MapScanner::tick);
+        FeatureRegistry.register("RunRecorder").tick(com.teslamaps.replay.RunRecorder::tick);
+        FeatureRegistry.register("StarredMobESP").section("ESP").tick(StarredMobESP::tick);
+        FeatureRegistry.register("SecretTracker").area(Area.DUNGEON).tick(SecretTracker::tick);
+        FeatureRegistry.register("SlayerHUD").section("Slayer").tick(SlayerHUD::tick);
+        FeatureRegistry.register("AutoGFS").section("Auto").when(cheats).tick(AutoGFS::tick);
+        FeatureRegistry.register("AutoWish").section("Auto").when(cheats).tick(AutoWish::tick);
+        FeatureRegistry.register("LastBreathSound").section("Auto").tick(com.teslamaps.features.LastBreathSound::tick);
+        FeatureRegistry.register("TimerTriggers").section("Timers")
+                .tick(com.teslamaps.features.TimerTriggers::tick).chat(com.teslamaps.features.TimerTriggers::onChatMessage);
+        FeatureRegistry.register("SpiritPetReminder").section("Timers")
+                .tick(com.teslamaps.features.SpiritPetReminder::tick).chat(com.teslamaps.features.SpiritPetReminder::onChatMessage);
+        FeatureRegistry.register("ColorPortal").section("ESP")
+                .tick(com.teslamaps.features.ColorPortal::tick).render(com.teslamaps.features.ColorPortal::render);
+        FeatureRegistry.register("SecretClicker").when(cheats).tick(SecretClicker::tick);
+        FeatureRegistry.register("BearSpawnWarning").section("Sounds").tick(BearSpawnWarning::tick);
+        FeatureRegistry.register("KeybindMessage").tick(KeybindMessage::tick);
+        FeatureRegistry.register("Zoom").section("Render").tick(com.teslamaps.features.Zoom::tick);
+        FeatureRegistry.register("LegitMode").tick(com.teslamaps.features.LegitMode::tick);
+        FeatureRegistry.register("LegitGuess").tick(com.teslamaps.map.LegitGuess::tick);
+        FeatureRegistry.register("RoutePlanner").onDetach(com.teslamaps.map.RoutePlanner::reset)
+                .tick(com.teslamaps.map.RoutePlanner::tick);
+        FeatureRegistry.register("BloodCamp").section("Blood Camp").tick(com.teslamaps.dungeon.BloodCamp::tick)
+                .render(com.teslamaps.dungeon.BloodCamp::render).chat(com.teslamaps.dungeon.BloodCamp::onChatMessage);
+        FeatureRegistry.register("AutoRequeue").section("Party")
+                .tick(com.teslamaps.dungeon.AutoRequeue::tick).chat(com.teslamaps.dungeon.AutoRequeue::onChatMessage);
+        FeatureRegistry.register("LividSolver").section("ESP").when(cheats).tick(LividSolver::tick);
+        FeatureRegistry.register("MimicDetector").tick(MimicDetector::tick).chat(MimicDetector::onChatMessage);
+        FeatureRegistry.register("PartyDuplicateAlert").section("Party").tick(com.teslamaps.features.PartyDuplicateAlert::tick)
+                .chat(com.teslamaps.features.PartyDuplicateAlert::onChatMessage);
+
+        FeatureRegistry.register("DungeonBlaze").section("Puzzles").cull(Category.PUZZLES).area(Area.DUNGEON).onDetach(DungeonBlaze::reset)
+                .tick(DungeonBlaze::tick).render(DungeonBlaze::render);
+        FeatureRegistry.register("ThreeWeirdos").section("Puzzles").cull(Category.PUZZLES)
+                .tick(ThreeWeirdos::tick).render(ThreeWeirdos::render).chat(ThreeWeirdos::onChatMessage);
+        FeatureRegistry.register("TicTacToe").section("Puzzles").cull(Category.PUZZLES).area(Area.DUNGEON).onDetach(TicTacToe::reset)
+                .tick(TicTacToe::tick).render(TicTacToe::render);
+        FeatureRegistry.register("BoulderSolver").section("Puzzles").cull(Category.PUZZLES).tick(BoulderSolver::tick).render(BoulderSolver::render);
+        FeatureRegistry.register("QuizSolver").section("Puzzles").cull(Category.PUZZLES)
+                .tick(QuizSolver::tick).render(QuizSolver::render).chat(QuizSolver::onChatMessage);
+        FeatureRegistry.register("TPMazeSolver").section("Puzzles").cull(Category.PUZZLES).tick(TPMazeSolver::tick).render(TPMazeSolver::render);
+        FeatureRegistry.register("CreeperBeamsSolver").section("Puzzles").cull(Category.PUZZLES)
+                .tick(CreeperBeamsSolver::tick).render(CreeperBeamsSolver::render);
+        FeatureRegistry.register("SpiritBearTimer").section("Puzzles").tick(SpiritBearTimer::tick);
+        FeatureRegistry.register("ThornStunTimer").section("Puzzles").tick(com.teslamaps.features.ThornStunTimer::tick);
+        FeatureRegistry.register("CustomTitles").section("Puzzles")
+                .tick(com.teslamaps.features.CustomTitles::tick).chat(com.teslamaps.features.CustomTitles::onChatMessage);
+        FeatureRegistry.register("WaterBoardSolver").section("Puzzles").cull(Category.PUZZLES).tick(WaterBoardSolver::tick).render(WaterBoardSolver::render);
+        FeatureRegistry.register("IceFillSolver").section("Puzzles").cull(Category.PUZZLES).area(Area.DUNGEON)
+                .onDetach(com.teslamaps.dungeon.puzzle.IceFillSolver::reset)
+                .tick(com.teslamaps.dungeon.puzzle.IceFillSolver::tick).render(com.teslamaps.dungeon.puzzle.IceFillSolver::render);
+        FeatureRegistry.register("IcePathSolver").section("Puzzles").cull(Category.PUZZLES).area(Area.DUNGEON)
+                .onDetach(com.teslamaps.dungeon.puzzle.IcePathSolver::reset)
+                .tick(com.teslamaps.dungeon.puzzle.IcePathSolver::tick).render(com.teslamaps.dungeon.puzzle.IcePathSolver::render);
+        FeatureRegistry.register("PuzzleTimers").section("Puzzles").tick(com.teslamaps.dungeon.puzzle.PuzzleTimers::tick);
+
+        FeatureRegistry.register("CombatTimers").section("Timers").tick(com.teslamaps.features.CombatTimers::tick);
+        FeatureRegistry.register("SoundTriggers").section("Timers").onDetach(com.teslamaps.features.SoundTriggers::reset)
+                .tick(com.teslamaps.features.SoundTriggers::tick);
+        FeatureRegistry.register("BackpackPreview").section("Inventory").tick(com.teslamaps.features.BackpackPreview::tick);
+        FeatureRegistry.register("WitherDragons").section("Dragons").floor(7).onDetach(com.teslamaps.dungeon.WitherDragons::reset)
+                .tick(com.teslamaps.dungeon.WitherDragons::tick).render(com.teslamaps.dungeon.WitherDragons::render)
+                .chat(com.teslamaps.dungeon.WitherDragons::onChatMessage);
+        FeatureRegistry.register("DragonESP").section("Dragons").render(com.teslamaps.features.DragonESP::render);
+        FeatureRegistry.register("SecretWaypoints").section("Waypoints").cull(Category.SECRETS).area(Area.DUNGEON)
+                .render(SecretWaypoints::render);
+        FeatureRegistry.register("Splits").section("Score & Splits")
+                .tick(com.teslamaps.dungeon.Splits::tick).chat(com.teslamaps.dungeon.Splits::onChatMessage);
+        FeatureRegistry.register("InstaClearAlert").section("Score & Splits").area(Area.DUNGEON)
+                .onDetach(com.teslamaps.dungeon.InstaClearAlert::reset).tick(com.teslamaps.dungeon.InstaClearAlert::tick);
+        FeatureRegistry.register("RoomSplits").section("Score & Splits").tick(com.teslamaps.dungeon.RoomSplits::tick);
+        FeatureRegistry.register("WatcherAddons").section("Score & Splits")
+                .tick(com.teslamaps.dungeon.WatcherAddons::tick).chat(com.teslamaps.dungeon.WatcherAddons::onChatMessage);
+
+        // render/chat only
+        FeatureRegistry.register("HighlightTeammates").section("ESP").cull(Category.MOBS).when(cheats).area(Area.DUNGEON)
+                .render(com.teslamaps.features.HighlightTeammates::render);
+        FeatureRegistry.register("SecretClickHighlight").section("ESP")
+                .render(com.teslamaps.features.SecretClickHighlight::render);
+        FeatureRegistry.register("BlockOverlay").section("Render").render(com.teslamaps.features.BlockOverlay::render);
+        FeatureRegistry.register("ChatWaypoint").section("Render")
+                .render(com.teslamaps.features.ChatWaypoint::render).chat(com.teslamaps.features.ChatWaypoint::onChatMessage);
+        FeatureRegistry.register("Etherwarp").section("Render").render(com.teslamaps.features.Etherwarp::render);
+        FeatureRegistry.register("DungeonWaypoints").section("Waypoints").cull(Category.WAYPOINTS)
+                .render(com.teslamaps.dungeon.DungeonWaypoints::render);
+        FeatureRegistry.register("PrinceWaypoints").section("Map").cull(Category.WAYPOINTS).area(Area.DUNGEON)
+                .render(com.teslamaps.dungeon.PrinceWaypoints::render);
+        FeatureRegistry.register("BossESP").section("ESP").cull(Category.MOBS).when(cheats).area(Area.DUNGEON).render(com.teslamaps.esp.BossESP::render);
+        FeatureRegistry.register("CorpseESP").section("ESP").cull(Category.MOBS).when(cheats).render(com.teslamaps.esp.CorpseESP::render);
+        FeatureRegistry.register("AutoGFS/chat").section("Auto").chat(AutoGFS::onChatMessage);
+        FeatureRegistry.register("AutoWish/chat").section("Auto").chat(AutoWish::onChatMessage);
+        FeatureRegistry.register("LividSolver/chat").section("ESP").chat(LividSolver::onChatMessage);
+        FeatureRegistry.register("LeapOverlay").section("Leap").chat(com.teslamaps.features.LeapOverlay::onChatMessage);
+        FeatureRegistry.register("DungeonScore").chat(com.teslamaps.dungeon.DungeonScore::onChatMessage);
+        FeatureRegistry.register("PbOnJoin").section("Party").chat(com.teslamaps.dungeon.PbOnJoin::onChatMessage);
+        FeatureRegistry.register("ChatCommands").section("Party").chat(com.teslamaps.features.ChatCommands::onChatMessage);
+    }
+
     public static TeslaMaps getInstance() {
         return instance;
     }
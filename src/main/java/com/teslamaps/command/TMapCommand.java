@@ -24,6 +24,7 @@ import com.teslamaps.database.RoomDatabase;
 import com.teslamaps.dungeon.DungeonManager;
 import com.teslamaps.map.DungeonRoom;
 import com.teslamaps.map.DoorType;
+import com.teslamaps.perf.Profiler;
 import com.teslamaps.scanner.ComponentGrid;
 import com.teslamaps.scanner.CoreHasher;
 import com.teslamaps.scanner.DoorScanner;
@@ -174,6 +175,102 @@ public class TMapCommand {
                                             "Map scale set to " + scale));
                                     return 1;
                                 })))
+                .then(ClientCommands.literal("record")
+                        .executes(context -> {
+                            TeslaMapsConfig config = TeslaMapsConfig.get();
+                            config.recordRuns = !config.recordRuns;
+                            TeslaMapsConfig.save();
+                            context.getSource().sendFeedback(Component.literal(
+                                    "Run recording " + (config.recordRuns ? "enabled (starts next run)" : "disabled")
+                                            + (com.teslamaps.replay.RunRecorder.isRecording() ? " - current run still recording" : "")));
+                            return 1;
+                        }))
+                .then(ClientCommands.literal("replay")
+                        .then(ClientCommands.argument("file", StringArgumentType.greedyString())
+                                .executes(context -> {
+                                    if (DungeonManager.isInDungeon()) {
+                                        context.getSource().sendFeedback(Component.literal("§cCan't replay while in a dungeon"));
+                                        return 0;
+                                    }
+                                    String file = StringArgumentType.getString(context, "file");
+                                    if (!file.endsWith(com.teslamaps.replay.RunLog.EXTENSION)) file += com.teslamaps.replay.RunLog.EXTENSION;
+                                    java.nio.file.Path path = com.teslamaps.replay.RunRecorder.getRunsDir().resolve(file);
+                                    try {
+                                        com.teslamaps.replay.RunReplayer.Result r = com.teslamaps.replay.RunReplayer.replay(path);
+                                        var src = context.getSource();
+                                        src.sendFeedback(Component.literal("§a[TeslaMaps] §fReplayed " + file + " §7(" + r.floor + ")"));
+                                        src.sendFeedback(Component.literal(String.format("§7Events: §f%d §7in §f%.1fms §7(§f%.0f/s§7, %d ticks)",
+                                                r.events, r.nanos / 1e6, r.eventsPerSecond(), r.ticks)));
+                                        src.sendFeedback(Component.literal(r.allocatedBytes < 0 ? "§7Allocation: §8unavailable"
+                                                : String.format("§7Allocated: §f%d KB §7(§f%.1f B/event§7)", r.allocatedBytes / 1024, r.bytesPerEvent())));
+                                        src.sendFeedback(Component.literal("§7Rooms: §f" + r.rooms + " §7(" + r.identifiedRooms + " identified)"
+                                                + " §7Columns: §f" + r.columns
+                                                + " §7Core mismatches: " + (r.coreMismatches == 0 ? "§a0" : "§c" + r.coreMismatches)
+                                                + " §7Room mismatches: " + (r.roomMismatches == 0 ? "§a0" : "§c" + r.roomMismatches)));
+                                        src.sendFeedback(Component.literal("§7Checkmarks: " + (r.checkmarkMismatches == 0 ? "§a" : "§c")
+                                                + (r.checkmarksCompared - r.checkmarkMismatches) + "/" + r.checkmarksCompared + " §7match"
+                                                + " §7Secrets: §f" + r.secretsFound + " §7Score: §f" + r.score));
+                                        if (!r.splits.isEmpty()) src.sendFeedback(Component.literal("§7Splits: §f" + String.join("§7, §f", r.splits)));
+                                    } catch (Exception e) {
+                                        context.getSource().sendFeedback(Component.literal("§cReplay failed: " + e.getMessage()));
+                                        com.teslamaps.TeslaMaps.LOGGER.error("[RunReplayer] Failed to replay " + path, e);
+                                    }
+                                    return 1;
+                                })))
+                .then(ClientCommands.literal("perf")
+                        .executes(context -> {
+                            var src = context.getSource();
+                            if (!Profiler.isEnabled()) {
+                                src.sendFeedback(Component.literal("§7Profiler is off. §f/tmap perf on §7to start sampling"));
+                                return 1;
+                            }
+                            var stats = Profiler.snapshot();
+                            double seconds = Math.max(Profiler.elapsedSeconds(), 1e-3);
+                            src.sendFeedback(Component.literal(String.format("§6=== Profiler §7(%.0fs, %d sections%s) §6===",
+                                    seconds, stats.size(), Profiler.tracksAllocation() ? "" : ", no allocation data")));
+                            src.sendFeedback(Component.literal(String.format("§7ESP last frame: §f%d §7vertices, §f%d §7draw calls",
+                                    com.teslamaps.render.ESPRenderer.getLastFrameVertices(),
+                                    com.teslamaps.render.ESPRenderer.getLastFrameDrawCalls())));
+                            for (int i = 0; i < Math.min(15, stats.size()); i++) {
+                                Profiler.Stats s = stats.get(i);
+                                src.sendFeedback(Component.literal(String.format(
+                                        "§f%s §7%d calls §f%.2fms/s §7p50 §f%.1fµs §7p99 §e%.1fµs §7max §c%.1fµs §7%s",
+                                        s.name(), s.calls(), s.totalNanos() / 1e6 / seconds, s.p50Nanos() / 1e3,
+                                        s.p99Nanos() / 1e3, s.maxNanos() / 1e3,
+                                        s.bytesPerCall() < 0 ? "" : s.bytesPerCall() + " B/call")));
+                            }
+                            return 1;
+                        })
+                        .then(ClientCommands.literal("on").executes(context -> {
+                            Profiler.setEnabled(true);
+                            context.getSource().sendFeedback(Component.literal("Profiler §aON"));
+                            return 1;
+                        }))
+                        .then(ClientCommands.literal("off").executes(context -> {
+                            Profiler.setEnabled(false);
+                            context.getSource().sendFeedback(Component.literal("Profiler §cOFF §7(samples kept until reset)"));
+                            return 1;
+                        }))
+                        .then(ClientCommands.literal("reset").executes(context -> {
+                            Profiler.reset();
+                            context.getSource().sendFeedback(Component.literal("Profiler samples cleared"));
+                            return 1;
+                        }))
+                        .then(ClientCommands.literal("hud").executes(context -> {
+                            Profiler.setHudShown(!Profiler.isHudShown());
+                            context.getSource().sendFeedback(Component.literal(
+                                    "Profiler HUD: " + (Profiler.isHudShown() ? "§aON" : "§cOFF")));
+                            return 1;
+                        }))
+                        .then(ClientCommands.literal("export").executes(context -> {
+                            try {
+                                java.nio.file.Path path = Profiler.exportCsv();
+                                context.getSource().sendFeedback(Component.literal("§aExported §f" + path.getFileName()));
+                            } catch (Exception e) {
+                                context.getSource().sendFeedback(Component.literal("§cExport failed: " + e.getMessage()));
+                            }
+                            return 1;
+                        })))
                 .then(ClientCommands.literal("debug")
                         .executes(context -> {
                             TeslaMapsConfig config = TeslaMapsConfig.get();
@@ -193,6 +290,19 @@ public class TMapCommand {
                                     com.teslamaps.scanner.MapScanner.debugDump();
                                     return 1;
                                 }))
+                        .then(ClientCommands.literal("features")
+                                .executes(context -> {
+                                    var src = context.getSource();
+                                    var features = com.teslamaps.FeatureRegistry.getFeatures();
+                                    long active = features.stream().filter(com.teslamaps.FeatureRegistry.Feature::isActive).count();
+                                    src.sendFeedback(Component.literal("§6=== Features §7(" + active + "/" + features.size()
+                                            + " active, " + DungeonManager.getCurrentState() + ") §6==="));
+                                    for (var f : features) {
+                                        src.sendFeedback(Component.literal((f.isActive() ? "§a" : "§8") + f.getName()
+                                                + " §7" + f.describe()));
+                                    }
+                                    return 1;
+                                }))
                         .then(ClientCommands.literal("sound")
                                 .executes(context -> {
                                     TeslaMapsConfig c = TeslaMapsConfig.get();
@@ -304,6 +414,11 @@ public class TMapCommand {
                                                     n == 0 ? "Prince crown: drawn icon" : "Prince crown: image " + n));
                                             return 1;
                                         }))))
+                .then(ClientCommands.literal("runs")
+                        .executes(context -> showRunStats(context.getSource(), com.teslamaps.dungeon.DungeonManager.getFloorName()))
+                        .then(ClientCommands.argument("floor", StringArgumentType.word())
+                                .executes(context -> showRunStats(context.getSource(),
+                                        StringArgumentType.getString(context, "floor").toUpperCase()))))
                 .then(ClientCommands.literal("mutesound")
                         .executes(context -> {
                             TeslaMapsConfig c = TeslaMapsConfig.get();
@@ -311,6 +426,26 @@ public class TMapCommand {
                                     + (c.mutedSounds.isEmpty() ? "(none)" : String.join(", ", c.mutedSounds))));
                             return 1;
                         })
+                        .then(ClientCommands.literal("stats")
+                                .executes(context -> {
+                                    var counts = com.teslamaps.features.SoundMuter.getCounts();
+                                    if (counts.isEmpty()) {
+                                        context.getSource().sendFeedback(Component.literal("§7Nothing muted yet"));
+                                        return 1;
+                                    }
+                                    context.getSource().sendFeedback(Component.literal("§6=== Muted sounds ==="));
+                                    for (int i = 0; i < Math.min(15, counts.size()); i++) {
+                                        var e = counts.get(i);
+                                        context.getSource().sendFeedback(Component.literal("§f" + e.getKey() + " §7x" + e.getValue()));
+                                    }
+                                    return 1;
+                                })
+                                .then(ClientCommands.literal("reset")
+                                        .executes(context -> {
+                                            com.teslamaps.features.SoundMuter.resetCounts();
+                                            context.getSource().sendFeedback(Component.literal("Reset mute counters"));
+                                            return 1;
+                                        })))
                         .then(ClientCommands.literal("clear")
                                 .executes(context -> {
                                     TeslaMapsConfig.get().mutedSounds.clear();
@@ -327,11 +462,34 @@ public class TMapCommand {
                                     TeslaMapsConfig.save();
                                     return 1;
                                 })))
+                .then(ClientCommands.literal("soundtrigger")
+                        .executes(context -> {
+                            var rules = TeslaMapsConfig.get().soundTriggerRules;
+                            if (rules.isEmpty()) {
+                                context.getSource().sendFeedback(Component.literal("§7No sound triggers. Add rules to §fsoundTriggerRules §7in teslamaps.json"));
+                                return 1;
+                            }
+                            for (int i = 0; i < rules.size(); i++) {
+                                var t = rules.get(i);
+                                context.getSource().sendFeedback(Component.literal(String.format("§7%d. %s§f%s §7%s pitch %.2f-%.2f → %s \"%s§7\"",
+                                        i, t.enabled ? "" : "§8(off) ", t.name, t.sound, t.minPitch, t.maxPitch, t.action, t.text)));
+                            }
+                            return 1;
+                        })
+                        .then(ClientCommands.literal("test")
+                                .then(ClientCommands.argument("sound", StringArgumentType.string())
+                                        .executes(context -> testSoundTrigger(context.getSource(), StringArgumentType.getString(context, "sound"), 1f, 1f))
+                                        .then(ClientCommands.argument("pitch", FloatArgumentType.floatArg(0f, 2f))
+                                                .executes(context -> testSoundTrigger(context.getSource(), StringArgumentType.getString(context, "sound"),
+                                                        FloatArgumentType.getFloat(context, "pitch"), 1f))
+                                                .then(ClientCommands.argument("volume", FloatArgumentType.floatArg(0f))
+                                                        .executes(context -> testSoundTrigger(context.getSource(), StringArgumentType.getString(context, "sound"),
+                                                                FloatArgumentType.getFloat(context, "pitch"), FloatArgumentType.getFloat(context, "volume"))))))))
                 .then(ClientCommands.literal("scan")
                         .executes(context -> {
                             context.getSource().sendFeedback(Component.literal("Forcing dungeon scan..."));
                             RoomScanner.forceScan();
-                            int roomCount = DungeonManager.getGrid().getAllRooms().size();
+                            int roomCount = DungeonManager.getGrid().getRoomCount();
                             context.getSource().sendFeedback(Component.literal("Scan complete. Found " + roomCount + " rooms."));
                             return 1;
                         }))
@@ -384,9 +542,10 @@ public class TMapCommand {
                             context.getSource().sendFeedback(Component.literal("In Dungeon: " + DungeonManager.isInDungeon()));
                             context.getSource().sendFeedback(Component.literal("State: " + DungeonManager.getCurrentState()));
                             context.getSource().sendFeedback(Component.literal("Floor: " + DungeonManager.getCurrentFloor()));
-                            context.getSource().sendFeedback(Component.literal("Rooms loaded: " + DungeonManager.getGrid().getAllRooms().size()));
+                            context.getSource().sendFeedback(Component.literal("Rooms loaded: " + DungeonManager.getGrid().getRoomCount()));
                             context.getSource().sendFeedback(Component.literal("DB loaded: " + RoomDatabase.getInstance().isLoaded()));
                             context.getSource().sendFeedback(Component.literal("DB rooms: " + RoomDatabase.getInstance().getAllRooms().size()));
+                            context.getSource().sendFeedback(Component.literal("Learned room columns: " + com.teslamaps.database.RoomColumnIndex.size()));
                             return 1;
                         }))
                 .then(ClientCommands.literal("doors")
@@ -576,11 +735,9 @@ public class TMapCommand {
                             } else {
                                 context.getSource().sendFeedback(Component.literal("Total crypts in dungeon: " + totalCrypts));
                             }
-                            java.util.Set<DungeonRoom> shown = new java.util.HashSet<>();
                             for (DungeonRoom room : DungeonManager.getGrid().getAllRooms()) {
-                                if (!shown.contains(room) && room.getCrypts() > 0) {
+                                if (room.getCrypts() > 0) {
                                     context.getSource().sendFeedback(Component.literal("  " + room.getName() + ": " + room.getCrypts()));
-                                    shown.add(room);
                                 }
                             }
                             return 1;
@@ -674,6 +831,54 @@ public class TMapCommand {
         return command;
     }
 
+    // dry-runs a synthetic sound at the player through the configured rules; nothing fires
+    private static int showRunStats(FabricClientCommandSource src, String floor) {
+        if (!com.teslamaps.dungeon.RunHistory.isLoaded()) {
+            src.sendFeedback(Component.literal("§7Run history is still loading"));
+            return 0;
+        }
+        var stats = floor == null || floor.isEmpty() ? null : com.teslamaps.dungeon.RunHistory.find(floor);
+        if (stats == null || stats.splits().isEmpty()) {
+            var floors = com.teslamaps.dungeon.RunHistory.getFloors();
+            src.sendFeedback(Component.literal(floors.isEmpty() ? "§7No runs recorded yet"
+                    : "§7Usage: /tmap runs <floor> §8(" + String.join(", ", floors) + ")"));
+            return 0;
+        }
+        src.sendFeedback(Component.literal("§6=== " + floor + " runs §7(" + stats.runs() + ") §6==="));
+        src.sendFeedback(Component.literal("§7split  §fbest  §7median  §7p90"));
+        for (var e : stats.splits().entrySet()) {
+            var s = e.getValue();
+            String line = "§e" + e.getKey() + " §f" + com.teslamaps.dungeon.Splits.formatTime(s.best());
+            if (s.count() > 0) line += " §7" + com.teslamaps.dungeon.Splits.formatTime(s.percentile(0.5))
+                    + " §7" + com.teslamaps.dungeon.Splits.formatTime(s.percentile(0.9)) + " §8n=" + s.count();
+            src.sendFeedback(Component.literal(line));
+        }
+        if (stats.sumOfBest() > 0)
+            src.sendFeedback(Component.literal("§6Sum of Best §f" + com.teslamaps.dungeon.Splits.formatTime(stats.sumOfBest())));
+        return 1;
+    }
+
+    private static int testSoundTrigger(FabricClientCommandSource src, String sound, float pitch, float volume) {
+        var id = net.minecraft.resources.Identifier.tryParse(sound);
+        if (id == null) {
+            src.sendFeedback(Component.literal("§cInvalid sound id: " + sound));
+            return 0;
+        }
+        Minecraft mc = Minecraft.getInstance();
+        double x = mc.player != null ? mc.player.getX() : 0, y = mc.player != null ? mc.player.getY() : 0, z = mc.player != null ? mc.player.getZ() : 0;
+        var rules = TeslaMapsConfig.get().soundTriggerRules;
+        var fired = com.teslamaps.features.SoundTriggers.simulate(rules,
+                java.util.List.of(new com.teslamaps.features.SoundTriggers.Event(id, pitch, volume, x, y, z, 0L)));
+        if (fired.isEmpty()) {
+            src.sendFeedback(Component.literal("§7No rule matches §f" + id + " §7pitch " + pitch + " volume " + volume));
+        }
+        for (int i : fired) {
+            var t = rules.get(i);
+            src.sendFeedback(Component.literal("§aRule " + i + " §f" + t.name + " §7would fire: " + t.action + " \"" + t.text + "§7\""));
+        }
+        return 1;
+    }
+
     private static int parseHexColor(String hex) {
         hex = hex.replace("#", "");
         try {
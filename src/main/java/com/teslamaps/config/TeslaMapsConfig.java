@@ -44,6 +44,14 @@ public class TeslaMapsConfig {
     public int mapY = 172;
     public float mapScale = 1.5f;
     public boolean showMapBackground = true;
+    public java.util.Map<String, HudAnchor> hudAnchors = new java.util.HashMap<>(); // HUD element id -> screen anchor, set when dropped in HUD edit
+
+    // Where a HUD element sits relative to a screen corner/edge/centre, so layouts survive resolution changes.
+    public static class HudAnchor {
+        public String anchor = "TOP_LEFT"; // HudElement.Anchor name
+        public int dx;                     // offset of the element's matching point from the screen's, GUI pixels
+        public int dy;
+    }
 
     public boolean showRoomNames = true;
     public boolean hideEntranceBloodFairyNames = true; // Don't render names for entrance, blood, fairy rooms
@@ -80,6 +88,7 @@ public class TeslaMapsConfig {
     public boolean showPlayerNames = true;
     public boolean rotatePlayerHeads = true;
     public boolean useHeadsInsteadOfMarkers = true;  // True = player heads, False = arrow markers
+    public boolean dungeonRoutePlanner = false;   // Draw a suggested clear route per party member on the map
     public float playerHeadScale = 1.0f;         // Scale of player heads (0.5 - 2.0)
 
     public boolean starredMobESP = true;        // Highlight starred mobs
@@ -112,6 +121,13 @@ public class TeslaMapsConfig {
     public boolean filledESP = false;           // Fill entire entity hitbox instead of just outlines
     public boolean boxESP = false;              // Outline hitbox (F3+H style) around ESP mobs, through walls
     public float espAlpha = 0.4f;               // Transparency for filled ESP (0.0 = invisible, 1.0 = solid)
+    public boolean espCulling = true;           // Skip world overlays outside the view or past their max distance
+    public int cullDistanceWaypoints = 128;     // Max distance for dungeon/Prince waypoints (0 = unlimited)
+    public int cullDistanceSecrets = 64;        // Max distance for secret waypoints (0 = unlimited)
+    public int cullDistanceMobs = 0;            // Max distance for mob/boss/corpse ESP boxes (0 = unlimited)
+    public int cullDistancePuzzles = 64;        // Max distance for puzzle solver overlays (0 = unlimited)
+    public int labelDistance = 48;              // Drop world text labels beyond this distance (0 = unlimited)
+    public int espLodDistance = 48;             // Draw clustered waypoint boxes as one box beyond this distance (0 = off)
 
     public boolean pestESP = false;             // Highlight pests in garden (invisible silverfish)
     public boolean pestTracers = false;         // Draw tracers to pests
@@ -162,7 +178,7 @@ public class TeslaMapsConfig {
 
     public boolean splitsEnabled = true;         // Dungeon run splits HUD + chat output
     public boolean splitsShowPb = true;          // Show personal-best time per split (and color vs PB)
-    public java.util.Map<String, Long> splitPbs = new java.util.HashMap<>(); // "floor:splitName" -> best duration ms
+    public java.util.Map<String, Long> splitPbs = new java.util.HashMap<>(); // "floor:splitName" -> best duration ms; pre-history PBs, seeded into RunHistory on load
     public int splitsX = 936;                       // Splits HUD position X (draggable in HUD edit)
     public int splitsY = 59;                     // Splits HUD position Y
     public float splitsScale = 1.7000002f;              // Splits HUD scale (0.5 - 2.0)
@@ -381,6 +397,23 @@ public class TeslaMapsConfig {
     public boolean soundDebug = false;       // Print every incoming sound (id/vol/pitch) to chat
     public boolean muteBonzoStaff = false;   // Mute Bonzo's Staff impact (firework blast/twinkle sounds)
     public java.util.List<String> mutedSounds = new java.util.ArrayList<>(); // sound ids to mute ("id" or "id@pitch")
+
+    // A sound rule: when a matching sound plays, show a title, start a timer on the timers HUD or print a chat line.
+    public static class SoundTrigger {
+        public boolean enabled = true;
+        public String name = "";               // label for the timer row / list output
+        public String sound = "";              // full sound id, e.g. "minecraft:entity.wither.spawn"
+        public float minPitch = 0f, maxPitch = 2f;       // inclusive pitch range
+        public float minVolume = 0f, maxVolume = 1000f;  // inclusive volume range
+        public double[] region = null;         // optional box the sound must play in: x1,y1,z1,x2,y2,z2
+        public int debounceMs = 1000;          // ignore repeats of this rule within the window
+        public String action = "title";        // title, timer or chat
+        public String text = "";               // title/chat text (§ codes ok)
+        public float timerSeconds = 0f;        // countdown length for "timer"
+        public SoundTrigger() {}
+    }
+    public boolean soundTriggers = true;     // Run soundTriggerRules on every played sound
+    public List<SoundTrigger> soundTriggerRules = new ArrayList<>();
     public boolean noArrows = true;          // Hide arrow entities
     public boolean noStuckArrows = true;     // Hide arrows stuck in entities
     public boolean noWaterOverlay = true;    // Hide water overlay on screen
@@ -621,6 +654,7 @@ public class TeslaMapsConfig {
     public boolean redstoneKeyFilled = true;          // Fill the redstone key through walls (vs outline) so it pops
     public boolean secretWaypointTracers = false;     // Draw tracers to waypoints
     public boolean secretWaypointHideCollected = true; // Hide waypoints when secret is collected
+    public boolean secretWaypointRoute = false;       // Number remaining secrets in shortest order and join them
 
     public String colorSecretChest = "55FF55";        // Chest (green)
     public String colorSecretItem = "55FFFF";         // Item (cyan)
@@ -630,6 +664,7 @@ public class TeslaMapsConfig {
     public String colorSecretBat = "AAAAAA";          // Bat (gray)
     public String colorSecretEssence = "AA00AA";      // Essence (purple)
     public String colorSecretRedstone = "FF5555";     // Redstone (red)
+    public String colorSecretRoute = "FFFF55";        // Secret route line (yellow)
 
     public boolean leapOverlay = true;               // Enhanced Spirit Leap menu
     public boolean leapShowHeads = true;              // Show player heads/skins in the leap menu
@@ -643,10 +678,12 @@ public class TeslaMapsConfig {
     public int leapKeyLastDoor = 32; // leap to the player who opened the most recent wither door
 
     public boolean debugMode = false;
+    public boolean recordRuns = false;        // Record dungeon runs to config/teslamaps/runs for offline replay
 
     public String hypixelApiKey = "";
     public List<String> recentPlayers = new ArrayList<>();
     public int pvCacheDurationSeconds = 300;  // 5 minute cache
+    public int pvDiskCacheHours = 24;         // Keep fetched profiles on disk for this long (0 = off)
 
     public String colorBackground = "CC1A1A1A";      // Map background
     public String colorUnexplored = "2A2A2A";        // Unexplored room
@@ -687,6 +724,16 @@ public class TeslaMapsConfig {
         return instance;
     }
 
+    // Bumped on every save so render caches built from config values (colours, toggles) know to rebuild
+    private static int revision = 0;
+
+    private static final long SAVE_DEBOUNCE_MS = 1500;
+    private static long saveDue = 0; // when a saveLater() write is due, 0 = nothing pending
+
+    public static int getRevision() {
+        return revision;
+    }
+
     public static int parseColor(String hex) {
         try {
             if (hex.startsWith("#")) hex = hex.substring(1);
@@ -717,6 +764,16 @@ public class TeslaMapsConfig {
                 if (instance.lockedSlots == null) {
                     instance.lockedSlots = new java.util.ArrayList<>();
                 }
+                if (instance.hudAnchors == null) {
+                    instance.hudAnchors = new java.util.HashMap<>();
+                }
+                if (instance.soundTriggerRules == null) {
+                    instance.soundTriggerRules = new ArrayList<>();
+                }
+                for (SoundTrigger t : instance.soundTriggerRules) {
+                    // "text": null or a hand-written timer rule without one; title/chat actions need a string
+                    if (t != null && t.text == null) t.text = "";
+                }
                 if (instance.puzzlePbs == null) {
                     instance.puzzlePbs = new java.util.HashMap<>();
                 }
@@ -732,12 +789,31 @@ public class TeslaMapsConfig {
         }
     }
 
+    /**
+     * For settings screens: applies a change right away (revision, feature registry) but leaves the disk write
+     * until edits stop for {@link #SAVE_DEBOUNCE_MS} or the screen flushes on close.
+     */
+    public static void saveLater() {
+        revision++;
+        com.teslamaps.FeatureRegistry.invalidate();
+        saveDue = System.currentTimeMillis() + SAVE_DEBOUNCE_MS;
+    }
+
+    /** Writes a pending {@link #saveLater()} once its debounce has passed, or now when {@code force}. */
+    public static void flushPendingSave(boolean force) {
+        if (saveDue == 0 || (!force && System.currentTimeMillis() < saveDue)) return;
+        save();
+    }
+
     public static void save() {
+        saveDue = 0;
         try {
             Files.createDirectories(CONFIG_PATH.getParent());
             Files.writeString(CONFIG_PATH, GSON.toJson(instance));
         } catch (IOException e) {
             TeslaMaps.LOGGER.error("Failed to save config", e);
         }
+        revision++;
+        com.teslamaps.FeatureRegistry.invalidate();
     }
 }
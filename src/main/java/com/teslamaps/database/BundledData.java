@@ -0,0 +1,85 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.database;
+
+import com.teslamaps.TeslaMaps;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Loads the data files shipped in the jar (room and secret tables, puzzle solutions) on a background thread.
+ * The build converts them to binary bundles ({@link RoomBundle}, {@link DataBundle}); the JSON is only parsed
+ * when a bundle is missing, as in a dev run that skipped {@code processResources}. Owners keep just the typed
+ * tables, so no Gson tree outlives the load. Callers hold the future and read it with {@code getNow(null)} on the client thread;
+ * a file that is missing or fails to parse completes with the owner's fallback instead of throwing.
+ */
+public final class BundledData {
+
+    @FunctionalInterface
+    public interface Parser<T> {
+        T parse(Reader reader) throws Exception;
+    }
+
+    /** For binary files, such as the room bundle. */
+    @FunctionalInterface
+    public interface StreamParser<T> {
+        T parse(InputStream in) throws Exception;
+    }
+
+    private static final ExecutorService IO = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "TeslaMaps-Data");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private BundledData() {}
+
+    public static <T> CompletableFuture<T> load(String path, Parser<T> parser, T fallback) {
+        return loadStream(path, is -> parser.parse(new InputStreamReader(is, StandardCharsets.UTF_8)), fallback);
+    }
+
+    public static <T> CompletableFuture<T> loadStream(String path, StreamParser<T> parser, T fallback) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            try (InputStream is = BundledData.class.getResourceAsStream(path)) {
+                if (is == null) {
+                    TeslaMaps.LOGGER.error("[Data] {} not found", path);
+                    return fallback;
+                }
+                T result = parser.parse(is);
+                TeslaMaps.LOGGER.debug("[Data] Parsed {} in {} ms", path, (System.nanoTime() - start) / 1_000_000);
+                return result != null ? result : fallback;
+            } catch (Exception e) {
+                TeslaMaps.LOGGER.error("[Data] Failed to load " + path, e);
+                return fallback;
+            }
+        }, IO);
+    }
+
+    /** Reads {@code source}'s bundle, falling back to its JSON. */
+    public static <T> CompletableFuture<T> load(DataBundle.Source<T> source, T fallback) {
+        return loadStream(source.bin, source::read, null)
+                .thenCompose(t -> t != null ? CompletableFuture.completedFuture(t) : load(source.json, source::fromJson, fallback));
+    }
+
+    /** Runs {@code task} on the data thread, for owners that read files outside the jar too. */
+    public static CompletableFuture<Void> run(Runnable task) {
+        return CompletableFuture.runAsync(task, IO);
+    }
+}
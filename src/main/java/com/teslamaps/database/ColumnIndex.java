@@ -0,0 +1,116 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.database;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The banded Hamming index behind {@link RoomColumnIndex}: columns of legacy ids, one per core, each tagged with
+ * a room id. Columns are split into {@link #BANDS} bands and bucketed by each band's hash. Two columns at most
+ * {@link #MAX_DISTANCE} apart must share a band exactly, so only that band's buckets are compared in full.
+ * Not thread-safe; {@link RoomColumnIndex} uses it from the client thread.
+ */
+final class ColumnIndex {
+    static final int BANDS = 8;
+    static final int MAX_DISTANCE = BANDS - 1;
+
+    /** Closest column and how close the nearest column of any other room came. */
+    record Nearest(int roomId, int distance, int runnerUp) {
+        // nearer is better, and a second room almost as near makes the guess worthless
+        float confidence() {
+            float closeness = 1f - (float) distance / (MAX_DISTANCE + 1);
+            float margin = Math.min(1f, (float) (runnerUp - distance) / (MAX_DISTANCE + 1) * 2f);
+            return closeness * margin;
+        }
+    }
+
+    private record Entry(int core, int roomId, byte[] column) {}
+
+    private final List<Entry> entries = new ArrayList<>();
+    private final IntOpenHashSet cores = new IntOpenHashSet();
+    @SuppressWarnings("unchecked")
+    private final Int2ObjectOpenHashMap<List<Entry>>[] buckets = new Int2ObjectOpenHashMap[BANDS];
+
+    ColumnIndex() {
+        for (int i = 0; i < BANDS; i++) buckets[i] = new Int2ObjectOpenHashMap<>();
+    }
+
+    boolean contains(int core) {
+        return cores.contains(core);
+    }
+
+    /** Adds a packed column; false if {@code core} already has one. */
+    boolean add(int core, int roomId, byte[] column) {
+        if (!cores.add(core)) return false;
+        Entry e = new Entry(core, roomId, column);
+        entries.add(e);
+        for (int band = 0; band < BANDS; band++) {
+            buckets[band].computeIfAbsent(bandHash(column, band), k -> new ArrayList<>()).add(e);
+        }
+        return true;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /** Nearest column to {@code packed}, or null when nothing is within {@link #MAX_DISTANCE}. */
+    Nearest nearest(byte[] packed) {
+        Entry best = null;
+        int bestDistance = MAX_DISTANCE + 1;
+        int runnerUp = MAX_DISTANCE + 1; // best distance among other rooms
+        for (int band = 0; band < BANDS; band++) {
+            List<Entry> bucket = buckets[band].get(bandHash(packed, band));
+            if (bucket == null) continue;
+            for (Entry e : bucket) {
+                int d = distance(packed, e.column, bestDistance > runnerUp ? bestDistance : runnerUp);
+                if (d < bestDistance) {
+                    if (best != null && best.roomId != e.roomId) runnerUp = bestDistance;
+                    best = e;
+                    bestDistance = d;
+                } else if (best != null && e.roomId != best.roomId && d < runnerUp) {
+                    runnerUp = d;
+                }
+            }
+        }
+        return best == null ? null : new Nearest(best.roomId, bestDistance, runnerUp);
+    }
+
+    static int bandHash(byte[] column, int band) {
+        int from = band * column.length / BANDS, to = (band + 1) * column.length / BANDS;
+        int hash = band;
+        for (int i = from; i < to; i++) hash = 31 * hash + column[i];
+        return hash;
+    }
+
+    /** Positions that differ, stopping early once past {@code limit}; columns of other heights never match. */
+    static int distance(byte[] a, byte[] b, int limit) {
+        if (a.length != b.length) return Integer.MAX_VALUE;
+        int d = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] != b[i] && ++d > limit) return d;
+        }
+        return d;
+    }
+
+    // legacy ids are all below 256
+    static byte[] pack(int[] column) {
+        byte[] out = new byte[column.length];
+        for (int i = 0; i < column.length; i++) out[i] = (byte) column[i];
+        return out;
+    }
+}
@@ -0,0 +1,427 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.database;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The other JSON tables shipped in the jar (secret waypoints, puzzle solutions, prince markers) as binary
+ * bundles, written next to their JSON by the {@code generateRoomBundle} Gradle task ({@link #main}, which writes
+ * rooms.bin through {@link RoomBundle} too). Each bundle is magic, version and the {@link Source}'s kind, then
+ * that table. The JSON parsers live here as well: they are the fallback when a bundle is missing and what the
+ * build converts from. Kept free of game and logger classes so the build can run it.
+ */
+public final class DataBundle {
+    static final int MAGIC = 0x544D4442; // "TMDB"
+    static final int VERSION = 1;
+
+    /** One secrets.json entry; waypoint types are keyed by their JSON name and hold {x, y, z} points. */
+    public record SecretRoom(String name, int roomID, Map<String, List<int[]>> waypoints) {}
+
+    /** iceFillFloors.json: per section, floor -> pattern -> {x, y, z} points. */
+    public record IceFill(List<List<List<int[]>>> identifier, List<List<List<int[]>>> easy, List<List<List<int[]>>> hard) {}
+
+    /** prince_waypoints.json: room -> {relX, absY, relZ} markers, plus the rooms that set a mode ("corner"). */
+    public record PrinceMarkers(Map<String, List<int[]>> rooms, Map<String, String> modes) {}
+
+    @FunctionalInterface
+    interface Encoder<T> {
+        void write(T value, DataOutput out) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface Decoder<T> {
+        T read(DataInput in) throws IOException;
+    }
+
+    /** A bundled table: where its JSON and bundle sit in the jar and how to convert between them. */
+    public static final class Source<T> {
+        public final String json;
+        public final String bin;
+        final int kind;
+        private final BundledData.Parser<T> parser;
+        private final Encoder<T> encoder;
+        private final Decoder<T> decoder;
+
+        private Source(int kind, String json, BundledData.Parser<T> parser, Encoder<T> encoder, Decoder<T> decoder) {
+            this.kind = kind;
+            this.json = json;
+            this.bin = json.substring(0, json.length() - ".json".length()) + ".bin";
+            this.parser = parser;
+            this.encoder = encoder;
+            this.decoder = decoder;
+        }
+
+        public T fromJson(Reader reader) throws Exception {
+            return parser.parse(reader);
+        }
+
+        public void write(T value, OutputStream stream) throws IOException {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(kind);
+            encoder.write(value, out);
+            out.flush();
+        }
+
+        public T read(InputStream stream) throws IOException {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+            if (in.readInt() != MAGIC) throw new IOException("Not a data bundle");
+            int version = in.readInt();
+            if (version != VERSION) throw new IOException("Unsupported data bundle version " + version);
+            int kind = in.readInt();
+            if (kind != this.kind) throw new IOException("Bundle kind " + kind + " is not " + json);
+            return decoder.read(in);
+        }
+    }
+
+    public static final Source<List<SecretRoom>> SECRETS = new Source<>(1, "/assets/teslamaps/data/secrets.json",
+            DataBundle::secretsFromJson, DataBundle::writeSecrets, DataBundle::readSecrets);
+    /** "variant:doors" -> lever name -> click times. */
+    public static final Source<Map<String, Map<String, double[]>>> WATER_TIMES = new Source<>(2, "/assets/teslamaps/puzzles/watertimes.json",
+            DataBundle::waterTimesFromJson, DataBundle::writeWaterTimes, DataBundle::readWaterTimes);
+    public static final Source<Map<String, List<String>>> QUIZ_ANSWERS = new Source<>(3, "/assets/teslamaps/puzzles/quizAnswers.json",
+            DataBundle::quizFromJson, DataBundle::writeQuiz, DataBundle::readQuiz);
+    /** {x1, y1, z1, x2, y2, z2} lantern pairs. */
+    public static final Source<List<int[]>> CREEPER_BEAMS = new Source<>(4, "/assets/teslamaps/puzzles/creeperBeamsSolutions.json",
+            DataBundle::creeperFromJson, DataBundle::writePoints, DataBundle::readPoints);
+    public static final Source<IceFill> ICE_FILL = new Source<>(5, "/assets/teslamaps/puzzles/iceFillFloors.json",
+            DataBundle::iceFillFromJson, DataBundle::writeIceFill, DataBundle::readIceFill);
+    public static final Source<PrinceMarkers> PRINCE = new Source<>(6, "/assets/teslamaps/data/prince_waypoints.json",
+            DataBundle::princeFromJson, DataBundle::writePrince, DataBundle::readPrince);
+
+    public static final List<Source<?>> SOURCES = List.of(SECRETS, WATER_TIMES, QUIZ_ANSWERS, CREEPER_BEAMS, ICE_FILL, PRINCE);
+
+    private DataBundle() {}
+
+    // ---- JSON ----
+
+    private static List<SecretRoom> secretsFromJson(Reader reader) {
+        List<SecretRoom> rooms = new ArrayList<>();
+        for (JsonElement el : JsonParser.parseReader(reader).getAsJsonArray()) {
+            if (!el.isJsonObject()) continue;
+            JsonObject room = el.getAsJsonObject();
+            Map<String, List<int[]>> waypoints = new LinkedHashMap<>();
+            if (room.get("waypoints") instanceof JsonObject types) {
+                for (Map.Entry<String, JsonElement> type : types.entrySet()) {
+                    if (!(type.getValue() instanceof JsonArray list)) continue;
+                    List<int[]> coords = new ArrayList<>();
+                    for (JsonElement pos : list) {
+                        if (pos instanceof JsonArray a && a.size() >= 3) {
+                            coords.add(new int[]{a.get(0).getAsInt(), a.get(1).getAsInt(), a.get(2).getAsInt()});
+                        }
+                    }
+                    waypoints.put(type.getKey(), coords);
+                }
+            }
+            rooms.add(new SecretRoom(string(room, "name"), room.has("roomID") ? room.get("roomID").getAsInt() : 0, waypoints));
+        }
+        return rooms;
+    }
+
+    private static String string(JsonObject o, String key) {
+        JsonElement e = o.get(key);
+        return e == null || e.isJsonNull() ? null : e.getAsString();
+    }
+
+    private static Map<String, Map<String, double[]>> waterTimesFromJson(Reader reader) {
+        Map<String, Map<String, double[]>> out = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonElement> variant : JsonParser.parseReader(reader).getAsJsonObject().entrySet()) {
+            for (Map.Entry<String, JsonElement> doors : variant.getValue().getAsJsonObject().entrySet()) {
+                Map<String, double[]> levers = new LinkedHashMap<>();
+                for (Map.Entry<String, JsonElement> lever : doors.getValue().getAsJsonObject().entrySet()) {
+                    JsonArray times = lever.getValue().getAsJsonArray();
+                    double[] t = new double[times.size()];
+                    for (int i = 0; i < t.length; i++) t[i] = times.get(i).getAsDouble();
+                    levers.put(lever.getKey(), t);
+                }
+                out.put(variant.getKey() + ":" + doors.getKey(), levers);
+            }
+        }
+        return out;
+    }
+
+    private static Map<String, List<String>> quizFromJson(Reader reader) {
+        Map<String, List<String>> out = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonElement> question : JsonParser.parseReader(reader).getAsJsonObject().entrySet()) {
+            List<String> answers = new ArrayList<>();
+            for (JsonElement answer : question.getValue().getAsJsonArray()) answers.add(answer.getAsString());
+            out.put(question.getKey(), answers);
+        }
+        return out;
+    }
+
+    private static List<int[]> creeperFromJson(Reader reader) {
+        List<int[]> pairs = new ArrayList<>();
+        for (JsonElement el : JsonParser.parseReader(reader).getAsJsonArray()) pairs.add(ints(el.getAsJsonArray()));
+        return pairs;
+    }
+
+    private static int[] ints(JsonArray a) {
+        int[] out = new int[a.size()];
+        for (int i = 0; i < out.length; i++) out[i] = a.get(i).getAsInt();
+        return out;
+    }
+
+    private static IceFill iceFillFromJson(Reader reader) {
+        JsonObject root = JsonParser.parseReader(reader).getAsJsonObject();
+        return new IceFill(iceSection(root.getAsJsonArray("identifier")),
+                iceSection(root.getAsJsonArray("easy")), iceSection(root.getAsJsonArray("hard")));
+    }
+
+    private static List<List<List<int[]>>> iceSection(JsonArray floors) {
+        List<List<List<int[]>>> out = new ArrayList<>();
+        for (JsonElement floorEl : floors) {
+            List<List<int[]>> floor = new ArrayList<>();
+            for (JsonElement patEl : floorEl.getAsJsonArray()) {
+                List<int[]> pattern = new ArrayList<>();
+                for (JsonElement ptEl : patEl.getAsJsonArray()) {
+                    JsonObject o = ptEl.getAsJsonObject();
+                    pattern.add(new int[]{o.get("x").getAsInt(), o.get("y").getAsInt(), o.get("z").getAsInt()});
+                }
+                floor.add(pattern);
+            }
+            out.add(floor);
+        }
+        return out;
+    }
+
+    /** Also reads the user's own prince_waypoints.json, which stays JSON. */
+    public static PrinceMarkers princeFromJson(Reader reader) {
+        Map<String, List<int[]>> rooms = new LinkedHashMap<>();
+        Map<String, String> modes = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonElement> e : JsonParser.parseReader(reader).getAsJsonObject().entrySet()) {
+            if (e.getKey().equals("__modes__")) {
+                for (Map.Entry<String, JsonElement> m : e.getValue().getAsJsonObject().entrySet()) {
+                    modes.put(m.getKey(), m.getValue().getAsString());
+                }
+                continue;
+            }
+            List<int[]> list = new ArrayList<>();
+            for (JsonElement el : e.getValue().getAsJsonArray()) {
+                JsonArray a = el.getAsJsonArray();
+                list.add(new int[]{a.get(0).getAsInt(), a.get(1).getAsInt(), a.get(2).getAsInt()});
+            }
+            rooms.put(e.getKey(), list);
+        }
+        return new PrinceMarkers(rooms, modes);
+    }
+
+    // ---- bundle records ----
+
+    private static void writeSecrets(List<SecretRoom> rooms, DataOutput out) throws IOException {
+        out.writeInt(rooms.size());
+        for (SecretRoom room : rooms) {
+            RoomData.writeString(out, room.name());
+            out.writeInt(room.roomID());
+            writePointsByKey(room.waypoints(), out);
+        }
+    }
+
+    private static List<SecretRoom> readSecrets(DataInput in) throws IOException {
+        int count = in.readInt();
+        List<SecretRoom> rooms = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = RoomData.readString(in);
+            rooms.add(new SecretRoom(name != null ? name.intern() : null, in.readInt(), readPointsByKey(in)));
+        }
+        return rooms;
+    }
+
+    private static void writeWaterTimes(Map<String, Map<String, double[]>> solutions, DataOutput out) throws IOException {
+        out.writeInt(solutions.size());
+        for (Map.Entry<String, Map<String, double[]>> solution : solutions.entrySet()) {
+            out.writeUTF(solution.getKey());
+            out.writeInt(solution.getValue().size());
+            for (Map.Entry<String, double[]> lever : solution.getValue().entrySet()) {
+                out.writeUTF(lever.getKey());
+                out.writeInt(lever.getValue().length);
+                for (double t : lever.getValue()) out.writeDouble(t);
+            }
+        }
+    }
+
+    private static Map<String, Map<String, double[]>> readWaterTimes(DataInput in) throws IOException {
+        int count = in.readInt();
+        Map<String, Map<String, double[]>> solutions = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            String key = in.readUTF();
+            int leverCount = in.readInt();
+            Map<String, double[]> levers = new LinkedHashMap<>();
+            for (int j = 0; j < leverCount; j++) {
+                String lever = in.readUTF();
+                double[] times = new double[in.readInt()];
+                for (int k = 0; k < times.length; k++) times[k] = in.readDouble();
+                levers.put(lever, times);
+            }
+            solutions.put(key, levers);
+        }
+        return solutions;
+    }
+
+    private static void writeQuiz(Map<String, List<String>> answers, DataOutput out) throws IOException {
+        out.writeInt(answers.size());
+        for (Map.Entry<String, List<String>> question : answers.entrySet()) {
+            out.writeUTF(question.getKey());
+            out.writeInt(question.getValue().size());
+            for (String answer : question.getValue()) out.writeUTF(answer);
+        }
+    }
+
+    private static Map<String, List<String>> readQuiz(DataInput in) throws IOException {
+        int count = in.readInt();
+        Map<String, List<String>> answers = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            String question = in.readUTF();
+            String[] options = new String[in.readInt()];
+            for (int j = 0; j < options.length; j++) options[j] = in.readUTF();
+            answers.put(question, List.of(options));
+        }
+        return answers;
+    }
+
+    private static void writeIceFill(IceFill ice, DataOutput out) throws IOException {
+        for (List<List<List<int[]>>> section : List.of(ice.identifier(), ice.easy(), ice.hard())) {
+            out.writeInt(section.size());
+            for (List<List<int[]>> floor : section) {
+                out.writeInt(floor.size());
+                for (List<int[]> pattern : floor) writePoints(pattern, out);
+            }
+        }
+    }
+
+    private static IceFill readIceFill(DataInput in) throws IOException {
+        List<List<List<List<int[]>>>> sections = new ArrayList<>(3);
+        for (int s = 0; s < 3; s++) {
+            int floors = in.readInt();
+            List<List<List<int[]>>> section = new ArrayList<>(floors);
+            for (int i = 0; i < floors; i++) {
+                int patterns = in.readInt();
+                List<List<int[]>> floor = new ArrayList<>(patterns);
+                for (int j = 0; j < patterns; j++) floor.add(readPoints(in));
+                section.add(floor);
+            }
+            sections.add(section);
+        }
+        return new IceFill(sections.get(0), sections.get(1), sections.get(2));
+    }
+
+    private static void writePrince(PrinceMarkers prince, DataOutput out) throws IOException {
+        writePointsByKey(prince.rooms(), out);
+        out.writeInt(prince.modes().size());
+        for (Map.Entry<String, String> mode : prince.modes().entrySet()) {
+            out.writeUTF(mode.getKey());
+            out.writeUTF(mode.getValue());
+        }
+    }
+
+    private static PrinceMarkers readPrince(DataInput in) throws IOException {
+        Map<String, List<int[]>> rooms = readPointsByKey(in);
+        int count = in.readInt();
+        Map<String, String> modes = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) modes.put(in.readUTF().intern(), in.readUTF());
+        return new PrinceMarkers(rooms, modes);
+    }
+
+    private static void writePointsByKey(Map<String, List<int[]>> byKey, DataOutput out) throws IOException {
+        out.writeInt(byKey.size());
+        for (Map.Entry<String, List<int[]>> e : byKey.entrySet()) {
+            out.writeUTF(e.getKey());
+            writePoints(e.getValue(), out);
+        }
+    }
+
+    private static Map<String, List<int[]>> readPointsByKey(DataInput in) throws IOException {
+        int count = in.readInt();
+        Map<String, List<int[]>> byKey = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) byKey.put(in.readUTF().intern(), readPoints(in));
+        return byKey;
+    }
+
+    private static void writePoints(List<int[]> points, DataOutput out) throws IOException {
+        out.writeInt(points.size());
+        for (int[] p : points) {
+            out.writeByte(p.length);
+            for (int v : p) out.writeInt(v);
+        }
+    }
+
+    private static List<int[]> readPoints(DataInput in) throws IOException {
+        int count = in.readInt();
+        List<int[]> points = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int[] p = new int[in.readUnsignedByte()];
+            for (int j = 0; j < p.length; j++) p[j] = in.readInt();
+            points.add(p);
+        }
+        return points;
+    }
+
+    // ---- build step ----
+
+    /** {@code DataBundle <resources dir> <output dir>}: writes rooms.bin and every {@link #SOURCES} bundle. */
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2) throw new IllegalArgumentException("Usage: DataBundle <resources dir> <output dir>");
+        Path resources = Path.of(args[0]), outDir = Path.of(args[1]);
+
+        Path roomsJson = resources.resolve("assets/teslamaps/data/rooms.json");
+        List<RoomData> rooms;
+        try (Reader reader = Files.newBufferedReader(roomsJson, StandardCharsets.UTF_8)) {
+            rooms = RoomBundle.fromJson(reader, msg -> System.err.println("[DataBundle] " + msg));
+        }
+        if (rooms == null) throw new IOException(roomsJson + " holds no room list");
+        Path roomsBin = outDir.resolve("assets/teslamaps/data/rooms.bin");
+        Files.createDirectories(roomsBin.getParent());
+        try (OutputStream out = Files.newOutputStream(roomsBin)) {
+            RoomBundle.write(rooms, out);
+        }
+        System.out.println("[DataBundle] Wrote " + rooms.size() + " rooms to " + roomsBin);
+
+        for (Source<?> source : SOURCES) convert(source, resources, outDir);
+    }
+
+    private static <T> void convert(Source<T> source, Path resources, Path outDir) throws Exception {
+        Path json = resources.resolve(source.json.substring(1)), bin = outDir.resolve(source.bin.substring(1));
+        T value;
+        try (Reader reader = Files.newBufferedReader(json, StandardCharsets.UTF_8)) {
+            value = source.fromJson(reader);
+        }
+        Files.createDirectories(bin.getParent());
+        try (OutputStream out = Files.newOutputStream(bin)) {
+            source.write(value, out);
+        }
+        System.out.println("[DataBundle] Wrote " + bin + " (" + Files.size(json) + " -> " + Files.size(bin) + " bytes)");
+    }
+}
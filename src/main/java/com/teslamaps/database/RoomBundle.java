@@ -0,0 +1,80 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.database;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * rooms.json as a binary bundle, written at build time by the {@code generateRoomBundle} Gradle task (through
+ * {@link DataBundle#main}) and read by {@link RoomDatabase} without Gson. Layout: magic, version, room count,
+ * then one {@link RoomData#write} record per room. Kept free of game and logger classes so the build can run it.
+ */
+public final class RoomBundle {
+    static final int MAGIC = 0x544D5242; // "TMRB"
+    static final int VERSION = 1;
+
+    private static final Gson GSON = new Gson();
+
+    private RoomBundle() {}
+
+    /** Rooms from rooms.json in file order; entries without a name are reported to {@code warn} and dropped. */
+    public static List<RoomData> fromJson(Reader reader, Consumer<String> warn) {
+        Type listType = new TypeToken<List<RoomData>>(){}.getType();
+        List<RoomData> rooms = GSON.fromJson(reader, listType);
+        if (rooms == null) return null;
+        List<RoomData> out = new ArrayList<>(rooms.size());
+        for (int i = 0; i < rooms.size(); i++) {
+            RoomData room = rooms.get(i);
+            if (room == null || room.getName() == null) {
+                warn.accept("Skipping room entry " + i + " without a name" + (room != null ? " (id " + room.getRoomID() + ")" : ""));
+                continue;
+            }
+            out.add(room);
+        }
+        return out;
+    }
+
+    public static void write(List<RoomData> rooms, OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(rooms.size());
+        for (RoomData room : rooms) room.write(out);
+        out.flush();
+    }
+
+    public static List<RoomData> read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+        if (in.readInt() != MAGIC) throw new IOException("Not a room bundle");
+        int version = in.readInt();
+        if (version != VERSION) throw new IOException("Unsupported room bundle version " + version);
+        int count = in.readInt();
+        List<RoomData> rooms = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) rooms.add(RoomData.read(in));
+        return rooms;
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.database;
+
+import com.google.gson.Gson;
+import com.teslamaps.TeslaMaps;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.client.Minecraft;
+
+/**
+ * Fallback for cores that aren't in rooms.json. A core is a hash of the room's centre column, so one changed
+ * block gives an unrelated value; the column itself changes in just that block. rooms.json carries no columns,
+ * so they are learned: every exact core match stores its column (legacy ids, top to bottom) with the room id in
+ * config/teslamaps/room_columns.jsonl. An unknown core's column is compared by Hamming distance against those
+ * through a {@link ColumnIndex}.
+ *
+ * <p>No columns ship with the mod. A fresh install starts with an empty index, so the fallback can't name
+ * anything until exact matches in earlier runs have taught it the rooms; until then unknown cores stay
+ * unknown. Unmatched columns go to config/teslamaps/unknown_rooms.jsonl once per core so the database can be
+ * updated.
+ */
+public final class RoomColumnIndex {
+    private static final Path DIR = FabricLoader.getInstance().getConfigDir().resolve("teslamaps");
+    private static final Path LEARNED = DIR.resolve("room_columns.jsonl");
+    private static final Path UNKNOWN = DIR.resolve("unknown_rooms.jsonl");
+    private static final Gson GSON = new Gson();
+
+    /** Matches under this are logged as unknown but not used. */
+    public static final float MIN_CONFIDENCE = 0.5f;
+
+    public record Match(RoomData room, int distance, float confidence) {}
+
+    // file formats
+    private static final class LearnedLine {
+        int core;
+        int room;
+        String column;
+    }
+
+    private static final class UnknownLine {
+        long time;
+        int core;
+        String column;
+        String guess;
+        float confidence;
+    }
+
+    private static final ColumnIndex index = new ColumnIndex();
+    private static final IntOpenHashSet reportedCores = new IntOpenHashSet();
+
+    private RoomColumnIndex() {}
+
+    /** Reads the learned columns off-thread and indexes them on the client thread. */
+    public static void load() {
+        BundledData.run(() -> {
+            List<LearnedLine> lines = new ArrayList<>();
+            if (Files.exists(LEARNED)) {
+                try (BufferedReader reader = Files.newBufferedReader(LEARNED, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (line.isBlank()) continue;
+                        try {
+                            LearnedLine l = GSON.fromJson(line, LearnedLine.class);
+                            if (l != null && l.column != null) lines.add(l);
+                        } catch (Exception e) {
+                            TeslaMaps.LOGGER.warn("[RoomColumns] Skipping bad line in {}", LEARNED.getFileName());
+                        }
+                    }
+                } catch (Exception e) {
+                    TeslaMaps.LOGGER.error("[RoomColumns] Failed to read " + LEARNED, e);
+                }
+            }
+            Minecraft.getInstance().execute(() -> {
+                for (LearnedLine l : lines) {
+                    byte[] column = decode(l.column);
+                    if (column != null) index.add(l.core, l.room, column);
+                }
+                if (index.size() == 0) {
+                    TeslaMaps.LOGGER.info("[RoomColumns] No learned room columns yet; unknown cores can't be matched until rooms have been seen");
+                } else {
+                    TeslaMaps.LOGGER.info("[RoomColumns] Loaded {} learned room columns", index.size());
+                }
+            });
+        });
+    }
+
+    /** Remembers the column behind a core that matched exactly, once per core. */
+    public static void learn(int core, RoomData room, int[] column) {
+        if (room == null || column == null || index.contains(core)) return;
+        byte[] packed = ColumnIndex.pack(column);
+        index.add(core, room.getRoomID(), packed);
+        LearnedLine line = new LearnedLine();
+        line.core = core;
+        line.room = room.getRoomID();
+        line.column = encode(packed);
+        append(LEARNED, GSON.toJson(line));
+    }
+
+    /** Closest learned room for {@code column}, or null when nothing is within {@link ColumnIndex#MAX_DISTANCE}. */
+    public static Match match(int[] column) {
+        if (index.size() == 0 || column == null) return null;
+        ColumnIndex.Nearest nearest = index.nearest(ColumnIndex.pack(column));
+        if (nearest == null) return null;
+        RoomData room = RoomDatabase.getInstance().findById(nearest.roomId());
+        return room != null ? new Match(room, nearest.distance(), nearest.confidence()) : null;
+    }
+
+    /** Logs an unidentified column with the best guess, once per core per session. */
+    public static void reportUnknown(int core, int[] column, Match guess) {
+        if (column == null || !reportedCores.add(core)) return;
+        UnknownLine line = new UnknownLine();
+        line.time = System.currentTimeMillis();
+        line.core = core;
+        line.column = encode(ColumnIndex.pack(column));
+        line.guess = guess != null ? guess.room().getName() : null;
+        line.confidence = guess != null ? guess.confidence() : 0;
+        append(UNKNOWN, GSON.toJson(line));
+        TeslaMaps.LOGGER.info("[RoomColumns] Unknown core {} (closest: {})", core,
+                guess != null ? guess.room().getName() + " d=" + guess.distance() : "none");
+    }
+
+    public static int size() {
+        return index.size();
+    }
+
+    private static void append(Path file, String line) {
+        BundledData.run(() -> {
+            try {
+                Files.createDirectories(DIR);
+                try (BufferedWriter w = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    w.write(line);
+                    w.newLine();
+                }
+            } catch (Exception e) {
+                TeslaMaps.LOGGER.error("[RoomColumns] Failed to append to " + file, e);
+            }
+        });
+    }
+
+    private static String encode(byte[] column) {
+        StringBuilder sb = new StringBuilder(column.length * 2);
+        for (byte b : column) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    private static byte[] decode(String hex) {
+        if ((hex.length() & 1) != 0) return null;
+        byte[] out = new byte[hex.length() / 2];
+        for (int i = 0; i < out.length; i++) {
+            int hi = Character.digit(hex.charAt(i * 2), 16), lo = Character.digit(hex.charAt(i * 2 + 1), 16);
+            if (hi < 0 || lo < 0) return null;
+            out[i] = (byte) (hi << 4 | lo);
+        }
+        return out;
+    }
+}
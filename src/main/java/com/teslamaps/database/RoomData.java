@@ -15,13 +15,15 @@
  */
 package com.teslamaps.database;
 
-import java.util.List;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 public class RoomData {
     private String name;
     private String type;
     private int secrets;
-    private List<Integer> cores;
+    private int[] cores;
     private int roomID;
     private String clear;
     private int crypts;
@@ -45,7 +47,7 @@ public class RoomData {
         return secrets;
     }
 
-    public List<Integer> getCores() {
+    public int[] getCores() {
         return cores;
     }
 
@@ -85,6 +87,72 @@ public class RoomData {
         return roomScore;
     }
 
+    // type/clear/shape/doors repeat across rooms; share one copy of each
+    void intern() {
+        if (type != null) type = type.intern();
+        if (clear != null) clear = clear.intern();
+        if (shape != null) shape = shape.intern();
+        if (doors != null) doors = doors.intern();
+    }
+
+    // RoomBundle record; nullable fields carry a presence flag
+    void write(DataOutput out) throws IOException {
+        out.writeUTF(name);
+        writeString(out, type);
+        out.writeInt(secrets);
+        out.writeInt(cores == null ? -1 : cores.length);
+        if (cores != null) for (int core : cores) out.writeInt(core);
+        out.writeInt(roomID);
+        writeString(out, clear);
+        out.writeInt(crypts);
+        writeString(out, shape);
+        writeString(out, doors);
+        out.writeBoolean(prince);
+        writeInteger(out, clearScore);
+        writeInteger(out, secretScore);
+        writeInteger(out, roomScore);
+    }
+
+    static RoomData read(DataInput in) throws IOException {
+        RoomData room = new RoomData();
+        room.name = in.readUTF();
+        room.type = readString(in);
+        room.secrets = in.readInt();
+        int coreCount = in.readInt();
+        if (coreCount >= 0) {
+            room.cores = new int[coreCount];
+            for (int i = 0; i < coreCount; i++) room.cores[i] = in.readInt();
+        }
+        room.roomID = in.readInt();
+        room.clear = readString(in);
+        room.crypts = in.readInt();
+        room.shape = readString(in);
+        room.doors = readString(in);
+        room.prince = in.readBoolean();
+        room.clearScore = readInteger(in);
+        room.secretScore = readInteger(in);
+        room.roomScore = readInteger(in);
+        return room;
+    }
+
+    static void writeString(DataOutput out, String s) throws IOException {
+        out.writeBoolean(s != null);
+        if (s != null) out.writeUTF(s);
+    }
+
+    static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeInteger(DataOutput out, Integer i) throws IOException {
+        out.writeBoolean(i != null);
+        if (i != null) out.writeInt(i);
+    }
+
+    private static Integer readInteger(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
     @Override
     public String toString() {
         return "RoomData{name='" + name + "', type='" + type + "', secrets=" + secrets + ", shape='" + shape + "'}";
@@ -15,87 +15,112 @@
  */
 package com.teslamaps.database;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import com.teslamaps.TeslaMaps;
 
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.lang.reflect.Type;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
+import java.io.Reader;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * Room definitions, read off-thread by {@link BundledData} into read-only tables: cores as a sorted
+ * {@code int[]} beside the room for each, rooms by id in an array, and names lowercased once. The build turns
+ * rooms.json into {@link RoomBundle rooms.bin}; rooms.json itself is only parsed when the bundle is missing,
+ * e.g. resources that didn't go through Gradle. Lookups return null until the tables are published.
+ */
 public class RoomDatabase {
     private static final RoomDatabase INSTANCE = new RoomDatabase();
-    private static final Gson GSON = new Gson();
+    private static final String BUNDLE_PATH = "/assets/teslamaps/data/rooms.bin";
+    private static final String JSON_PATH = "/assets/teslamaps/data/rooms.json";
+
+    private record Tables(int[] cores, RoomData[] coreRooms, RoomData[] byId, Map<String, RoomData> byName, List<RoomData> all) {}
 
-    private final Map<Integer, RoomData> coreToRoom = new HashMap<>();
-    private final Map<Integer, RoomData> idToRoom = new HashMap<>();
-    private final Map<String, RoomData> nameToRoom = new HashMap<>();
-    private final List<RoomData> allRooms = new ArrayList<>();
+    private static final Tables EMPTY = new Tables(new int[0], new RoomData[0], new RoomData[0], Map.of(), List.of());
 
-    private boolean loaded = false;
+    private volatile Tables tables = EMPTY;
+    private volatile boolean loaded = false;
+    private CompletableFuture<Void> loading;
 
     public static RoomDatabase getInstance() {
         return INSTANCE;
     }
 
-    public void load() {
-        if (loaded) return;
-
-        try {
-            InputStream is = getClass().getResourceAsStream("/assets/teslamaps/data/rooms.json");
-            if (is == null) {
-                TeslaMaps.LOGGER.error("Room database not found at /assets/teslamaps/data/rooms.json");
-                return;
-            }
-
-            Type listType = new TypeToken<List<RoomData>>(){}.getType();
-            List<RoomData> rooms = GSON.fromJson(new InputStreamReader(is, StandardCharsets.UTF_8), listType);
-
-            if (rooms == null) {
-                TeslaMaps.LOGGER.error("Failed to parse rooms.json");
-                return;
-            }
-
-            for (RoomData room : rooms) {
-                allRooms.add(room);
-                idToRoom.put(room.getRoomID(), room);
-                nameToRoom.put(room.getName().toLowerCase(), room);
-
-                if (room.getCores() != null) {
-                    for (Integer core : room.getCores()) {
-                        coreToRoom.put(core, room);
-                    }
-                }
-            }
-
-            loaded = true;
-            TeslaMaps.LOGGER.info("Loaded {} room definitions with {} core hashes",
-                    allRooms.size(), coreToRoom.size());
-
-        } catch (Exception e) {
-            TeslaMaps.LOGGER.error("Failed to load room database", e);
+    /** Starts the background parse; safe to call more than once. The future completes once the tables are in. */
+    public synchronized CompletableFuture<Void> load() {
+        if (loading != null) return loading;
+        loading = BundledData.loadStream(BUNDLE_PATH, in -> tables(RoomBundle.read(in)), null)
+                .thenCompose(t -> t != null ? CompletableFuture.completedFuture(t) : BundledData.load(JSON_PATH, RoomDatabase::parseJson, null))
+                .thenAccept(t -> {
+                    if (t == null) return;
+                    tables = t;
+                    loaded = true;
+                    TeslaMaps.LOGGER.info("Loaded {} room definitions with {} core hashes", t.all().size(), t.cores().length);
+                });
+        return loading;
+    }
+
+    private static Tables parseJson(Reader reader) {
+        return tables(RoomBundle.fromJson(reader, msg -> TeslaMaps.LOGGER.warn("[RoomDatabase] {}", msg)));
+    }
+
+    private static Tables tables(List<RoomData> rooms) {
+        if (rooms == null) {
+            TeslaMaps.LOGGER.error("Failed to parse room data");
+            return null;
+        }
+
+        int coreCount = 0, maxId = 0;
+        for (RoomData room : rooms) {
+            room.intern();
+            if (room.getCores() != null) coreCount += room.getCores().length;
+            maxId = Math.max(maxId, room.getRoomID());
+        }
+
+        long[] packed = new long[coreCount]; // core << 32 | index into rooms, sorted by core
+        RoomData[] byId = new RoomData[maxId + 1];
+        Map<String, RoomData> byName = new HashMap<>(rooms.size() * 2);
+        int n = 0;
+        for (int i = 0; i < rooms.size(); i++) {
+            RoomData room = rooms.get(i);
+            if (room.getRoomID() >= 0) byId[room.getRoomID()] = room;
+            byName.put(room.getName().toLowerCase(), room);
+            if (room.getCores() == null) continue;
+            for (int core : room.getCores()) packed[n++] = (long) core << 32 | i;
+        }
+        Arrays.sort(packed);
+
+        // a core shared by two rooms resolves to the later one, as the old map did
+        int[] cores = new int[coreCount];
+        RoomData[] coreRooms = new RoomData[coreCount];
+        int unique = 0;
+        for (int i = 0; i < coreCount; i++) {
+            int core = (int) (packed[i] >> 32);
+            if (unique == 0 || cores[unique - 1] != core) unique++;
+            cores[unique - 1] = core;
+            coreRooms[unique - 1] = rooms.get((int) packed[i]);
         }
+        return new Tables(Arrays.copyOf(cores, unique), Arrays.copyOf(coreRooms, unique), byId, byName, List.copyOf(rooms));
     }
 
     public RoomData findByCore(int coreHash) {
-        return coreToRoom.get(coreHash);
+        Tables t = tables;
+        int i = Arrays.binarySearch(t.cores(), coreHash);
+        return i >= 0 ? t.coreRooms()[i] : null;
     }
 
     public RoomData findById(int roomId) {
-        return idToRoom.get(roomId);
+        Tables t = tables;
+        return roomId >= 0 && roomId < t.byId().length ? t.byId()[roomId] : null;
     }
 
     public RoomData findByName(String name) {
-        return nameToRoom.get(name.toLowerCase());
+        return tables.byName().get(name.toLowerCase());
     }
 
     public List<RoomData> getAllRooms() {
-        return allRooms;
+        return tables.all();
     }
 
     public boolean isLoaded() {
@@ -20,8 +20,12 @@ import com.mojang.blaze3d.vertex.PoseStack;
 import com.mojang.datafixers.util.Pair;
 import com.teslamaps.config.TeslaMapsConfig;
 import com.teslamaps.features.PingMeter;
+import com.teslamaps.hud.HudText;
 import com.teslamaps.mixin.BossHealthOverlayAccessor;
 import com.teslamaps.render.ESPRenderer;
+import com.teslamaps.utils.ServerTicks;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import net.minecraft.client.DeltaTracker;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphicsExtractor;
@@ -42,16 +46,11 @@ import net.minecraft.world.level.Level;
 import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
 
-import java.util.ArrayDeque;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 public class BloodCamp {
@@ -77,32 +76,19 @@ public class BloodCamp {
     private static Zombie currentWatcherEntity = null;
     private static boolean firstSpawns = true;          // first spawn wave travels 16.1 blocks, later ones 11.9
     private static long nextMoveEstimateTick = -1L;     // early seed countdown until "Let's see" refines it precisely
-    private static volatile long serverTicks = 0L;
-    private static volatile int lastPingId = Integer.MIN_VALUE;
-    private static long openServerTick = 0L;            // serverTicks captured at blood open
-
-    public static void onServerPing(int id) {
-        if (id == lastPingId) return;
-        lastPingId = id;
-        serverTicks++;
-    }
-    private static final Map<ArmorStand, EntityData> entityDataMap = new ConcurrentHashMap<>();
-    private static final Map<ArmorStand, RenderEData> renderDataMap = new ConcurrentHashMap<>();
-
-    private static final class EntityData {
-        Vec3 startVector;
-        final long started;
-        final boolean firstSpawns;
-        final ArrayDeque<Vec3> deltaHistory = new ArrayDeque<>();
-        Vec3 lastPosition;
-        EntityData(Vec3 sv, long started, boolean fs) { this.startVector = sv; this.started = started; this.firstSpawns = fs; this.lastPosition = sv; }
-    }
+    private static long openServerTick = 0L;            // ServerTicks captured at blood open
+
+    // keyed by entity id; only touched on the client thread
+    private static final Int2ObjectOpenHashMap<MobTrack> mobs = new Int2ObjectOpenHashMap<>();
+    private static final IntOpenHashSet rejected = new IntOpenHashSet(); // armor stands whose skull isn't a blood mob
 
-    private static final class RenderEData {
-        Vec3 currVector, endVector, speedVectors;
-        long endVecUpdated;
-        Vec3 lastEndVector, lastPingPoint, lastEndPoint;
-        RenderEData(Vec3 cv, Vec3 ev, long eu, Vec3 sv) { this.currVector = cv; this.endVector = ev; this.endVecUpdated = eu; this.speedVectors = sv; }
+    static final class MobTrack extends BloodMobPath {
+        final ArmorStand entity;
+
+        MobTrack(ArmorStand entity, double x, double y, double z, long started, boolean firstSpawns) {
+            super(x, y, z, started, firstSpawns);
+            this.entity = entity;
+        }
     }
 
     public static void tick() {
@@ -147,7 +133,7 @@ public class BloodCamp {
             if (p.matcher(message).matches()) {
                 openTimeMs = System.currentTimeMillis();
                 openTick = tickCounter;
-                openServerTick = serverTicks;
+                openServerTick = ServerTicks.now();
                 nextMoveEstimateTick = tickCounter + config.bloodReturnEstimate * 20L;
                 dbg("Blood open matched");
                 return;
@@ -159,7 +145,7 @@ public class BloodCamp {
         if (openTimeMs <= 0) { dbg("move line but no blood-open seen -> abort"); return; }
 
         double bloodMove = (System.currentTimeMillis() - openTimeMs) / 1000.0 + 0.1;   // real seconds since open
-        double bloodMoveTime = (serverTicks - openServerTick) * 0.05 + 0.1;            // server seconds since open
+        double bloodMoveTime = (ServerTicks.now() - openServerTick) * 0.05 + 0.1;            // server seconds since open
         double bloodLag = bloodMove - bloodMoveTime;
         openTimeMs = 0L;
         double base;
@@ -207,8 +193,14 @@ public class BloodCamp {
     }
 
     public static void onRemoveEntitiesPacket(ClientboundRemoveEntitiesPacket packet) {
-        if (currentWatcherEntity == null) return;
-        if (packet.getEntityIds().contains(currentWatcherEntity.getId())) currentWatcherEntity = null;
+        if (!Minecraft.getInstance().isSameThread()) return;
+        if (currentWatcherEntity != null && packet.getEntityIds().contains(currentWatcherEntity.getId())) currentWatcherEntity = null;
+        if (mobs.isEmpty() && rejected.isEmpty()) return;
+        for (int i = 0; i < packet.getEntityIds().size(); i++) {
+            int id = packet.getEntityIds().getInt(i);
+            mobs.remove(id);
+            rejected.remove(id);
+        }
     }
 
     public static Zombie getWatcherEntity() {
@@ -219,87 +211,75 @@ public class BloodCamp {
         if (!TeslaMapsConfig.get().bloodCampAssist) return;
         if (packet.getXa() == 0 && packet.getYa() == 0 && packet.getZa() == 0) return;
         if (currentWatcherEntity == null) return;
+        Minecraft mc = Minecraft.getInstance();
+        if (!mc.isSameThread()) return; // the HEAD hook also fires on the netty thread before the handler reschedules
         if (!DungeonManager.isInDungeon() || DungeonManager.isInBoss()) return;
-        Level level = Minecraft.getInstance().level;
+        Level level = mc.level;
         if (level == null) return;
         if (!(packet.getEntity(level) instanceof ArmorStand entity)) return;
-        if (currentWatcherEntity.distanceTo(entity) > 20) return;
-        ItemStack head = entity.getItemBySlot(EquipmentSlot.HEAD);
-        if (head.getItem() != Items.PLAYER_HEAD) return;
-        String tex = skullTexture(head);
-        if (tex == null || !ALLOWED_MOB_SKULLS.contains(tex)) return;
-
-        Vec3 packetVector = new Vec3(entity.getX() + packet.getXa() / 4096.0,
-                entity.getY() + packet.getYa() / 4096.0, entity.getZ() + packet.getZa() / 4096.0);
-
-        EntityData data = entityDataMap.computeIfAbsent(entity, k -> new EntityData(packetVector, currentTickTime, firstSpawns));
-        Vec3 delta = packetVector.subtract(data.lastPosition);
-        data.lastPosition = packetVector;
-        if (delta.lengthSqr() > 0) data.deltaHistory.addLast(delta);
-
-        Vec3 totalDelta = Vec3.ZERO;
-        for (Vec3 d : data.deltaHistory) totalDelta = totalDelta.add(d);
-        Vec3 dir = totalDelta.lengthSqr() > 0 ? totalDelta.normalize() : Vec3.ZERO;
-        Vec3 endpoint = data.startVector.add(dir.scale(data.firstSpawns ? 16.1 : 11.9));
-
-        long timeTook = currentTickTime - data.started;
-        Vec3 speed = timeTook == 0 ? Vec3.ZERO : new Vec3(
-                (packetVector.x - data.startVector.x) / timeTook,
-                (packetVector.y - data.startVector.y) / timeTook,
-                (packetVector.z - data.startVector.z) / timeTook);
-
-        RenderEData rd = renderDataMap.computeIfAbsent(entity, k -> new RenderEData(packetVector, endpoint, currentTickTime, speed));
-        rd.lastEndVector = rd.endVector;
-        rd.endVecUpdated = currentTickTime;
-        rd.speedVectors = speed;
-        rd.currVector = packetVector;
-        rd.endVector = endpoint;
+        int id = entity.getId();
+        if (rejected.contains(id)) return;
+        if (currentWatcherEntity.distanceToSqr(entity) > 20 * 20) return;
+
+        double x = entity.getX() + packet.getXa() / 4096.0;
+        double y = entity.getY() + packet.getYa() / 4096.0;
+        double z = entity.getZ() + packet.getZa() / 4096.0;
+
+        MobTrack track = mobs.get(id);
+        if (track == null) {
+            ItemStack head = entity.getItemBySlot(EquipmentSlot.HEAD);
+            if (head.getItem() != Items.PLAYER_HEAD) return; // no verdict until the skull is equipped
+            String tex = skullTexture(head);
+            if (tex == null || !ALLOWED_MOB_SKULLS.contains(tex)) {
+                rejected.add(id);
+                return;
+            }
+            track = new MobTrack(entity, x, y, z, currentTickTime, firstSpawns);
+            mobs.put(id, track);
+        }
+        track.onMove(x, y, z, currentTickTime);
     }
 
     public static void render(PoseStack matrices, Vec3 cameraPos) {
         TeslaMapsConfig c = TeslaMapsConfig.get();
         if (!c.bloodCampClasses.allowsLocal()) return;
-        if (!c.bloodCampAssist || renderDataMap.isEmpty()) return;
+        if (!c.bloodCampAssist || mobs.isEmpty()) return;
         if (!DungeonManager.isInDungeon() || DungeonManager.isInBoss()) return;
 
         double bs = c.bloodAssistBoxSize;
-        Vec3 boxOffset = new Vec3(bs / -2.0, 1.5, bs / -2.0);
+        double boxX = bs / -2.0;
         int spawnColor = TeslaMapsConfig.parseColor(c.colorBloodSpawn);
         int posColor = TeslaMapsConfig.parseColor(c.colorBloodPosition);
         int finalColor = TeslaMapsConfig.parseColor(c.colorBloodFinal);
-        boolean skip = !c.bloodAssistInterpolation;
 
-        Iterator<Map.Entry<ArmorStand, RenderEData>> it = renderDataMap.entrySet().iterator();
+        Iterator<MobTrack> it = mobs.values().iterator();
         while (it.hasNext()) {
-            Map.Entry<ArmorStand, RenderEData> entry = it.next();
-            ArmorStand entity = entry.getKey();
-            RenderEData rd = entry.getValue();
-            if (!entity.isAlive()) { it.remove(); entityDataMap.remove(entity); continue; }
-            EntityData data = entityDataMap.get(entity);
-            if (data == null) continue;
-
-            Vec3 endPoint = calcEndVector(rd.endVector, rd.lastEndVector, Math.min(currentTickTime - rd.endVecUpdated, 100) / 100f, false);
-            long timeTook = currentTickTime - data.started;
-            float time = getTime(data.firstSpawns, timeTook);
+            MobTrack t = it.next();
+            ArmorStand entity = t.entity;
+            if (!entity.isAlive()) { it.remove(); continue; }
+
+            // always eases toward the new endpoint over 100 ms; bloodAssistInterpolation only ever gated a no-op
+            float mult = Math.min(currentTickTime - t.endUpdated, 100) / 100f;
+            Vec3 endPoint = new Vec3(t.lastEndX + (t.endX - t.lastEndX) * mult,
+                    t.lastEndY + (t.endY - t.lastEndY) * mult, t.lastEndZ + (t.endZ - t.lastEndZ) * mult);
+            float time = t.timeLeft(currentTickTime, c.bloodAssistTick, c.bloodAssistOffset);
             float mobOffset = c.bloodAssistPingOffset ? PingMeter.getLastPingMs() : c.bloodAssistManualOffset;
-            Vec3 pingPoint = new Vec3(entity.getX() + rd.speedVectors.x * mobOffset,
-                    entity.getY() + rd.speedVectors.y * mobOffset, entity.getZ() + rd.speedVectors.z * mobOffset);
-
-            rd.lastEndPoint = endPoint;
-            rd.lastPingPoint = pingPoint;
-            Vec3 pingDraw = calcEndVector(pingPoint, rd.lastPingPoint, 1f, skip);
-            Vec3 endDraw = calcEndVector(endPoint, rd.lastEndPoint, 1f, skip);
-            AABB pingAABB = new AABB(0, 0, 0, bs, bs, bs).move(boxOffset.add(pingDraw));
-            AABB endAABB = new AABB(0, 0, 0, bs, bs, bs).move(boxOffset.add(endDraw));
+            double pingX = entity.getX() + t.speedX * mobOffset;
+            double pingY = entity.getY() + t.speedY * mobOffset;
+            double pingZ = entity.getZ() + t.speedZ * mobOffset;
 
+            AABB endAABB = new AABB(endPoint.x + boxX, endPoint.y + 1.5, endPoint.z + boxX,
+                    endPoint.x + boxX + bs, endPoint.y + 1.5 + bs, endPoint.z + boxX + bs);
             if (mobOffset < time) {
+                AABB pingAABB = new AABB(pingX + boxX, pingY + 1.5, pingZ + boxX,
+                        pingX + boxX + bs, pingY + 1.5 + bs, pingZ + boxX + bs);
                 ESPRenderer.drawBoxOutline(matrices, pingAABB, posColor, 2.0f, cameraPos, true);
                 ESPRenderer.drawBoxOutline(matrices, endAABB, spawnColor, 2.0f, cameraPos, true);
             } else {
                 ESPRenderer.drawBoxOutline(matrices, endAABB, finalColor, 2.0f, cameraPos, true);
             }
             if (c.bloodAssistLine) {
-                ESPRenderer.drawLine(matrices, rd.currVector.add(0, 2, 0), endPoint.add(0, 2, 0), 0xFFFF5555, 2.0f, cameraPos);
+                ESPRenderer.drawLine(matrices, new Vec3(t.currX, t.currY + 2, t.currZ), endPoint.add(0, 2, 0), 0xFFFF5555, 2.0f, cameraPos);
             }
             if (c.bloodAssistTime) {
                 float timeDisplay = (time - c.bloodAssistOffset) / 1000f;
@@ -309,16 +289,6 @@ public class BloodCamp {
         }
     }
 
-    private static float getTime(boolean firstSpawn, long timeTook) {
-        TeslaMapsConfig c = TeslaMapsConfig.get();
-        return (firstSpawn ? 2000 : 0) + c.bloodAssistTick * 50f - timeTook + c.bloodAssistOffset;
-    }
-
-    private static Vec3 calcEndVector(Vec3 curr, Vec3 last, float mult, boolean skip) {
-        if (last == null || skip) return curr;
-        return new Vec3(last.x + (curr.x - last.x) * mult, last.y + (curr.y - last.y) * mult, last.z + (curr.z - last.z) * mult);
-    }
-
     private static String skullTexture(ItemStack stack) {
         if (stack == null || stack.isEmpty()) return null;
         ResolvableProfile rp = stack.get(DataComponents.PROFILE);
@@ -334,48 +304,56 @@ public class BloodCamp {
         Minecraft mc = Minecraft.getInstance();
         if (mc.player == null) return;
 
-        List<String> lines = new ArrayList<>();
+        // values are whole ticks, so a line only changes when the tick counter does
+        HudText.Line timer = null;
         if (config.bloodCampMoveTimer && hasFinal) {
-            float remaining = Math.max(0, (finalTick - tickCounter)) * 0.05f;
-            lines.add(String.format("§cMove Timer: §f%.2fs", remaining));
-        } else if (config.bloodReturnTimer && nextMoveEstimateTick > tickCounter) {
-            float rem = (nextMoveEstimateTick - tickCounter) * 0.05f;
-            if (rem <= 120f) lines.add(String.format("§eReturn to Blood: §f~%.1fs", rem));
-        }
-        if (config.bloodCampHpBar) {
-            String hp = getWatcherHpText();
-            if (hp != null) lines.add(hp);
+            timer = text.get(0, Math.max(0, finalTick - tickCounter), (s, k) -> String.format("§cMove Timer: §f%.2fs", k * 0.05f));
+        } else if (config.bloodReturnTimer && nextMoveEstimateTick > tickCounter && nextMoveEstimateTick - tickCounter <= 2400) {
+            timer = text.get(1, nextMoveEstimateTick - tickCounter, (s, k) -> String.format("§eReturn to Blood: §f~%.1fs", k * 0.05f));
         }
-        if (lines.isEmpty()) return;
+        long hp = config.bloodCampHpBar ? getWatcherHp() : -1;
+        HudText.Line hpLine = hp >= 0 ? text.get(2, hp, (s, k) -> "§cThe Watcher: §f" + (k >> 8) + "§7/§f" + (k & 0xFF)) : null;
+        if (timer == null && hpLine == null) return;
 
         var pose = context.pose();
         pose.pushMatrix();
         pose.translate(config.bloodCampX, config.bloodCampY);
         pose.scale(config.bloodCampScale, config.bloodCampScale);
         int y = 0;
-        for (String line : lines) {
-            context.text(mc.font, line, 0, y, 0xFFFFFFFF);
+        if (timer != null) {
+            HudText.draw(context, mc.font, timer, 0, y, 0xFFFFFFFF);
             y += 10;
         }
+        if (hpLine != null) HudText.draw(context, mc.font, hpLine, 0, y, 0xFFFFFFFF);
         pose.popMatrix();
     }
 
-    private static String getWatcherHpText() {
+    private static final HudText.Cache text = new HudText.Cache();
+    private static Component watcherName; // last boss bar name checked, so the strip/contains runs once per name
+    private static boolean watcherNameMatches;
+
+    /** Watcher kills left packed as {@code cur << 8 | max}, or -1 without a Watcher boss bar. */
+    private static long getWatcherHp() {
         Minecraft mc = Minecraft.getInstance();
-        if (mc.gui == null) return null;
+        if (mc.gui == null) return -1;
         var events = ((BossHealthOverlayAccessor) mc.gui.getBossOverlay()).teslamaps$getEvents();
-        if (events == null || events.isEmpty()) return null;
+        if (events == null || events.isEmpty()) return -1;
         for (LerpingBossEvent ev : events.values()) {
-            if (ev.getName() == null
-                    || !ev.getName().getString().replaceAll("(?i)§[0-9A-FK-OR]", "").contains("The Watcher")) continue;
+            Component name = ev.getName();
+            if (name == null) continue;
+            if (name != watcherName) {
+                watcherName = name;
+                watcherNameMatches = name.getString().replaceAll("(?i)§[0-9A-FK-OR]", "").contains("The Watcher");
+            }
+            if (!watcherNameMatches) continue;
             float progress = ev.getProgress();
-            if (progress < 0.05f) return null;
+            if (progress < 0.05f) return -1;
             int floor = DungeonManager.getCurrentFloor() != null ? DungeonManager.getCurrentFloor().getLevel() : 0;
             int max = 12 + floor;
             int cur = Math.round(max * progress);
-            return "§cThe Watcher: §f" + cur + "§7/§f" + max;
+            return (long) cur << 8 | max;
         }
-        return null;
+        return -1;
     }
 
     private static void title(String text) {
@@ -404,8 +382,8 @@ public class BloodCamp {
         openTick = 0L;
         openServerTick = 0L;
         nextMoveEstimateTick = -1L;
-        entityDataMap.clear();
-        renderDataMap.clear();
+        mobs.clear();
+        rejected.clear();
     }
 
     private static final Set<String> WATCHER_SKULLS = new HashSet<>(Arrays.asList(
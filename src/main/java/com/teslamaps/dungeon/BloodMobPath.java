@@ -0,0 +1,76 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.dungeon;
+
+/**
+ * Motion state for one blood mob. The mob walks a straight line from where it was first seen, so the summed
+ * move deltas telescope to (current - start) and the predicted endpoint needs no history.
+ */
+class BloodMobPath {
+    static final double FIRST_WAVE_DISTANCE = 16.1;
+    static final double LATER_WAVE_DISTANCE = 11.9;
+
+    final double startX, startY, startZ;
+    final long started;
+    final boolean firstSpawns;
+    double currX, currY, currZ;
+    double endX, endY, endZ;
+    double lastEndX, lastEndY, lastEndZ;
+    long endUpdated;
+    double speedX, speedY, speedZ;  // blocks per ms since spawn
+
+    BloodMobPath(double x, double y, double z, long started, boolean firstSpawns) {
+        this.startX = x;
+        this.startY = y;
+        this.startZ = z;
+        this.started = started;
+        this.firstSpawns = firstSpawns;
+        this.currX = x;
+        this.currY = y;
+        this.currZ = z;
+        this.endX = x;
+        this.endY = y;
+        this.endZ = z;
+    }
+
+    /**
+     * Ms until the mob spawns: {@code spawnTick} server ticks after it was first seen, plus 2 s for the first
+     * wave's longer walk, shifted by the user's {@code offset}.
+     */
+    float timeLeft(long now, int spawnTick, int offset) {
+        return (firstSpawns ? 2000 : 0) + spawnTick * 50f - (now - started) + offset;
+    }
+
+    void onMove(double x, double y, double z, long now) {
+        double dx = x - startX, dy = y - startY, dz = z - startZ;
+        double len = Math.sqrt(dx * dx + dy * dy + dz * dz);
+        double scale = len < 1.0E-5 ? 0 : (firstSpawns ? FIRST_WAVE_DISTANCE : LATER_WAVE_DISTANCE) / len;
+
+        lastEndX = endX;
+        lastEndY = endY;
+        lastEndZ = endZ;
+        endX = startX + dx * scale;
+        endY = startY + dy * scale;
+        endZ = startZ + dz * scale;
+        endUpdated = now;
+
+        long took = now - started;
+        speedX = took == 0 ? 0 : dx / took;
+        speedY = took == 0 ? 0 : dy / took;
+        speedZ = took == 0 ? 0 : dz / took;
+        currX = x;
+        currY = y;
+        currZ = z;
+    }
+}
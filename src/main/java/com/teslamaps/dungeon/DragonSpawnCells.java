@@ -0,0 +1,49 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.dungeon;
+
+/**
+ * Integer (x,z) spawn-particle cell -> dragon index, covering the union of the spawn ranges. Spawn flames sit
+ * on whole block coordinates at y 19 in bursts of 20, so {@link #indexAt} rejects nearly every other particle
+ * in the boss room with arithmetic and one array read.
+ */
+final class DragonSpawnCells {
+    private final int minX, minZ, depth;
+    private final byte[] cells;  // dragon index + 1, 0 for no dragon
+
+    /** @param ranges per dragon index, inclusive {xMin, xMax, zMin, zMax} */
+    DragonSpawnCells(double[][] ranges) {
+        int minX = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, minZ = Integer.MAX_VALUE, maxZ = Integer.MIN_VALUE;
+        for (double[] r : ranges) {
+            minX = Math.min(minX, (int) r[0]); maxX = Math.max(maxX, (int) r[1]);
+            minZ = Math.min(minZ, (int) r[2]); maxZ = Math.max(maxZ, (int) r[3]);
+        }
+        this.minX = minX; this.minZ = minZ; this.depth = maxZ - minZ + 1;
+        cells = new byte[(maxX - minX + 1) * depth];
+        for (int i = 0; i < ranges.length; i++) {
+            for (int x = (int) ranges[i][0]; x <= (int) ranges[i][1]; x++) {
+                for (int z = (int) ranges[i][2]; z <= (int) ranges[i][3]; z++) cells[(x - minX) * depth + (z - minZ)] = (byte) (i + 1);
+            }
+        }
+    }
+
+    /** Dragon index for a particle burst, or -1 if it cannot be a spawn flame. */
+    int indexAt(double x, double y, double z, int count) {
+        if (y != 19.0 || count != 20 || x % 1 != 0.0 || z % 1 != 0.0) return -1;
+        int cx = (int) x - minX, cz = (int) z - minZ;
+        if (cx < 0 || cz < 0 || cz >= depth) return -1;
+        int i = cx * depth + cz;
+        return i < cells.length ? cells[i] - 1 : -1;
+    }
+}
@@ -15,10 +15,12 @@
  */
 package com.teslamaps.dungeon;
 
+import com.teslamaps.FeatureRegistry;
 import com.teslamaps.TeslaMaps;
 import com.teslamaps.map.DungeonRoom;
 import com.teslamaps.player.PlayerTracker;
 import com.teslamaps.render.PlayerHeadRenderer;
+import com.teslamaps.replay.RunRecorder;
 import com.teslamaps.scanner.ComponentGrid;
 import com.teslamaps.scanner.MapScanner;
 import com.teslamaps.scanner.RoomScanner;
@@ -38,6 +40,9 @@ public class DungeonManager {
     private static long dungeonStartTime = 0;
     private static int tickCounter = 0;
 
+    private static int cachedCrypts = 0;
+    private static int cryptsVersion = -1;
+
     private static ClientLevel lastWorld = null;
 
     private static final Pattern FLOOR_PATTERN = Pattern.compile("([FM])(\\d+)");
@@ -62,6 +67,7 @@ public class DungeonManager {
             lastWorld = mc.level;
         }
 
+        DungeonState stateBefore = currentState;
         DungeonFloor previousFloor = currentFloor;
         DungeonState newState = detectCurrentState();
 
@@ -79,6 +85,7 @@ public class DungeonManager {
             currentState = newState;
             onStateChange(oldState, newState);
         }
+        if (currentState != stateBefore || currentFloor != previousFloor) FeatureRegistry.invalidate();
     }
 
     private static DungeonState detectCurrentState() {
@@ -154,11 +161,13 @@ public class DungeonManager {
         TeslaMaps.LOGGER.info("Entered dungeon: {}", currentFloor);
 
         DungeonScore.onDungeonStart();
+        RunRecorder.start(currentFloor.name());
 
         RoomScanner.triggerFullScan();
     }
 
     private static void onDungeonExit() {
+        RunRecorder.stop();
         currentFloor = DungeonFloor.UNKNOWN;
         grid.clear();
         PlayerTracker.reset();
@@ -168,12 +177,47 @@ public class DungeonManager {
         PlayerHeadRenderer.clearCache();
         com.teslamaps.esp.StarredMobESP.reset();
         com.teslamaps.features.SecretWaypoints.reset();
+        com.teslamaps.scanner.SecretEvents.reset();
+        com.teslamaps.scanner.RoomFrame.reset();
         Splits.reset();
         BloodCamp.reset();
 
         TeslaMaps.LOGGER.info("Exited dungeon");
     }
 
+    /**
+     * Puts the scanner stack into a fresh run on {@code floor} without looking at the client, for
+     * {@link com.teslamaps.replay.RunReplayer}. Only valid while not in a dungeon.
+     */
+    public static void beginReplay(DungeonFloor floor) {
+        onDungeonExit();
+        currentFloor = floor;
+        currentState = DungeonState.IN_DUNGEON;
+        dungeonStartTime = com.teslamaps.replay.ReplaySources.now();
+        DungeonScore.onDungeonStart();
+        FeatureRegistry.invalidate();
+    }
+
+    /** Follows the boss transition from the (replayed) scoreboard; the Hypixel and world checks don't apply. */
+    public static void updateReplayState() {
+        if (currentState != DungeonState.IN_DUNGEON) return;
+        for (String line : ScoreboardUtils.getScoreboardLines()) {
+            String clean = ScoreboardUtils.cleanLine(line);
+            if (clean.contains("Boss") && clean.contains("\u2764")) {
+                currentState = DungeonState.BOSS_FIGHT;
+                FeatureRegistry.invalidate();
+                return;
+            }
+        }
+    }
+
+    public static void endReplay() {
+        onDungeonExit();
+        DungeonScore.reset();
+        currentState = DungeonState.NOT_IN_DUNGEON;
+        FeatureRegistry.invalidate();
+    }
+
     public static boolean isInDungeon() {
         return currentState == DungeonState.IN_DUNGEON ||
                 currentState == DungeonState.BOSS_FIGHT ||
@@ -223,14 +267,13 @@ public class DungeonManager {
     }
 
     public static int getTotalCrypts() {
+        if (cryptsVersion == grid.getVersion()) return cachedCrypts;
         int total = 0;
-        java.util.Set<DungeonRoom> counted = new java.util.HashSet<>();
         for (DungeonRoom room : grid.getAllRooms()) {
-            if (!counted.contains(room) && room.getCrypts() > 0) {
-                total += room.getCrypts();
-                counted.add(room);
-            }
+            total += room.getCrypts();
         }
+        cachedCrypts = total;
+        cryptsVersion = grid.getVersion();
         return total;
     }
 }
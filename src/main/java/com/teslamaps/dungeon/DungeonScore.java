@@ -18,6 +18,7 @@ package com.teslamaps.dungeon;
 import com.teslamaps.TeslaMaps;
 import com.teslamaps.config.TeslaMapsConfig;
 import com.teslamaps.mixin.PlayerTabOverlayAccessor;
+import com.teslamaps.replay.ReplaySources;
 import com.teslamaps.utils.ScoreboardUtils;
 import java.util.Comparator;
 import java.util.List;
@@ -93,10 +94,10 @@ public class DungeonScore {
     public static void onDungeonStart() {
         reset();
         dungeonStarted = true;
-        startingTime = System.currentTimeMillis();
+        startingTime = ReplaySources.now();
 
         floorDetectionPending = true;
-        floorDetectionTime = System.currentTimeMillis() + 3000;
+        floorDetectionTime = ReplaySources.now() + 3000;
     }
 
     private static int debugCounter = 0;
@@ -105,11 +106,11 @@ public class DungeonScore {
         if (!dungeonStarted) return 0;
 
         // throttle: this is called every render frame but the inputs change a few times/sec at most
-        long nowMs = System.currentTimeMillis();
+        long nowMs = ReplaySources.now();
         if (lastScoreCalcTime != 0L && nowMs - lastScoreCalcTime < 500) return score;
         lastScoreCalcTime = nowMs;
 
-        if (floorDetectionPending && System.currentTimeMillis() >= floorDetectionTime) {
+        if (floorDetectionPending && ReplaySources.now() >= floorDetectionTime) {
             floorDetectionPending = false;
             setCurrentFloor();
             puzzleCount = getPuzzleCount();
@@ -150,10 +151,11 @@ public class DungeonScore {
     }
 
     private static void sendScoreMessage(int milestone) {
+        if (ReplaySources.isActive()) return;
         Minecraft mc = Minecraft.getInstance();
         if (mc.player == null) return;
 
-        long elapsed = (System.currentTimeMillis() - startingTime) / 1000;
+        long elapsed = (ReplaySources.now() - startingTime) / 1000;
         int minutes = (int) (elapsed / 60);
         int seconds = (int) (elapsed % 60);
         String timeStr = String.format("%02d:%02d", minutes, seconds);
@@ -187,7 +189,7 @@ public class DungeonScore {
 
     private static int calculateTimeScore() {
         int score = 100;
-        int timeSpent = (int) (System.currentTimeMillis() - startingTime) / 1000;
+        int timeSpent = (int) (ReplaySources.now() - startingTime) / 1000;
         if (timeSpent < floorRequirement.timeLimit) return score;
 
         double timePastRequirement = ((double) (timeSpent - floorRequirement.timeLimit) / floorRequirement.timeLimit) * 100;
@@ -294,6 +296,13 @@ public class DungeonScore {
     }
 
     private static String strAt(int index) {
+        if (ReplaySources.isActive()) {
+            List<String> tab = ReplaySources.tabLines();
+            if (tab.size() <= index) return null;
+            String str = tab.get(index).trim();
+            return str.isEmpty() ? null : str;
+        }
+
         Minecraft mc = Minecraft.getInstance();
         if (mc.getConnection() == null) return null;
 
@@ -325,7 +334,7 @@ public class DungeonScore {
         if (!dungeonStarted) return;
 
         if (message.equals("Starting in 1 second.")) {
-            startingTime = System.currentTimeMillis();
+            startingTime = ReplaySources.now();
             return;
         }
 
@@ -337,6 +346,10 @@ public class DungeonScore {
         }
 
         if (message.equals("[BOSS] The Watcher: You have proven yourself. You may pass.")) {
+            if (ReplaySources.isActive()) {
+                bloodRoomCompleted = true;
+                return;
+            }
             new Thread(() -> {
                 try {
                     Thread.sleep(5500);
@@ -354,6 +367,12 @@ public class DungeonScore {
             }
         }
 
+        if (ReplaySources.isActive()) {
+            if (floorHasMimics && MIMIC_PATTERN.matcher(message).matches()) mimicKilled = true;
+            if (PRINCE_PATTERN.matcher(message).matches() || message.equals(PRINCE_KILL_MESSAGE)) princeKilled = true;
+            return;
+        }
+
         if (!cryptReminderSent && TeslaMapsConfig.get().cryptReminder
                 && message.equals("The BLOOD DOOR has been opened!")) {
             cryptReminderSent = true;
@@ -402,6 +421,14 @@ public class DungeonScore {
         return score;
     }
 
+    public static int getDeathCount() {
+        return deathCount;
+    }
+
+    public static double getSecretsPercent() {
+        return getSecretsPercentage();
+    }
+
     public static boolean floorHasMimics() {
         return floorHasMimics;
     }
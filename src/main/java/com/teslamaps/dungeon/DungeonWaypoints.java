@@ -25,6 +25,7 @@ import com.teslamaps.config.TeslaMapsConfig;
 import com.teslamaps.map.DungeonRoom;
 import com.teslamaps.render.ESPRenderer;
 import com.teslamaps.scanner.ComponentGrid;
+import com.teslamaps.scanner.RoomFrame;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
@@ -46,6 +47,17 @@ public class DungeonWaypoints {
 
     private static final String ABSOLUTE_KEY = "__absolute__";
 
+    // Boxes are fitted to the block under them, which can change as chunks load or blocks are broken,
+    // so the retained batch is also refreshed on a timer besides edits, room and config changes.
+    private static final long REFIT_MS = 1000;
+    private static final ESPRenderer.Batch batch = new ESPRenderer.Batch();
+    private static int version = 0;
+    private static List<Waypoint> batchList;
+    private static RoomFrame batchFrame;
+    private static int batchVersion = -1;
+    private static int batchRevision = -1;
+    private static long batchBuiltAt = 0;
+
     private static final Path FILE = FabricLoader.getInstance().getConfigDir()
             .resolve("teslamaps").resolve("dungeon_waypoints.json");
 
@@ -53,6 +65,7 @@ public class DungeonWaypoints {
 
     public static void load() {
         byRoom.clear();
+        version++;
         if (!Files.exists(FILE)) {
             TeslaMaps.LOGGER.info("[Waypoints] No dungeon_waypoints.json found at {}", FILE);
             return;
@@ -128,26 +141,41 @@ public class DungeonWaypoints {
     public static void render(PoseStack matrices, Vec3 cameraPos) {
         if (!TeslaMapsConfig.get().dungeonWaypoints || byRoom.isEmpty()) return;
 
-        List<Waypoint> abs = byRoom.get(ABSOLUTE_KEY);
-        if (abs != null) {
-            for (Waypoint wp : abs) drawWaypoint(matrices, cameraPos, wp, wp.rx(), wp.ry(), wp.rz());
+        List<Waypoint> list = null;
+        RoomFrame clay = null;
+        if (DungeonManager.isInDungeon()) {
+            DungeonRoom room = DungeonManager.getCurrentRoom();
+            if (room != null) list = byRoom.get(room.getName());
+            if (list != null && !list.isEmpty()) clay = RoomFrame.clay(room); // null if terracotta not found yet
+            if (clay == null) list = null;
         }
 
-        if (!DungeonManager.isInDungeon()) return;
-        DungeonRoom room = DungeonManager.getCurrentRoom();
-        if (room == null) return;
-        List<Waypoint> list = byRoom.get(room.getName());
-        if (list == null || list.isEmpty()) return;
-        int[] clay = detectClay(room); // {clayX, clayZ, rotation}, or null if terracotta not found yet
-        if (clay == null) return;
+        long now = System.currentTimeMillis();
+        if (list != batchList || clay != batchFrame || version != batchVersion
+                || TeslaMapsConfig.getRevision() != batchRevision || now - batchBuiltAt >= REFIT_MS) {
+            rebuild(list, clay);
+            batchList = list;
+            batchFrame = clay;
+            batchVersion = version;
+            batchRevision = TeslaMapsConfig.getRevision();
+            batchBuiltAt = now;
+        }
+        ESPRenderer.submit(matrices, batch, cameraPos);
+    }
 
+    private static void rebuild(List<Waypoint> list, RoomFrame clay) {
+        batch.clear();
+        List<Waypoint> abs = byRoom.get(ABSOLUTE_KEY);
+        if (abs != null) {
+            for (Waypoint wp : abs) addWaypoint(wp, wp.rx(), wp.ry(), wp.rz());
+        }
+        if (list == null) return;
         for (Waypoint wp : list) {
-            double[] rot = rotateAroundNorth(clay[2], wp.rx(), wp.rz());
-            drawWaypoint(matrices, cameraPos, wp, rot[0] + clay[0], wp.ry(), rot[1] + clay[1]);
+            addWaypoint(wp, clay.worldX(wp.rx(), wp.rz()), wp.ry(), clay.worldZ(wp.rx(), wp.rz()));
         }
     }
 
-    private static void drawWaypoint(PoseStack matrices, Vec3 cameraPos, Waypoint wp, double wx, double wy, double wz) {
+    private static void addWaypoint(Waypoint wp, double wx, double wy, double wz) {
         AABB box = fitToBlock(wp, wx, wy, wz);
         // leaves are cutout/non-occluding: a depth-tested box on a leaf shows the foliage through it.
         // render those through walls so the waypoint stays clean; solid blocks still occlude normally.
@@ -155,9 +183,9 @@ public class DungeonWaypoints {
         boolean throughWalls = wp.depth() || isLeafAt(wx, wy, wz) || (wp.colorArgb() & 0xFFFFFF) == 0xFF5555;
         if (wp.filled()) {
             // grow slightly so the fill sits outside the block faces (no z-fighting flicker) and fully covers it
-            ESPRenderer.drawFilledBox(matrices, box.inflate(0.01), wp.colorArgb(), cameraPos, throughWalls);
+            batch.filled(box.inflate(0.01), wp.colorArgb(), throughWalls);
         } else {
-            ESPRenderer.drawBoxOutline(matrices, box, wp.colorArgb(), 2.0f, cameraPos, throughWalls);
+            batch.outline(box, wp.colorArgb(), 2.0f, throughWalls);
         }
     }
 
@@ -205,11 +233,11 @@ public class DungeonWaypoints {
         if (room == null) { msg.accept("§cNo current room detected."); return; }
 
         String name = room.getName();
-        int[] clay = detectClay(room); // scanned terracotta {x,z,rot}
-        int clayX = clay != null ? clay[0] : room.getCornerX();
-        int clayZ = clay != null ? clay[1] : room.getCornerZ();
-        int rot = clay != null ? clay[2] : -1;
-        String rotName = switch (rot) { case 0 -> "SOUTH"; case 1 -> "NORTH"; case 2 -> "WEST"; case 3 -> "EAST"; default -> "§cNO TERRACOTTA FOUND"; };
+        RoomFrame clay = RoomFrame.clay(room); // scanned terracotta
+        int clayX = clay != null ? clay.anchorX() : room.getCornerX();
+        int clayZ = clay != null ? clay.anchorZ() : room.getCornerZ();
+        int rot = clay != null ? clay.rotation() : -1;
+        String rotName = switch (rot) { case 0 -> "SOUTH"; case 180 -> "NORTH"; case 90 -> "WEST"; case 270 -> "EAST"; default -> "§cNO TERRACOTTA FOUND"; };
         List<Waypoint> list = byRoom.get(name);
 
         msg.accept("Room: §e\"" + name + "\"§f | scanned clayPos: §e" + clayX + "," + clayZ + "§f | rot: §e" + rotName + "§f | (teslamaps corner: §7" + room.getCornerX() + "," + room.getCornerZ() + "§f)");
@@ -246,10 +274,9 @@ public class DungeonWaypoints {
         }
 
         net.minecraft.core.BlockPos p = mc.player.blockPosition();
-        if (rot >= 0) {
-            double[] rel = rotateToNorth(rot, p.getX() - clayX, p.getZ() - clayZ);
+        if (clay != null) {
             msg.accept("You stand at world §e" + p.getX() + "," + p.getY() + "," + p.getZ()
-                    + "§f -> relative §e" + (int) rel[0] + "," + p.getY() + "," + (int) rel[1]
+                    + "§f -> relative §e" + clay.relX(p.getX(), p.getZ()) + "," + p.getY() + "," + clay.relZ(p.getX(), p.getZ())
                     + "§7 (this is what would be stored for a waypoint here)");
         }
     }
@@ -262,16 +289,17 @@ public class DungeonWaypoints {
                 ? bhr.getBlockPos() : mc.player.blockPosition().below();
 
         DungeonRoom room = DungeonManager.isInDungeon() ? DungeonManager.getCurrentRoom() : null;
-        int[] clay = (room != null && room.getName() != null) ? detectClay(room) : null;
+        RoomFrame clay = (room != null && room.getName() != null) ? RoomFrame.clay(room) : null;
 
         String coords = target.getX() + "," + target.getY() + "," + target.getZ();
 
         if (room != null && room.getName() != null && clay != null) {
-            double[] rel = rotateToNorth(clay[2], target.getX() - clay[0], target.getZ() - clay[1]);
+            int relX = clay.relX(target.getX(), target.getZ());
+            int relZ = clay.relZ(target.getX(), target.getZ());
             List<Waypoint> list = byRoom.computeIfAbsent(room.getName(), k -> new ArrayList<>());
-            if (removeAt(list, room.getName(), rel[0], target.getY(), rel[1]))
+            if (removeAt(list, room.getName(), relX, target.getY(), relZ))
                 return "§eRemoved waypoint in §e\"" + room.getName() + "\"§e @ " + coords;
-            list.add(new Waypoint(rel[0], target.getY(), rel[1], colorArgb, filled, depth, 0, 0, 0, 1, 1, 1));
+            list.add(new Waypoint(relX, target.getY(), relZ, colorArgb, filled, depth, 0, 0, 0, 1, 1, 1));
             save();
             return "§aAdded waypoint in §e\"" + room.getName() + "\"§a @ " + coords;
         }
@@ -309,7 +337,7 @@ public class DungeonWaypoints {
         double px = mc.player.getX(), py = mc.player.getY(), pz = mc.player.getZ();
 
         DungeonRoom room = DungeonManager.isInDungeon() ? DungeonManager.getCurrentRoom() : null;
-        int[] clay = (room != null && room.getName() != null) ? detectClay(room) : null;
+        RoomFrame clay = (room != null && room.getName() != null) ? RoomFrame.clay(room) : null;
 
         // consider both the current room's waypoints AND absolute ones, remove whichever is physically nearest
         String bestKey = null;
@@ -318,8 +346,7 @@ public class DungeonWaypoints {
         if (room != null && room.getName() != null && clay != null)
             for (int i = 0; i < sizeOf(room.getName()); i++) {
                 Waypoint wp = byRoom.get(room.getName()).get(i);
-                double[] rot = rotateAroundNorth(clay[2], wp.rx(), wp.rz());
-                double d = dist2(rot[0] + clay[0], wp.ry(), rot[1] + clay[1], px, py, pz);
+                double d = dist2(clay.worldX(wp.rx(), wp.rz()), wp.ry(), clay.worldZ(wp.rx(), wp.rz()), px, py, pz);
                 if (d < bestD) { bestD = d; best = i; bestKey = room.getName(); }
             }
         for (int i = 0; i < sizeOf(ABSOLUTE_KEY); i++) {
@@ -358,6 +385,7 @@ public class DungeonWaypoints {
     }
 
     private static void save() {
+        version++;
         try {
             Path bak = FILE.resolveSibling("dungeon_waypoints.json.bak");
             if (Files.exists(FILE) && !Files.exists(bak)) Files.copy(FILE, bak);
@@ -392,84 +420,4 @@ public class DungeonWaypoints {
         int a = (argb >>> 24) & 0xFF, r = (argb >> 16) & 0xFF, g = (argb >> 8) & 0xFF, b = argb & 0xFF;
         return String.format("#%02X%02X%02X%02X", r, g, b, a);
     }
-
-    private static double[] rotateToNorth(int rotation, double x, double z) {
-        return switch (rotation) {
-            case 1 -> new double[]{-x, -z};  // NORTH
-            case 2 -> new double[]{z, -x};   // WEST
-            case 3 -> new double[]{-z, x};   // EAST
-            default -> new double[]{x, z};   // SOUTH
-        };
-    }
-
-    private static double[] rotateAroundNorth(int rotation, double x, double z) {
-        return switch (rotation) {
-            case 1 -> new double[]{-x, -z};  // NORTH
-            case 2 -> new double[]{-z, x};   // WEST
-            case 3 -> new double[]{z, -x};   // EAST
-            default -> new double[]{x, z};   // SOUTH (identity)
-        };
-    }
-
-    private static final int[][] ROT_OFFSETS = {{-15, -15}, {15, 15}, {15, -15}, {-15, 15}}; // 0=SOUTH 1=NORTH 2=WEST 3=EAST
-
-    private static int[] cachedClay = null;     // {clayX, clayZ, rotation}
-    private static String cacheKey = "";
-
-    public static int[] scanClayPos(DungeonRoom room) {
-        return scanClay(room);
-    }
-
-    public static int[] relativeToWorld(int[] clay, int relX, int relZ) {
-        double[] rot = rotateAroundNorth(clay[2], relX, relZ);
-        return new int[]{(int) Math.round(rot[0]) + clay[0], (int) Math.round(rot[1]) + clay[1]};
-    }
-
-    public static int[] worldToRelative(int[] clay, int worldX, int worldZ) {
-        double[] rel = rotateToNorth(clay[2], worldX - clay[0], worldZ - clay[1]);
-        return new int[]{(int) Math.round(rel[0]), (int) Math.round(rel[1])};
-    }
-
-    static int[] detectClay(DungeonRoom room) {
-        List<int[]> comps = room.getComponents();
-        if (comps.isEmpty()) return null;
-        String key = room.getName() + "@" + comps.get(0)[0] + "," + comps.get(0)[1] + ":" + comps.size();
-        if (!key.equals(cacheKey)) { cacheKey = key; cachedClay = null; } // room changed -> invalidate
-        if (cachedClay == null) cachedClay = scanClay(room);
-        return cachedClay;
-    }
-
-    private static int[] scanClay(DungeonRoom room) {
-        net.minecraft.world.level.Level level = net.minecraft.client.Minecraft.getInstance().level;
-        if (level == null) return null;
-        List<int[]> comps = room.getComponents();
-        boolean multi = comps.size() > 1;
-        net.minecraft.core.BlockPos.MutableBlockPos m = new net.minecraft.core.BlockPos.MutableBlockPos();
-        for (int r : new int[]{1, 0, 2, 3}) {
-            for (int[] comp : comps) {
-                int[] corner = ComponentGrid.gridToWorldCorner(comp[0], comp[1]);
-                int bx = corner[0] + ComponentGrid.HALF_ROOM_SIZE + ROT_OFFSETS[r][0];
-                int bz = corner[1] + ComponentGrid.HALF_ROOM_SIZE + ROT_OFFSETS[r][1];
-                for (int y = 150; y >= 11; y--) {
-                    if (level.getBlockState(m.set(bx, y, bz)).is(net.minecraft.world.level.block.Blocks.BLUE_TERRACOTTA)
-                            && (!multi || neighborsClear(level, bx, y, bz))) {
-                        return new int[]{bx, bz, r};
-                    }
-                }
-            }
-        }
-        return null;
-    }
-
-    private static boolean neighborsClear(net.minecraft.world.level.Level level, int x, int y, int z) {
-        net.minecraft.core.BlockPos.MutableBlockPos m = new net.minecraft.core.BlockPos.MutableBlockPos();
-        int[][] dirs = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
-        for (int[] d : dirs) {
-            net.minecraft.world.level.block.Block b = level.getBlockState(m.set(x + d[0], y, z + d[1])).getBlock();
-            if (b != net.minecraft.world.level.block.Blocks.AIR && b != net.minecraft.world.level.block.Blocks.BLUE_TERRACOTTA) {
-                return false;
-            }
-        }
-        return true;
-    }
 }
@@ -12,14 +12,15 @@
 package com.teslamaps.dungeon;
 
 import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import com.mojang.blaze3d.vertex.PoseStack;
 import com.teslamaps.TeslaMaps;
 import com.teslamaps.config.TeslaMapsConfig;
+import com.teslamaps.database.BundledData;
+import com.teslamaps.database.DataBundle;
 import com.teslamaps.map.DungeonRoom;
 import com.teslamaps.render.ESPRenderer;
+import com.teslamaps.scanner.RoomFrame;
 import java.io.Reader;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -49,53 +50,62 @@ public class PrinceWaypoints {
     // {relX, absY, relZ}
     private static final Map<String, List<int[]>> byRoom = new HashMap<>();
     private static final Map<String, Integer> roomMode = new HashMap<>();
+    private static int version = 0; // bumped on every edit
+
+    // boxes and label positions for the last rendered room; frames are cached per room, so identity is enough
+    private static final ESPRenderer.Batch batch = new ESPRenderer.Batch();
+    private static final List<Vec3> labels = new ArrayList<>();
+    private static RoomFrame batchFrame;
+    private static List<int[]> batchList;
+    private static int batchVersion = -1;
+    private static int batchRevision = -1;
 
     private static final Path FILE = FabricLoader.getInstance().getConfigDir()
             .resolve("teslamaps").resolve("prince_waypoints.json");
 
     private static final com.google.gson.Gson GSON = new com.google.gson.GsonBuilder().setPrettyPrinting().create();
 
+    // reads the bundled defaults and the user's file on the data thread and swaps the result in on the client thread
     public static void load() {
-        byRoom.clear();
-        roomMode.clear();
-        // bundled defaults shipped with the mod (everyone gets these without collecting)
-        try (Reader r = new java.io.InputStreamReader(
-                PrinceWaypoints.class.getResourceAsStream("/assets/teslamaps/data/prince_waypoints.json"),
-                java.nio.charset.StandardCharsets.UTF_8)) {
-            parse(r);
-        } catch (Exception ex) {
-            TeslaMaps.LOGGER.warn("[Prince] No bundled prince_waypoints.json", ex);
-        }
-        // user's own file overlays/overrides the bundled defaults per room
-        if (Files.exists(FILE)) {
-            try (Reader r = Files.newBufferedReader(FILE)) {
-                parse(r);
-            } catch (Exception ex) {
-                TeslaMaps.LOGGER.error("[Prince] Failed to load user file", ex);
+        BundledData.load(DataBundle.PRINCE, null).thenCompose(bundled -> BundledData.run(() -> {
+            Map<String, List<int[]>> rooms = new HashMap<>();
+            Map<String, Integer> modes = new HashMap<>();
+            // bundled defaults shipped with the mod (everyone gets these without collecting)
+            if (bundled != null) {
+                merge(bundled, rooms, modes);
+            } else {
+                TeslaMaps.LOGGER.warn("[Prince] No bundled prince waypoints");
             }
-        }
-        TeslaMaps.LOGGER.info("[Prince] Loaded markers across {} rooms", byRoom.size());
-    }
-
-    private static void parse(Reader r) {
-        JsonObject root = JsonParser.parseReader(r).getAsJsonObject();
-        for (Map.Entry<String, JsonElement> e : root.entrySet()) {
-            if (e.getKey().equals(MODE_KEY)) {
-                for (Map.Entry<String, JsonElement> m : e.getValue().getAsJsonObject().entrySet()) {
-                    roomMode.put(m.getKey(), "corner".equals(m.getValue().getAsString()) ? MODE_CORNER : MODE_CLAY);
+            // user's own file overlays/overrides the bundled defaults per room
+            if (Files.exists(FILE)) {
+                try (Reader r = Files.newBufferedReader(FILE)) {
+                    merge(DataBundle.princeFromJson(r), rooms, modes);
+                } catch (Exception ex) {
+                    TeslaMaps.LOGGER.error("[Prince] Failed to load user file", ex);
                 }
-                continue;
-            }
-            List<int[]> list = new ArrayList<>();
-            for (JsonElement el : e.getValue().getAsJsonArray()) {
-                JsonArray a = el.getAsJsonArray();
-                list.add(new int[]{a.get(0).getAsInt(), a.get(1).getAsInt(), a.get(2).getAsInt()});
             }
-            if (!list.isEmpty()) byRoom.put(e.getKey(), list); // later parse() overrides earlier per room
+            Minecraft.getInstance().execute(() -> {
+                byRoom.clear();
+                byRoom.putAll(rooms);
+                roomMode.clear();
+                roomMode.putAll(modes);
+                version++;
+                TeslaMaps.LOGGER.info("[Prince] Loaded markers across {} rooms", byRoom.size());
+            });
+        }));
+    }
+
+    private static void merge(DataBundle.PrinceMarkers markers, Map<String, List<int[]>> rooms, Map<String, Integer> modes) {
+        for (Map.Entry<String, String> m : markers.modes().entrySet()) {
+            modes.put(m.getKey(), "corner".equals(m.getValue()) ? MODE_CORNER : MODE_CLAY);
+        }
+        for (Map.Entry<String, List<int[]>> e : markers.rooms().entrySet()) {
+            if (!e.getValue().isEmpty()) rooms.put(e.getKey(), new ArrayList<>(e.getValue())); // later merge() overrides earlier per room
         }
     }
 
     private static void save() {
+        version++;
         try {
             JsonObject root = new JsonObject();
             for (Map.Entry<String, List<int[]>> e : byRoom.entrySet()) {
@@ -132,20 +142,17 @@ public class PrinceWaypoints {
                 ? bhr.getBlockPos() : mc.player.blockPosition().below();
 
         int mode;
-        int[] rel;
-        int[] clay = DungeonWaypoints.scanClayPos(room);
-        if (clay != null) {
+        RoomFrame frame = RoomFrame.clay(room);
+        if (frame != null) {
             mode = MODE_CLAY;
-            rel = DungeonWaypoints.worldToRelative(clay, target.getX(), target.getZ());
         } else {
             // no terracotta (e.g. Supertall): anchor on room corner + core-derived rotation
-            int rot = room.getRotation();
-            if (rot < 0) return "§cNo terracotta and rotation not detected yet — walk inside the room and retry.";
+            frame = RoomFrame.corner(room);
+            if (frame == null) return "§cNo terracotta and rotation not detected yet — walk inside the room and retry.";
             mode = MODE_CORNER;
-            rel = toComp(target.getX(), target.getZ(), rot, room.getCornerX(), room.getCornerZ());
         }
 
-        int[] entry = new int[]{rel[0], target.getY(), rel[1]};
+        int[] entry = new int[]{frame.relX(target.getX(), target.getZ()), target.getY(), frame.relZ(target.getX(), target.getZ())};
         List<int[]> list = byRoom.computeIfAbsent(room.getName(), k -> new ArrayList<>());
         roomMode.put(room.getName(), mode);
 
@@ -186,26 +193,31 @@ public class PrinceWaypoints {
         if (list == null || list.isEmpty()) return;
 
         int mode = roomMode.getOrDefault(room.getName(), MODE_CLAY);
-        int[] clay = null;
-        int rot = room.getRotation(), cornerX = room.getCornerX(), cornerZ = room.getCornerZ();
-        if (mode == MODE_CLAY) {
-            clay = DungeonWaypoints.scanClayPos(room);
-            if (clay == null) return;
-        } else if (rot < 0) {
-            return;
+        RoomFrame frame = mode == MODE_CLAY ? RoomFrame.clay(room) : RoomFrame.corner(room);
+        if (frame == null) return;
+
+        if (frame != batchFrame || list != batchList || version != batchVersion || TeslaMapsConfig.getRevision() != batchRevision) {
+            rebuild(frame, list);
+            batchFrame = frame;
+            batchList = list;
+            batchVersion = version;
+            batchRevision = TeslaMapsConfig.getRevision();
         }
+        ESPRenderer.submit(matrices, batch, cameraPos);
+        for (Vec3 textPos : labels) ESPRenderer.drawText(matrices, "Prince", textPos, 2.5f, cameraPos);
+    }
 
+    private static void rebuild(RoomFrame frame, List<int[]> list) {
+        batch.clear();
+        labels.clear();
         int color = TeslaMapsConfig.parseColor(TeslaMapsConfig.get().colorPrinceESP);
 
         // box every marker; collect world positions for clustering the labels
         List<int[]> worlds = new ArrayList<>();
         for (int[] p : list) {
-            int[] w = (mode == MODE_CLAY)
-                    ? DungeonWaypoints.relativeToWorld(clay, p[0], p[2])
-                    : fromComp(p[0], p[2], rot, cornerX, cornerZ);
-            int wx = w[0], wy = p[1], wz = w[1];
+            int wx = frame.worldX(p[0], p[2]), wy = p[1], wz = frame.worldZ(p[0], p[2]);
             AABB box = new AABB(wx, wy, wz, wx + 1.0, wy + 1.0, wz + 1.0);
-            ESPRenderer.drawFilledBox(matrices, box.inflate(0.01), color, cameraPos, true);
+            batch.filled(box.inflate(0.01), color, true);
             worlds.add(new int[]{wx, wy, wz});
         }
 
@@ -226,27 +238,7 @@ public class PrinceWaypoints {
                     used[j] = true; sx += o[0]; sy += o[1]; sz += o[2]; cnt++;
                 }
             }
-            Vec3 textPos = new Vec3(sx / cnt + 0.5, sy / cnt + 1.7, sz / cnt + 0.5);
-            ESPRenderer.drawText(matrices, "Prince", textPos, 2.5f, cameraPos);
+            labels.add(new Vec3(sx / cnt + 0.5, sy / cnt + 1.7, sz / cnt + 0.5));
         }
     }
-
-    // corner + core-derived rotation transform (same as the puzzle solvers), for the no-terracotta fallback
-    private static int[] rotatePos(int x, int z, int degree) {
-        return switch (((degree % 360) + 360) % 360) {
-            case 90 -> new int[]{z, -x};
-            case 180 -> new int[]{-x, -z};
-            case 270 -> new int[]{-z, x};
-            default -> new int[]{x, z};
-        };
-    }
-
-    private static int[] fromComp(int x, int z, int rotation, int cornerX, int cornerZ) {
-        int[] r = rotatePos(x, z, (360 - rotation) % 360);
-        return new int[]{r[0] + cornerX, r[1] + cornerZ};
-    }
-
-    private static int[] toComp(int worldX, int worldZ, int rotation, int cornerX, int cornerZ) {
-        return rotatePos(worldX - cornerX, worldZ - cornerZ, rotation);
-    }
 }
@@ -12,6 +12,7 @@
 package com.teslamaps.dungeon;
 
 import com.teslamaps.config.TeslaMapsConfig;
+import com.teslamaps.hud.HudText;
 import com.teslamaps.map.DungeonRoom;
 import java.util.ArrayList;
 import java.util.List;
@@ -27,9 +28,14 @@ public class RoomSplits {
 
     private static final int MAX_HISTORY = 6;
     private static final List<Entry> history = new ArrayList<>(); // newest first
+    private static final List<Entry> runRooms = new ArrayList<>(); // every room this run, in order
     private static String currentRoom = null;
     private static long enterTime = 0L;
 
+    // slot 0 header, 1 current room, 2.. history; history slots are keyed by historyVersion
+    private static final HudText.Cache text = new HudText.Cache();
+    private static long historyVersion = 0;
+
     public static void tick() {
         if (!TeslaMapsConfig.get().roomSplits) return;
         if (!DungeonManager.isInDungeon()) { reset(); return; }
@@ -41,10 +47,14 @@ public class RoomSplits {
         if (!name.equals(currentRoom)) {
             long now = System.currentTimeMillis();
             if (currentRoom != null && enterTime != 0L) {
-                history.add(0, new Entry(currentRoom, now - enterTime));
+                Entry entry = new Entry(currentRoom, now - enterTime);
+                history.add(0, entry);
+                runRooms.add(entry);
                 while (history.size() > MAX_HISTORY) history.remove(history.size() - 1);
+                historyVersion++;
             }
             currentRoom = name;
+            text.invalidate();
             enterTime = now;
         }
     }
@@ -61,23 +71,35 @@ public class RoomSplits {
         pose.scale(c.roomSplitsScale, c.roomSplitsScale);
 
         int y = 0;
-        ctx.text(mc.font, "§6§lRoom Splits", 0, y, 0xFFFFFFFF);
+        HudText.draw(ctx, mc.font, text.get(0, "§6§lRoom Splits"), 0, y, 0xFFFFFFFF);
         y += 10;
         if (currentRoom != null) {
-            ctx.text(mc.font, "§e\u25b6 " + currentRoom + " §f" + fmt(System.currentTimeMillis() - enterTime), 0, y, 0xFFFFFFFF);
+            long tenths = (System.currentTimeMillis() - enterTime) / 100;
+            HudText.draw(ctx, mc.font, text.get(1, tenths, (s, k) -> "§e\u25b6 " + currentRoom + " §f" + fmt(k * 100)), 0, y, 0xFFFFFFFF);
             y += 9;
         }
-        for (Entry e : history) {
-            ctx.text(mc.font, "§7" + e.name() + " §f" + fmt(e.ms()), 0, y, 0xFFFFFFFF);
+        for (int i = 0; i < history.size(); i++) {
+            HudText.draw(ctx, mc.font, text.get(2 + i, historyVersion, RoomSplits::historyLine), 0, y, 0xFFFFFFFF);
             y += 9;
         }
         pose.popMatrix();
     }
 
+    private static String historyLine(int slot, long version) {
+        Entry e = history.get(slot - 2);
+        return "§7" + e.name() + " §f" + fmt(e.ms());
+    }
+
+    public static List<Entry> getRunRooms() {
+        return runRooms;
+    }
+
     public static void reset() {
         history.clear();
+        runRooms.clear();
         currentRoom = null;
         enterTime = 0L;
+        text.invalidate();
     }
 
     private static String fmt(long ms) {
@@ -0,0 +1,251 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.dungeon;
+
+import com.google.gson.Gson;
+import com.teslamaps.TeslaMaps;
+import com.teslamaps.config.TeslaMapsConfig;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.client.Minecraft;
+
+/**
+ * Completed dungeon runs, one JSON line per run in config/teslamaps/history/&lt;floor&gt;.jsonl. Files are read
+ * and appended on a background thread; the per-floor aggregates the Splits HUD reads (best segment, sorted
+ * samples for median/p90, the PB run, sum of best) live on the client thread and are updated per run, so
+ * nothing on the render path walks the history.
+ */
+public class RunHistory {
+    private static final Path DIR = FabricLoader.getInstance().getConfigDir().resolve("teslamaps").resolve("history");
+    private static final String EXTENSION = ".jsonl";
+    private static final String TOTAL = "Total";
+    private static final Gson GSON = new Gson();
+
+    private static final ExecutorService IO = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "TeslaMaps-RunHistory");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public static class Run {
+        public long time;
+        public String floor;
+        public long total;
+        public LinkedHashMap<String, Long> splits = new LinkedHashMap<>(); // segment name -> duration ms, run order (no total)
+        public List<Room> rooms = new ArrayList<>();
+        public int score;
+        public double secrets; // percent
+        public int deaths;
+        public List<String> party = new ArrayList<>();
+    }
+
+    public static class Room {
+        public String name;
+        public long ms;
+
+        public Room(String name, long ms) {
+            this.name = name;
+            this.ms = ms;
+        }
+    }
+
+    /** Samples of one segment on one floor, kept sorted on insert. */
+    public static final class SplitStats {
+        private long[] sorted = new long[8];
+        private int count;
+        private long best = Long.MAX_VALUE;
+
+        void add(long ms) {
+            int at = Arrays.binarySearch(sorted, 0, count, ms);
+            if (at < 0) at = -at - 1;
+            if (count == sorted.length) sorted = Arrays.copyOf(sorted, count * 2);
+            System.arraycopy(sorted, at, sorted, at + 1, count - at);
+            sorted[at] = ms;
+            count++;
+        }
+
+        public int count() {
+            return count;
+        }
+
+        /** Best segment ever; 0 when there is none. */
+        public long best() {
+            return best == Long.MAX_VALUE ? 0 : best;
+        }
+
+        /** Nearest-rank percentile, {@code p} in 0..1; 0 when empty. */
+        public long percentile(double p) {
+            if (count == 0) return 0;
+            int rank = (int) Math.ceil(p * count) - 1;
+            return sorted[Math.max(0, Math.min(count - 1, rank))];
+        }
+    }
+
+    public static final class FloorStats {
+        private final Map<String, SplitStats> splits = new LinkedHashMap<>();
+        private Map<String, Long> pbRun = Map.of();
+        private long pbTotal = Long.MAX_VALUE;
+        private long sumOfBest;
+        private int runs;
+
+        public SplitStats split(String name) {
+            return splits.get(name);
+        }
+
+        public Map<String, SplitStats> splits() {
+            return splits;
+        }
+
+        /** The segment time from the run with the best total, or the best segment if that run lacks it. */
+        public long pbSegment(String name) {
+            Long ms = pbRun.get(name);
+            if (ms != null) return ms;
+            SplitStats s = splits.get(name);
+            return s != null ? s.best() : 0;
+        }
+
+        public long sumOfBest() {
+            return sumOfBest;
+        }
+
+        public int runs() {
+            return runs;
+        }
+
+        void add(Run run) {
+            runs++;
+            for (Map.Entry<String, Long> e : run.splits.entrySet()) {
+                if (e.getValue() == null || e.getValue() <= 0) continue;
+                observe(e.getKey(), e.getValue(), true);
+            }
+            if (run.total > 0) observe(TOTAL, run.total, true);
+            if (run.total > 0 && run.total < pbTotal) {
+                pbTotal = run.total;
+                pbRun = new HashMap<>(run.splits);
+                pbRun.put(TOTAL, run.total);
+            }
+        }
+
+        private void observe(String name, long ms, boolean sample) {
+            SplitStats s = splits.computeIfAbsent(name, k -> new SplitStats());
+            if (sample) s.add(ms);
+            if (ms < s.best) {
+                if (!TOTAL.equals(name)) sumOfBest += ms - (s.best == Long.MAX_VALUE ? 0 : s.best);
+                s.best = ms;
+            }
+        }
+    }
+
+    private static final Map<String, FloorStats> floors = new HashMap<>();
+    private static boolean loaded = false;
+
+    /** Reads every floor's log off-thread and folds it into the aggregates on the client thread. */
+    public static void load() {
+        Map<String, Long> seeds = new HashMap<>(TeslaMapsConfig.get().splitPbs);
+        IO.execute(() -> {
+            List<Run> runs = new ArrayList<>();
+            if (Files.isDirectory(DIR)) {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(DIR, "*" + EXTENSION)) {
+                    for (Path file : files) readFile(file, runs);
+                } catch (Exception e) {
+                    TeslaMaps.LOGGER.error("[RunHistory] Failed to list " + DIR, e);
+                }
+            }
+            Minecraft.getInstance().execute(() -> {
+                // PBs from before the history existed still count as best segments
+                for (Map.Entry<String, Long> e : seeds.entrySet()) {
+                    int colon = e.getKey().indexOf(':');
+                    if (colon <= 0 || e.getValue() == null || e.getValue() <= 0) continue;
+                    String split = e.getKey().substring(colon + 1);
+                    stats(e.getKey().substring(0, colon)).observe(split, e.getValue(), false);
+                }
+                for (Run run : runs) stats(run.floor).add(run);
+                loaded = true;
+                TeslaMaps.LOGGER.info("[RunHistory] Loaded {} runs", runs.size());
+            });
+        });
+    }
+
+    private static void readFile(Path file, List<Run> out) {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                try {
+                    Run run = GSON.fromJson(line, Run.class);
+                    if (run != null && run.floor != null && run.splits != null) out.add(run);
+                } catch (Exception e) {
+                    TeslaMaps.LOGGER.warn("[RunHistory] Skipping bad line in {}", file.getFileName());
+                }
+            }
+        } catch (Exception e) {
+            TeslaMaps.LOGGER.error("[RunHistory] Failed to read " + file, e);
+        }
+    }
+
+    /** Adds a finished run to the aggregates now and appends it to its floor's log off-thread. */
+    public static void record(Run run) {
+        if (run.floor == null || run.floor.isEmpty()) return;
+        stats(run.floor).add(run);
+        String line = GSON.toJson(run);
+        // floors load from each line's "floor", so the file name only has to be safe; "?" isn't on Windows
+        String name = run.floor.replaceAll("[^A-Za-z0-9_-]", "");
+        Path file = DIR.resolve((name.isEmpty() ? "unknown" : name) + EXTENSION);
+        IO.execute(() -> {
+            try {
+                Files.createDirectories(DIR);
+                try (BufferedWriter w = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    w.write(line);
+                    w.newLine();
+                }
+            } catch (Exception e) {
+                TeslaMaps.LOGGER.error("[RunHistory] Failed to append to " + file, e);
+            }
+        });
+    }
+
+    public static FloorStats stats(String floor) {
+        return floors.computeIfAbsent(floor, k -> new FloorStats());
+    }
+
+    /** Floor stats if any run or PB exists for it, else null; doesn't create an entry. */
+    public static FloorStats find(String floor) {
+        return floors.get(floor);
+    }
+
+    public static List<String> getFloors() {
+        List<String> out = new ArrayList<>(floors.keySet());
+        out.sort(null);
+        return out;
+    }
+
+    public static boolean isLoaded() {
+        return loaded;
+    }
+}
@@ -17,6 +17,8 @@ package com.teslamaps.dungeon;
 
 import com.teslamaps.TeslaMaps;
 import com.teslamaps.config.TeslaMapsConfig;
+import com.teslamaps.hud.HudText;
+import com.teslamaps.replay.ReplaySources;
 import net.minecraft.client.DeltaTracker;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphicsExtractor;
@@ -31,10 +33,12 @@ public class Splits {
     public static class Split {
         public final Pattern pattern;
         public final String name;   // may contain § color codes
+        public final String key;    // name without color codes; the RunHistory segment name
         public long time = 0L;      // 0 = not reached yet
         Split(String regex, String name) {
             this.pattern = Pattern.compile(regex);
             this.name = name;
+            this.key = name.replaceAll("(?i)§[0-9A-FK-OR]", "");
         }
     }
 
@@ -42,6 +46,8 @@ public class Splits {
     private static long startTime = 0L;
     private static boolean finished = false;
     private static int pendingSend = 0; // ticks until end-of-run messages are sent (avoids interrupting Hypixel's run summary)
+    private static String floorName = "";
+    private static RunHistory.FloorStats stats = null; // history for this floor as of run start
 
     private static final String MORT = "\\[NPC] Mort: Here, I found this map when I first entered the dungeon\\.|\\[NPC] Mort: Right-click the Orb for spells, and Left-click \\(or Drop\\) to use your Ultimate!";
     private static final String BLOOD_OPEN = "^\\[BOSS] The Watcher: (Congratulations, you made it through the Entrance\\.|Ah, you've finally arrived\\.|Ah, we meet again\\.\\.\\.|So you made it this far\\.\\.\\. interesting\\.|You've managed to scratch and claw your way here, eh\\?|I'm starting to get tired of seeing you around here\\.\\.\\.|Oh\\.\\. hello\\?|Things feel a little more roomy now, eh\\?)$|^The BLOOD DOOR has been opened!$";
@@ -50,8 +56,11 @@ public class Splits {
 
     private static void buildSplits() {
         active.clear();
+        stats = null;
         DungeonFloor floor = DungeonManager.getCurrentFloor();
         if (floor == null || floor == DungeonFloor.UNKNOWN) return;
+        floorName = floorKey();
+        stats = RunHistory.stats(floorName);
 
         active.add(new Split(MORT, "§2Blood Open"));
         active.add(new Split(BLOOD_OPEN, "§bBlood Clear"));
@@ -99,7 +108,7 @@ public class Splits {
 
         if (message.equals("Starting in 1 second.")) {
             buildSplits();
-            startTime = System.currentTimeMillis();
+            startTime = ReplaySources.now();
             finished = false;
             pendingSend = 0;
             return;
@@ -112,7 +121,7 @@ public class Splits {
             Split split = active.get(i);
             if (split.time != 0L) continue;
             if (split.pattern.matcher(message).matches()) {
-                split.time = System.currentTimeMillis();
+                split.time = ReplaySources.now();
 
                 if (i == n - 1) {
                     finished = true;
@@ -141,50 +150,89 @@ public class Splits {
         long firstTime = active.get(0).time;
         if (firstTime != 0L && last.time != 0L) sendSplit(last.name, last.time - firstTime);
         if (TeslaMapsConfig.get().splitsSendAllOnEnd) sendAllSplits();
+        recordRun();
+    }
+
+    // PB comparisons above still see the pre-run history; the run joins it only now
+    private static void recordRun() {
+        if (ReplaySources.isActive()) return;
+        int n = active.size();
+        Split first = active.get(0), last = active.get(n - 1);
+        if (first.time == 0L || last.time == 0L) return;
+
+        // the scoreboard may only have shown the floor after the countdown
+        if (floorName.equals("?")) floorName = floorKey();
+
+        RunHistory.Run run = new RunHistory.Run();
+        run.time = System.currentTimeMillis();
+        run.floor = floorName;
+        run.total = last.time - first.time;
+        for (int k = 1; k < n; k++) {
+            Split prev = active.get(k - 1), cur = active.get(k);
+            if (prev.time != 0L && cur.time != 0L) run.splits.put(prev.key, cur.time - prev.time);
+        }
+        for (RoomSplits.Entry e : RoomSplits.getRunRooms()) run.rooms.add(new RunHistory.Room(e.name(), e.ms()));
+        run.score = DungeonScore.getScore();
+        run.secrets = DungeonScore.getSecretsPercent();
+        run.deaths = DungeonScore.getDeathCount();
+        for (var p : com.teslamaps.player.PlayerTracker.getPlayers()) {
+            if (p != null) run.party.add(p.getName());
+        }
+        // PBs live in RunHistory's aggregates, which append the run off-thread; splitPbs is only a legacy seed
+        RunHistory.record(run);
+    }
+
+    private static String floorKey() {
+        String floor = DungeonManager.getFloorName();
+        return floor == null || floor.isEmpty() ? "?" : floor;
     }
 
     private static void sendSplit(String name, long durationMs) {
-        updatePb(name, durationMs);
+        if (ReplaySources.isActive()) return;
         Minecraft mc = Minecraft.getInstance();
         if (mc.player == null) return;
         mc.player.sendSystemMessage(Component.literal("§a[TeslaMaps] " + name + " §7- §f" + formatTime(durationMs)));
     }
 
     private static void sendAllSplits() {
+        if (ReplaySources.isActive()) return;
         Minecraft mc = Minecraft.getInstance();
         if (mc.player == null) return;
         StringBuilder sb = new StringBuilder("§a[TeslaMaps] §6§lRun Splits");
         for (int k = 1; k < active.size(); k++) {
             Split prev = active.get(k - 1), cur = active.get(k);
             if (prev.time != 0L && cur.time != 0L)
-                sb.append("\n  ").append(prev.name).append(" §7- §f").append(formatTime(cur.time - prev.time)).append(pbSuffix(prev.name));
+                sb.append("\n  ").append(prev.name).append(" §7- §f").append(formatTime(cur.time - prev.time)).append(pbSuffix(prev.key));
         }
         Split first = active.get(0), last = active.get(active.size() - 1);
         if (first.time != 0L && last.time != 0L)
-            sb.append("\n  §eTotal §7- §f").append(formatTime(last.time - first.time)).append(pbSuffix(last.name));
+            sb.append("\n  §eTotal §7- §f").append(formatTime(last.time - first.time)).append(pbSuffix(last.key));
+        if (stats != null && stats.sumOfBest() > 0)
+            sb.append("\n  §6Sum of Best §7- §f").append(formatTime(stats.sumOfBest()));
         mc.player.sendSystemMessage(Component.literal(sb.toString()));
     }
 
-    private static String pbSuffix(String name) {
-        Long pb = TeslaMapsConfig.get().splitPbs.get(pbKey(name));
-        return pb == null ? "" : " §8(" + formatTime(pb) + ")";
+    private static String pbSuffix(String key) {
+        RunHistory.SplitStats best = stats != null ? stats.split(key) : null;
+        return best == null || best.best() == 0 ? "" : " §8(" + formatTime(best.best()) + ")";
     }
 
-    private static String pbKey(String name) {
-        String floor = DungeonManager.getFloorName();
-        if (floor == null || floor.isEmpty()) floor = "?";
-        return floor + ":" + name.replaceAll("(?i)§[0-9A-FK-OR]", "");
+    // slots 0-1: the sum-of-best row, fixed so a floor with more or fewer splits can't hand its slot to a row
+    // cell with another formatter; then per row: name, time, delta, pb
+    private static final HudText.Cache text = new HudText.Cache();
+    private static final int SOB_SLOT = 0, ROW_SLOT = 2, COLS = 4;
+
+    private static String timeCell(int slot, long key) {
+        return switch ((int) (key & 3)) {
+            case 1 -> "§7" + formatTime((key >> 2) * 100);
+            case 2 -> formatTime((key >> 2) * 100);
+            default -> "§8-";
+        };
     }
 
-    private static void updatePb(String name, long durationMs) {
-        if (durationMs <= 0) return;
-        TeslaMapsConfig c = TeslaMapsConfig.get();
-        String key = pbKey(name);
-        Long pb = c.splitPbs.get(key);
-        if (pb == null || durationMs < pb) {
-            c.splitPbs.put(key, durationMs);
-            TeslaMapsConfig.save();
-        }
+    private static String deltaCell(int slot, long key) {
+        long tenths = key >> 1;
+        return formatDelta((key & 1) != 0 ? Math.max(1, tenths * 100) : -tenths * 100);
     }
 
     public static void render(GuiGraphicsExtractor context, DeltaTracker delta) {
@@ -193,8 +241,9 @@ public class Splits {
         Minecraft mc = Minecraft.getInstance();
         if (mc.player == null) return;
 
+        int n = active.size();
         int nameCol = 0;
-        for (Split split : active) nameCol = Math.max(nameCol, mc.font.width(split.name));
+        for (int i = 0; i < n; i++) nameCol = Math.max(nameCol, text.get(ROW_SLOT + i * COLS, active.get(i).name).width());
         nameCol += 6;
 
         var pose = context.pose();
@@ -202,48 +251,60 @@ public class Splits {
         pose.translate(config.splitsX, config.splitsY);
         pose.scale(config.splitsScale, config.splitsScale);
 
-        long now = System.currentTimeMillis();
-        int n = active.size();
+        long now = ReplaySources.now();
         long firstTime = active.get(0).time;
         long latest = active.get(n - 1).time != 0L ? active.get(n - 1).time : now;
 
-        boolean showPb = config.splitsShowPb;
+        boolean showPb = config.splitsShowPb && stats != null;
 
         int y = 0;
         for (int i = 0; i < n; i++) {
             Split split = active.get(i);
-            String timeStr;
+            long liveMs = -1;   // the duration shown; -1 = not started
             long frozenMs = -1; // a finalized phase duration (used for the PB comparison); -1 = live/not started
             if (i == n - 1) {
-                if (firstTime == 0L) {
-                    timeStr = "§8-";
-                } else {
-                    timeStr = formatTime(latest - firstTime);
-                    if (active.get(n - 1).time != 0L) frozenMs = latest - firstTime; // finalized total
+                if (firstTime != 0L) {
+                    liveMs = latest - firstTime;
+                    if (active.get(n - 1).time != 0L) frozenMs = liveMs; // finalized total
                 }
-            } else if (split.time == 0L) {
-                timeStr = "§8-";                                     // this phase not started yet
-            } else {
+            } else if (split.time != 0L) {
                 Split next = active.get(i + 1);
-                if (next.time != 0L) {
-                    frozenMs = next.time - split.time;
-                    timeStr = formatTime(frozenMs);                   // frozen: this phase's duration
-                } else {
-                    timeStr = "§7" + formatTime(now - split.time);    // current phase, counting from 0
-                }
+                if (next.time != 0L) frozenMs = liveMs = next.time - split.time; // frozen: this phase's duration
+                else liveMs = now - split.time;                                  // current phase, counting from 0
             }
+            // the running total is white like a frozen row; only an open phase is grey
+            long timeKey = liveMs < 0 ? 0 : (liveMs / 100) << 2 | (frozenMs < 0 && i < n - 1 ? 1 : 2);
 
-            Long pb = showPb ? config.splitPbs.get(pbKey(split.name)) : null;
+            long pb = showPb ? stats.pbSegment(split.key) : 0;
+            RunHistory.SplitStats seg = showPb ? stats.split(split.key) : null;
+            long gold = seg != null ? seg.best() : 0;
             int timeColor = 0xFFFFFFFF;
-            if (frozenMs >= 0 && pb != null) timeColor = frozenMs <= pb ? 0xFF55FF55 : 0xFFFF5555; // green = beat PB
-            context.text(mc.font, split.name, 0, y, 0xFFFFFFFF);
-            context.text(mc.font, timeStr, nameCol, y, timeColor);
-            if (pb != null) {
-                int px = nameCol + mc.font.width(timeStr) + 4;
-                context.text(mc.font, "§8(" + formatTime(pb) + ")", px, y, 0xFFFFFFFF);
+            if (frozenMs >= 0 && gold > 0 && frozenMs < gold) timeColor = 0xFFFFAA00;          // gold = best segment ever
+            else if (frozenMs >= 0 && pb > 0) timeColor = frozenMs <= pb ? 0xFF55FF55 : 0xFFFF5555; // green = ahead of PB run
+
+            int slot = ROW_SLOT + i * COLS;
+            HudText.draw(context, mc.font, text.get(slot, split.name), 0, y, 0xFFFFFFFF);
+            HudText.Line time = text.get(slot + 1, timeKey, Splits::timeCell);
+            HudText.draw(context, mc.font, time, nameCol, y, timeColor);
+            int px = nameCol + time.width() + 4;
+            // live rows only show a delta once they're already behind
+            if (pb > 0 && liveMs >= 0 && (frozenMs >= 0 || liveMs > pb)) {
+                long d = liveMs - pb;
+                HudText.Line line = text.get(slot + 2, Math.abs(d) / 100 << 1 | (d > 0 ? 1 : 0), Splits::deltaCell);
+                HudText.draw(context, mc.font, line, px, y, 0xFFFFFFFF);
+                px += line.width() + 4;
+            }
+            if (pb > 0) {
+                HudText.draw(context, mc.font, text.get(slot + 3, pb / 100, (s, k) -> "§8(" + formatTime(k * 100) + ")"),
+                        px, y, 0xFFFFFFFF);
             }
             y += 9;
         }
+        if (showPb && stats.sumOfBest() > 0) {
+            HudText.draw(context, mc.font, text.get(SOB_SLOT, "§6Sum of Best"), 0, y, 0xFFFFFFFF);
+            HudText.draw(context, mc.font, text.get(SOB_SLOT + 1, stats.sumOfBest() / 100, (s, k) -> formatTime(k * 100)),
+                    nameCol, y, 0xFFFFAA00);
+        }
         pose.popMatrix();
     }
 
@@ -252,12 +313,17 @@ public class Splits {
         int nameCol = 0;
         for (Split split : active) nameCol = Math.max(nameCol, mc.font.width(split.name));
         int w = nameCol + 6 + mc.font.width("00:00.0");
-        if (TeslaMapsConfig.get().splitsShowPb) w += 8 + mc.font.width("00:00.0");
+        if (TeslaMapsConfig.get().splitsShowPb) w += 12 + mc.font.width("+0:00.0") + mc.font.width("00:00.0");
         return w;
     }
 
     public static int hudHeight() {
-        return Math.max(1, active.size()) * 9;
+        boolean sob = TeslaMapsConfig.get().splitsShowPb && stats != null && stats.sumOfBest() > 0;
+        return (Math.max(1, active.size()) + (sob ? 1 : 0)) * 9;
+    }
+
+    public static List<Split> getSplits() {
+        return active;
     }
 
     public static boolean hasSplits() {
@@ -269,9 +335,17 @@ public class Splits {
         startTime = 0L;
         finished = false;
         pendingSend = 0;
+        stats = null;
+    }
+
+    private static String formatDelta(long ms) {
+        String t = formatTime(Math.abs(ms));
+        if (t.startsWith("0:")) t = t.substring(2);
+        if (t.startsWith("0") && t.length() > 3) t = t.substring(1);
+        return ms <= 0 ? "§a-" + t : "§c+" + t;
     }
 
-    private static String formatTime(long ms) {
+    public static String formatTime(long ms) {
         long totalSec = ms / 1000;
         long tenths = (ms % 1000) / 100;
         long minutes = totalSec / 60;
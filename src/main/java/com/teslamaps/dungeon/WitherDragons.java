@@ -19,6 +19,7 @@ import com.mojang.blaze3d.vertex.PoseStack;
 import com.teslamaps.config.TeslaMapsConfig;
 import com.teslamaps.player.PlayerTracker;
 import com.teslamaps.render.ESPRenderer;
+import com.teslamaps.utils.ServerTicks;
 import net.minecraft.client.Minecraft;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.particles.ParticleTypes;
@@ -28,6 +29,7 @@ import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -85,43 +87,89 @@ public class WitherDragons {
                 && f != null && f.getLevel() == 7 && dragonsPhase;
     }
 
+    private static final Dragon[] DRAGONS = Dragon.values();
+    // {xMin, xMax, zMin, zMax} per dragon, in Dragon order
+    static final double[][] SPAWN_RANGES = new double[DRAGONS.length][];
+    private static final DragonSpawnCells CELLS;
+    static {
+        for (int i = 0; i < DRAGONS.length; i++) {
+            SPAWN_RANGES[i] = new double[]{DRAGONS[i].xMin, DRAGONS[i].xMax, DRAGONS[i].zMin, DRAGONS[i].zMax};
+        }
+        CELLS = new DragonSpawnCells(SPAWN_RANGES);
+    }
+
+    /** A dragon leaving DEAD, stamped with the server tick of the spawn particle. */
+    public record SpawnEvent(Dragon dragon, long serverTick, int x, int z) {}
+
+    private static final List<SpawnEvent> spawnEvents = new ArrayList<>();
+
     public static void onParticlePacket(ClientboundLevelParticlesPacket p) {
+        // cheap numeric rejects first; almost every particle in the boss room fails on y or the cell lookup
+        double x = p.getX(), z = p.getZ();
+        int index = CELLS.indexAt(x, p.getY(), z, p.getCount());
+        if (index < 0) return;
+        Dragon d = DRAGONS[index];
+        if (p.getParticle().getType() != ParticleTypes.FLAME || p.getXDist() != 2f || p.getYDist() != 3f
+                || p.getZDist() != 2f || p.getMaxSpeed() != 0f) return;
+        if (!Minecraft.getInstance().isSameThread()) return;
+        onSpawnFlame(d, (int) x, (int) z, ServerTicks.now());
+    }
+
+    /** A spawn flame over {@code d}'s cell: starts its countdown, or retries the split while it is spawning. */
+    static void onSpawnFlame(Dragon d, int x, int z, long serverTick) {
         if (!active()) return;
-        if (p.getCount() != 20 || p.getY() != 19.0 || p.getParticle().getType() != ParticleTypes.FLAME
-                || p.getXDist() != 2f || p.getYDist() != 3f || p.getZDist() != 2f || p.getMaxSpeed() != 0f
-                || p.getX() % 1 != 0.0 || p.getZ() % 1 != 0.0) return;
+        if (d.state == State.DEAD) {
+            onSpawn(new SpawnEvent(d, serverTick, x, z));
+        } else if (d.state == State.SPAWNING && priorityDragon == null) {
+            updatePriority();
+        }
+    }
+
+    /**
+     * Starts a dragon's spawn countdown and re-evaluates the split. Live events come from
+     * {@link #onParticlePacket}; a recorded stream can be fed here directly alongside {@link #tick()}.
+     */
+    public static void onSpawn(SpawnEvent e) {
+        Dragon d = e.dragon();
+        if (d.state != State.DEAD) return;
+        d.state = State.SPAWNING;
+        d.timeToSpawn = 100;
+        spawnEvents.add(e);
+        if (TeslaMapsConfig.get().witherDragonMsg) msg("§" + d.colorCode + d.dispName + " §fdragon is spawning.");
+        if (TeslaMapsConfig.get().witherDragonTitle) {
+            Minecraft mc = Minecraft.getInstance();
+            if (mc.player != null) {
+                mc.gui.setTimes(0, 30, 5);
+                mc.gui.setTitle(Component.literal("§" + d.colorCode + d.dispName + " spawning!"));
+            }
+        }
+        updatePriority();
+    }
+
+    /** Spawn events of the current boss fight, oldest first. */
+    public static List<SpawnEvent> getSpawnEvents() {
+        return Collections.unmodifiableList(spawnEvents);
+    }
 
-        List<Dragon> spawning = new ArrayList<>();
+    public static Dragon getPriorityDragon() {
+        return priorityDragon;
+    }
+
+    // Split: once 2 dragons are up (or 2+ have spawned this run), pick the one YOU should take.
+    private static void updatePriority() {
+        if (priorityDragon != null) return;
+        List<Dragon> spawning = new ArrayList<>(2);
         int spawnedCount = 0;
         for (Dragon d : Dragon.values()) {
             spawnedCount += d.timesSpawned;
-            if (d.state == State.SPAWNING) {
-                if (!spawning.contains(d)) spawning.add(d);
-                continue;
-            }
-            if (d.state != State.DEAD) continue;
-            if (p.getX() >= d.xMin && p.getX() <= d.xMax && p.getZ() >= d.zMin && p.getZ() <= d.zMax) {
-                d.state = State.SPAWNING;
-                d.timeToSpawn = 100;
-                spawning.add(d);
-                if (TeslaMapsConfig.get().witherDragonMsg) msg("§" + d.colorCode + d.dispName + " §fdragon is spawning.");
-                if (TeslaMapsConfig.get().witherDragonTitle) {
-                    Minecraft mc = Minecraft.getInstance();
-                    if (mc.player != null) {
-                        mc.gui.setTimes(0, 30, 5);
-                        mc.gui.setTitle(Component.literal("§" + d.colorCode + d.dispName + " spawning!"));
-                    }
-                }
-            }
+            if (d.state == State.SPAWNING) spawning.add(d);
         }
+        if (spawning.isEmpty() || (spawning.size() != 2 && spawnedCount < 2)) return;
 
-        // Split: once 2 dragons are up (or 2+ have spawned this run), pick the one YOU should take.
-        if (!spawning.isEmpty() && (spawning.size() == 2 || spawnedCount >= 2) && priorityDragon == null) {
-            priorityDragon = findPriority(spawning);
-            if (TeslaMapsConfig.get().witherDragonPriority) {
-                String list = spawning.stream().map(d -> "§" + d.colorCode + d.dispName).collect(Collectors.joining(", "));
-                msg(list + " §r-> §" + priorityDragon.colorCode + priorityDragon.dispName + " §7is your priority dragon!");
-            }
+        priorityDragon = findPriority(spawning);
+        if (TeslaMapsConfig.get().witherDragonPriority) {
+            String list = spawning.stream().map(d -> "§" + d.colorCode + d.dispName).collect(Collectors.joining(", "));
+            msg(list + " §r-> §" + priorityDragon.colorCode + priorityDragon.dispName + " §7is your priority dragon!");
         }
     }
 
@@ -131,13 +179,16 @@ public class WitherDragons {
             for (Dragon d : spawning) if (indexOf(DEFAULT_ORDER, d) < indexOf(DEFAULT_ORDER, best)) best = d;
             return best;
         }
-        return sortPriority(spawning);
+        TeslaMapsConfig c = TeslaMapsConfig.get();
+        return sortPriority(spawning, totalPower(c), localClass(), c);
     }
 
-    private static Dragon sortPriority(List<Dragon> spawning) {
-        TeslaMapsConfig c = TeslaMapsConfig.get();
-        double totalPower = powerLevel * (c.witherDragonPaulBuff ? 1.25 : 1.0) + (timeLevel > 0 ? 2.5 : 0.0);
-        String playerClass = localClass();
+    private static double totalPower(TeslaMapsConfig c) {
+        return powerLevel * (c.witherDragonPaulBuff ? 1.25 : 1.0) + (timeLevel > 0 ? 2.5 : 0.0);
+    }
+
+    /** Odin's split for the dragons in {@code spawning} (sorted in place), given the blessings and your class. */
+    static Dragon sortPriority(List<Dragon> spawning, double totalPower, String playerClass, TeslaMapsConfig c) {
         boolean hasPurple = spawning.contains(Dragon.PURPLE);
 
         Dragon[] priorityList;
@@ -186,7 +237,7 @@ public class WitherDragons {
 
     public static void debugDump() {
         TeslaMapsConfig c = TeslaMapsConfig.get();
-        double totalPower = powerLevel * (c.witherDragonPaulBuff ? 1.25 : 1.0) + (timeLevel > 0 ? 2.5 : 0.0);
+        double totalPower = totalPower(c);
         String you = localClass();
         msg("§6=== Dragon Priority Debug ===");
         msg("§7In dungeon: §f" + DungeonManager.isInDungeon() + " §7| dragonsPhase: §f" + dragonsPhase + " §7| active: §f" + active());
@@ -301,6 +352,7 @@ public class WitherDragons {
     public static void reset() {
         dragonsPhase = false;
         priorityDragon = null;
+        spawnEvents.clear();
         powerLevel = 0;
         timeLevel = 0;
         for (Dragon d : Dragon.values()) { d.state = State.DEAD; d.timeToSpawn = 0; d.timesSpawned = 0; }
@@ -21,6 +21,7 @@ import com.teslamaps.config.TeslaMapsConfig;
 import com.teslamaps.dungeon.DungeonManager;
 import com.teslamaps.map.DungeonRoom;
 import com.teslamaps.render.ESPRenderer;
+import com.teslamaps.scanner.RoomFrame;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -46,7 +47,7 @@ public class BoulderSolver {
         "000000001111100100010010001011111110000000", new ArrayList<>(List.of(new int[]{24, 11}, new int[]{24, 14}, new int[]{24, 17}, new int[]{24, 20}, new int[]{22, 21}))
     );
 
-    private static int cornerX, cornerZ, rotation;
+    private static RoomFrame frame;
     private static boolean inBoulder = false;
 
     public static void tick() {
@@ -72,47 +73,26 @@ public class BoulderSolver {
         }
 
         if (!inBoulder) {
+            frame = RoomFrame.corner(room);
+            if (frame == null) return;
             inBoulder = true;
-            cornerX = room.getCornerX();
-            cornerZ = room.getCornerZ();
-            rotation = room.getRotation();
-
-            if (rotation < 0) {
-                inBoulder = false;
-                return;
-            }
 
             scanAndFindSolution(mc, room);
         }
     }
 
-    private static int[] rotatePos(int x, int z, int degree) {
-        return switch (degree % 360) {
-            case 0 -> new int[]{x, z};
-            case 90 -> new int[]{z, -x};
-            case 180 -> new int[]{-x, -z};
-            case 270 -> new int[]{-z, x};
-            default -> new int[]{x, z};
-        };
-    }
-
-    private static int[] fromComp(int x, int z) {
-        int[] rotated = rotatePos(x, z, (360 - rotation) % 360);
-        return new int[]{rotated[0] + cornerX, rotated[1] + cornerZ};
-    }
-
     private static void scanAndFindSolution(Minecraft mc, DungeonRoom room) {
         StringBuilder pattern = new StringBuilder();
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
         for (int z = 0; z < 16; z += 3) {
             for (int x = 0; x < 19; x += 3) {
-                int[] pos = fromComp(24 - x, 24 - z);
-                boolean hasBoulder = !mc.level.getBlockState(new BlockPos(pos[0], 65, pos[1])).isAir();
+                boolean hasBoulder = !mc.level.getBlockState(frame.toWorld(24 - x, 65, 24 - z, pos)).isAir();
                 pattern.append(hasBoulder ? "1" : "0");
             }
         }
 
         String patternStr = pattern.toString();
-        TeslaMaps.LOGGER.info("[BoulderSolver] Scanned pattern: {} (rotation={})", patternStr, rotation);
+        TeslaMaps.LOGGER.info("[BoulderSolver] Scanned pattern: {} (rotation={})", patternStr, frame.rotation());
 
         List<int[]> solution = BOULDER_SOLUTIONS.get(patternStr);
         if (solution == null) {
@@ -122,11 +102,8 @@ public class BoulderSolver {
 
         currentSolution.clear();
         for (int[] click : solution) {
-            int[] worldPos = fromComp(click[0], click[1]);
-            currentSolution.add(new BoulderClick(
-                new BlockPos(worldPos[0], 65, worldPos[1]),
-                new BlockPos(worldPos[0], 65, worldPos[1])
-            ));
+            BlockPos worldPos = frame.toWorld(click[0], 65, click[1]);
+            currentSolution.add(new BoulderClick(worldPos, worldPos));
         }
 
         TeslaMaps.LOGGER.info("[BoulderSolver] Found solution with {} clicks", currentSolution.size());
@@ -157,5 +134,6 @@ public class BoulderSolver {
     public static void reset() {
         currentSolution.clear();
         inBoulder = false;
+        frame = null;
     }
 }
@@ -15,18 +15,16 @@
  */
 package com.teslamaps.dungeon.puzzle;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import com.mojang.blaze3d.vertex.PoseStack;
 import com.teslamaps.TeslaMaps;
 import com.teslamaps.config.TeslaMapsConfig;
+import com.teslamaps.database.BundledData;
+import com.teslamaps.database.DataBundle;
 import com.teslamaps.dungeon.DungeonManager;
 import com.teslamaps.map.DungeonRoom;
 import com.teslamaps.render.ESPRenderer;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import net.minecraft.client.Minecraft;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.level.block.Blocks;
@@ -46,7 +44,11 @@ public class CreeperBeamsSolver {
         0xFF5555FF  // Blue
     };
 
-    private static List<int[]> lanternPairs;
+    private static final CompletableFuture<List<int[]>> LANTERN_PAIRS = BundledData.load(DataBundle.CREEPER_BEAMS, List.of())
+            .thenApply(pairs -> {
+                TeslaMaps.LOGGER.info("[CreeperBeamsSolver] Loaded {} lantern pairs", pairs.size());
+                return pairs;
+            });
     private static final List<LanternPair> currentPairs = new ArrayList<>();
     private static String lastRoomName = "";
     private static long lastScanTime = 0;
@@ -54,24 +56,6 @@ public class CreeperBeamsSolver {
 
     private record LanternPair(BlockPos pos1, BlockPos pos2, int color) {}
 
-    static {
-        loadSolutions();
-    }
-
-    private static void loadSolutions() {
-        try {
-            InputStream is = CreeperBeamsSolver.class.getResourceAsStream("/assets/teslamaps/puzzles/creeperBeamsSolutions.json");
-            if (is != null) {
-                Type type = new TypeToken<List<int[]>>(){}.getType();
-                lanternPairs = new Gson().fromJson(new InputStreamReader(is), type);
-                TeslaMaps.LOGGER.info("[CreeperBeamsSolver] Loaded {} lantern pairs", lanternPairs.size());
-            }
-        } catch (Exception e) {
-            TeslaMaps.LOGGER.error("[CreeperBeamsSolver] Failed to load solutions", e);
-            lanternPairs = List.of();
-        }
-    }
-
     public static boolean isActive() {
         return DungeonManager.isInDungeon() && "Creeper Beams".equals(lastRoomName);
     }
@@ -129,7 +113,7 @@ public class CreeperBeamsSolver {
         currentPairs.clear();
 
         int colorIndex = 0;
-        for (int[] pair : lanternPairs) {
+        for (int[] pair : LANTERN_PAIRS.getNow(List.of())) {
             if (pair.length < 6) continue;
 
             BlockPos rel1 = new BlockPos(pair[0], pair[1], pair[2]);
@@ -160,7 +144,7 @@ public class CreeperBeamsSolver {
         for (int rotation = 0; rotation < 4; rotation++) {
             int matches = 0;
 
-            for (int[] pair : lanternPairs) {
+            for (int[] pair : LANTERN_PAIRS.getNow(List.of())) {
                 if (pair.length < 6) continue;
 
                 BlockPos rel1 = new BlockPos(pair[0], pair[1], pair[2]);
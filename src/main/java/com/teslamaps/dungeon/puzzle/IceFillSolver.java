@@ -15,65 +15,36 @@
  */
 package com.teslamaps.dungeon.puzzle;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import com.mojang.blaze3d.vertex.PoseStack;
 import com.teslamaps.TeslaMaps;
 import com.teslamaps.config.TeslaMapsConfig;
+import com.teslamaps.database.BundledData;
+import com.teslamaps.database.DataBundle;
 import com.teslamaps.dungeon.DungeonManager;
-import com.teslamaps.dungeon.DungeonWaypoints;
 import com.teslamaps.map.DungeonRoom;
 import com.teslamaps.render.ESPRenderer;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import com.teslamaps.scanner.RoomFrame;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import net.minecraft.client.Minecraft;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.phys.Vec3;
 
 public class IceFillSolver {
 
-    private static List<List<List<int[]>>> identifier, easy, hard;
+    private static final CompletableFuture<DataBundle.IceFill> PATTERNS = BundledData.load(DataBundle.ICE_FILL,
+            new DataBundle.IceFill(List.of(), List.of(), List.of())).thenApply(p -> {
+                TeslaMaps.LOGGER.info("[IceFill] Loaded {} floors", p.identifier().size());
+                return p;
+            });
 
     private static final List<Vec3> currentPath = new ArrayList<>();
     private static DungeonRoom iceRoom = null;
-    private static int[] clay = null;
+    private static RoomFrame clay = null;
+    private static final BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
     private static boolean solved = false;
 
-    static { load(); }
-
-    private static void load() {
-        try (InputStream is = IceFillSolver.class.getResourceAsStream("/assets/teslamaps/puzzles/iceFillFloors.json")) {
-            JsonObject root = JsonParser.parseReader(new InputStreamReader(is)).getAsJsonObject();
-            identifier = parseSection(root.getAsJsonArray("identifier"));
-            easy = parseSection(root.getAsJsonArray("easy"));
-            hard = parseSection(root.getAsJsonArray("hard"));
-            TeslaMaps.LOGGER.info("[IceFill] Loaded {} floors", identifier.size());
-        } catch (Exception e) {
-            TeslaMaps.LOGGER.error("[IceFill] Failed to load patterns", e);
-            identifier = List.of(); easy = List.of(); hard = List.of();
-        }
-    }
-
-    private static List<List<List<int[]>>> parseSection(JsonArray floors) {
-        List<List<List<int[]>>> out = new ArrayList<>();
-        for (var floorEl : floors) {
-            List<List<int[]>> floor = new ArrayList<>();
-            for (var patEl : floorEl.getAsJsonArray()) {
-                List<int[]> pattern = new ArrayList<>();
-                for (var ptEl : patEl.getAsJsonArray()) {
-                    JsonObject o = ptEl.getAsJsonObject();
-                    pattern.add(new int[]{o.get("x").getAsInt(), o.get("y").getAsInt(), o.get("z").getAsInt()});
-                }
-                floor.add(pattern);
-            }
-            out.add(floor);
-        }
-        return out;
-    }
-
     public static void tick() {
         if (!TeslaMapsConfig.get().solveIceFill || !DungeonManager.isInDungeon()) { reset(); return; }
 
@@ -84,21 +55,23 @@ public class IceFillSolver {
         }
         if (iceRoom == null || solved) return;
 
-        clay = DungeonWaypoints.scanClayPos(iceRoom);
+        clay = RoomFrame.clay(iceRoom);
         if (clay == null) return;
 
         Minecraft mc = Minecraft.getInstance();
         if (mc.level == null) return;
 
-        List<List<List<int[]>>> patterns = TeslaMapsConfig.get().iceFillOptimized ? hard : easy;
+        DataBundle.IceFill loaded = PATTERNS.getNow(null);
+        if (loaded == null) return;
+        List<List<List<int[]>>> identifier = loaded.identifier();
+        List<List<List<int[]>>> patterns = TeslaMapsConfig.get().iceFillOptimized ? loaded.hard() : loaded.easy();
         currentPath.clear();
         for (int floor = 0; floor < identifier.size() && floor < patterns.size(); floor++) {
             List<List<int[]>> floorIds = identifier.get(floor);
             for (int pi = 0; pi < floorIds.size(); pi++) {
                 if (isAir(floorIds.get(pi).get(0)) && !isAir(floorIds.get(pi).get(1))) {
                     for (int[] pt : patterns.get(floor).get(pi)) {
-                        int[] xz = DungeonWaypoints.relativeToWorld(clay, pt[0], pt[2]);
-                        currentPath.add(new Vec3(xz[0] + 0.5, pt[1] + 0.1, xz[1] + 0.5));
+                        currentPath.add(new Vec3(clay.worldX(pt[0], pt[2]) + 0.5, pt[1] + 0.1, clay.worldZ(pt[0], pt[2]) + 0.5));
                     }
                     break;
                 }
@@ -110,8 +83,7 @@ public class IceFillSolver {
     private static boolean isAir(int[] p) {
         Minecraft mc = Minecraft.getInstance();
         if (mc.level == null) return false;
-        int[] xz = DungeonWaypoints.relativeToWorld(clay, p[0], p[2]);
-        return mc.level.getBlockState(new BlockPos(xz[0], p[1], xz[1])).isAir();
+        return mc.level.getBlockState(clay.toWorld(p[0], p[1], p[2], cursor)).isAir();
     }
 
     public static void render(PoseStack matrices, Vec3 cameraPos) {
@@ -20,6 +20,7 @@ import com.teslamaps.config.TeslaMapsConfig;
 import com.teslamaps.dungeon.DungeonManager;
 import com.teslamaps.map.DungeonRoom;
 import com.teslamaps.render.ESPRenderer;
+import com.teslamaps.scanner.RoomFrame;
 import net.minecraft.client.Minecraft;
 import net.minecraft.world.entity.monster.Silverfish;
 import net.minecraft.world.phys.Vec3;
@@ -38,7 +39,6 @@ public class IcePathSolver {
     private record Seg(double x1, double z1, double x2, double z2) {}
 
     private static final Deque<Seg> path = new ArrayDeque<>();
-    private static int cornerX, cornerZ, rotation;
     private static boolean inPath = false;
 
     public static void tick() {
@@ -53,16 +53,13 @@ public class IcePathSolver {
         }
 
         if (!inPath) {
-            rotation = room.getRotation();
-            if (rotation < 0) return;
-            cornerX = room.getCornerX();
-            cornerZ = room.getCornerZ();
+            RoomFrame frame = RoomFrame.corner(room);
+            if (frame == null) return;
             inPath = true;
             path.clear();
             for (int[] s : SOLUTION) {
-                int[] a = fromComp(s[0], s[1]);
-                int[] b = fromComp(s[2], s[3]);
-                path.add(new Seg(a[0] + 0.5, a[1] + 0.5, b[0] + 0.5, b[1] + 0.5));
+                path.add(new Seg(frame.worldX(s[0], s[1]) + 0.5, frame.worldZ(s[0], s[1]) + 0.5,
+                        frame.worldX(s[2], s[3]) + 0.5, frame.worldZ(s[2], s[3]) + 0.5));
             }
         }
 
@@ -78,20 +75,6 @@ public class IcePathSolver {
         if (Math.abs(fish.getX() - cur.x2) + Math.abs(fish.getZ() - cur.z2) < 0.8) path.pollFirst();
     }
 
-    private static int[] rotatePos(int x, int z, int degree) {
-        return switch (degree % 360) {
-            case 90 -> new int[]{z, -x};
-            case 180 -> new int[]{-x, -z};
-            case 270 -> new int[]{-z, x};
-            default -> new int[]{x, z};
-        };
-    }
-
-    private static int[] fromComp(int x, int z) {
-        int[] r = rotatePos(x, z, (360 - rotation) % 360);
-        return new int[]{r[0] + cornerX, r[1] + cornerZ};
-    }
-
     public static void render(PoseStack matrices, Vec3 cameraPos) {
         if (!TeslaMapsConfig.get().icePathSolver || path.isEmpty()) return;
         int i = 0;
@@ -15,21 +15,19 @@
  */
 package com.teslamaps.dungeon.puzzle;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import com.mojang.blaze3d.vertex.PoseStack;
 import com.teslamaps.TeslaMaps;
 import com.teslamaps.config.TeslaMapsConfig;
+import com.teslamaps.database.BundledData;
+import com.teslamaps.database.DataBundle;
 import com.teslamaps.dungeon.DungeonManager;
-import com.teslamaps.dungeon.DungeonWaypoints;
 import com.teslamaps.map.DungeonRoom;
 import com.teslamaps.render.ESPRenderer;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.lang.reflect.Type;
+import com.teslamaps.scanner.RoomFrame;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.phys.AABB;
@@ -37,7 +35,11 @@ import net.minecraft.world.phys.Vec3;
 
 public class QuizSolver {
 
-    private static Map<String, List<String>> answers;
+    private static final CompletableFuture<Map<String, List<String>>> ANSWERS =
+            BundledData.load(DataBundle.QUIZ_ANSWERS, Map.of()).thenApply(answers -> {
+                TeslaMaps.LOGGER.info("[QuizSolver] Loaded {} quiz questions", answers.size());
+                return answers;
+            });
     private static List<String> currentAnswers = null;
     private static final TriviaOption[] triviaOptions = new TriviaOption[3];
 
@@ -49,30 +51,15 @@ public class QuizSolver {
 
     private record TriviaOption(BlockPos worldPos, boolean isCorrect) {}
 
-    private static int[] clay = null; // {clayX, clayZ, rotation} for the current Quiz room
+    private static RoomFrame clay = null; // terracotta frame of the current Quiz room
     private static DungeonRoom quizRoom = null;
 
     static {
-        loadAnswers();
         for (int i = 0; i < 3; i++) {
             triviaOptions[i] = new TriviaOption(null, false);
         }
     }
 
-    private static void loadAnswers() {
-        try {
-            InputStream is = QuizSolver.class.getResourceAsStream("/assets/teslamaps/puzzles/quizAnswers.json");
-            if (is != null) {
-                Type type = new TypeToken<Map<String, List<String>>>(){}.getType();
-                answers = new Gson().fromJson(new InputStreamReader(is), type);
-                TeslaMaps.LOGGER.info("[QuizSolver] Loaded {} quiz questions", answers.size());
-            }
-        } catch (Exception e) {
-            TeslaMaps.LOGGER.error("[QuizSolver] Failed to load answers", e);
-            answers = Map.of();
-        }
-    }
-
     public static void onChatMessage(String message) {
         if (!TeslaMapsConfig.get().solveQuiz) return;
         if (!DungeonManager.isInDungeon()) return;
@@ -122,7 +109,7 @@ public class QuizSolver {
             return;
         }
 
-        for (Map.Entry<String, List<String>> entry : answers.entrySet()) {
+        for (Map.Entry<String, List<String>> entry : ANSWERS.getNow(Map.of()).entrySet()) {
             if (trimmed.contains(entry.getKey())) {
                 currentAnswers = entry.getValue();
                 TeslaMaps.LOGGER.info("[QuizSolver] Found question: {} -> {}", entry.getKey(), currentAnswers);
@@ -158,13 +145,12 @@ public class QuizSolver {
 
         if (currentAnswers == null) return;
 
-        if (clay == null) clay = DungeonWaypoints.scanClayPos(quizRoom);
+        if (clay == null) clay = RoomFrame.clay(quizRoom);
         if (clay == null) return; // terracotta not loaded/scannable yet
 
         for (int i = 0; i < 3; i++) {
-            int[] worldPos = DungeonWaypoints.relativeToWorld(clay, TYPE_BLOCKS[i][0], TYPE_BLOCKS[i][1]);
             triviaOptions[i] = new TriviaOption(
-                new BlockPos(worldPos[0], 70, worldPos[1]),
+                clay.toWorld(TYPE_BLOCKS[i][0], 70, TYPE_BLOCKS[i][1]),
                 triviaOptions[i].isCorrect
             );
         }
@@ -17,6 +17,7 @@ package com.teslamaps.dungeon.puzzle;
 
 import com.teslamaps.config.TeslaMapsConfig;
 import com.teslamaps.dungeon.DungeonManager;
+import com.teslamaps.hud.HudText;
 import java.util.Set;
 import net.minecraft.client.DeltaTracker;
 import net.minecraft.client.Minecraft;
@@ -56,6 +57,7 @@ public class SpiritBearTimer {
 
     private static int kills = 0;
     private static int timer = -1; // -1 = not spawning, 0 = alive, >0 = ticks until spawn
+    private static final HudText.Cache text = new HudText.Cache();
     private static String lastFloor = "";
 
     public static void tick() {
@@ -123,16 +125,25 @@ public class SpiritBearTimer {
 
         int maxKills = lastFloor.contains("M4") ? 30 : 25;
 
-        String text;
-        if (timer < 0) {
-            text = String.format("§6Spirit Bear: §d%d/%d", kills, maxKills);
-        } else if (timer > 0) {
-            text = String.format("§6Spirit Bear: §e%.2fs", timer / 20f);
-        } else {
-            text = "§6Spirit Bear: §aAlive!";
-        }
+        // low two bits: 0 kills, 1 countdown, 2 alive
+        long key = timer < 0 ? ((long) kills << 8 | maxKills) << 2 : timer > 0 ? (long) timer << 2 | 1 : 2;
+        HudText.Line line = text.get(0, key, SpiritBearTimer::format);
+
+        var pose = context.pose();
+        pose.pushMatrix();
+        pose.translate(config.spiritBearX, config.spiritBearY);
+        pose.scale(config.spiritBearScale, config.spiritBearScale);
+        HudText.draw(context, mc.font, line, 0, 0, 0xFFFFFFFF);
+        pose.popMatrix();
+    }
 
-        draw(context, mc, config.spiritBearX, config.spiritBearY, config.spiritBearScale, text);
+    private static String format(int slot, long key) {
+        long v = key >> 2;
+        return switch ((int) (key & 3)) {
+            case 0 -> String.format("§6Spirit Bear: §d%d/%d", v >> 8, v & 0xFF);
+            case 1 -> String.format("§6Spirit Bear: §e%.2fs", v / 20f);
+            default -> "§6Spirit Bear: §aAlive!";
+        };
     }
 
     /** Draws the HUD at a position/scale. Used by the live HUD and the HUD editor preview. */
@@ -22,6 +22,7 @@ import com.teslamaps.dungeon.DungeonManager;
 import com.teslamaps.map.DungeonRoom;
 import com.teslamaps.render.ESPRenderer;
 import com.teslamaps.scanner.ComponentGrid;
+import com.teslamaps.scanner.RoomFrame;
 import com.teslamaps.utils.TicTacToeUtils;
 import java.util.*;
 import net.minecraft.client.Minecraft;
@@ -75,15 +76,13 @@ public class TicTacToe {
             currentRoom = DungeonManager.getRoomAt(gridPos[0], gridPos[1]);
             if (currentRoom == null) return;
 
-            int cornerX = currentRoom.getCornerX();
-            int cornerZ = currentRoom.getCornerZ();
-            int rotation = currentRoom.getRotation();
-            if (rotation < 0) return; // Rotation not detected yet
+            RoomFrame frame = RoomFrame.corner(currentRoom);
+            if (frame == null) return; // Rotation not detected yet
 
             Map<BlockPos, Character> frameData = new HashMap<>();
-            for (ItemFrame frame : itemFrames) {
-                BlockPos pos = frame.blockPosition();
-                ItemStack stack = frame.getItem();
+            for (ItemFrame itemFrame : itemFrames) {
+                BlockPos pos = itemFrame.blockPosition();
+                ItemStack stack = itemFrame.getItem();
                 MapItemSavedData mapState = MapItem.getSavedData(stack, mc.level);
                 if (mapState == null) continue;
 
@@ -107,11 +106,9 @@ public class TicTacToe {
                 BlockPos worldPos = entry.getKey();
                 char symbol = entry.getValue();
 
-                int[] relative = worldToRelative(cornerX, cornerZ, rotation, worldPos);
-
-                int relX = relative[0];
-                int relY = relative[1];
-                int relZ = relative[2];
+                int relX = frame.relX(worldPos.getX(), worldPos.getZ());
+                int relY = worldPos.getY();
+                int relZ = frame.relZ(worldPos.getX(), worldPos.getZ());
 
                 int row = 72 - relY;
                 int col = 17 - relZ;
@@ -144,7 +141,7 @@ public class TicTacToe {
                 int relZ = 17 - bestMove.column();
                 int relX = 8; // X is constant in relative space 
 
-                worldPos = relativeToWorld(cornerX, cornerZ, rotation, relX, relY, relZ);
+                worldPos = frame.toWorld(relX, relY, relZ);
             }
 
             Direction facing = itemFrames.get(0).getDirection();
@@ -162,29 +159,6 @@ public class TicTacToe {
         }
     }
 
-    private static int[] rotatePos(int x, int z, int degree) {
-        return switch (degree % 360) {
-            case 0 -> new int[]{x, z};
-            case 90 -> new int[]{z, -x};
-            case 180 -> new int[]{-x, -z};
-            case 270 -> new int[]{-z, x};
-            default -> new int[]{x, z};
-        };
-    }
-
-    private static int[] worldToRelative(int cornerX, int cornerZ, int rotation, BlockPos worldPos) {
-        int dx = worldPos.getX() - cornerX;
-        int dz = worldPos.getZ() - cornerZ;
-
-        int[] rotated = rotatePos(dx, dz, rotation);
-        return new int[]{rotated[0], worldPos.getY(), rotated[1]};
-    }
-
-    private static BlockPos relativeToWorld(int cornerX, int cornerZ, int rotation, int relX, int relY, int relZ) {
-        int[] rotated = rotatePos(relX, relZ, (360 - rotation) % 360);
-        return new BlockPos(cornerX + rotated[0], relY, cornerZ + rotated[1]);
-    }
-
     public static void render(PoseStack matrices, Vec3 cameraPos) {
         if (!TeslaMapsConfig.get().solveTicTacToe || nextBestMoveBox == null) {
             return;
@@ -15,18 +15,17 @@
  */
 package com.teslamaps.dungeon.puzzle;
 
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import com.mojang.blaze3d.vertex.PoseStack;
 import com.teslamaps.TeslaMaps;
 import com.teslamaps.config.TeslaMapsConfig;
+import com.teslamaps.database.BundledData;
+import com.teslamaps.database.DataBundle;
 import com.teslamaps.dungeon.DungeonManager;
 import com.teslamaps.map.DungeonRoom;
 import com.teslamaps.render.ESPRenderer;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import com.teslamaps.scanner.RoomFrame;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import net.minecraft.client.DeltaTracker;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphicsExtractor;
@@ -38,7 +37,9 @@ import net.minecraft.world.phys.Vec3;
 
 public class WaterBoardSolver {
 
-    private static JsonObject SOLUTIONS;
+    // "variant:doors" -> lever -> click times; loaded off-thread the first time the class is touched
+    private static final CompletableFuture<Map<String, Map<LeverType, List<Double>>>> SOLUTIONS =
+            BundledData.load(DataBundle.WATER_TIMES, Map.of()).thenApply(WaterBoardSolver::toSolutions);
 
     private static final int[] TOP_LEFT_BLOCK = {16, 26};
     private static final int[] TOP_RIGHT_BLOCK = {14, 26};
@@ -88,26 +89,25 @@ public class WaterBoardSolver {
     private static long waterStartMillis = 0;
     private static boolean inWaterBoard = false;
     private static DungeonRoom currentRoom = null;
-    private static int cornerX = 0;
-    private static int cornerZ = 0;
-    private static int rotation = -1;
+    private static RoomFrame frame = null;
+    private static final BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
     private static int variantAttempts = 0;
 
-    static {
-        loadSolutions();
-    }
-
-    private static void loadSolutions() {
-        try {
-            InputStream is = WaterBoardSolver.class.getResourceAsStream("/assets/teslamaps/puzzles/watertimes.json");
-            if (is != null) {
-                SOLUTIONS = JsonParser.parseReader(new InputStreamReader(is)).getAsJsonObject();
-                TeslaMaps.LOGGER.info("[WaterBoardSolver] Loaded water solutions");
+    private static Map<String, Map<LeverType, List<Double>>> toSolutions(Map<String, Map<String, double[]>> bundled) {
+        Map<String, Map<LeverType, List<Double>>> out = new HashMap<>();
+        for (Map.Entry<String, Map<String, double[]>> solution : bundled.entrySet()) {
+            Map<LeverType, List<Double>> levers = new EnumMap<>(LeverType.class);
+            for (Map.Entry<String, double[]> entry : solution.getValue().entrySet()) {
+                LeverType leverType = LeverType.fromName(entry.getKey());
+                if (leverType == null) continue;
+                List<Double> times = new ArrayList<>(entry.getValue().length);
+                for (double t : entry.getValue()) times.add(t);
+                levers.put(leverType, List.copyOf(times));
             }
-        } catch (Exception e) {
-            TeslaMaps.LOGGER.error("[WaterBoardSolver] Failed to load solutions", e);
-            SOLUTIONS = new JsonObject();
+            out.put(solution.getKey(), levers);
         }
+        TeslaMaps.LOGGER.info("[WaterBoardSolver] Loaded {} water solutions", out.size());
+        return out;
     }
 
     public static void tick() {
@@ -141,81 +141,49 @@ public class WaterBoardSolver {
             waterStartMillis = 0;
             variantAttempts = 0;
 
-            rotation = room.getRotation();
-            cornerX = room.getCornerX();
-            cornerZ = room.getCornerZ();
-
             TeslaMaps.LOGGER.info("[WaterBoardSolver] Entered Water Board room, rotation={}, corner=({},{})",
-                rotation, cornerX, cornerZ);
+                room.getRotation(), room.getCornerX(), room.getCornerZ());
         }
+        if (frame == null) frame = RoomFrame.corner(room); // rotation may land after we enter
 
         // retry variant detection: the board blocks are often not loaded yet on the first tick after entering
-        if (variant < 0 && rotation >= 0 && variantAttempts < 100) {
+        if (variant < 0 && frame != null && variantAttempts < 100) {
             if (variantAttempts % 20 == 0) detectVariant(mc);
             variantAttempts++;
         }
 
-        if (variant >= 0 && subvariant == null && rotation >= 0) {
+        if (variant >= 0 && subvariant == null && frame != null) {
             detectSubvariant(mc);
         }
     }
 
-    private static int[] rotatePos(int x, int z, int degree) {
-        return switch (degree % 360) {
-            case 0 -> new int[]{x, z};
-            case 90 -> new int[]{z, -x};
-            case 180 -> new int[]{-x, -z};
-            case 270 -> new int[]{-z, x};
-            default -> new int[]{x, z};
-        };
-    }
-
-    private static int[] fromComp(int x, int z) {
-        if (rotation < 0) return null;
-        int[] rotated = rotatePos(x, z, (360 - rotation) % 360);
-        return new int[]{rotated[0] + cornerX, rotated[1] + cornerZ};
+    private static Block blockAt(RoomFrame f, int x, int y, int z) {
+        return Minecraft.getInstance().level.getBlockState(f.toWorld(x, y, z, cursor)).getBlock();
     }
 
     private static void detectVariant(Minecraft mc) {
-        if (rotation < 0) {
+        if (frame == null) {
             TeslaMaps.LOGGER.warn("[WaterBoardSolver] No rotation detected yet");
             return;
         }
 
         int currentY = 77;
-        int[] lanternPos = fromComp(15, 27);
-        if (lanternPos != null) {
-            Block lanternBlock = mc.level.getBlockState(new BlockPos(lanternPos[0], currentY, lanternPos[1])).getBlock();
-            if (lanternBlock != Blocks.SEA_LANTERN) {
-                currentY = 78;
-            }
+        if (blockAt(frame, 15, currentY, 27) != Blocks.SEA_LANTERN) {
+            currentY = 78;
         }
 
-        int[] topLeft = fromComp(TOP_LEFT_BLOCK[0], TOP_LEFT_BLOCK[1]);
-        int[] topRight = fromComp(TOP_RIGHT_BLOCK[0], TOP_RIGHT_BLOCK[1]);
-
-        if (topLeft == null || topRight == null) {
-            TeslaMaps.LOGGER.warn("[WaterBoardSolver] Could not convert block positions");
-            return;
-        }
-
-        Block leftBlock = mc.level.getBlockState(new BlockPos(topLeft[0], currentY, topLeft[1])).getBlock();
-        Block rightBlock = mc.level.getBlockState(new BlockPos(topRight[0], currentY, topRight[1])).getBlock();
+        Block leftBlock = blockAt(frame, TOP_LEFT_BLOCK[0], currentY, TOP_LEFT_BLOCK[1]);
+        Block rightBlock = blockAt(frame, TOP_RIGHT_BLOCK[0], currentY, TOP_RIGHT_BLOCK[1]);
 
         TeslaMaps.LOGGER.info("[WaterBoardSolver] Top blocks at Y={}: left={} at ({},{}), right={} at ({},{})",
-            currentY, leftBlock, topLeft[0], topLeft[1], rightBlock, topRight[0], topRight[1]);
+            currentY, leftBlock, frame.worldX(TOP_LEFT_BLOCK[0], TOP_LEFT_BLOCK[1]), frame.worldZ(TOP_LEFT_BLOCK[0], TOP_LEFT_BLOCK[1]),
+            rightBlock, frame.worldX(TOP_RIGHT_BLOCK[0], TOP_RIGHT_BLOCK[1]), frame.worldZ(TOP_RIGHT_BLOCK[0], TOP_RIGHT_BLOCK[1]));
 
         if (leftBlock == Blocks.AIR || leftBlock == Blocks.STONE) {
-            int[] newPos = fromComp(TOP_LEFT_BLOCK[0], TOP_LEFT_BLOCK[1] + 1);
-            if (newPos != null) {
-                leftBlock = mc.level.getBlockState(new BlockPos(newPos[0], currentY, newPos[1])).getBlock();
-            }
+            leftBlock = blockAt(frame, TOP_LEFT_BLOCK[0], currentY, TOP_LEFT_BLOCK[1] + 1);
         }
         if (rightBlock == Blocks.AIR || rightBlock == Blocks.STONE) {
-            int[] newPos = fromComp(TOP_RIGHT_BLOCK[0], TOP_RIGHT_BLOCK[1] + 1);
-            if (newPos != null) {
-                rightBlock = mc.level.getBlockState(new BlockPos(newPos[0], currentY, newPos[1])).getBlock();
-            }
+            rightBlock = blockAt(frame, TOP_RIGHT_BLOCK[0], currentY, TOP_RIGHT_BLOCK[1] + 1);
         }
 
         if (leftBlock == Blocks.GOLD_BLOCK && rightBlock == Blocks.TERRACOTTA) {
@@ -251,12 +219,11 @@ public class WaterBoardSolver {
     }
 
     private static boolean tryDetect(Minecraft mc, int cx, int cz, int rot) {
+        RoomFrame candidate = RoomFrame.at(cx, cz, rot);
         for (int y : new int[]{77, 78}) {
-            int v = readVariant(mc, cx, cz, rot, y);
+            int v = readVariant(candidate, y);
             if (v >= 0) {
-                cornerX = cx;
-                cornerZ = cz;
-                rotation = rot;
+                frame = candidate;
                 variant = v;
                 TeslaMaps.LOGGER.info("[WaterBoardSolver] Detected variant {} at corner=({},{}) rot={} Y={}", v, cx, cz, rot, y);
                 return true;
@@ -265,13 +232,13 @@ public class WaterBoardSolver {
         return false;
     }
 
-    private static int readVariant(Minecraft mc, int cx, int cz, int rot, int y) {
-        Block left = blockAtComp(mc, TOP_LEFT_BLOCK[0], TOP_LEFT_BLOCK[1], rot, cx, cz, y);
-        Block right = blockAtComp(mc, TOP_RIGHT_BLOCK[0], TOP_RIGHT_BLOCK[1], rot, cx, cz, y);
+    private static int readVariant(RoomFrame f, int y) {
+        Block left = blockAt(f, TOP_LEFT_BLOCK[0], y, TOP_LEFT_BLOCK[1]);
+        Block right = blockAt(f, TOP_RIGHT_BLOCK[0], y, TOP_RIGHT_BLOCK[1]);
         if (left == Blocks.AIR || left == Blocks.STONE)
-            left = blockAtComp(mc, TOP_LEFT_BLOCK[0], TOP_LEFT_BLOCK[1] + 1, rot, cx, cz, y);
+            left = blockAt(f, TOP_LEFT_BLOCK[0], y, TOP_LEFT_BLOCK[1] + 1);
         if (right == Blocks.AIR || right == Blocks.STONE)
-            right = blockAtComp(mc, TOP_RIGHT_BLOCK[0], TOP_RIGHT_BLOCK[1] + 1, rot, cx, cz, y);
+            right = blockAt(f, TOP_RIGHT_BLOCK[0], y, TOP_RIGHT_BLOCK[1] + 1);
 
         if (left == Blocks.GOLD_BLOCK && right == Blocks.TERRACOTTA) return 0;
         if (left == Blocks.EMERALD_BLOCK && right == Blocks.QUARTZ_BLOCK) return 1;
@@ -280,20 +247,12 @@ public class WaterBoardSolver {
         return -1;
     }
 
-    private static Block blockAtComp(Minecraft mc, int x, int z, int rot, int cx, int cz, int y) {
-        int[] r = rotatePos(x, z, (360 - rot) % 360);
-        return mc.level.getBlockState(new BlockPos(r[0] + cx, y, r[1] + cz)).getBlock();
-    }
-
     private static void detectSubvariant(Minecraft mc) {
         StringBuilder sb = new StringBuilder();
 
         for (int idx = 0; idx < WOOL_ORDER.length; idx++) {
             Block woolType = WOOL_ORDER[idx];
-            int[] pos = fromComp(PURPLE_WOOL[0], PURPLE_WOOL[1] - idx);
-            if (pos == null) continue;
-
-            Block block = mc.level.getBlockState(new BlockPos(pos[0], 57, pos[1])).getBlock();
+            Block block = blockAt(frame, PURPLE_WOOL[0], 57, PURPLE_WOOL[1] - idx);
 
             if (block == woolType) {
                 sb.append(idx);
@@ -310,34 +269,23 @@ public class WaterBoardSolver {
     }
 
     private static void loadSolution() {
-        if (SOLUTIONS == null || variant < 0 || subvariant == null) return;
+        Map<String, Map<LeverType, List<Double>>> solutions = SOLUTIONS.getNow(null);
+        if (solutions == null || variant < 0 || subvariant == null) return;
 
         String variantKey = String.valueOf(variant + 1);
 
         TeslaMaps.LOGGER.info("[WaterBoardSolver] Looking up solution for variant={} doors={}", variantKey, subvariant);
 
-        JsonObject variantSolutions = SOLUTIONS.getAsJsonObject(variantKey);
-        if (variantSolutions == null) {
-            TeslaMaps.LOGGER.warn("[WaterBoardSolver] No solutions for variant {}", variantKey);
-            return;
-        }
-
-        JsonObject doorSolution = variantSolutions.getAsJsonObject(subvariant);
+        Map<LeverType, List<Double>> doorSolution = solutions.get(variantKey + ":" + subvariant);
         if (doorSolution == null) {
             TeslaMaps.LOGGER.warn("[WaterBoardSolver] No solution for variant {} doors {}", variantKey, subvariant);
             return;
         }
 
+        // clicks are crossed off as they happen, so the run gets its own copy of the lists
         solution = new EnumMap<>(LeverType.class);
-        for (Map.Entry<String, JsonElement> entry : doorSolution.entrySet()) {
-            LeverType leverType = LeverType.fromName(entry.getKey());
-            if (leverType != null) {
-                List<Double> times = new ArrayList<>();
-                for (JsonElement elem : entry.getValue().getAsJsonArray()) {
-                    times.add(elem.getAsDouble());
-                }
-                solution.put(leverType, times);
-            }
+        for (Map.Entry<LeverType, List<Double>> entry : doorSolution.entrySet()) {
+            solution.put(entry.getKey(), new ArrayList<>(entry.getValue()));
         }
 
         TeslaMaps.LOGGER.info("[WaterBoardSolver] Loaded solution with {} lever types", solution.size());
@@ -347,12 +295,9 @@ public class WaterBoardSolver {
         if (!TeslaMapsConfig.get().solveWaterBoard || solution == null) return;
 
         for (LeverType leverType : LeverType.values()) {
-            int[] leverPos = fromComp(leverType.x, leverType.z);
-            if (leverPos == null) continue;
-
-            if (Math.abs(pos.getX() - leverPos[0]) <= 1 &&
+            if (Math.abs(pos.getX() - frame.worldX(leverType.x, leverType.z)) <= 1 &&
                 Math.abs(pos.getY() - leverType.y) <= 1 &&
-                Math.abs(pos.getZ() - leverPos[1]) <= 1) {
+                Math.abs(pos.getZ() - frame.worldZ(leverType.x, leverType.z)) <= 1) {
 
                 List<Double> times = solution.get(leverType);
                 if (times != null && !times.isEmpty()) {
@@ -382,11 +327,10 @@ public class WaterBoardSolver {
             LeverType leverType = entry.getKey();
             List<Double> times = entry.getValue();
 
-            int[] pos = fromComp(leverType.x, leverType.z);
-            if (pos == null) continue;
+            BlockPos pos = frame.toWorld(leverType.x, leverType.y, leverType.z);
 
             for (int i = 0; i < times.size(); i++) {
-                remaining.add(new LeverTime(leverType.name, new BlockPos(pos[0], leverType.y, pos[1]), times.get(i), i));
+                remaining.add(new LeverTime(leverType.name, pos, times.get(i), i));
             }
         }
 
@@ -517,9 +461,7 @@ public class WaterBoardSolver {
         waterStartMillis = 0;
         inWaterBoard = false;
         currentRoom = null;
-        cornerX = 0;
-        cornerZ = 0;
-        rotation = -1;
+        frame = null;
         variantAttempts = 0;
     }
 
@@ -16,6 +16,7 @@
 package com.teslamaps.features;
 
 import com.teslamaps.config.TeslaMapsConfig;
+import com.teslamaps.hud.HudText;
 import net.minecraft.client.DeltaTracker;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphicsExtractor;
@@ -38,10 +39,25 @@ public class DungeonTimers {
 
     private static final float ICON = 0.625f; // 16px -> 10px, ~text height
 
-    public static void set(String key, String text) { lines.put(key, new Row(text, null)); }
-    public static void set(String key, String text, ItemStack icon) { lines.put(key, new Row(text, icon)); }
-    public static void clear(String key) { lines.remove(key); }
-    public static void clearAll() { lines.clear(); }
+    // timers re-set their row every tick; the split into blocks is only redone when something actually changed
+    private static final List<Row> inv = new ArrayList<>();
+    private static final List<Row> rest = new ArrayList<>();
+    private static boolean dirty = false;
+    private static final HudText.Cache invText = new HudText.Cache();
+    private static final HudText.Cache restText = new HudText.Cache();
+    private static final HudText.Cache previewText = new HudText.Cache();
+
+    public static void set(String key, String text) { set(key, text, null); }
+
+    public static void set(String key, String text, ItemStack icon) {
+        Row old = lines.get(key);
+        if (old != null && old.icon() == icon && old.text().equals(text)) return;
+        lines.put(key, new Row(text, icon));
+        dirty = true;
+    }
+
+    public static void clear(String key) { if (lines.remove(key) != null) dirty = true; }
+    public static void clearAll() { lines.clear(); dirty = true; }
 
     public static void render(GuiGraphicsExtractor ctx, DeltaTracker delta) {
         if (lines.isEmpty()) return;
@@ -49,20 +65,23 @@ public class DungeonTimers {
         if (mc.player == null || mc.options.hideGui || mc.screen != null) return;
         TeslaMapsConfig c = TeslaMapsConfig.get();
 
-        List<Row> inv = new ArrayList<>();
-        List<Row> rest = new ArrayList<>();
-        for (Map.Entry<String, Row> e : lines.entrySet()) {
-            (INVINCIBILITY_KEYS.contains(e.getKey()) ? inv : rest).add(e.getValue());
+        if (dirty) {
+            dirty = false;
+            inv.clear();
+            rest.clear();
+            for (Map.Entry<String, Row> e : lines.entrySet()) {
+                (INVINCIBILITY_KEYS.contains(e.getKey()) ? inv : rest).add(e.getValue());
+            }
         }
-        if (!rest.isEmpty()) drawRows(ctx, mc, c.dungeonTimersX, c.dungeonTimersY, c.dungeonTimersScale, rest);
+        if (!rest.isEmpty()) drawRows(ctx, mc, c.dungeonTimersX, c.dungeonTimersY, c.dungeonTimersScale, rest, restText);
         boolean showInv = !c.invincibilityOnlyInBoss || com.teslamaps.dungeon.DungeonManager.isInBoss();
-        if (showInv && !inv.isEmpty()) drawRows(ctx, mc, c.invincibilityX, c.invincibilityY, c.invincibilityScale, inv);
+        if (showInv && !inv.isEmpty()) drawRows(ctx, mc, c.invincibilityX, c.invincibilityY, c.invincibilityScale, inv, invText);
     }
 
     // HUD-editor preview: the warp/purple/etc block
     public static void draw(GuiGraphicsExtractor ctx, Minecraft mc, int x, int y, float scale) {
         drawRows(ctx, mc, x, y, scale, List.of(
-                new Row("§eWarp§f: §c30.00s", null), new Row("§dPurple§f: §d2.10s", null)));
+                new Row("§eWarp§f: §c30.00s", null), new Row("§dPurple§f: §d2.10s", null)), previewText);
     }
 
     // HUD-editor preview: the invincibility (skull) block
@@ -70,25 +89,27 @@ public class DungeonTimers {
         drawRows(ctx, mc, x, y, scale, List.of(
                 new Row("§a§lREADY", com.teslamaps.features.TimerTriggers.maskIcon(0)),
                 new Row("§c30.00s", com.teslamaps.features.TimerTriggers.maskIcon(1)),
-                new Row("§a2.50s", com.teslamaps.features.TimerTriggers.maskIcon(2))));
+                new Row("§a2.50s", com.teslamaps.features.TimerTriggers.maskIcon(2))), previewText);
     }
 
-    private static void drawRows(GuiGraphicsExtractor ctx, Minecraft mc, int x, int y, float scale, Iterable<Row> rows) {
+    private static void drawRows(GuiGraphicsExtractor ctx, Minecraft mc, int x, int y, float scale, List<Row> rows, HudText.Cache text) {
         var pose = ctx.pose();
         pose.pushMatrix();
         pose.translate(x, y);
         pose.scale(scale, scale);
         int row = 0;
-        for (Row r : rows) {
+        for (int i = 0; i < rows.size(); i++) {
+            Row r = rows.get(i);
+            HudText.Line line = text.get(i, r.text());
             if (r.icon() != null && !r.icon().isEmpty()) {
                 pose.pushMatrix();
                 pose.translate(0, row);
                 pose.scale(ICON, ICON);
                 ctx.item(r.icon(), 0, 0);
                 pose.popMatrix();
-                ctx.text(mc.font, r.text(), 12, row + 1, 0xFFFFFFFF);
+                HudText.draw(ctx, mc.font, line, 12, row + 1, 0xFFFFFFFF);
             } else {
-                ctx.text(mc.font, r.text(), 0, row, 0xFFFFFFFF);
+                HudText.draw(ctx, mc.font, line, 0, row, 0xFFFFFFFF);
             }
             row += 11;
         }
@@ -409,11 +409,7 @@ public class LeapOverlay {
         Arrays.fill(leapPlayers, null);
 
         var handler = screen.getMenu();
-        List<DungeonPlayer> dungeonPlayers = PlayerTracker.getPlayers();
-        Map<String, DungeonPlayer> playerMap = new HashMap<>();
-        for (DungeonPlayer dp : dungeonPlayers) {
-            playerMap.put(dp.getName(), dp);
-        }
+        PlayerTracker.Party party = PlayerTracker.getParty();
 
         List<LeapPlayer> allPlayers = new ArrayList<>();
         for (Slot slot : handler.slots) {
@@ -424,7 +420,7 @@ public class LeapOverlay {
             String itemName = ChatFormatting.stripFormatting(stack.getHoverName().getString());
             if (itemName == null || itemName.isEmpty()) continue;
 
-            DungeonPlayer dp = playerMap.get(itemName);
+            DungeonPlayer dp = party.get(itemName);
             String dungeonClass = dp != null ? dp.getDungeonClass() : null;
             boolean isDead = dp != null && !dp.isAlive();
             UUID uuid = dp != null ? dp.getUuid() : null;
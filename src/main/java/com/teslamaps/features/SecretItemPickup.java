@@ -47,12 +47,7 @@ public class SecretItemPickup {
         if (!(entity instanceof ItemEntity item)) return;
         if (entity.distanceTo(mc.player) > 6) return;
 
-        String name = item.getItem().getHoverName().getString();
-        boolean match = false;
-        for (String drop : DUNGEON_ITEM_DROPS) {
-            if (name.toLowerCase().contains(drop.toLowerCase())) { match = true; break; }
-        }
-        if (!match) return;
+        if (!isSecretItem(item)) return;
 
         long now = System.currentTimeMillis();
         if (now - lastPlayed <= 50) return;
@@ -60,4 +55,12 @@ public class SecretItemPickup {
 
         LoudSound.play(SoundOptions.resolve(c.secretSoundType), c.secretSoundVolume, c.secretSoundPitch);
     }
+
+    public static boolean isSecretItem(ItemEntity item) {
+        String name = item.getItem().getHoverName().getString().toLowerCase();
+        for (String drop : DUNGEON_ITEM_DROPS) {
+            if (name.contains(drop.toLowerCase())) return true;
+        }
+        return false;
+    }
 }
@@ -0,0 +1,110 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.features;
+
+import java.util.Arrays;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * Shortest open path from a start point through a room's remaining secrets. Up to {@link #EXACT_LIMIT} secrets
+ * are solved exactly with the Held-Karp DP (2^n * n^2 steps, about 600k at 12); larger rooms fall back to
+ * nearest neighbour. Distances are straight lines with climbing weighted up, since going up a level means
+ * finding stairs or a ladder.
+ */
+public final class SecretRoute {
+    static final int EXACT_LIMIT = 12;
+    private static final double CLIMB_WEIGHT = 2.0;
+
+    private SecretRoute() {}
+
+    /** Indices into {@code secrets} in visiting order. */
+    public static int[] solve(Vec3 start, BlockPos[] secrets) {
+        int n = secrets.length;
+        if (n == 0) return new int[0];
+        double[] fromStart = new double[n];
+        double[][] dist = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            fromStart[i] = cost(start.x, start.y, start.z, secrets[i]);
+            for (int j = 0; j < n; j++) {
+                if (i != j) dist[i][j] = cost(secrets[i].getX() + 0.5, secrets[i].getY(), secrets[i].getZ() + 0.5, secrets[j]);
+            }
+        }
+        return n <= EXACT_LIMIT ? heldKarp(fromStart, dist) : nearestNeighbour(fromStart, dist);
+    }
+
+    static int[] heldKarp(double[] fromStart, double[][] dist) {
+        int n = fromStart.length;
+        int full = 1 << n;
+        // best[mask * n + j]: cheapest path from the start through exactly mask, ending at j
+        double[] best = new double[full * n];
+        byte[] prev = new byte[full * n];
+        Arrays.fill(best, Double.POSITIVE_INFINITY);
+        for (int j = 0; j < n; j++) {
+            best[(1 << j) * n + j] = fromStart[j];
+            prev[(1 << j) * n + j] = -1;
+        }
+        for (int mask = 1; mask < full; mask++) {
+            for (int j = 0; j < n; j++) {
+                double here = best[mask * n + j];
+                if ((mask & 1 << j) == 0 || here == Double.POSITIVE_INFINITY) continue;
+                for (int k = 0; k < n; k++) {
+                    if ((mask & 1 << k) != 0) continue;
+                    int next = (mask | 1 << k) * n + k;
+                    double d = here + dist[j][k];
+                    if (d < best[next]) {
+                        best[next] = d;
+                        prev[next] = (byte) j;
+                    }
+                }
+            }
+        }
+        int end = 0;
+        for (int j = 1; j < n; j++) {
+            if (best[(full - 1) * n + j] < best[(full - 1) * n + end]) end = j;
+        }
+        int[] order = new int[n];
+        int mask = full - 1;
+        for (int i = n - 1, j = end; i >= 0; i--) {
+            order[i] = j;
+            int p = prev[mask * n + j];
+            mask &= ~(1 << j);
+            j = p;
+        }
+        return order;
+    }
+
+    static int[] nearestNeighbour(double[] fromStart, double[][] dist) {
+        int n = fromStart.length;
+        int[] order = new int[n];
+        boolean[] used = new boolean[n];
+        int at = -1;
+        for (int i = 0; i < n; i++) {
+            int next = -1;
+            for (int k = 0; k < n; k++) {
+                if (used[k]) continue;
+                if (next < 0 || (at < 0 ? fromStart[k] < fromStart[next] : dist[at][k] < dist[at][next])) next = k;
+            }
+            used[next] = true;
+            order[i] = at = next;
+        }
+        return order;
+    }
+
+    private static double cost(double x, double y, double z, BlockPos to) {
+        double dx = to.getX() + 0.5 - x, dz = to.getZ() + 0.5 - z, dy = to.getY() - y;
+        if (dy > 0) dy *= CLIMB_WEIGHT;
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+}
@@ -15,54 +15,47 @@
  */
 package com.teslamaps.features;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import com.mojang.blaze3d.vertex.PoseStack;
 import com.teslamaps.TeslaMaps;
 import com.teslamaps.config.TeslaMapsConfig;
+import com.teslamaps.database.BundledData;
+import com.teslamaps.database.DataBundle;
 import com.teslamaps.dungeon.DungeonManager;
 import com.teslamaps.map.DungeonRoom;
 import com.teslamaps.render.ESPRenderer;
+import com.teslamaps.scanner.RoomFrame;
 import com.teslamaps.utils.LoudSound;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.lang.reflect.Type;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
 import net.minecraft.client.Minecraft;
-import net.minecraft.client.multiplayer.ClientLevel;
 import net.minecraft.core.BlockPos;
 import net.minecraft.sounds.SoundEvents;
-import net.minecraft.world.entity.ambient.Bat;
-import net.minecraft.world.entity.item.ItemEntity;
-import net.minecraft.world.level.block.Block;
-import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
 
 public class SecretWaypoints {
-    private static final Gson GSON = new Gson();
-
-    private static final int CORNER_START_X = -200;
-    private static final int CORNER_START_Z = -200;
-    private static final int HALF_ROOM_SIZE = 15;  // dungeonRoomSize / 2 = 31 / 2 = 15
-    private static final int HALF_COMBINED_SIZE = 16;  // (31 + 1) / 2 = 16
-
-    private static final int[][] ROOM_OFFSETS = {
-        {-HALF_ROOM_SIZE, -HALF_ROOM_SIZE},  // Index 0 = 0° rotation
-        {HALF_ROOM_SIZE, -HALF_ROOM_SIZE},   // Index 1 = 90° rotation
-        {HALF_ROOM_SIZE, HALF_ROOM_SIZE},    // Index 2 = 180° rotation
-        {-HALF_ROOM_SIZE, HALF_ROOM_SIZE}    // Index 3 = 270° rotation
-    };
-
-    private static RoomWaypoints[] waypointsData;
-    private static boolean loaded = false;
+    private static volatile RoomWaypoints[] waypointsData;
+    private static volatile boolean loaded = false;
+    private static boolean loadStarted = false;
 
     private static Map<Integer, Map<WaypointType, List<int[]>>> cachedWaypoints = new HashMap<>();
-    private static int lastRoomId = -1;
 
     private static final Set<BlockPos> foundSecrets = new HashSet<>();
 
+    // Boxes for the current room, rebuilt when the room, the found set or the config changes.
+    // foundSecrets only grows during a run, so its size doubles as a version.
+    private static final ESPRenderer.Batch batch = new ESPRenderer.Batch();
+    private static int batchRoomId = -1;
+    private static int batchFound = -1;
+    private static int batchRevision = -1;
+
+    // remaining secrets in route order with their number labels, solved with the batch
+    private record RouteLabel(String text, Vec3 pos) {}
+    private static final List<RouteLabel> routeLabels = new ArrayList<>();
+    private static int routeLabelColor = 0xFFFFFFFF;
+    // where each room's route starts: where the player entered it, then the last secret collected there
+    private static final Map<Integer, Vec3> routeStarts = new HashMap<>();
+    private static BlockPos lastFound;
+
     public enum WaypointType {
         CHEST("chest"),
         ITEM("item"),
@@ -81,66 +74,50 @@ public class SecretWaypoints {
         }
     }
 
-    private static class WaypointsJson {
-        String name;
-        Map<String, List<List<Integer>>> waypoints;
-        int roomID;
-    }
-
     public static class RoomWaypoints {
         public final String name;
         public final int roomID;
         public final Map<WaypointType, List<int[]>> waypoints = new EnumMap<>(WaypointType.class);
 
-        public RoomWaypoints(WaypointsJson json) {
-            this.name = json.name;
-            this.roomID = json.roomID;
-            if (json.waypoints != null) {
-                for (Map.Entry<String, List<List<Integer>>> entry : json.waypoints.entrySet()) {
-                    WaypointType type = WaypointType.fromKey(entry.getKey());
-                    if (type != null && entry.getValue() != null) {
-                        List<int[]> coords = new ArrayList<>();
-                        for (List<Integer> pos : entry.getValue()) {
-                            if (pos != null && pos.size() >= 3) {
-                                coords.add(new int[]{pos.get(0), pos.get(1), pos.get(2)});
-                            }
-                        }
-                        if (!coords.isEmpty()) {
-                            waypoints.put(type, coords);
-                        }
-                    }
+        public RoomWaypoints(DataBundle.SecretRoom room) {
+            this.name = room.name();
+            this.roomID = room.roomID();
+            for (Map.Entry<String, List<int[]>> entry : room.waypoints().entrySet()) {
+                WaypointType type = WaypointType.fromKey(entry.getKey());
+                if (type != null && !entry.getValue().isEmpty()) {
+                    waypoints.put(type, entry.getValue());
                 }
             }
         }
     }
 
+    /** Starts loading the secrets bundle off-thread; the waypoints show up once it is done. */
     public static void load() {
-        if (loaded) return;
-        try {
-            InputStream is = SecretWaypoints.class.getResourceAsStream("/assets/teslamaps/data/secrets.json");
-            if (is == null) {
-                TeslaMaps.LOGGER.error("Secret waypoints data not found");
-                return;
-            }
-            Type listType = new TypeToken<List<WaypointsJson>>(){}.getType();
-            List<WaypointsJson> jsonList = GSON.fromJson(new InputStreamReader(is, StandardCharsets.UTF_8), listType);
-            if (jsonList == null || jsonList.isEmpty()) {
-                TeslaMaps.LOGGER.error("Failed to parse secrets.json");
-                return;
-            }
-            int maxId = jsonList.stream().mapToInt(j -> j.roomID).max().orElse(0);
-            waypointsData = new RoomWaypoints[maxId + 1];
-            for (WaypointsJson json : jsonList) {
-                RoomWaypoints waypoints = new RoomWaypoints(json);
-                if (waypoints.roomID >= 0 && waypoints.roomID < waypointsData.length) {
-                    waypointsData[waypoints.roomID] = waypoints;
-                }
-            }
+        if (loadStarted) return;
+        loadStarted = true;
+        BundledData.load(DataBundle.SECRETS, null).thenAccept(rooms -> {
+            RoomWaypoints[] data = byRoomId(rooms);
+            if (data == null) return;
+            waypointsData = data;
             loaded = true;
-            TeslaMaps.LOGGER.info("Loaded secret waypoints for {} rooms", jsonList.size());
-        } catch (Exception e) {
-            TeslaMaps.LOGGER.error("Failed to load secret waypoints", e);
+        });
+    }
+
+    private static RoomWaypoints[] byRoomId(List<DataBundle.SecretRoom> rooms) {
+        if (rooms == null || rooms.isEmpty()) {
+            TeslaMaps.LOGGER.error("Failed to load secret waypoints");
+            return null;
+        }
+        int maxId = rooms.stream().mapToInt(DataBundle.SecretRoom::roomID).max().orElse(0);
+        RoomWaypoints[] data = new RoomWaypoints[maxId + 1];
+        for (DataBundle.SecretRoom room : rooms) {
+            RoomWaypoints waypoints = new RoomWaypoints(room);
+            if (waypoints.roomID >= 0 && waypoints.roomID < data.length) {
+                data[waypoints.roomID] = waypoints;
+            }
         }
+        TeslaMaps.LOGGER.info("Loaded secret waypoints for {} rooms", rooms.size());
+        return data;
     }
 
     public static RoomWaypoints getWaypointsData(int roomId) {
@@ -149,121 +126,72 @@ public class SecretWaypoints {
         return waypointsData[roomId];
     }
 
-    private static final Set<BlockPos> checkedThisTick = new HashSet<>();
-    private static long lastCheckTime = 0;
-    private static final long CHECK_INTERVAL = 250; // Check every 250ms
-
-    public static void tick() {
+    public static void render(PoseStack matrices, Vec3 cameraPos) {
         if (!TeslaMapsConfig.get().secretWaypoints) return;
-        if (!TeslaMapsConfig.get().secretWaypointHideCollected) return;
         if (!DungeonManager.isInDungeon()) return;
-        if (!loaded) return;
+        if (!loaded) {
+            load();
+            return;
+        }
 
         Minecraft mc = Minecraft.getInstance();
         if (mc.player == null || mc.level == null) return;
 
-        long now = System.currentTimeMillis();
-        if (now - lastCheckTime < CHECK_INTERVAL) return;
-        lastCheckTime = now;
-
         DungeonRoom room = DungeonManager.getCurrentRoom();
         if (room == null || room.getRoomData() == null) return;
 
         int roomId = room.getRoomData().getRoomID();
-        Map<WaypointType, List<int[]>> worldWaypoints = cachedWaypoints.get(roomId);
+        Map<WaypointType, List<int[]>> worldWaypoints = worldWaypoints(room);
         if (worldWaypoints == null) return;
 
+        if (roomId != batchRoomId || foundSecrets.size() != batchFound || TeslaMapsConfig.getRevision() != batchRevision) {
+            // on entry the player is still at the door they came through; after a pickup they are at that secret
+            Vec3 start = routeStarts.computeIfAbsent(roomId, id -> mc.player.position());
+            if (lastFound != null && contains(worldWaypoints, lastFound)) {
+                start = Vec3.atCenterOf(lastFound);
+                routeStarts.put(roomId, start);
+            }
+            rebuildBatch(worldWaypoints, start);
+            batchRoomId = roomId;
+            batchFound = foundSecrets.size();
+            batchRevision = TeslaMapsConfig.getRevision();
+        }
+        ESPRenderer.submit(matrices, batch, cameraPos);
+        for (RouteLabel label : routeLabels) {
+            ESPRenderer.drawText(matrices, label.text(), label.pos(), 1.5f, routeLabelColor, cameraPos);
+        }
+
+        // tracers start at the camera, so they are the only per-frame geometry
+        if (!TeslaMapsConfig.get().secretWaypointTracers) return;
         for (Map.Entry<WaypointType, List<int[]>> entry : worldWaypoints.entrySet()) {
             WaypointType type = entry.getKey();
+            if (!isTypeEnabled(type)) continue;
+
+            int color = getColorForType(type);
+
             for (int[] pos : entry.getValue()) {
                 BlockPos worldPos = new BlockPos(pos[0], pos[1], pos[2]);
-                if (foundSecrets.contains(worldPos)) continue;
+                if (isHidden(worldPos)) continue;
 
-                if (isSecretCollected(mc.level, worldPos, type)) {
-                    foundSecrets.add(worldPos);
-                    TeslaMaps.LOGGER.debug("Secret collected: {} at {}", type.key, worldPos);
-                }
+                Vec3 target = new Vec3(worldPos.getX() + 0.5, worldPos.getY() + 0.5, worldPos.getZ() + 0.5);
+                ESPRenderer.drawTracerFromCamera(matrices, target, color, cameraPos);
             }
         }
     }
 
-    private static boolean isSecretCollected(ClientLevel world, BlockPos pos, WaypointType type) {
-        switch (type) {
-            case CHEST -> {
-                return false; // Handled by onChestOpened() callback
-            }
-            case BAT -> {
-                AABB searchBox = new AABB(pos).inflate(1.5);
-                var bats = world.getEntitiesOfClass(Bat.class, searchBox, bat -> !bat.isRemoved());
-                return bats.isEmpty();
-            }
-            case ESSENCE -> {
-                Block block = world.getBlockState(pos).getBlock();
-                if (block == Blocks.AIR || block == Blocks.CAVE_AIR) {
-                    return hasBeenNearWaypoint(pos);
-                }
-                return false;
-            }
-            case ITEM -> {
-                AABB searchBox = new AABB(pos).inflate(1.0);
-                var items = world.getEntitiesOfClass(ItemEntity.class, searchBox, item -> !item.isRemoved());
-                return items.isEmpty() && hasBeenNearWaypoint(pos);
-            }
-            case REDSTONE -> {
-                Block block = world.getBlockState(pos).getBlock();
-                if (block == Blocks.AIR || block == Blocks.CAVE_AIR) {
-                    return true;
-                }
-                return false;
+    private static boolean contains(Map<WaypointType, List<int[]>> worldWaypoints, BlockPos pos) {
+        for (List<int[]> positions : worldWaypoints.values()) {
+            for (int[] p : positions) {
+                if (p[0] == pos.getX() && p[1] == pos.getY() && p[2] == pos.getZ()) return true;
             }
         }
         return false;
     }
 
-    private static final Set<BlockPos> visitedWaypoints = new HashSet<>();
-
-    private static boolean hasBeenNearWaypoint(BlockPos pos) {
-        Minecraft mc = Minecraft.getInstance();
-        if (mc.player == null) return false;
-
-        if (mc.player.blockPosition().closerThan(pos, 10)) {
-            visitedWaypoints.add(pos);
-        }
-        return visitedWaypoints.contains(pos);
-    }
-
-    public static void render(PoseStack matrices, Vec3 cameraPos) {
-        if (!TeslaMapsConfig.get().secretWaypoints) return;
-        if (!DungeonManager.isInDungeon()) return;
-        if (!loaded) {
-            load();
-            return;
-        }
-
-        Minecraft mc = Minecraft.getInstance();
-        if (mc.player == null || mc.level == null) return;
-
-        DungeonRoom room = DungeonManager.getCurrentRoom();
-        if (room == null || room.getRoomData() == null) return;
-
-        int roomId = room.getRoomData().getRoomID();
-
-        if (roomId != lastRoomId) {
-            lastRoomId = roomId;
-            foundSecrets.clear();
-            visitedWaypoints.clear();
-        }
-
-        Map<WaypointType, List<int[]>> worldWaypoints = cachedWaypoints.get(roomId);
-        if (worldWaypoints == null) {
-            worldWaypoints = addSecretsForRoom(room, mc.level);
-            if (worldWaypoints != null) {
-                cachedWaypoints.put(roomId, worldWaypoints);
-            }
-        }
-
-        if (worldWaypoints == null) return;
-
+    private static void rebuildBatch(Map<WaypointType, List<int[]>> worldWaypoints, Vec3 start) {
+        batch.clear();
+        routeLabels.clear();
+        List<BlockPos> remaining = new ArrayList<>();
         for (Map.Entry<WaypointType, List<int[]>> entry : worldWaypoints.entrySet()) {
             WaypointType type = entry.getKey();
             if (!isTypeEnabled(type)) continue;
@@ -272,37 +200,57 @@ public class SecretWaypoints {
 
             for (int[] pos : entry.getValue()) {
                 BlockPos worldPos = new BlockPos(pos[0], pos[1], pos[2]);
-                if (foundSecrets.contains(worldPos)) continue;
+                if (isHidden(worldPos)) continue;
 
                 AABB box = new AABB(worldPos);
                 // redstone-key skulls are easy to miss: fill them through walls so they pop
                 if (type == WaypointType.REDSTONE && TeslaMapsConfig.get().redstoneKeyFilled) {
-                    ESPRenderer.drawFilledBox(matrices, box, color, cameraPos, true);
+                    batch.filled(box, color, true);
                 } else {
-                    ESPRenderer.drawBoxOutline(matrices, box, color, 2.0f, cameraPos);
+                    batch.outline(box, color, 2.0f, true);
                 }
+                if (!foundSecrets.contains(worldPos)) remaining.add(worldPos);
+            }
+        }
+        if (TeslaMapsConfig.get().secretWaypointRoute) buildRoute(remaining, start);
+    }
 
-                if (TeslaMapsConfig.get().secretWaypointTracers) {
-                    Vec3 target = new Vec3(worldPos.getX() + 0.5, worldPos.getY() + 0.5, worldPos.getZ() + 0.5);
-                    ESPRenderer.drawTracerFromCamera(matrices, target, color, cameraPos);
-                }
+    private static void buildRoute(List<BlockPos> remaining, Vec3 start) {
+        BlockPos[] secrets = remaining.toArray(new BlockPos[0]);
+        int color = TeslaMapsConfig.parseColor(TeslaMapsConfig.get().colorSecretRoute);
+        routeLabelColor = color | 0xFF000000; // text with zero alpha would not draw
+        Vec3 last = null;
+        for (int i : SecretRoute.solve(start, secrets)) {
+            Vec3 at = Vec3.atCenterOf(secrets[i]);
+            if (last != null) batch.line(last, at, color, 2.0f, true);
+            routeLabels.add(new RouteLabel(Integer.toString(routeLabels.size() + 1), at.add(0, 1.0, 0)));
+            last = at;
+        }
+    }
+
+    /** World positions of the room's secrets by type, or null until the data and the room's frame are known. */
+    public static Map<WaypointType, List<int[]>> worldWaypoints(DungeonRoom room) {
+        if (room.getRoomData() == null) return null;
+        int roomId = room.getRoomData().getRoomID();
+        Map<WaypointType, List<int[]>> worldWaypoints = cachedWaypoints.get(roomId);
+        if (worldWaypoints == null) {
+            worldWaypoints = addSecretsForRoom(room);
+            if (worldWaypoints != null) {
+                cachedWaypoints.put(roomId, worldWaypoints);
             }
         }
+        return worldWaypoints;
     }
 
-    private static Map<WaypointType, List<int[]>> addSecretsForRoom(DungeonRoom room, ClientLevel world) {
+    private static Map<WaypointType, List<int[]>> addSecretsForRoom(DungeonRoom room) {
         Integer roomId = room.getRoomData() != null ? room.getRoomData().getRoomID() : null;
         if (roomId == null) return null;
 
         RoomWaypoints waypointData = getWaypointsData(roomId);
         if (waypointData == null) return null;
 
-        int[] rotationAndCorner = findRotation(room, world);
-        if (rotationAndCorner == null) return null;
-
-        int rotation = rotationAndCorner[0];
-        int cornerX = rotationAndCorner[1];
-        int cornerZ = rotationAndCorner[2];
+        RoomFrame frame = RoomFrame.of(room);
+        if (frame == null) return null;
 
         Map<WaypointType, List<int[]>> result = new EnumMap<>(WaypointType.class);
         for (Map.Entry<WaypointType, List<int[]>> entry : waypointData.waypoints.entrySet()) {
@@ -310,167 +258,41 @@ public class SecretWaypoints {
             List<int[]> worldPositions = new ArrayList<>();
 
             for (int[] pos : entry.getValue()) {
-                int[] worldXZ = fromComp(pos[0], pos[2], rotation, cornerX, cornerZ);
-                worldPositions.add(new int[]{worldXZ[0], pos[1], worldXZ[1]});
+                worldPositions.add(new int[]{frame.worldX(pos[0], pos[2]), pos[1], frame.worldZ(pos[0], pos[2])});
             }
 
             result.put(type, worldPositions);
         }
 
-        TeslaMaps.LOGGER.info("SecretWaypoints: Room '{}' rotation={} corner=[{},{}]",
-                room.getName(), rotation, cornerX, cornerZ);
+        TeslaMaps.LOGGER.info("SecretWaypoints: Room '{}' rotation={} corner=[{},{}]{}",
+                room.getName(), frame.rotation(), frame.anchorX(), frame.anchorZ(), frame.isClay() ? "" : " (no terracotta, using room corner)");
 
         return result;
     }
 
-    private static int[] findRotation(DungeonRoom room, ClientLevel world) {
-        String shape = room.getShape();
-        List<int[]> components = room.getComponents();
-
-        if (components.isEmpty()) return null;
-
-        List<int[]> sortedComps = new ArrayList<>(components);
-        sortedComps.sort((a, b) -> {
-            int cxA = a[0] * 2;  // Convert grid to component index
-            int cxB = b[0] * 2;
-            int czA = a[1] * 2;
-            int czB = b[1] * 2;
-            if (cxA != cxB) return Integer.compare(cxA, cxB);
-            return Integer.compare(czA, czB);
-        });
-
-        List<int[]> possibleCorners = new ArrayList<>();  // [idx, compIndex, worldX, worldZ]
-        for (int compIdx = 0; compIdx < sortedComps.size(); compIdx++) {
-            int[] comp = sortedComps.get(compIdx);
-            int cx = comp[0] * 2;
-            int cz = comp[1] * 2;
-            int wx = CORNER_START_X + HALF_ROOM_SIZE + HALF_COMBINED_SIZE * cx;
-            int wz = CORNER_START_Z + HALF_ROOM_SIZE + HALF_COMBINED_SIZE * cz;
-
-            for (int i = 0; i < 4; i++) {
-                possibleCorners.add(new int[]{i, compIdx, wx + ROOM_OFFSETS[i][0], wz + ROOM_OFFSETS[i][1]});
-            }
-        }
-
-        int height = 0;
-        for (int[] comp : sortedComps) {
-            int cx = comp[0] * 2;
-            int cz = comp[1] * 2;
-            int wx = CORNER_START_X + HALF_ROOM_SIZE + HALF_COMBINED_SIZE * cx;
-            int wz = CORNER_START_Z + HALF_ROOM_SIZE + HALF_COMBINED_SIZE * cz;
-            height = getHighestY(world, wx, wz);
-            if (height > 0) break;
-        }
-        if (height <= 0) return null;
-
-        if ("1x4".equals(shape) && sortedComps.size() >= 2) {
-            boolean isHorz = sortedComps.get(0)[1] == sortedComps.get(1)[1];  // Same Z = horizontal
-            int lastIdx = sortedComps.size() - 1;
-
-            possibleCorners.removeIf(corner -> {
-                int idx = corner[0];
-                int compIdx = corner[1];
-
-                if (compIdx != 0 && compIdx != lastIdx) return true;
-
-                if (compIdx == 0) {
-                    if (isHorz) {
-                        if (idx != 0 && idx != 3) return true;
-                    } else {
-                        if (idx != 0 && idx != 1) return true;
-                    }
-                } else {
-                    if (isHorz) {
-                        if (idx != 1 && idx != 2) return true;
-                    } else {
-                        if (idx != 2 && idx != 3) return true;
-                    }
-                }
-                return false;
-            });
-        }
-
-        for (int[] corner : possibleCorners) {
-            int idx = corner[0];
-            int x = corner[2];
-            int z = corner[3];
-
-            if (world.getBlockState(new BlockPos(x, height, z)).getBlock() == Blocks.BLUE_TERRACOTTA) {
-                return new int[]{idx * 90, x, z};
-            }
-        }
-
-        if (!sortedComps.isEmpty()) {
-            int[] comp = sortedComps.get(0);
-            int cx = comp[0] * 2;
-            int cz = comp[1] * 2;
-            int wx = CORNER_START_X + HALF_ROOM_SIZE + HALF_COMBINED_SIZE * cx;
-            int wz = CORNER_START_Z + HALF_ROOM_SIZE + HALF_COMBINED_SIZE * cz;
-            TeslaMaps.LOGGER.warn("SecretWaypoints: No blue terracotta for '{}', using fallback", room.getName());
-            return new int[]{0, wx + ROOM_OFFSETS[0][0], wz + ROOM_OFFSETS[0][1]};
-        }
-
-        return null;
-    }
-
-    private static int getHighestY(ClientLevel world, int x, int z) {
-        for (int y = 256; y >= 0; y--) {
-            var state = world.getBlockState(new BlockPos(x, y, z));
-            if (state.isAir() || state.getBlock() == Blocks.GOLD_BLOCK) continue;
-            return y;
-        }
-        return -1;
-    }
-
-    private static int[] fromComp(int x, int z, int rotation, int cornerX, int cornerZ) {
-        int[] rotated = rotatePos(x, z, (360 - rotation) % 360);
-        return new int[]{rotated[0] + cornerX, rotated[1] + cornerZ};
+    /** Records a collected secret for the whole run; false if it was already known. */
+    public static boolean markFound(BlockPos pos) {
+        if (!foundSecrets.add(pos)) return false;
+        lastFound = pos;
+        return true;
     }
 
-    private static int[] rotatePos(int x, int z, int degree) {
-        return switch (degree) {
-            case 0 -> new int[]{x, z};
-            case 90 -> new int[]{z, -x};
-            case 180 -> new int[]{-x, -z};
-            case 270 -> new int[]{-z, x};
-            default -> new int[]{x, z};
-        };
-    }
-
-    public static void markFound(BlockPos pos) {
-        foundSecrets.add(pos);
+    public static boolean isFound(BlockPos pos) {
+        return foundSecrets.contains(pos);
     }
 
-    public static void onChestOpened(BlockPos chestPos) {
-        if (!TeslaMapsConfig.get().secretWaypoints) return;
-        if (!TeslaMapsConfig.get().secretWaypointHideCollected) return;
-        if (!DungeonManager.isInDungeon()) return;
-
-        DungeonRoom room = DungeonManager.getCurrentRoom();
-        if (room == null || room.getRoomData() == null) return;
-
-        int roomId = room.getRoomData().getRoomID();
-        Map<WaypointType, List<int[]>> worldWaypoints = cachedWaypoints.get(roomId);
-        if (worldWaypoints == null) return;
-
-        List<int[]> chestWaypoints = worldWaypoints.get(WaypointType.CHEST);
-        if (chestWaypoints == null) return;
-
-        for (int[] pos : chestWaypoints) {
-            BlockPos waypointPos = new BlockPos(pos[0], pos[1], pos[2]);
-            if (waypointPos.closerThan(chestPos, 2.0)) {
-                foundSecrets.add(waypointPos);
-                TeslaMaps.LOGGER.debug("Chest secret collected at {}", waypointPos);
-            }
-        }
+    private static boolean isHidden(BlockPos pos) {
+        return TeslaMapsConfig.get().secretWaypointHideCollected && foundSecrets.contains(pos);
     }
 
     public static void reset() {
         foundSecrets.clear();
         cachedWaypoints.clear();
-        visitedWaypoints.clear();
-        lastRoomId = -1;
-        lastCheckTime = 0;
+        batch.clear();
+        routeLabels.clear();
+        routeStarts.clear();
+        lastFound = null;
+        batchRoomId = -1;
     }
 
     public static void onSecretInteract(String type) {
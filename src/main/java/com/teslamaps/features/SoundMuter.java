@@ -0,0 +1,180 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.features;
+
+import com.teslamaps.TeslaMaps;
+import com.teslamaps.config.TeslaMapsConfig;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.minecraft.resources.Identifier;
+
+/**
+ * Compiled form of {@link TeslaMapsConfig#mutedSounds}. Entries are {@code id}, {@code id@pitch}, or a prefix
+ * ending in {@code *} ({@code hypixel:*}, {@code minecraft:entity.bat.*}), optionally with {@code @pitch}.
+ * Exact ids go in a map keyed by {@link Identifier}, prefixes in a char trie walked over namespace:path without
+ * building the string. Recompiled when the config revision changes; counts what it mutes per sound.
+ */
+public class SoundMuter {
+
+    // Bonzo's Staff impact plays the firework blast/twinkle family (same sounds Patcher/others mute)
+    private static final List<String> BONZO_STAFF = List.of(
+            "minecraft:entity.firework_rocket.blast",
+            "minecraft:entity.firework_rocket.blast_far",
+            "minecraft:entity.firework_rocket.large_blast",
+            "minecraft:entity.firework_rocket.large_blast_far",
+            "minecraft:entity.firework_rocket.twinkle",
+            "minecraft:entity.firework_rocket.twinkle_far");
+
+    private static final float PITCH_EPSILON = 0.01f;
+
+    // an id or prefix matches at any pitch once a plain entry exists, otherwise only at the listed pitches
+    private static final class Rule {
+        float[] pitches = new float[0];
+        boolean anyPitch;
+
+        void add(Float pitch) {
+            if (pitch == null) anyPitch = true;
+            else {
+                pitches = java.util.Arrays.copyOf(pitches, pitches.length + 1);
+                pitches[pitches.length - 1] = pitch;
+            }
+        }
+
+        boolean matches(float pitch) {
+            if (anyPitch) return true;
+            for (float p : pitches) if (Math.abs(p - pitch) < PITCH_EPSILON) return true;
+            return false;
+        }
+    }
+
+    private static final class Node {
+        char[] keys = new char[0];
+        Node[] next = new Node[0];
+        Rule rule;
+
+        Node child(char c) {
+            for (int i = 0; i < keys.length; i++) if (keys[i] == c) return next[i];
+            return null;
+        }
+
+        Node childOrAdd(char c) {
+            Node n = child(c);
+            if (n != null) return n;
+            keys = java.util.Arrays.copyOf(keys, keys.length + 1);
+            next = java.util.Arrays.copyOf(next, next.length + 1);
+            keys[keys.length - 1] = c;
+            return next[next.length - 1] = new Node();
+        }
+    }
+
+    private record Compiled(Map<Identifier, Rule> exact, Node prefixes, boolean hasPrefixes, int revision) {
+        boolean isEmpty() {
+            return exact.isEmpty() && !hasPrefixes;
+        }
+    }
+
+    private static volatile Compiled compiled = new Compiled(Map.of(), new Node(), false, -1);
+    private static final Map<Identifier, long[]> counts = new HashMap<>();
+
+    /** Whether any mute is configured; recompiles first if the config was saved since the last build. */
+    public static boolean isActive() {
+        Compiled c = compiled;
+        if (c.revision() != TeslaMapsConfig.getRevision()) c = rebuild();
+        return !c.isEmpty();
+    }
+
+    public static boolean shouldMute(Identifier id, float pitch) {
+        Compiled c = compiled;
+        Rule rule = c.exact().get(id);
+        boolean muted = rule != null && rule.matches(pitch);
+        if (!muted && c.hasPrefixes()) muted = matchPrefix(c.prefixes(), id, pitch);
+        if (muted) {
+            synchronized (counts) {
+                counts.computeIfAbsent(id, k -> new long[1])[0]++;
+            }
+        }
+        return muted;
+    }
+
+    private static boolean matchPrefix(Node root, Identifier id, float pitch) {
+        Node node = root;
+        if (node.rule != null && node.rule.matches(pitch)) return true;
+        String ns = id.getNamespace(), path = id.getPath();
+        int total = ns.length() + 1 + path.length();
+        for (int i = 0; i < total; i++) {
+            char ch = i < ns.length() ? ns.charAt(i) : i == ns.length() ? ':' : path.charAt(i - ns.length() - 1);
+            node = node.child(ch);
+            if (node == null) return false;
+            if (node.rule != null && node.rule.matches(pitch)) return true;
+        }
+        return false;
+    }
+
+    private static synchronized Compiled rebuild() {
+        TeslaMapsConfig cfg = TeslaMapsConfig.get();
+        Map<Identifier, Rule> exact = new HashMap<>();
+        Node root = new Node();
+        boolean hasPrefixes = false;
+        List<String> entries = new ArrayList<>();
+        if (cfg.mutedSounds != null) entries.addAll(cfg.mutedSounds);
+        if (cfg.muteBonzoStaff) entries.addAll(BONZO_STAFF);
+
+        for (String e : entries) {
+            if (e == null || e.isBlank()) continue;
+            String id = e.trim();
+            Float pitch = null;
+            int at = id.indexOf('@');
+            if (at >= 0) {
+                try { pitch = Float.parseFloat(id.substring(at + 1)); } catch (NumberFormatException ex) { continue; }
+                id = id.substring(0, at);
+            }
+            if (id.endsWith("*")) {
+                Node node = root;
+                String prefix = id.substring(0, id.length() - 1);
+                for (int i = 0; i < prefix.length(); i++) node = node.childOrAdd(prefix.charAt(i));
+                if (node.rule == null) node.rule = new Rule();
+                node.rule.add(pitch);
+                hasPrefixes = true;
+            } else {
+                Identifier parsed = Identifier.tryParse(id);
+                if (parsed == null) {
+                    TeslaMaps.LOGGER.warn("[SoundMuter] Ignoring invalid sound id '{}'", e);
+                    continue;
+                }
+                exact.computeIfAbsent(parsed, k -> new Rule()).add(pitch);
+            }
+        }
+        Compiled c = new Compiled(exact, root, hasPrefixes, TeslaMapsConfig.getRevision());
+        compiled = c;
+        return c;
+    }
+
+    /** Muted sounds by count, highest first. */
+    public static List<Map.Entry<Identifier, Long>> getCounts() {
+        List<Map.Entry<Identifier, Long>> out = new ArrayList<>();
+        synchronized (counts) {
+            for (Map.Entry<Identifier, long[]> e : counts.entrySet()) out.add(Map.entry(e.getKey(), e.getValue()[0]));
+        }
+        out.sort(Map.Entry.<Identifier, Long>comparingByValue().reversed());
+        return out;
+    }
+
+    public static void resetCounts() {
+        synchronized (counts) {
+            counts.clear();
+        }
+    }
+}
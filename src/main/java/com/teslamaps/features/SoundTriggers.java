@@ -0,0 +1,202 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.features;
+
+import com.teslamaps.TeslaMaps;
+import com.teslamaps.config.TeslaMapsConfig;
+import com.teslamaps.config.TeslaMapsConfig.SoundTrigger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.minecraft.client.Minecraft;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.Identifier;
+
+/**
+ * Fires {@link TeslaMapsConfig#soundTriggerRules} off SoundPlayMixin. Rules are compiled into a table from sound
+ * id to the rules for it, so a sound with no rule costs one map lookup. The table is only recompiled when the rules
+ * themselves change: gameplay code saves the config mid-run, and a recompile would drop running timers and debounce. Matching is
+ * split from the actions: {@link #simulate} runs a list of synthetic events through the same table and
+ * returns which rules would fire, for checking rules offline.
+ */
+public class SoundTriggers {
+    private static final int TITLE_TICKS = 20;
+
+    /** A played sound; {@code timeMs} only matters for debounce. */
+    public record Event(Identifier sound, float pitch, float volume, double x, double y, double z, long timeMs) {}
+
+    private static final class Rule {
+        final int index;
+        final SoundTrigger trigger;
+        final String timerKey;
+        long lastFired = Long.MIN_VALUE;
+        long timerEnd = -1;
+
+        Rule(int index, SoundTrigger trigger) {
+            this.index = index;
+            this.trigger = trigger;
+            this.timerKey = "sound" + index;
+        }
+
+        boolean matches(Event e) {
+            SoundTrigger t = trigger;
+            if (e.pitch() < t.minPitch || e.pitch() > t.maxPitch) return false;
+            if (e.volume() < t.minVolume || e.volume() > t.maxVolume) return false;
+            double[] r = t.region;
+            if (r != null && r.length == 6) {
+                if (e.x() < Math.min(r[0], r[3]) || e.x() > Math.max(r[0], r[3])) return false;
+                if (e.y() < Math.min(r[1], r[4]) || e.y() > Math.max(r[1], r[4])) return false;
+                if (e.z() < Math.min(r[2], r[5]) || e.z() > Math.max(r[2], r[5])) return false;
+            }
+            return true;
+        }
+    }
+
+    private static final Rule[] NONE = new Rule[0];
+    private static volatile Map<Identifier, Rule[]> table = Map.of();
+    private static Rule[] timers = NONE;
+    private static int builtRevision = -1;
+    private static String builtRules;
+
+    public static boolean isActive() {
+        if (!TeslaMapsConfig.get().soundTriggers) return false;
+        if (builtRevision != TeslaMapsConfig.getRevision()) {
+            builtRevision = TeslaMapsConfig.getRevision();
+            String rules = fingerprint(TeslaMapsConfig.get().soundTriggerRules);
+            if (!rules.equals(builtRules)) rebuild(rules);
+        }
+        return !table.isEmpty();
+    }
+
+    private static void rebuild(String fingerprint) {
+        for (Rule r : timers) DungeonTimers.clear(r.timerKey);
+        builtRules = fingerprint;
+        table = compile(TeslaMapsConfig.get().soundTriggerRules);
+        List<Rule> t = new ArrayList<>();
+        for (Rule[] rules : table.values()) {
+            for (Rule r : rules) if ("timer".equalsIgnoreCase(r.trigger.action)) t.add(r);
+        }
+        timers = t.toArray(NONE);
+    }
+
+    /** Every field of every rule, so two lists with the same text compile to the same table. */
+    static String fingerprint(List<SoundTrigger> triggers) {
+        StringBuilder sb = new StringBuilder();
+        for (SoundTrigger t : triggers) {
+            if (t == null) {
+                sb.append("null\n");
+                continue;
+            }
+            sb.append(t.enabled).append('|').append(t.name).append('|').append(t.sound)
+                    .append('|').append(t.minPitch).append('|').append(t.maxPitch)
+                    .append('|').append(t.minVolume).append('|').append(t.maxVolume)
+                    .append('|').append(Arrays.toString(t.region)).append('|').append(t.debounceMs)
+                    .append('|').append(t.action).append('|').append(t.text).append('|').append(t.timerSeconds).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static Map<Identifier, Rule[]> compile(List<SoundTrigger> triggers) {
+        Map<Identifier, List<Rule>> byId = new HashMap<>();
+        for (int i = 0; i < triggers.size(); i++) {
+            SoundTrigger t = triggers.get(i);
+            if (t == null || !t.enabled || t.sound == null) continue;
+            Identifier id = Identifier.tryParse(t.sound.trim());
+            if (id == null) {
+                TeslaMaps.LOGGER.warn("[SoundTriggers] Rule {} has an invalid sound id '{}'", i, t.sound);
+                continue;
+            }
+            byId.computeIfAbsent(id, k -> new ArrayList<>()).add(new Rule(i, t));
+        }
+        Map<Identifier, Rule[]> out = new HashMap<>();
+        for (Map.Entry<Identifier, List<Rule>> e : byId.entrySet()) out.put(e.getKey(), e.getValue().toArray(NONE));
+        return out;
+    }
+
+    // Rules that match and are out of their debounce window; stamps lastFired on the ones returned
+    private static List<Rule> match(Map<Identifier, Rule[]> table, Event e) {
+        Rule[] rules = table.get(e.sound());
+        if (rules == null) return List.of();
+        List<Rule> fired = null;
+        for (Rule r : rules) {
+            if (!r.matches(e)) continue;
+            if (r.lastFired != Long.MIN_VALUE && e.timeMs() - r.lastFired < r.trigger.debounceMs) continue;
+            r.lastFired = e.timeMs();
+            if (fired == null) fired = new ArrayList<>(1);
+            fired.add(r);
+        }
+        return fired == null ? List.of() : fired;
+    }
+
+    /** Called from the sound engine for every played sound while {@link #isActive()}. */
+    public static void onSound(Identifier sound, float pitch, float volume, double x, double y, double z) {
+        Map<Identifier, Rule[]> t = table;
+        if (!t.containsKey(sound)) return;
+        for (Rule r : match(t, new Event(sound, pitch, volume, x, y, z, System.currentTimeMillis()))) fire(r);
+    }
+
+    private static void fire(Rule r) {
+        Minecraft mc = Minecraft.getInstance();
+        if (!mc.isSameThread()) {
+            mc.execute(() -> fire(r));
+            return;
+        }
+        SoundTrigger t = r.trigger;
+        switch (t.action == null ? "" : t.action.toLowerCase()) {
+            case "timer" -> r.timerEnd = System.currentTimeMillis() + (long) (t.timerSeconds * 1000);
+            case "chat" -> { if (mc.player != null) mc.player.sendSystemMessage(Component.literal(t.text)); }
+            default -> {
+                mc.gui.setTimes(0, TITLE_TICKS, 5);
+                mc.gui.setTitle(Component.literal(t.text));
+            }
+        }
+    }
+
+    public static void tick() {
+        long now = System.currentTimeMillis();
+        for (Rule r : timers) {
+            if (r.timerEnd < 0) continue;
+            long ms = r.timerEnd - now;
+            if (ms <= 0) {
+                r.timerEnd = -1;
+                DungeonTimers.clear(r.timerKey);
+            } else {
+                String label = r.trigger.name == null || r.trigger.name.isEmpty() ? r.trigger.text : r.trigger.name;
+                DungeonTimers.set(r.timerKey, "§e" + label + "§f: §a" + String.format("%.2fs", ms / 1000.0));
+            }
+        }
+    }
+
+    public static void reset() {
+        for (Rule r : timers) {
+            r.timerEnd = -1;
+            DungeonTimers.clear(r.timerKey);
+        }
+    }
+
+    /**
+     * Runs events through a fresh compile of {@code triggers} without side effects and returns the index of the
+     * rule for each firing, in order. Debounce uses the events' own timestamps.
+     */
+    public static List<Integer> simulate(List<SoundTrigger> triggers, List<Event> events) {
+        Map<Identifier, Rule[]> t = compile(triggers);
+        List<Integer> fired = new ArrayList<>();
+        for (Event e : events) {
+            for (Rule r : match(t, e)) fired.add(r.index);
+        }
+        return fired;
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.hud;
+
+import com.teslamaps.config.TeslaMapsConfig;
+import com.teslamaps.dungeon.puzzle.SpiritBearTimer;
+import com.teslamaps.features.BearSpawnWarning;
+import com.teslamaps.features.DungeonTimers;
+import com.teslamaps.features.SprintingOverlay;
+import com.teslamaps.features.ThornStunTimer;
+import com.teslamaps.scanner.ComponentGrid;
+import net.minecraft.client.gui.Font;
+import net.minecraft.client.gui.GuiGraphicsExtractor;
+
+/** The HUD editor entries for TeslaMaps' own overlays, in draw order (later ones are on top). */
+public final class BuiltinHudElements {
+    private static final int ROOM_SIZE = 24;
+    private static final int DOOR_SIZE = 4;
+    private static final int MAP_PADDING = 8;
+    private static final int CELL_SIZE = ROOM_SIZE + DOOR_SIZE;
+    private static final int MAP_SIZE = MAP_PADDING * 2 + ComponentGrid.GRID_SIZE * CELL_SIZE;
+
+    private static final int SLAYER_WIDTH = 140;
+    private static final int SLAYER_HEIGHT = 46;
+
+    private static final String[] SPLITS_SAMPLE = {
+            "§2Blood Open", "§bBlood Clear", "§dPortal Entry", "§5Maxor", "§1Total"
+    };
+    private static final String SPLITS_SAMPLE_TIME = "1:23.4";
+    private static final String[] BLOOD_SAMPLE = { "§eReturn to Blood: ~23.0s", "§cThe Watcher: §f13§7/§f19" };
+    private static final String[] ROOM_SPLITS_SAMPLE = { "§6§lRoom Splits", "§e▶ Trinity §f0:12.3", "§7Entrance §f0:08.1" };
+
+    private BuiltinHudElements() {}
+
+    private static TeslaMapsConfig c() {
+        return TeslaMapsConfig.get();
+    }
+
+    public static void register() {
+        HudElements.register("map", "Map")
+                .position(() -> c().mapX, () -> c().mapY, (x, y) -> { c().mapX = x; c().mapY = y; })
+                .scale(() -> c().mapScale, s -> c().mapScale = s, 0.5f, 2.0f, 0.1f)
+                .size(f -> MAP_SIZE, f -> MAP_SIZE)
+                .preview((ctx, mc, x, y, scale) -> drawMap(ctx, x, y, scale));
+
+        HudElements.register("slayer", "Slayer HUD")
+                .position(() -> c().slayerHudX, () -> c().slayerHudY, (x, y) -> { c().slayerHudX = x; c().slayerHudY = y; })
+                .scale(() -> c().slayerHudScale, s -> c().slayerHudScale = s, 0.5f, 2.0f, 0.1f)
+                .size(f -> SLAYER_WIDTH, f -> SLAYER_HEIGHT)
+                .preview((ctx, mc, x, y, scale) -> drawSlayer(ctx, mc.font, x, y, scale))
+                .color(0xFF30D158);
+
+        HudElements.register("bearSpawn", "Bear Warning")
+                .position(() -> c().bearSpawnX, () -> c().bearSpawnY, (x, y) -> { c().bearSpawnX = x; c().bearSpawnY = y; })
+                .scale(() -> c().bearSpawnScale, s -> c().bearSpawnScale = s, 0.5f, 10.0f, 0.5f)
+                .size(f -> f.width(BearSpawnWarning.ALERT_TEXT), f -> f.lineHeight)
+                .preview(BearSpawnWarning::drawAlert)
+                .color(0xFFFF5555);
+
+        HudElements.register("splits", "Splits")
+                .position(() -> c().splitsX, () -> c().splitsY, (x, y) -> { c().splitsX = x; c().splitsY = y; })
+                .scale(() -> c().splitsScale, s -> c().splitsScale = s, 0.5f, 2.0f, 0.1f)
+                .size(f -> splitsNameCol(f) + f.width(SPLITS_SAMPLE_TIME), f -> SPLITS_SAMPLE.length * 9)
+                .preview((ctx, mc, x, y, scale) -> {
+                    int nameCol = splitsNameCol(mc.font);
+                    var pose = ctx.pose();
+                    pose.pushMatrix();
+                    pose.translate(x, y);
+                    pose.scale(scale, scale);
+                    for (int i = 0; i < SPLITS_SAMPLE.length; i++) {
+                        ctx.text(mc.font, SPLITS_SAMPLE[i], 0, i * 9, 0xFFFFFFFF);
+                        ctx.text(mc.font, SPLITS_SAMPLE_TIME, nameCol, i * 9, 0xFFFFFFFF);
+                    }
+                    pose.popMatrix();
+                });
+
+        HudElements.register("roomSplits", "Room Splits")
+                .position(() -> c().roomSplitsX, () -> c().roomSplitsY, (x, y) -> { c().roomSplitsX = x; c().roomSplitsY = y; })
+                .scale(() -> c().roomSplitsScale, s -> c().roomSplitsScale = s, 0.5f, 3.0f, 0.1f)
+                .size(f -> maxWidth(f, ROOM_SPLITS_SAMPLE), f -> 10 + (ROOM_SPLITS_SAMPLE.length - 1) * 9)
+                .preview((ctx, mc, x, y, scale) -> drawLines(ctx, mc.font, ROOM_SPLITS_SAMPLE, x, y, scale, 9))
+                .color(0xFFFFAA00);
+
+        HudElements.register("bloodCamp", "Blood Camp")
+                .position(() -> c().bloodCampX, () -> c().bloodCampY, (x, y) -> { c().bloodCampX = x; c().bloodCampY = y; })
+                .scale(() -> c().bloodCampScale, s -> c().bloodCampScale = s, 0.5f, 3.0f, 0.1f)
+                .size(f -> maxWidth(f, BLOOD_SAMPLE), f -> BLOOD_SAMPLE.length * 10)
+                .preview((ctx, mc, x, y, scale) -> drawLines(ctx, mc.font, BLOOD_SAMPLE, x, y, scale, 10))
+                .color(0xFFFF5555);
+
+        HudElements.register("sprinting", "Sprinting")
+                .position(() -> c().sprintingX, () -> c().sprintingY, (x, y) -> { c().sprintingX = x; c().sprintingY = y; })
+                .scale(() -> c().sprintingScale, s -> c().sprintingScale = s, 0.5f, 10.0f, 0.5f)
+                .size(f -> f.width(SprintingOverlay.SAMPLE_TEXT), f -> f.lineHeight)
+                .preview(SprintingOverlay::draw)
+                .color(0xFFFF5555);
+
+        HudElements.register("dungeonTimers", "Dungeon Timers")
+                .position(() -> c().dungeonTimersX, () -> c().dungeonTimersY, (x, y) -> { c().dungeonTimersX = x; c().dungeonTimersY = y; })
+                .scale(() -> c().dungeonTimersScale, s -> c().dungeonTimersScale = s, 0.5f, 5.0f, 0.1f)
+                .size(f -> f.width(DungeonTimers.SAMPLE_TEXT), f -> f.lineHeight * 2)
+                .preview(DungeonTimers::draw)
+                .color(0xFFFF5555);
+
+        HudElements.register("invincibility", "Invincibility")
+                .position(() -> c().invincibilityX, () -> c().invincibilityY, (x, y) -> { c().invincibilityX = x; c().invincibilityY = y; })
+                .scale(() -> c().invincibilityScale, s -> c().invincibilityScale = s, 0.5f, 5.0f, 0.1f)
+                .size(f -> 12 + f.width("immune 2.50s"), f -> f.lineHeight * 3)
+                .preview(DungeonTimers::drawInvincibility)
+                .color(0xFFFFD700);
+
+        HudElements.register("thornStun", "Thorn Stun")
+                .position(() -> c().thornStunX, () -> c().thornStunY, (x, y) -> { c().thornStunX = x; c().thornStunY = y; })
+                .scale(() -> c().thornStunScale, s -> c().thornStunScale = s, 0.5f, 5.0f, 0.1f)
+                .size(f -> f.width(ThornStunTimer.SAMPLE_TEXT), f -> f.lineHeight)
+                .preview(ThornStunTimer::draw)
+                .color(0xFFAA55FF);
+
+        HudElements.register("spiritBear", "Spirit Bear")
+                .position(() -> c().spiritBearX, () -> c().spiritBearY, (x, y) -> { c().spiritBearX = x; c().spiritBearY = y; })
+                .scale(() -> c().spiritBearScale, s -> c().spiritBearScale = s, 0.5f, 5.0f, 0.1f)
+                .size(f -> f.width(SpiritBearTimer.SAMPLE_TEXT), f -> f.lineHeight)
+                .preview(SpiritBearTimer::draw)
+                .color(0xFFAA55FF);
+    }
+
+    private static int splitsNameCol(Font font) {
+        return maxWidth(font, SPLITS_SAMPLE) + 6;
+    }
+
+    private static int maxWidth(Font font, String[] lines) {
+        int w = 0;
+        for (String s : lines) w = Math.max(w, font.width(s));
+        return w;
+    }
+
+    private static void drawLines(GuiGraphicsExtractor ctx, Font font, String[] lines, int x, int y, float scale, int lineHeight) {
+        var pose = ctx.pose();
+        pose.pushMatrix();
+        pose.translate(x, y);
+        pose.scale(scale, scale);
+        for (int i = 0; i < lines.length; i++) ctx.text(font, lines[i], 0, i * lineHeight, 0xFFFFFFFF);
+        pose.popMatrix();
+    }
+
+    private static void drawMap(GuiGraphicsExtractor ctx, int mapX, int mapY, float scale) {
+        int mapSize = (int) (MAP_SIZE * scale);
+        ctx.fill(mapX - 2, mapY - 2, mapX + mapSize + 2, mapY + mapSize + 2, 0xFF3a3a3a);
+        ctx.fill(mapX, mapY, mapX + mapSize, mapY + mapSize, 0xFF1a1a1a);
+
+        int roomSizeScaled = (int) (ROOM_SIZE * scale);
+        for (int gx = 0; gx < 6; gx++) {
+            for (int gz = 0; gz < 6; gz++) {
+                int px = mapX + (int) ((MAP_PADDING + gx * CELL_SIZE) * scale);
+                int py = mapY + (int) ((MAP_PADDING + gz * CELL_SIZE) * scale);
+                int color = ((gx + gz) % 2 == 0) ? 0xFF3d3d3d : 0xFF4a4a4a;
+                ctx.fill(px, py, px + roomSizeScaled, py + roomSizeScaled, color);
+            }
+        }
+    }
+
+    private static void drawSlayer(GuiGraphicsExtractor ctx, Font font, int x, int y, float scale) {
+        int padding = 6;
+        var matrices = ctx.pose();
+        matrices.pushMatrix();
+        matrices.translate(x, y);
+        matrices.scale(scale, scale);
+        matrices.translate(-x, -y);
+
+        int centerX = x + SLAYER_WIDTH / 2;
+        drawRoundedRect(ctx, x, y, SLAYER_WIDTH, SLAYER_HEIGHT, 4, 0xDD000000);
+        int currentY = y + padding;
+
+        String bossName = "Inferno Demonlord IV";
+        ctx.text(font, bossName, centerX - font.width(bossName) / 2, currentY, 0xFFFF5555);
+        currentY += 12;
+
+        int barWidth = SLAYER_WIDTH - padding * 2;
+        int barX = x + padding;
+        int barHeight = 12;
+        drawRoundedRect(ctx, barX, currentY, barWidth, barHeight, 2, 0xFF333333);
+        drawRoundedRect(ctx, barX, currentY, (int) (barWidth * 0.7), barHeight, 2, 0xFF55FFFF);
+
+        String hpText = "35M / 50M";
+        ctx.text(font, hpText, centerX - font.width(hpText) / 2, currentY + 2, 0xFFFFFFFF);
+        currentY += barHeight + 2;
+
+        String phaseText = "CRYSTAL x2";
+        ctx.text(font, phaseText, centerX - font.width(phaseText) / 2, currentY, 0xFF55FFFF);
+        matrices.popMatrix();
+    }
+
+    private static void drawRoundedRect(GuiGraphicsExtractor ctx, int x, int y, int width, int height, int radius, int color) {
+        ctx.fill(x + radius, y, x + width - radius, y + height, color);
+        ctx.fill(x, y + radius, x + radius, y + height - radius, color);
+        ctx.fill(x + width - radius, y + radius, x + width, y + height - radius, color);
+        ctx.fill(x + 1, y + 1, x + radius, y + radius, color);
+        ctx.fill(x + width - radius, y + 1, x + width - 1, y + radius, color);
+        ctx.fill(x + 1, y + height - radius, x + radius, y + height - 1, color);
+        ctx.fill(x + width - radius, y + height - radius, x + width - 1, y + height - 1, color);
+    }
+}
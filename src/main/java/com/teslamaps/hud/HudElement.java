@@ -0,0 +1,76 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.hud;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.Font;
+import net.minecraft.client.gui.GuiGraphicsExtractor;
+
+/**
+ * Something the HUD editor can move and scale. Position is the top-left corner in GUI pixels and is what the
+ * element's own renderer reads; {@link HudElements} keeps it attached to an {@link Anchor} across resolution
+ * changes. Sizes are unscaled; the editor multiplies by {@link #scale()}.
+ */
+public interface HudElement {
+
+    enum Anchor {
+        TOP_LEFT(0, 0), TOP(0.5f, 0), TOP_RIGHT(1, 0),
+        LEFT(0, 0.5f), CENTER(0.5f, 0.5f), RIGHT(1, 0.5f),
+        BOTTOM_LEFT(0, 1), BOTTOM(0.5f, 1), BOTTOM_RIGHT(1, 1);
+
+        public final float fx, fy;
+
+        Anchor(float fx, float fy) {
+            this.fx = fx;
+            this.fy = fy;
+        }
+
+        /** The anchor for the screen third the point falls in. */
+        public static Anchor nearest(float cx, float cy, int screenW, int screenH) {
+            int col = cx < screenW / 3f ? 0 : cx > screenW * 2 / 3f ? 2 : 1;
+            int row = cy < screenH / 3f ? 0 : cy > screenH * 2 / 3f ? 2 : 1;
+            return values()[row * 3 + col];
+        }
+    }
+
+    String id();
+
+    String label();
+
+    int x();
+
+    int y();
+
+    void setPosition(int x, int y);
+
+    float scale();
+
+    void setScale(float scale);
+
+    float minScale();
+
+    float maxScale();
+
+    float scaleStep();
+
+    int width(Font font);
+
+    int height(Font font);
+
+    /** Draws sample content at ({@code x}, {@code y}) with the given scale. */
+    void renderPreview(GuiGraphicsExtractor ctx, Minecraft mc, int x, int y, float scale);
+
+    /** Border colour while dragging. */
+    int color();
+}
@@ -0,0 +1,168 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.hud;
+
+import com.teslamaps.config.TeslaMapsConfig;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.Font;
+import net.minecraft.client.gui.GuiGraphicsExtractor;
+
+/**
+ * Registry of {@link HudElement}s shown in the HUD editor, in draw order. Registering is all a feature needs
+ * for drag, snap, scroll-to-scale and anchoring.
+ *
+ * <p>Positions still live in each element's own config fields. When an element is dropped in the editor its
+ * nearest screen anchor and the offset from it go to {@link TeslaMapsConfig#hudAnchors}; {@link #tick()}
+ * re-resolves anchored elements into their fields when the GUI-scaled window size changes.
+ */
+public final class HudElements {
+
+    @FunctionalInterface
+    public interface PositionSetter {
+        void set(int x, int y);
+    }
+
+    @FunctionalInterface
+    public interface Preview {
+        void render(GuiGraphicsExtractor ctx, Minecraft mc, int x, int y, float scale);
+    }
+
+    private static final List<HudElement> elements = new ArrayList<>();
+    private static int lastWidth, lastHeight;
+
+    private HudElements() {}
+
+    public static Builder register(String id, String label) {
+        Builder b = new Builder(id, label);
+        elements.add(b);
+        return b;
+    }
+
+    public static List<HudElement> all() {
+        return Collections.unmodifiableList(elements);
+    }
+
+    public static HudElement.Anchor anchorOf(HudElement e) {
+        TeslaMapsConfig.HudAnchor a = TeslaMapsConfig.get().hudAnchors.get(e.id());
+        if (a == null) return null;
+        try {
+            return HudElement.Anchor.valueOf(a.anchor);
+        } catch (IllegalArgumentException | NullPointerException ex) {
+            return null;
+        }
+    }
+
+    /** Attaches {@code e} to the anchor nearest its centre, keeping its current position. */
+    public static void anchor(HudElement e, int w, int h, int screenW, int screenH) {
+        HudElement.Anchor anchor = HudElement.Anchor.nearest(e.x() + w / 2f, e.y() + h / 2f, screenW, screenH);
+        TeslaMapsConfig.HudAnchor a = new TeslaMapsConfig.HudAnchor();
+        a.anchor = anchor.name();
+        a.dx = Math.round(e.x() + anchor.fx * w - anchor.fx * screenW);
+        a.dy = Math.round(e.y() + anchor.fy * h - anchor.fy * screenH);
+        TeslaMapsConfig.get().hudAnchors.put(e.id(), a);
+    }
+
+    /** Re-places anchored elements after a resolution or GUI scale change. */
+    public static void tick() {
+        Minecraft mc = Minecraft.getInstance();
+        int sw = mc.getWindow().getGuiScaledWidth(), sh = mc.getWindow().getGuiScaledHeight();
+        if (sw == lastWidth && sh == lastHeight) return;
+        lastWidth = sw;
+        lastHeight = sh;
+        for (HudElement e : elements) {
+            HudElement.Anchor anchor = anchorOf(e);
+            if (anchor == null) continue;
+            TeslaMapsConfig.HudAnchor a = TeslaMapsConfig.get().hudAnchors.get(e.id());
+            int w = Math.round(e.width(mc.font) * e.scale()), h = Math.round(e.height(mc.font) * e.scale());
+            int x = Math.round(anchor.fx * sw + a.dx - anchor.fx * w);
+            int y = Math.round(anchor.fy * sh + a.dy - anchor.fy * h);
+            e.setPosition(Math.max(0, Math.min(sw - w, x)), Math.max(0, Math.min(sh - h, y)));
+        }
+    }
+
+    public static final class Builder implements HudElement {
+        private final String id, label;
+        private IntSupplier x = () -> 0, y = () -> 0;
+        private PositionSetter setPosition = (px, py) -> {};
+        private Supplier<Float> scale = () -> 1f;
+        private Consumer<Float> setScale = s -> {};
+        private float minScale = 0.5f, maxScale = 2f, scaleStep = 0.1f;
+        private ToIntFunction<Font> width = f -> 0, height = f -> 0;
+        private Preview preview = (ctx, mc, px, py, s) -> {};
+        private int color = 0xFF5865F2;
+
+        private Builder(String id, String label) {
+            this.id = id;
+            this.label = label;
+        }
+
+        public Builder position(IntSupplier x, IntSupplier y, PositionSetter set) {
+            this.x = x;
+            this.y = y;
+            this.setPosition = set;
+            return this;
+        }
+
+        public Builder scale(Supplier<Float> get, Consumer<Float> set, float min, float max, float step) {
+            this.scale = get;
+            this.setScale = set;
+            this.minScale = min;
+            this.maxScale = max;
+            this.scaleStep = step;
+            return this;
+        }
+
+        public Builder size(ToIntFunction<Font> width, ToIntFunction<Font> height) {
+            this.width = width;
+            this.height = height;
+            return this;
+        }
+
+        public Builder preview(Preview preview) {
+            this.preview = preview;
+            return this;
+        }
+
+        public Builder color(int color) {
+            this.color = color;
+            return this;
+        }
+
+        @Override public String id() { return id; }
+        @Override public String label() { return label; }
+        @Override public int x() { return x.getAsInt(); }
+        @Override public int y() { return y.getAsInt(); }
+        @Override public void setPosition(int px, int py) { setPosition.set(px, py); }
+        @Override public float scale() { return scale.get(); }
+        @Override public void setScale(float s) { setScale.accept(s); }
+        @Override public float minScale() { return minScale; }
+        @Override public float maxScale() { return maxScale; }
+        @Override public float scaleStep() { return scaleStep; }
+        @Override public int width(Font font) { return width.applyAsInt(font); }
+        @Override public int height(Font font) { return height.applyAsInt(font); }
+        @Override public int color() { return color; }
+
+        @Override
+        public void renderPreview(GuiGraphicsExtractor ctx, Minecraft mc, int px, int py, float s) {
+            preview.render(ctx, mc, px, py, s);
+        }
+    }
+}
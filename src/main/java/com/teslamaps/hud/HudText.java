@@ -0,0 +1,144 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.hud;
+
+import com.teslamaps.config.TeslaMapsConfig;
+import java.util.Arrays;
+import net.minecraft.client.DeltaTracker;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.Font;
+import net.minecraft.client.gui.GuiGraphicsExtractor;
+import net.minecraft.network.chat.Style;
+import net.minecraft.util.FormattedCharSequence;
+import net.minecraft.util.StringDecomposer;
+
+/**
+ * Prepared HUD lines. A renderer owns a {@link Cache} and asks it for each line by slot and by the values the
+ * line shows, packed into a long key (tenths of a second, a count, ...). The line is formatted, split into
+ * styled code points and measured only when the key changes; otherwise the previous {@link Line} is returned
+ * as is. Formatters should be non-capturing lambdas or method refs so the lookup itself doesn't allocate.
+ * The formatter isn't part of the key, so a slot must always be asked for with the same formatter.
+ */
+public final class HudText {
+
+    @FunctionalInterface
+    public interface Formatter {
+        String format(int slot, long key);
+    }
+
+    public static final class Line {
+        private long key;
+        private String text;
+        private FormattedCharSequence seq = FormattedCharSequence.EMPTY;
+        private int width;
+
+        public String text() {
+            return text;
+        }
+
+        public FormattedCharSequence seq() {
+            return seq;
+        }
+
+        public int width() {
+            return width;
+        }
+    }
+
+    public static final class Cache {
+        private Line[] lines = new Line[0];
+
+        private Line slot(int slot) {
+            if (slot >= lines.length) lines = Arrays.copyOf(lines, Math.max(slot + 1, lines.length * 2));
+            Line line = lines[slot];
+            if (line == null) line = lines[slot] = new Line();
+            return line;
+        }
+
+        public Line get(int slot, long key, Formatter format) {
+            lookups++;
+            Line line = slot(slot);
+            if (line.text != null && line.key == key) return line;
+            prepare(line, format.format(slot, key));
+            line.key = key;
+            return line;
+        }
+
+        /** For text that arrives already built (chat, tab, other features); compared by value. */
+        public Line get(int slot, String text) {
+            lookups++;
+            Line line = slot(slot);
+            if (line.text != null && line.text.equals(text)) return line;
+            prepare(line, text);
+            line.key = 0;
+            return line;
+        }
+
+        public void invalidate() {
+            for (Line line : lines) if (line != null) line.text = null;
+        }
+    }
+
+    private static int lookups, built, lastLookups, lastBuilt;
+
+    private HudText() {}
+
+    private static void prepare(Line line, String text) {
+        built++;
+        int[] codePoints = new int[text.length()];
+        Style[] styles = new Style[text.length()];
+        int[] n = {0};
+        StringDecomposer.iterateFormatted(text, Style.EMPTY, (index, style, cp) -> {
+            codePoints[n[0]] = cp;
+            styles[n[0]++] = style;
+            return true;
+        });
+        int count = n[0];
+        FormattedCharSequence seq = sink -> {
+            for (int i = 0; i < count; i++) if (!sink.accept(i, styles[i], codePoints[i])) return false;
+            return true;
+        };
+        line.text = text;
+        line.seq = seq;
+        line.width = Minecraft.getInstance().font.width(line.seq);
+    }
+
+    public static void draw(GuiGraphicsExtractor ctx, Font font, Line line, int x, int y, int color) {
+        ctx.text(font, line.seq, x, y, color);
+    }
+
+    public static void draw(GuiGraphicsExtractor ctx, Font font, Line line, int x, int y, int color, boolean shadow) {
+        ctx.text(font, line.seq, x, y, color, shadow);
+    }
+
+    /** Debug line: lines drawn through caches last frame vs how many had to be rebuilt. Rolls the counters. */
+    public static void renderDebug(GuiGraphicsExtractor context, DeltaTracker delta) {
+        lastLookups = lookups;
+        lastBuilt = built;
+        lookups = built = 0;
+        if (!TeslaMapsConfig.get().debugMode) return;
+        Minecraft mc = Minecraft.getInstance();
+        if (mc.options.hideGui || mc.player == null) return;
+        int y = mc.getWindow().getGuiScaledHeight() - (mc.font.lineHeight + 2) * 2;
+        context.text(mc.font, "§7HUD text §f" + lastLookups + " §7lines, §f" + lastBuilt + " §7built", 2, y, 0xFFFFFFFF);
+    }
+
+    public static int getLastLookups() {
+        return lastLookups;
+    }
+
+    public static int getLastBuilt() {
+        return lastBuilt;
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.map;
+
+import com.teslamaps.scanner.ComponentGrid;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * The clear-order planning behind {@link RoutePlanner}, kept free of game state so it can run off-thread and in tests.
+ *
+ * <p>The plan follows the cheapest door tree from the entrance (wither doors cost more to cross). Its rooms are
+ * visited depth first, leaving branches behind wither doors and the branch with blood until last, and that order
+ * is cut into one contiguous share per player with about equal work. Work is a base per room type plus the
+ * secrets still missing, so cleared rooms drop out unless they have secrets left. Blood goes last in the final share.
+ *
+ * <p>Shares are handed out in party-list order: the first share, which starts at the entrance, goes to
+ * {@code players[0]} and so on. Where the players currently stand is not taken into account.
+ */
+public final class RoutePlan {
+    /** One player's share as grid cells to walk through, packed {@code gx * GRID_SIZE + gz}. */
+    public record Route(String player, String dungeonClass, int[] cells) {}
+
+    /**
+     * Copy of what the planner needs, so the planner thread never touches the live grid. Cells are packed
+     * {@code gx * GRID_SIZE + gz}; {@code cellRoom} indexes into the per-room arrays or is -1, and the door arrays
+     * hold {@link DoorType} ordinals for the edge to the right of and below each cell.
+     */
+    record Layout(int[] cellRoom, byte[] doorRight, byte[] doorDown, RoomType[] types, int[] missingSecrets,
+                  boolean[] cleared, int entrance, String[] players, String[] classes) {}
+
+    private static final int N = ComponentGrid.GRID_SIZE;
+
+    private static final int NORMAL_DOOR_COST = 1;
+    private static final int WITHER_DOOR_COST = 3;
+
+    private RoutePlan() {}
+
+    static List<Route> plan(Layout layout) {
+        int n = layout.types().length;
+        if (layout.entrance() < 0 || n == 0) return List.of();
+
+        // door edges between rooms, as the pair of cells they join
+        List<int[]> edges = new ArrayList<>();
+        for (int c = 0; c < N * N; c++) {
+            int gx = c / N, gz = c % N;
+            if (gx + 1 < N) addEdge(layout, edges, c, c + N, layout.doorRight()[c]);
+            if (gz + 1 < N) addEdge(layout, edges, c, c + 1, layout.doorDown()[c]);
+        }
+
+        // cheapest door tree from the entrance
+        int[] dist = new int[n], parent = new int[n], entryCell = new int[n], depth = new int[n];
+        boolean[] viaWither = new boolean[n];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        Arrays.fill(parent, -1);
+        Arrays.fill(entryCell, -1);
+        int[] parentCell = new int[n];
+        dist[layout.entrance()] = 0;
+        for (int c = 0; c < N * N; c++) {
+            if (layout.cellRoom()[c] == layout.entrance()) {
+                entryCell[layout.entrance()] = c;
+                break;
+            }
+        }
+        PriorityQueue<int[]> queue = new PriorityQueue<>((a, b) -> Integer.compare(a[1], b[1]));
+        queue.add(new int[]{layout.entrance(), 0});
+        while (!queue.isEmpty()) {
+            int[] top = queue.poll();
+            int room = top[0];
+            if (top[1] > dist[room]) continue;
+            for (int[] e : edges) {
+                int from = layout.cellRoom()[e[0]] == room ? e[0] : layout.cellRoom()[e[1]] == room ? e[1] : -1;
+                if (from < 0) continue;
+                int to = from == e[0] ? e[1] : e[0];
+                int next = layout.cellRoom()[to];
+                boolean wither = e[2] == DoorType.WITHER.ordinal();
+                int d = dist[room] + (wither ? WITHER_DOOR_COST : NORMAL_DOOR_COST);
+                if (d >= dist[next]) continue;
+                dist[next] = d;
+                parent[next] = room;
+                parentCell[next] = from;
+                entryCell[next] = to;
+                depth[next] = depth[room] + 1;
+                viaWither[next] = wither;
+                queue.add(new int[]{next, d});
+            }
+        }
+
+        int blood = -1;
+        int[] work = new int[n];
+        for (int i = 0; i < n; i++) {
+            if (layout.types()[i] == RoomType.BLOOD) blood = i;
+            work[i] = (layout.cleared()[i] ? 0 : baseWork(layout.types()[i])) + layout.missingSecrets()[i];
+        }
+        if (blood >= 0) work[blood] = 0;
+
+        // subtree totals and whether blood sits below, children later visited in that order
+        List<List<Integer>> children = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) children.add(new ArrayList<>());
+        Integer[] byDepth = new Integer[n];
+        for (int i = 0; i < n; i++) byDepth[i] = i;
+        Arrays.sort(byDepth, (a, b) -> Integer.compare(depth[b], depth[a]));
+        int[] subtree = work.clone();
+        boolean[] hasBlood = new boolean[n];
+        if (blood >= 0) hasBlood[blood] = true;
+        for (int i : byDepth) {
+            if (parent[i] < 0) continue;
+            subtree[parent[i]] += subtree[i];
+            hasBlood[parent[i]] |= hasBlood[i];
+            children.get(parent[i]).add(i);
+        }
+        for (List<Integer> list : children) {
+            list.sort((a, b) -> {
+                if (hasBlood[a] != hasBlood[b]) return hasBlood[a] ? 1 : -1;
+                if (viaWither[a] != viaWither[b]) return viaWither[a] ? 1 : -1;
+                return Integer.compare(subtree[a], subtree[b]);
+            });
+        }
+
+        List<Integer> order = new ArrayList<>();
+        int total = 0;
+        int[] stack = new int[n];
+        int top = 0;
+        stack[top++] = layout.entrance();
+        while (top > 0) {
+            int room = stack[--top];
+            if (work[room] > 0) {
+                order.add(room);
+                total += work[room];
+            }
+            List<Integer> kids = children.get(room);
+            for (int i = kids.size() - 1; i >= 0; i--) stack[top++] = kids.get(i);
+        }
+
+        int shares = Math.max(1, layout.players().length);
+        List<List<Integer>> split = new ArrayList<>();
+        List<Integer> current = new ArrayList<>();
+        int done = 0;
+        for (int room : order) {
+            current.add(room);
+            done += work[room];
+            if (split.size() < shares - 1 && (long) done * shares >= (long) total * (split.size() + 1)) {
+                split.add(current);
+                current = new ArrayList<>();
+            }
+        }
+        if (blood >= 0 && !layout.cleared()[blood] && parent[blood] >= 0) current.add(blood);
+        if (!current.isEmpty()) split.add(current);
+
+        List<Route> result = new ArrayList<>(split.size());
+        for (int i = 0; i < split.size(); i++) {
+            String player = i < layout.players().length ? layout.players()[i] : null;
+            String cls = i < layout.classes().length ? layout.classes()[i] : null;
+            result.add(new Route(player, cls, walk(split.get(i), layout.cellRoom(), parent, depth, parentCell, entryCell)));
+        }
+        return result;
+    }
+
+    private static void addEdge(Layout layout, List<int[]> edges, int a, int b, byte door) {
+        int ra = layout.cellRoom()[a], rb = layout.cellRoom()[b];
+        if (ra < 0 || rb < 0 || ra == rb || door == DoorType.NONE.ordinal()) return;
+        edges.add(new int[]{a, b, door});
+    }
+
+    private static int baseWork(RoomType type) {
+        return switch (type) {
+            case PUZZLE, TRAP -> 4;
+            case YELLOW -> 3;
+            case ENTRANCE, FAIRY, BLOOD -> 0;
+            default -> 2;
+        };
+    }
+
+    // cells along the door tree from each room of a share to the next
+    private static int[] walk(List<Integer> rooms, int[] cellRoom, int[] parent, int[] depth, int[] parentCell, int[] entryCell) {
+        int[] cells = new int[N * N * 4];
+        int size = 0;
+        cells[size++] = entryCell[rooms.get(0)];
+        for (int i = 1; i < rooms.size(); i++) {
+            int a = rooms.get(i - 1), b = rooms.get(i);
+            List<Integer> down = new ArrayList<>();
+            while (depth[a] > depth[b]) {
+                cells = append(cells, size, entryCell[a], parentCell[a]);
+                size += 2;
+                a = parent[a];
+            }
+            while (depth[b] > depth[a]) {
+                down.add(b);
+                b = parent[b];
+            }
+            while (a != b) {
+                cells = append(cells, size, entryCell[a], parentCell[a]);
+                size += 2;
+                a = parent[a];
+                down.add(b);
+                b = parent[b];
+            }
+            for (int j = down.size() - 1; j >= 0; j--) {
+                int r = down.get(j);
+                cells = append(cells, size, parentCell[r], entryCell[r]);
+                size += 2;
+            }
+        }
+        // drop repeats where consecutive doors meet in the same cell, and where they sit apart in a bigger room
+        // (the far arm of an L, across a 2x2) step through the room's cells in between
+        int[] path = new int[size];
+        int out = 0;
+        path[out++] = cells[0];
+        for (int i = 1; i < size; i++) {
+            int from = path[out - 1], to = cells[i];
+            if (to == from) continue;
+            int[] between = adjacent(from, to) ? new int[0] : between(cellRoom, from, to);
+            if (out + between.length + 1 > path.length) path = Arrays.copyOf(path, (out + between.length + 1) * 2);
+            System.arraycopy(between, 0, path, out, between.length);
+            out += between.length;
+            path[out++] = to;
+        }
+        return Arrays.copyOf(path, out);
+    }
+
+    private static boolean adjacent(int a, int b) {
+        return Math.abs(a / N - b / N) + Math.abs(a % N - b % N) == 1;
+    }
+
+    // shortest run of cells strictly between two cells of the same room, staying inside that room
+    private static int[] between(int[] cellRoom, int from, int to) {
+        int room = cellRoom[from];
+        int[] prev = new int[N * N];
+        Arrays.fill(prev, -1);
+        prev[from] = from;
+        int[] queue = new int[N * N];
+        int head = 0, tail = 0;
+        queue[tail++] = from;
+        while (head < tail && prev[to] < 0) {
+            int c = queue[head++];
+            int gx = c / N, gz = c % N;
+            int[] next = {gx + 1 < N ? c + N : -1, gz + 1 < N ? c + 1 : -1, gx > 0 ? c - N : -1, gz > 0 ? c - 1 : -1};
+            for (int m : next) {
+                if (m < 0 || prev[m] >= 0 || cellRoom[m] != room) continue;
+                prev[m] = c;
+                queue[tail++] = m;
+            }
+        }
+        if (prev[to] < 0) return new int[0];
+        int count = 0;
+        for (int c = prev[to]; c != from; c = prev[c]) count++;
+        int[] cells = new int[count];
+        for (int c = prev[to]; c != from; c = prev[c]) cells[--count] = c;
+        return cells;
+    }
+
+    private static int[] append(int[] cells, int size, int first, int second) {
+        if (size + 2 > cells.length) cells = Arrays.copyOf(cells, cells.length * 2);
+        cells[size] = first;
+        cells[size + 1] = second;
+        return cells;
+    }
+}
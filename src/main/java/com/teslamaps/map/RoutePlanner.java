@@ -0,0 +1,158 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.map;
+
+import com.teslamaps.TeslaMaps;
+import com.teslamaps.config.TeslaMapsConfig;
+import com.teslamaps.dungeon.DungeonManager;
+import com.teslamaps.features.LegitMode;
+import com.teslamaps.map.RoutePlan.Layout;
+import com.teslamaps.map.RoutePlan.Route;
+import com.teslamaps.player.PlayerTracker;
+import com.teslamaps.scanner.ComponentGrid;
+import com.teslamaps.scanner.DoorScanner;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import net.minecraft.client.Minecraft;
+
+/**
+ * Suggested clear order for the scanned dungeon, split between the party. Rooms and doors are copied into a
+ * {@link Layout} on the client thread and planned by {@link RoutePlan} on a background thread; the result replaces
+ * {@link #getRoutes()} on the client thread. A new plan is requested only when the grid, the doors, a room's
+ * checkmark or secret count, or the party changes. Shares go to the party in list order, see {@link RoutePlan}.
+ */
+public final class RoutePlanner {
+    private static final int N = ComponentGrid.GRID_SIZE;
+
+    private static final ExecutorService PLANNER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "TeslaMaps-Planner");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private static List<Route> routes = List.of();
+    private static long requested = Long.MIN_VALUE;
+    private static int tickCounter = 0;
+
+    private RoutePlanner() {}
+
+    public static void tick() {
+        if (!TeslaMapsConfig.get().dungeonRoutePlanner || !DungeonManager.isInDungeon() || DungeonManager.isInBoss()) {
+            reset();
+            return;
+        }
+        if (tickCounter++ % 10 != 0) return;
+
+        long signature = signature();
+        if (signature == requested) return;
+        requested = signature;
+        Layout layout = snapshot();
+        if (layout == null) {
+            routes = List.of();
+            return;
+        }
+        PLANNER.execute(() -> {
+            long start = System.nanoTime();
+            List<Route> planned;
+            try {
+                planned = RoutePlan.plan(layout);
+            } catch (Exception e) {
+                TeslaMaps.LOGGER.error("[Route] Planning failed", e);
+                return;
+            }
+            TeslaMaps.LOGGER.debug("[Route] Planned {} shares in {} us", planned.size(), (System.nanoTime() - start) / 1000);
+            Minecraft.getInstance().execute(() -> {
+                if (requested == signature) routes = planned;
+            });
+        });
+    }
+
+    public static List<Route> getRoutes() {
+        return routes;
+    }
+
+    public static void reset() {
+        routes = List.of();
+        requested = Long.MIN_VALUE;
+        tickCounter = 0;
+    }
+
+    private static long signature() {
+        ComponentGrid grid = DungeonManager.getGrid();
+        long sig = grid.getVersion();
+        sig = sig * 31 + DoorScanner.getAllDoors().hashCode(); // keys and types, independent of map order
+        sig = sig * 31 + PlayerTracker.getParty().players().size();
+        sig = sig * 31 + (LegitMode.isFiltering() ? 1 : 0);
+        for (DungeonRoom room : grid.getAllRooms()) {
+            sig = sig * 31 + room.getCheckmarkState().ordinal();
+            sig = sig * 31 + room.getFoundSecrets();
+            sig = sig * 31 + (room.isExplored() ? 1 : 0);
+        }
+        return sig;
+    }
+
+    private static Layout snapshot() {
+        ComponentGrid grid = DungeonManager.getGrid();
+        DungeonRoom entranceRoom = grid.getEntranceRoom();
+        if (entranceRoom == null) return null;
+        boolean legit = LegitMode.isFiltering();
+
+        List<DungeonRoom> rooms = new ArrayList<>();
+        int[] cellRoom = new int[N * N];
+        Arrays.fill(cellRoom, -1);
+        for (int gx = 0; gx < N; gx++) {
+            for (int gz = 0; gz < N; gz++) {
+                DungeonRoom room = grid.getRoom(gx, gz);
+                if (room == null || (legit && !room.isExplored())) continue;
+                int id = rooms.indexOf(room);
+                if (id < 0) {
+                    id = rooms.size();
+                    rooms.add(room);
+                }
+                cellRoom[gx * N + gz] = id;
+            }
+        }
+
+        byte[] doorRight = new byte[N * N], doorDown = new byte[N * N];
+        for (int gx = 0; gx < N; gx++) {
+            for (int gz = 0; gz < N; gz++) {
+                if (gx + 1 < N) doorRight[gx * N + gz] = (byte) DoorScanner.getDoorType(gx, gz, gx + 1, gz).ordinal();
+                if (gz + 1 < N) doorDown[gx * N + gz] = (byte) DoorScanner.getDoorType(gx, gz, gx, gz + 1).ordinal();
+            }
+        }
+
+        int n = rooms.size();
+        RoomType[] types = new RoomType[n];
+        int[] missing = new int[n];
+        boolean[] cleared = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            DungeonRoom room = rooms.get(i);
+            types[i] = room.getType();
+            missing[i] = Math.max(0, room.getSecrets() - Math.max(0, room.getFoundSecrets()));
+            CheckmarkState state = room.getCheckmarkState();
+            cleared[i] = state == CheckmarkState.WHITE || state == CheckmarkState.GREEN || state == CheckmarkState.FAILED;
+        }
+
+        List<PlayerTracker.DungeonPlayer> party = PlayerTracker.getParty().players();
+        String[] players = new String[party.size()], classes = new String[party.size()];
+        for (int i = 0; i < party.size(); i++) {
+            players[i] = party.get(i).getName();
+            classes[i] = party.get(i).getDungeonClass();
+        }
+        return new Layout(cellRoom, doorRight, doorDown, types, missing, cleared, rooms.indexOf(entranceRoom), players, classes);
+    }
+}
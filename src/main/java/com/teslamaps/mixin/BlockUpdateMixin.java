@@ -46,5 +46,6 @@ public class BlockUpdateMixin {
         SpiritBearTimer.onBlockUpdate(pos, oldState, newState);
         com.teslamaps.features.CustomTitles.onBlockUpdate(pos, oldState, newState);
         com.teslamaps.dungeon.WitherDragons.onBlockUpdate(pos, oldState, newState);
+        com.teslamaps.scanner.SecretEvents.onBlockUpdate(pos, oldState, newState);
     }
 }
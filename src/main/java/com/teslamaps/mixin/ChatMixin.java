@@ -15,15 +15,10 @@
  */
 package com.teslamaps.mixin;
 
+import com.teslamaps.FeatureRegistry;
 import com.teslamaps.config.TeslaMapsConfig;
-import com.teslamaps.dungeon.DungeonScore;
-import com.teslamaps.dungeon.MimicDetector;
-import com.teslamaps.dungeon.puzzle.ThreeWeirdos;
 import com.teslamaps.dungeon.puzzle.QuizSolver;
 import com.teslamaps.esp.StarredMobESP;
-import com.teslamaps.features.AutoGFS;
-import com.teslamaps.features.AutoWish;
-import com.teslamaps.features.LividSolver;
 import com.teslamaps.slayer.SlayerHUD;
 import com.teslamaps.utils.LoudSound;
 import net.minecraft.client.gui.components.ChatComponent;
@@ -53,6 +48,8 @@ public class ChatMixin {
     private void onChatMessage(Component message, net.minecraft.network.chat.MessageSignature signature, net.minecraft.client.multiplayer.chat.GuiMessageSource source, net.minecraft.client.multiplayer.chat.GuiMessageTag tag, CallbackInfo ci) {
         String text = message.getString();
 
+        com.teslamaps.replay.RunRecorder.onChat(text);
+
         TeslaMapsConfig cfg = TeslaMapsConfig.get();
 
         if (cfg.section("Puzzles") && QuizSolver.shouldHide(text)) {
@@ -87,44 +84,7 @@ public class ChatMixin {
             }
         }
 
-        if (cfg.section("Auto")) AutoGFS.onChatMessage(text);
-
-        if (cfg.section("ESP")) LividSolver.onChatMessage(text);
-
-        if (cfg.section("Leap")) com.teslamaps.features.LeapOverlay.onChatMessage(text);
-
-        MimicDetector.onChatMessage(text);
-
-        DungeonScore.onChatMessage(text);
-
-        if (cfg.section("Dragons")) com.teslamaps.dungeon.WitherDragons.onChatMessage(text);
-
-        if (cfg.section("Score & Splits")) {
-            com.teslamaps.dungeon.Splits.onChatMessage(text);
-            com.teslamaps.dungeon.WatcherAddons.onChatMessage(text);
-        }
-
-        if (cfg.section("Party")) com.teslamaps.features.PartyDuplicateAlert.onChatMessage(text);
-        if (cfg.section("Timers")) com.teslamaps.features.TimerTriggers.onChatMessage(text);
-        if (cfg.section("Timers")) com.teslamaps.features.SpiritPetReminder.onChatMessage(text);
-        if (cfg.section("Puzzles")) com.teslamaps.features.CustomTitles.onChatMessage(text);
-        if (cfg.section("Render")) com.teslamaps.features.ChatWaypoint.onChatMessage(text);
-
-        if (cfg.section("Blood Camp")) com.teslamaps.dungeon.BloodCamp.onChatMessage(text);
-
-        if (cfg.section("Party")) {
-            com.teslamaps.dungeon.AutoRequeue.onChatMessage(text);
-            com.teslamaps.dungeon.PbOnJoin.onChatMessage(text);
-            com.teslamaps.features.ChatCommands.onChatMessage(text);
-        }
-
-        if (cfg.section("Puzzles")) ThreeWeirdos.onChatMessage(text);
-
-        if (cfg.section("Auto")) AutoWish.onChatMessage(text);
-
-        if (cfg.section("Puzzles")) {
-            QuizSolver.onChatMessage(text);
-        }
+        FeatureRegistry.onChatMessage(text);
 
         if (cfg.section("Chat") && com.teslamaps.features.ChatFilter.shouldHide(text)) {
             ci.cancel();
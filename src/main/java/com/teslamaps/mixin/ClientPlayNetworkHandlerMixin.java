@@ -21,7 +21,11 @@ import com.teslamaps.dungeon.puzzle.TerminalManager;
 import com.teslamaps.features.PingMeter;
 import com.teslamaps.features.CustomTitles;
 import com.teslamaps.features.ThornStunTimer;
+import com.teslamaps.perf.Profiler;
+import com.teslamaps.player.PlayerTracker;
+import com.teslamaps.scanner.SecretEvents;
 import net.minecraft.client.multiplayer.ClientPacketListener;
+import net.minecraft.network.protocol.game.ClientboundBlockEventPacket;
 import net.minecraft.network.protocol.game.ClientboundContainerSetSlotPacket;
 import net.minecraft.network.protocol.game.ClientboundHurtAnimationPacket;
 import net.minecraft.network.protocol.game.ClientboundSetSubtitleTextPacket;
@@ -30,8 +34,11 @@ import net.minecraft.network.protocol.game.ClientboundSetTitlesAnimationPacket;
 import net.minecraft.network.protocol.game.ClientboundLevelParticlesPacket;
 import net.minecraft.network.protocol.game.ClientboundTabListPacket;
 import net.minecraft.network.protocol.game.ClientboundMoveEntityPacket;
+import net.minecraft.network.protocol.game.ClientboundPlayerInfoRemovePacket;
+import net.minecraft.network.protocol.game.ClientboundPlayerInfoUpdatePacket;
 import net.minecraft.network.protocol.game.ClientboundRemoveEntitiesPacket;
 import net.minecraft.network.protocol.game.ClientboundSetEquipmentPacket;
+import net.minecraft.network.protocol.game.ClientboundSetPlayerTeamPacket;
 import net.minecraft.network.protocol.game.ClientboundTakeItemEntityPacket;
 import net.minecraft.network.protocol.ping.ClientboundPongResponsePacket;
 import org.spongepowered.asm.mixin.Mixin;
@@ -54,7 +61,7 @@ public class ClientPlayNetworkHandlerMixin {
 
     @Inject(method = "handleParticleEvent", at = @At("HEAD"))
     private void onParticle(ClientboundLevelParticlesPacket packet, CallbackInfo ci) {
-        WitherDragons.onParticlePacket(packet);
+        Profiler.run("packet:WitherDragons.onParticlePacket", WitherDragons::onParticlePacket, packet);
     }
 
     @Inject(method = "handleTabListCustomisation", at = @At("TAIL"))
@@ -62,19 +69,47 @@ public class ClientPlayNetworkHandlerMixin {
         WitherDragons.onTabFooter(packet.footer().getString());
     }
 
+    // TAIL: only reached on the client thread, after the tab entries are updated
+    @Inject(method = "handlePlayerInfoUpdate", at = @At("TAIL"))
+    private void onPlayerInfoUpdate(ClientboundPlayerInfoUpdatePacket packet, CallbackInfo ci) {
+        Profiler.run("packet:PlayerTracker.onPlayerInfoUpdate", PlayerTracker::onPlayerInfoUpdate, packet);
+    }
+
+    @Inject(method = "handlePlayerInfoRemove", at = @At("TAIL"))
+    private void onPlayerInfoRemove(ClientboundPlayerInfoRemovePacket packet, CallbackInfo ci) {
+        Profiler.run("packet:PlayerTracker.onPlayerInfoRemove", PlayerTracker::onPlayerInfoRemove, packet);
+    }
+
+    @Inject(method = "handleSetPlayerTeamPacket", at = @At("TAIL"))
+    private void onSetPlayerTeam(ClientboundSetPlayerTeamPacket packet, CallbackInfo ci) {
+        PlayerTracker.onTeamUpdate();
+    }
+
     @Inject(method = "handleMoveEntity", at = @At("HEAD"))
     private void onMoveEntity(ClientboundMoveEntityPacket packet, CallbackInfo ci) {
-        BloodCamp.onMoveEntityPacket(packet);
+        Profiler.run("packet:BloodCamp.onMoveEntityPacket", BloodCamp::onMoveEntityPacket, packet);
     }
 
     @Inject(method = "handleSetEquipment", at = @At("HEAD"))
     private void onSetEquipment(ClientboundSetEquipmentPacket packet, CallbackInfo ci) {
-        BloodCamp.onSetEquipmentPacket(packet);
+        Profiler.run("packet:BloodCamp.onSetEquipmentPacket", BloodCamp::onSetEquipmentPacket, packet);
     }
 
     @Inject(method = "handleRemoveEntities", at = @At("HEAD"))
     private void onRemoveEntities(ClientboundRemoveEntitiesPacket packet, CallbackInfo ci) {
-        BloodCamp.onRemoveEntitiesPacket(packet);
+        Profiler.run("packet:BloodCamp.onRemoveEntitiesPacket", BloodCamp::onRemoveEntitiesPacket, packet);
+        SecretEvents.onRemoveEntities(packet.getEntityIds());
+    }
+
+    // HEAD: by TAIL a fully picked-up item is already gone from the level
+    @Inject(method = "handleTakeItemEntity", at = @At("HEAD"))
+    private void onTakeItemEntityHead(ClientboundTakeItemEntityPacket packet, CallbackInfo ci) {
+        SecretEvents.onTakeItem(packet.getItemId());
+    }
+
+    @Inject(method = "handleBlockEvent", at = @At("HEAD"))
+    private void onBlockEvent(ClientboundBlockEventPacket packet, CallbackInfo ci) {
+        SecretEvents.onBlockEvent(packet.getPos(), packet.getBlock(), packet.getB0(), packet.getB1());
     }
 
     @Inject(method = "handleTakeItemEntity", at = @At("TAIL"))
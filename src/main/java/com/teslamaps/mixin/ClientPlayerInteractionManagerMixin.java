@@ -53,7 +53,7 @@ public class ClientPlayerInteractionManagerMixin {
 
         if (state.is(Blocks.CHEST) || state.is(Blocks.TRAPPED_CHEST)) {
             ThreeWeirdos.onChestClick(pos);
-            SecretWaypoints.onChestOpened(pos);
+            com.teslamaps.scanner.SecretEvents.onChestOpened(pos);
             SecretWaypoints.onSecretInteract("chest");
             com.teslamaps.features.SecretClickHighlight.onSecretClick(pos);
         }
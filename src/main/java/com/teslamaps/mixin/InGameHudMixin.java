@@ -33,6 +33,7 @@ public class InGameHudMixin {
     @Inject(method = "setOverlayMessage", at = @At("HEAD"))
     private void onSetOverlayMessage(Component message, boolean tinted, CallbackInfo ci) {
         SecretTracker.onActionBarMessage(message);
+        com.teslamaps.replay.RunRecorder.onActionBar(message.getString());
     }
 
     @Inject(method = "extractSlot", at = @At("HEAD"))
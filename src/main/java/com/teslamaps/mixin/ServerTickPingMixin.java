@@ -15,7 +15,7 @@
  */
 package com.teslamaps.mixin;
 
-import com.teslamaps.dungeon.BloodCamp;
+import com.teslamaps.utils.ServerTicks;
 import net.minecraft.client.multiplayer.ClientCommonPacketListenerImpl;
 import net.minecraft.network.protocol.common.ClientboundPingPacket;
 import org.spongepowered.asm.mixin.Mixin;
@@ -28,6 +28,6 @@ public class ServerTickPingMixin {
 
     @Inject(method = "handlePing", at = @At("HEAD"))
     private void teslamaps$onServerPing(ClientboundPingPacket packet, CallbackInfo ci) {
-        BloodCamp.onServerPing(packet.getId());
+        ServerTicks.onPing(packet.getId());
     }
 }
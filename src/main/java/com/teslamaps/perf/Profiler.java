@@ -0,0 +1,269 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.perf;
+
+import com.teslamaps.TeslaMaps;
+import java.io.BufferedWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import net.fabricmc.fabric.api.client.rendering.v1.hud.HudElement;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.client.DeltaTracker;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiGraphicsExtractor;
+
+/**
+ * Per-feature timing for tick, render, chat and packet handlers. Call sites go through {@link #run} with a
+ * non-capturing method reference, so when profiling is off the only cost is the {@code enabled} branch.
+ * While on, each call is timed with {@link System#nanoTime} into a log-bucketed histogram, and thread
+ * allocation is sampled through {@code com.sun.management.ThreadMXBean} where the JVM supports it.
+ */
+public class Profiler {
+    private static final Path EXPORT_DIR = FabricLoader.getInstance().getConfigDir().resolve("teslamaps");
+    private static final int HUD_ROWS = 10;
+
+    private static volatile boolean enabled = false;
+    private static boolean hud = false;
+    private static long enabledAtNs = 0;
+
+    private static final Map<String, Section> sections = new ConcurrentHashMap<>();
+    private static final com.sun.management.ThreadMXBean threads = allocationBean();
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean on) {
+        if (on && !enabled) enabledAtNs = System.nanoTime();
+        enabled = on;
+    }
+
+    public static boolean isHudShown() {
+        return hud;
+    }
+
+    public static void setHudShown(boolean shown) {
+        hud = shown;
+    }
+
+    public static void reset() {
+        sections.clear();
+        enabledAtNs = System.nanoTime();
+    }
+
+    public static boolean tracksAllocation() {
+        return threads != null;
+    }
+
+    public static void run(String name, Runnable handler) {
+        if (!enabled) {
+            handler.run();
+            return;
+        }
+        long alloc = allocated();
+        long start = System.nanoTime();
+        try {
+            handler.run();
+        } finally {
+            record(name, System.nanoTime() - start, alloc);
+        }
+    }
+
+    public static <T> void run(String name, Consumer<T> handler, T arg) {
+        if (!enabled) {
+            handler.accept(arg);
+            return;
+        }
+        long alloc = allocated();
+        long start = System.nanoTime();
+        try {
+            handler.accept(arg);
+        } finally {
+            record(name, System.nanoTime() - start, alloc);
+        }
+    }
+
+    public static <A, B> void run(String name, BiConsumer<A, B> handler, A a, B b) {
+        if (!enabled) {
+            handler.accept(a, b);
+            return;
+        }
+        long alloc = allocated();
+        long start = System.nanoTime();
+        try {
+            handler.accept(a, b);
+        } finally {
+            record(name, System.nanoTime() - start, alloc);
+        }
+    }
+
+    /** Wraps a HUD element once at registration; the per-frame cost while off is the same single branch. */
+    public static HudElement hud(String name, HudElement element) {
+        return (g, d) -> {
+            if (!enabled) {
+                element.extractRenderState(g, d);
+                return;
+            }
+            long alloc = allocated();
+            long start = System.nanoTime();
+            try {
+                element.extractRenderState(g, d);
+            } finally {
+                record(name, System.nanoTime() - start, alloc);
+            }
+        };
+    }
+
+    /** For call sites that don't fit {@link #run}: {@code stop(name, start())} around the work. 0 when off. */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    public static void stop(String name, long start) {
+        if (start != 0L) record(name, System.nanoTime() - start, -1L);
+    }
+
+    private static long allocated() {
+        return threads != null ? threads.getCurrentThreadAllocatedBytes() : -1L;
+    }
+
+    private static void record(String name, long nanos, long allocBefore) {
+        long bytes = allocBefore >= 0 && threads != null ? threads.getCurrentThreadAllocatedBytes() - allocBefore : -1L;
+        sections.computeIfAbsent(name, Section::new).record(nanos, bytes);
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+            return bean;
+        }
+        return null;
+    }
+
+    /** Snapshot of every section, heaviest total time first. */
+    public static List<Stats> snapshot() {
+        List<Stats> out = new ArrayList<>(sections.size());
+        for (Section s : sections.values()) out.add(s.stats());
+        out.sort(Comparator.comparingLong(Stats::totalNanos).reversed());
+        return out;
+    }
+
+    public static double elapsedSeconds() {
+        return enabledAtNs == 0 ? 0 : (System.nanoTime() - enabledAtNs) / 1e9;
+    }
+
+    public static Path exportCsv() throws java.io.IOException {
+        Files.createDirectories(EXPORT_DIR);
+        String stamp = new java.text.SimpleDateFormat("yyyyMMdd-HHmmss").format(new java.util.Date());
+        Path path = EXPORT_DIR.resolve("perf-" + stamp + ".csv");
+        try (BufferedWriter w = Files.newBufferedWriter(path)) {
+            w.write("section,calls,total_ms,p50_us,p99_us,max_us,bytes_per_call\n");
+            for (Stats s : snapshot()) {
+                w.write(String.format(java.util.Locale.ROOT, "%s,%d,%.3f,%.2f,%.2f,%.2f,%d%n",
+                        s.name(), s.calls(), s.totalNanos() / 1e6, s.p50Nanos() / 1e3, s.p99Nanos() / 1e3,
+                        s.maxNanos() / 1e3, s.bytesPerCall()));
+            }
+        }
+        TeslaMaps.LOGGER.info("[Profiler] Exported {}", path.getFileName());
+        return path;
+    }
+
+    public static void renderHud(GuiGraphicsExtractor context, DeltaTracker delta) {
+        if (!hud || !enabled) return;
+        Minecraft mc = Minecraft.getInstance();
+        if (mc.options.hideGui) return;
+        List<Stats> stats = snapshot();
+        double seconds = Math.max(elapsedSeconds(), 1e-3);
+        int y = 4;
+        context.text(mc.font, "§6Profiler §7(ms/s · p99 µs · B/call)", 4, y, 0xFFFFFFFF);
+        y += mc.font.lineHeight + 1;
+        context.text(mc.font, "§7ESP §f" + com.teslamaps.render.ESPRenderer.getLastFrameVertices() + " §7verts §f"
+                + com.teslamaps.render.ESPRenderer.getLastFrameDrawCalls() + " §7calls", 4, y, 0xFFFFFFFF);
+        for (int i = 0; i < Math.min(HUD_ROWS, stats.size()); i++) {
+            Stats s = stats.get(i);
+            y += mc.font.lineHeight + 1;
+            context.text(mc.font, String.format("§f%s §7%.2f §e%.0f §8%s", s.name(), s.totalNanos() / 1e6 / seconds,
+                    s.p99Nanos() / 1e3, s.bytesPerCall() < 0 ? "-" : Long.toString(s.bytesPerCall())), 4, y, 0xFFFFFFFF);
+        }
+    }
+
+    public record Stats(String name, long calls, long totalNanos, long p50Nanos, long p99Nanos, long maxNanos,
+                       long bytesPerCall) {}
+
+    /**
+     * Log-linear histogram: 8 sub-buckets per power of two, so percentiles are within 12.5% of the true value.
+     * Handlers can run on the netty and client threads, so updates are synchronized; only paid while enabled.
+     */
+    static final class Section {
+        private static final int SUB_BITS = 3;
+        private static final int SUB = 1 << SUB_BITS;
+        private static final int BUCKETS = (64 - SUB_BITS) * SUB;
+
+        private final String name;
+        private final long[] buckets = new long[BUCKETS];
+        private long calls, totalNanos, maxNanos;
+        private long bytes, bytesCalls;
+
+        Section(String name) {
+            this.name = name;
+        }
+
+        static int bucket(long v) {
+            if (v < SUB) return (int) Math.max(v, 0);
+            int exp = 63 - Long.numberOfLeadingZeros(v);
+            int sub = (int) (v >>> (exp - SUB_BITS)) & (SUB - 1);
+            return (exp - SUB_BITS + 1) * SUB + sub;
+        }
+
+        static long lowerBound(int bucket) {
+            if (bucket < SUB) return bucket;
+            int exp = bucket / SUB + SUB_BITS - 1;
+            return (long) (SUB + bucket % SUB) << (exp - SUB_BITS);
+        }
+
+        synchronized void record(long nanos, long allocated) {
+            buckets[bucket(nanos)]++;
+            calls++;
+            totalNanos += nanos;
+            if (nanos > maxNanos) maxNanos = nanos;
+            if (allocated >= 0) {
+                bytes += allocated;
+                bytesCalls++;
+            }
+        }
+
+        private long percentile(double q) {
+            long rank = (long) Math.ceil(q * calls);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets[i];
+                if (seen >= rank) return Math.min(lowerBound(i), maxNanos);
+            }
+            return maxNanos;
+        }
+
+        synchronized Stats stats() {
+            return new Stats(name, calls, totalNanos, percentile(0.50), percentile(0.99), maxNanos,
+                    bytesCalls == 0 ? -1 : bytes / bytesCalls);
+        }
+    }
+}
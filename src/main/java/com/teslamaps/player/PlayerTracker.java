@@ -21,8 +21,10 @@ import com.teslamaps.mixin.PlayerTabOverlayAccessor;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -33,6 +35,8 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.client.multiplayer.ClientPacketListener;
 import net.minecraft.client.multiplayer.PlayerInfo;
 import net.minecraft.network.chat.Component;
+import net.minecraft.network.protocol.game.ClientboundPlayerInfoRemovePacket;
+import net.minecraft.network.protocol.game.ClientboundPlayerInfoUpdatePacket;
 import net.minecraft.world.entity.player.Player;
 
 public class PlayerTracker {
@@ -41,59 +45,117 @@ public class PlayerTracker {
 
     public static final Pattern PLAYER_GHOST_PATTERN = Pattern.compile(" ☠ (?<name>[A-Za-z0-9_]+) .+ became a ghost\\.");
 
-    private static final DungeonPlayer @Nullable [] players = new DungeonPlayer[5];
+    private static final int SLOTS = 5;
+    private static final long GHOST_GRACE_MS = 2000;
 
-    private static List<PlayerInfo> playerList = new ArrayList<>();
+    private static final Map<UUID, TabEntry> parsed = new HashMap<>();      // tab entry profile id -> last parse
+    private static final Map<String, DungeonPlayer> known = new HashMap<>(); // reused across slot shifts
+    private static final List<PlayerInfo> playerList = new ArrayList<>();
+    private static volatile Party party = Party.EMPTY;
+    private static boolean dirty = true;
+    private static long recheckAtMs = 0;
+
+    /** Last parse of one tab entry; reused while the entry keeps the same display name component. */
+    private record TabEntry(@Nullable Component source, @Nullable String name, @Nullable String dungeonClass) {}
 
     public static void reset() {
-        Arrays.fill(players, null);
-        playerList = new ArrayList<>(); // Create new list instead of clear() since toList() returns immutable
+        parsed.clear();
+        known.clear();
+        playerList.clear();
+        party = Party.EMPTY;
+        dirty = true;
+        recheckAtMs = 0;
     }
 
     public static void tick() {
         if (!DungeonManager.isInDungeon()) {
             return;
         }
+        if (recheckAtMs != 0 && System.currentTimeMillis() >= recheckAtMs) {
+            recheckAtMs = 0;
+            dirty = true;
+        }
+        if (!dirty) return;
+        dirty = false;
 
         updatePlayerList();
         updatePlayers();
     }
 
+    // Called on the client thread after the listener applied the packet.
+    public static void onPlayerInfoUpdate(ClientboundPlayerInfoUpdatePacket packet) {
+        EnumSet<ClientboundPlayerInfoUpdatePacket.Action> actions = packet.actions();
+        if (actions.contains(ClientboundPlayerInfoUpdatePacket.Action.ADD_PLAYER)
+                || actions.contains(ClientboundPlayerInfoUpdatePacket.Action.UPDATE_DISPLAY_NAME)
+                || actions.contains(ClientboundPlayerInfoUpdatePacket.Action.UPDATE_LISTED)
+                || actions.contains(ClientboundPlayerInfoUpdatePacket.Action.UPDATE_LIST_ORDER)) {
+            dirty = true;
+        }
+    }
+
+    public static void onPlayerInfoRemove(ClientboundPlayerInfoRemovePacket packet) {
+        for (UUID id : packet.profileIds()) parsed.remove(id);
+        dirty = true;
+    }
+
+    // tab ordering falls back to team names
+    public static void onTeamUpdate() {
+        dirty = true;
+    }
+
     private static void updatePlayerList() {
         Minecraft mc = Minecraft.getInstance();
         ClientPacketListener networkHandler = mc.getConnection();
 
+        playerList.clear();
         if (networkHandler != null) {
+            playerList.addAll(networkHandler.getOnlinePlayers());
             try {
-                playerList = networkHandler.getOnlinePlayers()
-                        .stream()
-                        .sorted(PlayerTabOverlayAccessor.getOrdering())
-                        .toList();
-            } catch (Exception e) {
-                playerList = new ArrayList<>(networkHandler.getOnlinePlayers());
-            }
+                playerList.sort(PlayerTabOverlayAccessor.getOrdering());
+            } catch (Exception ignored) {}
         }
     }
 
     private static void updatePlayers() {
-        for (int i = 0; i < 5; i++) {
-            Matcher matcher = getPlayerFromTab(i + 1);
-
-            if (matcher == null) {
-                players[i] = null;
-                continue;
+        DungeonPlayer[] slots = new DungeonPlayer[SLOTS];
+        boolean changed = false;
+        for (int i = 0; i < SLOTS; i++) {
+            TabEntry entry = entryAt(1 + i * 4);
+            if (entry != null && entry.name() != null) {
+                DungeonPlayer dungeonPlayer = known.get(entry.name());
+                if (dungeonPlayer == null) {
+                    dungeonPlayer = new DungeonPlayer(entry.name(), entry.dungeonClass());
+                    known.put(entry.name(), dungeonPlayer);
+                } else {
+                    dungeonPlayer.update(entry.dungeonClass());
+                }
+                slots[i] = dungeonPlayer;
             }
+            changed |= slots[i] != party.slot(i);
+        }
+        if (changed) party = new Party(slots);
+    }
 
-            String name = matcher.group("name");
-            String dungeonClass = matcher.group("class");
+    private static @Nullable TabEntry entryAt(int idx) {
+        if (playerList.size() <= idx) {
+            return null;
+        }
 
-            DungeonPlayer dungeonPlayer = players[i];
-            if (dungeonPlayer != null && dungeonPlayer.getName().equals(name)) {
-                dungeonPlayer.update(dungeonClass);
-            } else {
-                players[i] = new DungeonPlayer(name, dungeonClass);
-            }
+        PlayerInfo info = playerList.get(idx);
+        Component txt = info.getTabListDisplayName();
+        UUID id = info.getProfile().id();
+        TabEntry entry = parsed.get(id);
+        if (entry != null && entry.source() == txt) {
+            return entry;
         }
+
+        String str = txt == null ? null : txt.getString().replaceAll("§.", "").trim();
+        Matcher m = str == null || str.isEmpty() ? null : PLAYER_TAB_PATTERN.matcher(str);
+        entry = m != null && m.matches()
+                ? new TabEntry(txt, m.group("name"), m.group("class"))
+                : new TabEntry(txt, null, null);
+        parsed.put(id, entry);
+        return entry;
     }
 
     public static @Nullable Matcher getPlayerFromTab(int index) {
@@ -112,7 +174,7 @@ public class PlayerTracker {
     }
 
     public static @Nullable String strAt(int idx) {
-        if (playerList == null || playerList.size() <= idx) {
+        if (playerList.size() <= idx) {
             return null;
         }
 
@@ -144,31 +206,65 @@ public class PlayerTracker {
         });
     }
 
-    public static DungeonPlayer @Nullable [] getPlayersOrdered() {
-        return players;
+    /** The current party. Safe to hold and read from any thread; replaced whenever the party line-up changes. */
+    public static Party getParty() {
+        return party;
     }
 
     public static @Nullable String getLocalClass() {
         Minecraft mc = Minecraft.getInstance();
         if (mc.player == null) return null;
-        return getPlayer(mc.player.getName().getString())
-                .map(DungeonPlayer::getDungeonClass).orElse(null);
+        DungeonPlayer self = party.get(mc.player.getName().getString());
+        return self != null ? self.getDungeonClass() : null;
     }
 
     public static Optional<DungeonPlayer> getPlayer(String name) {
-        return Arrays.stream(players)
-                .filter(p -> p != null && p.getName().equals(name))
-                .findAny();
+        return Optional.ofNullable(party.get(name));
     }
 
     public static List<DungeonPlayer> getPlayers() {
-        List<DungeonPlayer> list = new ArrayList<>();
-        for (DungeonPlayer player : players) {
-            if (player != null) {
-                list.add(player);
+        return party.players();
+    }
+
+    /**
+     * Immutable party line-up in tab order. Slots keep tab positions (null where a line is empty); per-player
+     * class and ghost state live on the shared {@link DungeonPlayer}.
+     */
+    public static final class Party {
+        public static final Party EMPTY = new Party(new DungeonPlayer[SLOTS]);
+
+        private final DungeonPlayer[] slots;
+        private final List<DungeonPlayer> players;
+        private final Map<String, DungeonPlayer> byName;
+
+        private Party(DungeonPlayer[] slots) {
+            this.slots = slots.clone();
+            List<DungeonPlayer> list = new ArrayList<>(SLOTS);
+            Map<String, DungeonPlayer> names = new HashMap<>();
+            for (DungeonPlayer p : slots) {
+                if (p == null) continue;
+                list.add(p);
+                names.put(p.getName(), p);
             }
+            this.players = List.copyOf(list);
+            this.byName = Map.copyOf(names);
+        }
+
+        public int slotCount() {
+            return slots.length;
+        }
+
+        public @Nullable DungeonPlayer slot(int i) {
+            return slots[i];
+        }
+
+        public List<DungeonPlayer> players() {
+            return players;
+        }
+
+        public @Nullable DungeonPlayer get(String name) {
+            return byName.get(name);
         }
-        return list;
     }
 
     public static class DungeonPlayer {
@@ -210,7 +306,7 @@ public class PlayerTracker {
         }
 
         public void update(String dungeonClass) {
-            if ("EMPTY".equals(this.dungeonClass) && lastGhostTime + 2000 > System.currentTimeMillis()) {
+            if ("EMPTY".equals(this.dungeonClass) && lastGhostTime + GHOST_GRACE_MS > System.currentTimeMillis()) {
                 return;
             }
             this.dungeonClass = dungeonClass;
@@ -220,6 +316,7 @@ public class PlayerTracker {
         public void ghost() {
             update("EMPTY");
             lastGhostTime = System.currentTimeMillis();
+            recheckAtMs = lastGhostTime + GHOST_GRACE_MS; // re-read the tab once the stale class can't win
         }
 
         public @Nullable UUID getUuid() {
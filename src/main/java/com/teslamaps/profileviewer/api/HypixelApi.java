@@ -15,34 +15,74 @@
  */
 package com.teslamaps.profileviewer.api;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.teslamaps.TeslaMaps;
 import com.teslamaps.config.TeslaMapsConfig;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import net.fabricmc.loader.api.FabricLoader;
 
 public class HypixelApi {
     private static final String HYPIXEL_API = "https://api.hypixel.net";
     private static final String MOJANG_API = "https://api.mojang.com";
 
+    private static final Gson GSON = new Gson();
+    private static final int MAX_CONCURRENT_REQUESTS = 4;
+    private static final int MAX_CACHE_ENTRIES = 256;
+    private static final Path DISK_CACHE_DIR = FabricLoader.getInstance().getConfigDir().resolve("teslamaps").resolve("pv-cache");
+
     private static final HttpClient client = HttpClient.newBuilder()
             .connectTimeout(Duration.ofSeconds(10))
             .build();
 
-    private static final ExecutorService executor = Executors.newFixedThreadPool(3);
+    // One virtual thread per lookup; the semaphore bounds how many HTTP requests are actually out at once
+    private static final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("TeslaMaps-Api-", 0).factory());
+    private static final Semaphore requestPermits = new Semaphore(MAX_CONCURRENT_REQUESTS);
+
+    // Access-ordered LRU, guarded by itself
+    private static final LinkedHashMap<String, CacheEntry> cache = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+            return size() > MAX_CACHE_ENTRIES;
+        }
+    };
+
+    // Lookups currently running, so concurrent callers for the same key share one request
+    private static final Map<String, CompletableFuture<JsonObject>> inFlight = new ConcurrentHashMap<>();
 
-    private static final Map<String, CacheEntry> cache = new ConcurrentHashMap<>();
+    private static final Set<String> diskChecked = ConcurrentHashMap.newKeySet();
+    private static volatile boolean diskCachePruned = false;
 
     private static class CacheEntry {
         final JsonObject data;
@@ -58,14 +98,51 @@ public class HypixelApi {
         }
     }
 
-    public static CompletableFuture<String> nameToUuid(String playerName) {
-        return CompletableFuture.supplyAsync(() -> {
-            String cacheKey = "uuid:" + playerName.toLowerCase();
-            CacheEntry cached = cache.get(cacheKey);
-            if (cached != null && !cached.isExpired()) {
-                return cached.data.get("id").getAsString();
+    private static JsonObject getCached(String key) {
+        synchronized (cache) {
+            CacheEntry entry = cache.get(key);
+            if (entry == null) return null;
+            if (entry.isExpired()) {
+                cache.remove(key);
+                return null;
             }
+            return entry.data;
+        }
+    }
+
+    private static void putCached(String key, JsonObject data, long ttlMs) {
+        synchronized (cache) {
+            cache.put(key, new CacheEntry(data, ttlMs));
+        }
+    }
+
+    /**
+     * Returns the cached value for {@code key}, or runs {@code loader} on the API executor. A second call for the
+     * same key while the first is still loading gets the same future instead of starting another request.
+     * Loaders put successful results in the cache themselves; a null or error result is not cached.
+     */
+    private static CompletableFuture<JsonObject> load(String key, Supplier<JsonObject> loader) {
+        JsonObject cached = getCached(key);
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+
+        CompletableFuture<JsonObject> future = inFlight.computeIfAbsent(key,
+                k -> CompletableFuture.supplyAsync(loader, executor));
+        future.whenComplete((result, error) -> inFlight.remove(key, future));
+        return future;
+    }
+
+    private static <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler) throws Exception {
+        requestPermits.acquire();
+        try {
+            return client.send(request, handler);
+        } finally {
+            requestPermits.release();
+        }
+    }
 
+    public static CompletableFuture<String> nameToUuid(String playerName) {
+        String cacheKey = "uuid:" + playerName.toLowerCase();
+        return load(cacheKey, () -> {
             try {
                 HttpRequest request = HttpRequest.newBuilder()
                         .uri(URI.create(MOJANG_API + "/users/profiles/minecraft/" + playerName))
@@ -73,7 +150,7 @@ public class HypixelApi {
                         .GET()
                         .build();
 
-                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                HttpResponse<String> response = send(request, HttpResponse.BodyHandlers.ofString());
 
                 if (response.statusCode() != 200) {
                     TeslaMaps.LOGGER.warn("Mojang API returned {}: {}", response.statusCode(), playerName);
@@ -82,22 +159,26 @@ public class HypixelApi {
 
                 JsonObject json = JsonParser.parseString(response.body()).getAsJsonObject();
 
-                cache.put(cacheKey, new CacheEntry(json, 3600000));
+                putCached(cacheKey, json, 3600000);
 
-                return json.get("id").getAsString();
+                return json;
             } catch (Exception e) {
                 TeslaMaps.LOGGER.error("Failed to get UUID for {}", playerName, e);
                 return null;
             }
-        }, executor);
+        }).thenApply(json -> json != null && json.has("id") ? json.get("id").getAsString() : null);
     }
 
     public static CompletableFuture<JsonObject> getProfiles(String uuid) {
-        return CompletableFuture.supplyAsync(() -> {
-            String cacheKey = "profiles:" + uuid;
-            CacheEntry cached = cache.get(cacheKey);
-            if (cached != null && !cached.isExpired()) {
-                return cached.data;
+        String cacheKey = "profiles:" + uuid;
+        return load(cacheKey, () -> {
+            int cacheTtl = TeslaMapsConfig.get().pvCacheDurationSeconds * 1000;
+
+            // Disk copy only stands in for the first lookup of a session; once it expires we go to the API
+            JsonObject stored = diskChecked.add(uuid) ? readDiskCache(uuid) : null;
+            if (stored != null) {
+                putCached(cacheKey, stored, cacheTtl);
+                return stored;
             }
 
             String apiKey = TeslaMapsConfig.get().hypixelApiKey;
@@ -113,86 +194,215 @@ public class HypixelApi {
                         .timeout(Duration.ofSeconds(15))
                         .header("API-Key", apiKey)
                         .header("User-Agent", "TeslaMaps/1.0")
+                        .header("Accept-Encoding", "gzip")
                         .GET()
                         .build();
 
-                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-
-                if (response.statusCode() == 403) {
-                    return createErrorResponse("Invalid API key");
-                }
-
-                if (response.statusCode() == 429) {
-                    return createErrorResponse("Rate limited - try again later");
-                }
+                HttpResponse<InputStream> response = send(request, HttpResponse.BodyHandlers.ofInputStream());
 
-                if (response.statusCode() != 200) {
-                    TeslaMaps.LOGGER.warn("Hypixel API returned {}", response.statusCode());
-                    return createErrorResponse("Hypixel API error: " + response.statusCode());
-                }
+                JsonObject transformed;
+                try (InputStream body = response.body()) {
+                    if (response.statusCode() == 403) {
+                        return createErrorResponse("Invalid API key");
+                    }
 
-                JsonObject json = JsonParser.parseString(response.body()).getAsJsonObject();
+                    if (response.statusCode() == 429) {
+                        return createErrorResponse("Rate limited - try again later");
+                    }
 
-                if (!json.has("success") || !json.get("success").getAsBoolean()) {
-                    String cause = json.has("cause") ? json.get("cause").getAsString() : "Unknown error";
-                    return createErrorResponse(cause);
-                }
+                    if (response.statusCode() != 200) {
+                        TeslaMaps.LOGGER.warn("Hypixel API returned {}", response.statusCode());
+                        return createErrorResponse("Hypixel API error: " + response.statusCode());
+                    }
 
-                if (!json.has("profiles") || json.get("profiles").isJsonNull()) {
-                    return createErrorResponse("Player has no Skyblock profiles");
+                    boolean gzip = response.headers().firstValue("Content-Encoding").map("gzip"::equalsIgnoreCase).orElse(false);
+                    InputStream in = gzip ? new GZIPInputStream(body, 64 * 1024) : body;
+                    transformed = readProfiles(new JsonReader(new InputStreamReader(in, StandardCharsets.UTF_8)), uuid);
                 }
+                if (transformed.has("error")) return transformed;
 
-                JsonObject transformed = transformHypixelProfiles(json, uuid);
-
-                int cacheTtl = TeslaMapsConfig.get().pvCacheDurationSeconds * 1000;
-                cache.put(cacheKey, new CacheEntry(transformed, cacheTtl));
+                putCached(cacheKey, transformed, cacheTtl);
+                writeDiskCache(uuid, transformed);
 
                 return transformed;
             } catch (Exception e) {
                 TeslaMaps.LOGGER.error("Failed to fetch Hypixel profiles for {}", uuid, e);
                 return createErrorResponse("Network error: " + e.getMessage());
             }
-        }, executor);
+        });
     }
 
-    private static JsonObject transformHypixelProfiles(JsonObject hypixelResponse, String uuid) {
-        JsonObject result = new JsonObject();
-        JsonObject profiles = new JsonObject();
+    private static Path diskCachePath(String uuid) {
+        return DISK_CACHE_DIR.resolve(uuid.replaceAll("[^0-9a-fA-F-]", "") + ".json.gz");
+    }
+
+    private static long diskCacheTtlMs() {
+        return TeslaMapsConfig.get().pvDiskCacheHours * 3600000L;
+    }
 
-        if (!hypixelResponse.has("profiles")) {
+    /** Transformed profiles saved by an earlier session, or null if missing, stale or unreadable. */
+    private static JsonObject readDiskCache(String uuid) {
+        long ttl = diskCacheTtlMs();
+        if (ttl <= 0) return null;
+        pruneDiskCache(ttl);
+
+        Path path = diskCachePath(uuid);
+        if (!Files.exists(path)) return null;
+        try (Reader reader = new InputStreamReader(new GZIPInputStream(Files.newInputStream(path)), StandardCharsets.UTF_8)) {
+            JsonObject stored = JsonParser.parseReader(reader).getAsJsonObject();
+            long savedAt = stored.has("saved_at") ? stored.get("saved_at").getAsLong() : 0L;
+            long age = System.currentTimeMillis() - savedAt;
+            JsonElement profiles = stored.get("profiles");
+            // a saved_at in the future means the clock moved back; treat it as expired too
+            if (age < 0 || age > ttl || profiles == null || !profiles.isJsonObject()) {
+                reader.close();
+                Files.deleteIfExists(path);
+                return null;
+            }
+            JsonObject result = new JsonObject();
             result.add("profiles", profiles);
             return result;
+        } catch (Exception e) {
+            TeslaMaps.LOGGER.debug("[HypixelApi] Ignoring unreadable cache file {}: {}", path.getFileName(), e.getMessage());
+            return null;
         }
+    }
 
-        for (JsonElement profileElement : hypixelResponse.getAsJsonArray("profiles")) {
-            JsonObject profile = profileElement.getAsJsonObject();
-            String profileId = profile.get("profile_id").getAsString();
-            String cuteName = profile.has("cute_name") ? profile.get("cute_name").getAsString() : "Unknown";
-
-            JsonObject members = profile.getAsJsonObject("members");
-            JsonObject memberData = members.has(uuid) ? members.getAsJsonObject(uuid) : new JsonObject();
+    private static void writeDiskCache(String uuid, JsonObject transformed) {
+        if (diskCacheTtlMs() <= 0) return;
+        JsonElement profiles = transformed.get("profiles");
+        if (profiles == null || !profiles.isJsonObject()) return;
+        JsonObject stored = new JsonObject();
+        stored.addProperty("saved_at", System.currentTimeMillis());
+        stored.add("profiles", profiles);
+
+        Path path = diskCachePath(uuid);
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(DISK_CACHE_DIR);
+            try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(tmp)), StandardCharsets.UTF_8)) {
+                GSON.toJson(stored, writer);
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            TeslaMaps.LOGGER.warn("[HypixelApi] Failed to write profile cache for {}: {}", uuid, e.getMessage());
+        }
+    }
 
-            JsonObject profileObj = new JsonObject();
-            profileObj.addProperty("profile_id", profileId);
-            profileObj.addProperty("cute_name", cuteName);
-            profileObj.addProperty("current", profile.has("selected") && profile.get("selected").getAsBoolean());
-            profileObj.add("data", memberData);  // Member's profile data
-            profileObj.add("raw", profile);      // Full profile with all members
+    /** Deletes stale cache files once per session so the directory doesn't grow without bound. */
+    private static void pruneDiskCache(long ttl) {
+        if (diskCachePruned) return;
+        diskCachePruned = true;
+        if (!Files.isDirectory(DISK_CACHE_DIR)) return;
+        long cutoff = System.currentTimeMillis() - ttl;
+        try (var files = Files.list(DISK_CACHE_DIR)) {
+            files.forEach(file -> {
+                try {
+                    if (Files.getLastModifiedTime(file).toMillis() < cutoff) Files.delete(file);
+                } catch (Exception ignored) {
+                }
+            });
+        } catch (Exception e) {
+            TeslaMaps.LOGGER.debug("[HypixelApi] Failed to prune profile cache: {}", e.getMessage());
+        }
+    }
 
-            profiles.add(cuteName, profileObj);
+    /**
+     * Streams a /skyblock/profiles body into the viewer's shape. Only {@code uuid}'s member subtree and the
+     * profile-level fields the viewer reads are materialized; co-op members are skipped in the stream, so a large
+     * co-op costs about as much as a solo profile.
+     */
+    private static JsonObject readProfiles(JsonReader reader, String uuid) throws IOException {
+        JsonObject profiles = new JsonObject();
+        boolean success = false;
+        boolean hasProfiles = false;
+        String cause = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "success" -> success = reader.peek() == JsonToken.BOOLEAN ? reader.nextBoolean() : skip(reader, false);
+                case "cause" -> cause = nextStringOrNull(reader);
+                case "profiles" -> {
+                    if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                        reader.skipValue();
+                        continue;
+                    }
+                    hasProfiles = true;
+                    reader.beginArray();
+                    while (reader.hasNext()) readProfile(reader, uuid, profiles);
+                    reader.endArray();
+                }
+                default -> reader.skipValue();
+            }
         }
+        reader.endObject();
 
+        if (!success) return createErrorResponse(cause != null ? cause : "Unknown error");
+        if (!hasProfiles) return createErrorResponse("Player has no Skyblock profiles");
+
+        JsonObject result = new JsonObject();
         result.add("profiles", profiles);
         return result;
     }
 
-    public static CompletableFuture<JsonObject> getMuseum(String profileId) {
-        return CompletableFuture.supplyAsync(() -> {
-            String cacheKey = "museum:" + profileId;
-            CacheEntry cached = cache.get(cacheKey);
-            if (cached != null && !cached.isExpired()) {
-                return cached.data;
+    private static void readProfile(JsonReader reader, String uuid, JsonObject profiles) throws IOException {
+        String profileId = null;
+        String cuteName = null;
+        boolean selected = false;
+        JsonElement banking = null;
+        JsonObject memberData = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "profile_id" -> profileId = nextStringOrNull(reader);
+                case "cute_name" -> cuteName = nextStringOrNull(reader);
+                case "selected" -> selected = reader.peek() == JsonToken.BOOLEAN ? reader.nextBoolean() : skip(reader, false);
+                case "banking" -> banking = JsonParser.parseReader(reader);
+                case "members" -> {
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        if (reader.nextName().equals(uuid)) {
+                            memberData = JsonParser.parseReader(reader).getAsJsonObject();
+                        } else {
+                            reader.skipValue();
+                        }
+                    }
+                    reader.endObject();
+                }
+                default -> reader.skipValue();
             }
+        }
+        reader.endObject();
+
+        if (profileId == null) return;
+        if (cuteName == null) cuteName = "Unknown";
+
+        JsonObject profileObj = new JsonObject();
+        profileObj.addProperty("profile_id", profileId);
+        profileObj.addProperty("cute_name", cuteName);
+        profileObj.addProperty("current", selected);
+        profileObj.add("data", memberData != null ? memberData : new JsonObject());  // Member's profile data
+        if (banking != null) profileObj.add("banking", banking);                     // Shared co-op bank
+
+        profiles.add(cuteName, profileObj);
+    }
+
+    private static String nextStringOrNull(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.STRING) return reader.nextString();
+        reader.skipValue();
+        return null;
+    }
+
+    private static boolean skip(JsonReader reader, boolean fallback) throws IOException {
+        reader.skipValue();
+        return fallback;
+    }
+
+    public static CompletableFuture<JsonObject> getMuseum(String profileId) {
+        String cacheKey = "museum:" + profileId;
+        return load(cacheKey, () -> {
 
             String apiKey = TeslaMapsConfig.get().hypixelApiKey;
             if (apiKey == null || apiKey.isEmpty()) {
@@ -209,7 +419,7 @@ public class HypixelApi {
                         .GET()
                         .build();
 
-                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                HttpResponse<String> response = send(request, HttpResponse.BodyHandlers.ofString());
 
                 if (response.statusCode() != 200) {
                     return new JsonObject();
@@ -218,7 +428,7 @@ public class HypixelApi {
                 JsonObject json = JsonParser.parseString(response.body()).getAsJsonObject();
 
                 if (json.has("success") && json.get("success").getAsBoolean()) {
-                    cache.put(cacheKey, new CacheEntry(json, 300000));
+                    putCached(cacheKey, json, 300000);
                     return json;
                 }
 
@@ -227,16 +437,12 @@ public class HypixelApi {
                 TeslaMaps.LOGGER.error("Failed to fetch museum data", e);
                 return new JsonObject();
             }
-        }, executor);
+        });
     }
 
     public static CompletableFuture<JsonObject> getGarden(String profileId) {
-        return CompletableFuture.supplyAsync(() -> {
-            String cacheKey = "garden:" + profileId;
-            CacheEntry cached = cache.get(cacheKey);
-            if (cached != null && !cached.isExpired()) {
-                return cached.data;
-            }
+        String cacheKey = "garden:" + profileId;
+        return load(cacheKey, () -> {
 
             String apiKey = TeslaMapsConfig.get().hypixelApiKey;
             if (apiKey == null || apiKey.isEmpty()) {
@@ -253,7 +459,7 @@ public class HypixelApi {
                         .GET()
                         .build();
 
-                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                HttpResponse<String> response = send(request, HttpResponse.BodyHandlers.ofString());
 
                 if (response.statusCode() != 200) {
                     return new JsonObject();
@@ -262,7 +468,7 @@ public class HypixelApi {
                 JsonObject json = JsonParser.parseString(response.body()).getAsJsonObject();
 
                 if (json.has("success") && json.get("success").getAsBoolean()) {
-                    cache.put(cacheKey, new CacheEntry(json, 300000));
+                    putCached(cacheKey, json, 300000);
                     return json;
                 }
 
@@ -271,16 +477,12 @@ public class HypixelApi {
                 TeslaMaps.LOGGER.error("Failed to fetch garden data", e);
                 return new JsonObject();
             }
-        }, executor);
+        });
     }
 
     public static CompletableFuture<JsonObject> getBingo(String uuid) {
-        return CompletableFuture.supplyAsync(() -> {
-            String cacheKey = "bingo:" + uuid;
-            CacheEntry cached = cache.get(cacheKey);
-            if (cached != null && !cached.isExpired()) {
-                return cached.data;
-            }
+        String cacheKey = "bingo:" + uuid;
+        return load(cacheKey, () -> {
 
             String apiKey = TeslaMapsConfig.get().hypixelApiKey;
             if (apiKey == null || apiKey.isEmpty()) {
@@ -297,7 +499,7 @@ public class HypixelApi {
                         .GET()
                         .build();
 
-                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                HttpResponse<String> response = send(request, HttpResponse.BodyHandlers.ofString());
 
                 if (response.statusCode() != 200) {
                     return new JsonObject();
@@ -306,7 +508,7 @@ public class HypixelApi {
                 JsonObject json = JsonParser.parseString(response.body()).getAsJsonObject();
 
                 if (json.has("success") && json.get("success").getAsBoolean()) {
-                    cache.put(cacheKey, new CacheEntry(json, 300000));
+                    putCached(cacheKey, json, 300000);
                     return json;
                 }
 
@@ -315,7 +517,7 @@ public class HypixelApi {
                 TeslaMaps.LOGGER.error("Failed to fetch bingo data", e);
                 return new JsonObject();
             }
-        }, executor);
+        });
     }
 
     private static JsonObject createErrorResponse(String message) {
@@ -325,11 +527,16 @@ public class HypixelApi {
         return error;
     }
 
+    /** Clears the in-memory cache; profiles saved to disk are kept until they go stale. */
     public static void clearCache() {
-        cache.clear();
+        synchronized (cache) {
+            cache.clear();
+        }
     }
 
     public static void clearCacheForPlayer(String playerName) {
-        cache.entrySet().removeIf(e -> e.getKey().toLowerCase().contains(playerName.toLowerCase()));
+        synchronized (cache) {
+            cache.keySet().removeIf(key -> key.toLowerCase().contains(playerName.toLowerCase()));
+        }
     }
 }
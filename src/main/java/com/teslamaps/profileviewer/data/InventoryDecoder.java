@@ -0,0 +1,166 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.profileviewer.data;
+
+import com.mojang.serialization.Dynamic;
+import com.teslamaps.TeslaMaps;
+import com.teslamaps.features.EstimatedValue;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import net.minecraft.SharedConstants;
+import net.minecraft.client.Minecraft;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.core.component.DataComponents;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtAccounter;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtOps;
+import net.minecraft.nbt.Tag;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.RegistryOps;
+import net.minecraft.util.datafix.DataFixers;
+import net.minecraft.util.datafix.fixes.References;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.component.CustomData;
+import net.minecraft.world.item.component.ItemLore;
+
+/**
+ * Decodes the inventory blobs in the profile API ({@code inventory.inv_contents.data} and friends): base64 of
+ * gzipped NBT holding a list {@code i} of 1.8 item stacks. Each stack is run through the game's DataFixer into
+ * a current ItemStack; SkyBlock's {@code ExtraAttributes} end up in custom_data, where they are flattened to the
+ * top level so {@link EstimatedValue} and the tooltip handlers read them like live items. Stacks the fixer can't
+ * place become a named paper so the slot still shows its name and lore.
+ *
+ * <p>Runs on the profile parser thread. Results are cached by profile id and a hash of the blob, so reopening a
+ * profile or re-fetching one whose inventory didn't change doesn't decode again.
+ */
+public final class InventoryDecoder {
+    // 1.8.9 stacks carry no DataVersion; 99 is the first schema the fixers know
+    private static final int LEGACY_DATA_VERSION = 99;
+    private static final int MAX_CACHED = 64;
+
+    /** One decoded blob; empty slots are {@link ItemStack#EMPTY}. {@code value} sums count x estimated value. */
+    public record Grid(String title, List<ItemStack> items, double value) {}
+
+    private static final Map<String, Grid> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Grid> eldest) {
+            return size() > MAX_CACHED;
+        }
+    };
+
+    private InventoryDecoder() {}
+
+    /** Decoded grid for {@code base64}, or null if the blob is missing or unreadable. */
+    public static Grid grid(String profileId, String title, String base64) {
+        if (base64 == null || base64.isEmpty()) return null;
+        String key = profileId + '/' + title + '/' + base64.length() + ':' + base64.hashCode();
+        synchronized (cache) {
+            Grid hit = cache.get(key);
+            if (hit != null) return hit;
+        }
+        RegistryAccess registries = registries();
+        if (registries == null) return null;
+        try {
+            List<ItemStack> items = decode(base64, registries);
+            Grid grid = new Grid(title, items, value(items));
+            synchronized (cache) {
+                cache.put(key, grid);
+            }
+            return grid;
+        } catch (IOException | IllegalArgumentException e) {
+            TeslaMaps.LOGGER.warn("[InventoryDecoder] Could not decode {} for profile {}: {}", title, profileId, e.getMessage());
+            return null;
+        }
+    }
+
+    public static double value(List<ItemStack> items) {
+        double value = 0;
+        for (ItemStack stack : items) {
+            if (!stack.isEmpty()) value += EstimatedValue.compute(stack) * stack.getCount();
+        }
+        return value;
+    }
+
+    /** Stacks in slot order, without caching or value lookup. */
+    public static List<ItemStack> decode(String base64, RegistryAccess registries) throws IOException {
+        byte[] bytes = Base64.getDecoder().decode(base64);
+        CompoundTag root = NbtIo.readCompressed(new ByteArrayInputStream(bytes), NbtAccounter.unlimitedHeap());
+        ListTag list = root.getListOrEmpty("i");
+        RegistryOps<Tag> ops = RegistryOps.create(NbtOps.INSTANCE, registries);
+        int current = SharedConstants.getCurrentVersion().dataVersion().version();
+
+        List<ItemStack> items = new ArrayList<>(list.size());
+        for (int i = 0; i < list.size(); i++) {
+            CompoundTag legacy = list.getCompoundOrEmpty(i);
+            items.add(legacy.isEmpty() ? ItemStack.EMPTY : toStack(legacy, ops, current));
+        }
+        return items;
+    }
+
+    private static ItemStack toStack(CompoundTag legacy, RegistryOps<Tag> ops, int current) {
+        ItemStack stack = null;
+        try {
+            Tag fixed = DataFixers.getDataFixer()
+                    .update(References.ITEM_STACK, new Dynamic<>(NbtOps.INSTANCE, legacy.copy()), LEGACY_DATA_VERSION, current)
+                    .getValue();
+            stack = ItemStack.CODEC.parse(ops, fixed).result().orElse(null);
+        } catch (RuntimeException ignored) {
+        }
+        if (stack == null || stack.isEmpty()) return placeholder(legacy);
+        flattenExtraAttributes(stack);
+        return stack;
+    }
+
+    private static void flattenExtraAttributes(ItemStack stack) {
+        CustomData data = stack.get(DataComponents.CUSTOM_DATA);
+        if (data == null) return;
+        CompoundTag tag = data.copyTag();
+        CompoundTag extra = tag.getCompoundOrEmpty("ExtraAttributes");
+        if (extra.isEmpty()) return;
+        tag.remove("ExtraAttributes");
+        tag.merge(extra);
+        stack.set(DataComponents.CUSTOM_DATA, CustomData.of(tag));
+    }
+
+    private static ItemStack placeholder(CompoundTag legacy) {
+        CompoundTag nbt = legacy.getCompoundOrEmpty("tag");
+        CompoundTag display = nbt.getCompoundOrEmpty("display");
+        ItemStack stack = new ItemStack(Items.PAPER, Math.max(1, legacy.getByteOr("Count", (byte) 1)));
+        String name = display.getStringOr("Name", "");
+        if (!name.isEmpty()) stack.set(DataComponents.CUSTOM_NAME, Component.literal(name));
+        ListTag lore = display.getListOrEmpty("Lore");
+        if (!lore.isEmpty()) {
+            List<Component> lines = new ArrayList<>(lore.size());
+            for (int i = 0; i < lore.size(); i++) lines.add(Component.literal(lore.getStringOr(i, "")));
+            stack.set(DataComponents.LORE, new ItemLore(lines));
+        }
+        CompoundTag extra = nbt.getCompoundOrEmpty("ExtraAttributes");
+        if (!extra.isEmpty()) stack.set(DataComponents.CUSTOM_DATA, CustomData.of(extra.copy()));
+        return stack;
+    }
+
+    private static RegistryAccess registries() {
+        Minecraft mc = Minecraft.getInstance();
+        if (mc.getConnection() != null) return mc.getConnection().registryAccess();
+        return mc.level != null ? mc.level.registryAccess() : null;
+    }
+}
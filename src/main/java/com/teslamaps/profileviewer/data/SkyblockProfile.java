@@ -21,6 +21,11 @@ import com.google.gson.JsonObject;
 import com.teslamaps.TeslaMaps;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 
 public class SkyblockProfile {
     private final String profileId;
@@ -29,10 +34,19 @@ public class SkyblockProfile {
     private final JsonObject memberData;
     private final String ownerUuid;
 
-    private final Map<String, SkillData> skills = new LinkedHashMap<>();
-    private final DungeonData dungeonData;
-    private final List<PetData> pets = new ArrayList<>();
-    private final Map<String, Long> collections = new HashMap<>();
+    private static final ExecutorService PARSER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "TeslaMaps-ProfileParser");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Built on first use; most profiles in a response are never opened
+    private Map<String, SkillData> skills;
+    private DungeonData dungeonData;
+    private List<PetData> pets;
+    private Map<String, Long> collections;
+
+    private final Map<String, CompletableFuture<?>> sections = new ConcurrentHashMap<>();
 
     private JsonObject museumData;
     private JsonObject gardenData;
@@ -45,14 +59,34 @@ public class SkyblockProfile {
         this.fullProfileJson = fullProfileJson;
         this.memberData = memberData;
         this.ownerUuid = ownerUuid;
+    }
 
-        parseSkills();
-        this.dungeonData = new DungeonData(memberData);
-        parsePets();
-        parseCollections();
+    /**
+     * Parses one page's slice of this profile on the parser thread, once per profile. Pages poll the returned
+     * future from render and draw a loading state until it is done; a parser that throws completes with null.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> section(String key, Function<SkyblockProfile, T> parser) {
+        return (CompletableFuture<T>) sections.computeIfAbsent(key, k -> CompletableFuture.supplyAsync(() -> {
+            try {
+                return parser.apply(this);
+            } catch (Exception e) {
+                TeslaMaps.LOGGER.error("Failed to parse {} for profile {}", key, cuteName, e);
+                return null;
+            }
+        }, PARSER));
     }
 
-    private void parseSkills() {
+    /** Builds the data every page header needs, so the first frame after selecting a profile doesn't parse. */
+    public void preload() {
+        getSkills();
+        getDungeonData();
+        getPets();
+        getCollections();
+    }
+
+    private Map<String, SkillData> parseSkills() {
+        Map<String, SkillData> skills = new LinkedHashMap<>();
         String[][] skillKeys = {
                 {"farming", "Farming"},
                 {"mining", "Mining"},
@@ -85,9 +119,11 @@ public class SkyblockProfile {
 
             skills.put(apiKey, new SkillData(displayName, xp, apiKey));
         }
+        return skills;
     }
 
-    private void parsePets() {
+    private List<PetData> parsePets() {
+        List<PetData> pets = new ArrayList<>();
         try {
             JsonArray petsArray = null;
 
@@ -98,7 +134,7 @@ public class SkyblockProfile {
                 }
             }
 
-            if (petsArray == null) return;
+            if (petsArray == null) return pets;
 
             for (JsonElement elem : petsArray) {
                 JsonObject petJson = elem.getAsJsonObject();
@@ -123,11 +159,13 @@ public class SkyblockProfile {
         } catch (Exception e) {
             TeslaMaps.LOGGER.error("Failed to parse pets", e);
         }
+        return pets;
     }
 
-    private void parseCollections() {
+    private Map<String, Long> parseCollections() {
+        Map<String, Long> collections = new HashMap<>();
         try {
-            if (!memberData.has("collection")) return;
+            if (!memberData.has("collection")) return collections;
 
             JsonObject collectionJson = memberData.getAsJsonObject("collection");
             for (Map.Entry<String, JsonElement> entry : collectionJson.entrySet()) {
@@ -136,6 +174,7 @@ public class SkyblockProfile {
         } catch (Exception e) {
             TeslaMaps.LOGGER.error("Failed to parse collections", e);
         }
+        return collections;
     }
 
     public String getProfileId() { return profileId; }
@@ -144,10 +183,25 @@ public class SkyblockProfile {
     public JsonObject getMemberData() { return memberData; }
     public String getOwnerUuid() { return ownerUuid; }
 
-    public Map<String, SkillData> getSkills() { return skills; }
-    public DungeonData getDungeonData() { return dungeonData; }
-    public List<PetData> getPets() { return pets; }
-    public Map<String, Long> getCollections() { return collections; }
+    public synchronized Map<String, SkillData> getSkills() {
+        if (skills == null) skills = parseSkills();
+        return skills;
+    }
+
+    public synchronized DungeonData getDungeonData() {
+        if (dungeonData == null) dungeonData = new DungeonData(memberData);
+        return dungeonData;
+    }
+
+    public synchronized List<PetData> getPets() {
+        if (pets == null) pets = parsePets();
+        return pets;
+    }
+
+    public synchronized Map<String, Long> getCollections() {
+        if (collections == null) collections = parseCollections();
+        return collections;
+    }
 
     public JsonObject getMuseumData() { return museumData; }
     public void setMuseumData(JsonObject museumData) { this.museumData = museumData; }
@@ -161,7 +215,7 @@ public class SkyblockProfile {
     public double getSkillAverage() {
         double total = 0;
         int count = 0;
-        for (Map.Entry<String, SkillData> entry : skills.entrySet()) {
+        for (Map.Entry<String, SkillData> entry : getSkills().entrySet()) {
             if (entry.getKey().equals("runecrafting") || entry.getKey().equals("social")) continue;
             total += entry.getValue().getLevel();
             count++;
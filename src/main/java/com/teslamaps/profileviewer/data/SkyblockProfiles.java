@@ -70,9 +70,6 @@ public class SkyblockProfiles {
                 JsonObject memberData = profileData.has("data") ?
                         profileData.getAsJsonObject("data") : profileData;
 
-                JsonObject rawData = profileData.has("raw") ?
-                        profileData.getAsJsonObject("raw") : memberData;
-
                 SkyblockProfile profile = new SkyblockProfile(profileId, cuteName, profileData, memberData, uuid);
                 profile.setSkyCryptData(profileData);  // Store full profile data
                 profiles.put(cuteName, profile);
@@ -85,6 +82,7 @@ public class SkyblockProfiles {
             if (selectedProfile == null && !profiles.isEmpty()) {
                 selectedProfile = profiles.values().iterator().next();
             }
+            if (selectedProfile != null) selectedProfile.preload();  // still on the API thread
 
             this.loaded = true;
 
@@ -44,6 +44,10 @@ public class BestiaryPage extends ProfileViewerPage {
         return new ItemStack(Items.ZOMBIE_HEAD);
     }
 
+    private record Mob(String name, int kills, int tier) {}
+
+    private record Bestiary(int milestone, List<Mob> mobs) {}  // milestone -1 = not present
+
     @Override
     public void render(GuiGraphicsExtractor ctx, int x, int y, int width, int height,
                        int mouseX, int mouseY, float delta) {
@@ -51,7 +55,6 @@ public class BestiaryPage extends ProfileViewerPage {
         if (profile == null) return;
 
         Font tr = Minecraft.getInstance().font;
-        JsonObject memberData = profile.getMemberData();
         int padding = 15;
         int contentX = x + padding;
 
@@ -60,29 +63,22 @@ public class BestiaryPage extends ProfileViewerPage {
         ctx.text(tr, "Bestiary", contentX, lineY, TEXT_GREEN);
         lineY += 16;
 
-        JsonObject bestiary = getNestedObject(memberData, "bestiary.kills");
+        var section = profile.section("bestiary", this::parseBestiary);
+        if (!section.isDone()) {
+            ctx.text(tr, "Loading...", contentX, lineY, TEXT_GRAY);
+            return;
+        }
+        Bestiary bestiary = section.join();
         if (bestiary == null) {
             ctx.text(tr, "No bestiary data found", contentX, lineY, TEXT_GRAY);
             return;
         }
 
-        JsonObject bestiaryRoot = getNestedObject(memberData, "bestiary");
-        if (bestiaryRoot != null && bestiaryRoot.has("milestone")) {
-            JsonObject milestone = bestiaryRoot.getAsJsonObject("milestone");
-            int level = milestone.has("last_claimed_milestone") ?
-                    milestone.get("last_claimed_milestone").getAsInt() : 0;
-            ctx.text(tr, "Milestone Level: " + level, contentX, lineY, TEXT_WHITE);
+        if (bestiary.milestone() >= 0) {
+            ctx.text(tr, "Milestone Level: " + bestiary.milestone(), contentX, lineY, TEXT_WHITE);
             lineY += 20;
         }
 
-        List<Map.Entry<String, Integer>> mobs = new ArrayList<>();
-        for (Map.Entry<String, JsonElement> entry : bestiary.entrySet()) {
-            if (entry.getValue().isJsonPrimitive()) {
-                mobs.add(new AbstractMap.SimpleEntry<>(entry.getKey(), entry.getValue().getAsInt()));
-            }
-        }
-        mobs.sort((a, b) -> b.getValue().compareTo(a.getValue()));
-
         ctx.text(tr, "Mob", contentX, lineY, TEXT_GRAY);
         ctx.text(tr, "Kills", contentX + 200, lineY, TEXT_GRAY);
         ctx.text(tr, "Tier", contentX + 280, lineY, TEXT_GRAY);
@@ -92,28 +88,49 @@ public class BestiaryPage extends ProfileViewerPage {
         int listHeight = height - (lineY - y) - padding;
         int idx = 0;
 
-        for (Map.Entry<String, Integer> entry : mobs) {
+        for (Mob mob : bestiary.mobs()) {
             int mobY = listStartY + idx * 14 - scrollOffset;
             if (mobY < listStartY - 14 || mobY > listStartY + listHeight) {
                 idx++;
                 continue;
             }
 
-            String mobName = formatMobName(entry.getKey());
-            int kills = entry.getValue();
-            int tier = calculateBestiaryTier(kills);
-
-            int color = kills > 0 ? TEXT_WHITE : TEXT_GRAY;
-            ctx.text(tr, mobName, contentX, mobY, color);
-            ctx.text(tr, formatNumber(kills), contentX + 200, mobY, color);
-            ctx.text(tr, String.valueOf(tier), contentX + 280, mobY,
-                    tier > 0 ? TEXT_GREEN : TEXT_GRAY);
+            int color = mob.kills() > 0 ? TEXT_WHITE : TEXT_GRAY;
+            ctx.text(tr, mob.name(), contentX, mobY, color);
+            ctx.text(tr, formatNumber(mob.kills()), contentX + 200, mobY, color);
+            ctx.text(tr, String.valueOf(mob.tier()), contentX + 280, mobY,
+                    mob.tier() > 0 ? TEXT_GREEN : TEXT_GRAY);
 
             idx++;
             if (idx > 50) break; // Limit display
         }
     }
 
+    /** Runs once per profile on the parser thread. */
+    private Bestiary parseBestiary(SkyblockProfile profile) {
+        JsonObject memberData = profile.getMemberData();
+        JsonObject kills = getNestedObject(memberData, "bestiary.kills");
+        if (kills == null) return null;
+
+        int milestone = -1;
+        JsonObject bestiaryRoot = getNestedObject(memberData, "bestiary");
+        if (bestiaryRoot != null && bestiaryRoot.has("milestone")) {
+            JsonObject milestoneJson = bestiaryRoot.getAsJsonObject("milestone");
+            milestone = milestoneJson.has("last_claimed_milestone") ?
+                    milestoneJson.get("last_claimed_milestone").getAsInt() : 0;
+        }
+
+        List<Mob> mobs = new ArrayList<>();
+        for (Map.Entry<String, JsonElement> entry : kills.entrySet()) {
+            if (entry.getValue().isJsonPrimitive()) {
+                int count = entry.getValue().getAsInt();
+                mobs.add(new Mob(formatMobName(entry.getKey()), count, calculateBestiaryTier(count)));
+            }
+        }
+        mobs.sort((a, b) -> Integer.compare(b.kills(), a.kills()));
+        return new Bestiary(milestone, mobs);
+    }
+
     private String formatMobName(String id) {
         String name = id.replace("_", " ");
         StringBuilder sb = new StringBuilder();
@@ -15,11 +15,16 @@
  */
 package com.teslamaps.profileviewer.screen.pages;
 
-import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.teslamaps.profileviewer.data.InventoryDecoder;
+import com.teslamaps.profileviewer.data.InventoryDecoder.Grid;
 import com.teslamaps.profileviewer.data.SkyblockProfile;
 import com.teslamaps.profileviewer.screen.ProfileViewerPage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.Font;
 import net.minecraft.client.gui.GuiGraphicsExtractor;
@@ -33,9 +38,20 @@ public class InventoriesPage extends ProfileViewerPage {
     private static final int TEXT_GOLD = 0xFFFFAA00;
     private static final int TEXT_PURPLE = 0xFFAA00AA;
 
+    private static final int SLOT = 18;
+    private static final int COLUMNS = 9;
+    private static final int CHEST_PAGE = 45;
+    private static final int WARDROBE_PAGE = 36;
+
     private int selectedTab = 0;
+    private int scrollOffset = 0;
+    private int contentHeight = 0;
+    private int tabsY = 15;
     private static final String[] TABS = {"Inventory", "Ender Chest", "Backpacks", "Wardrobe", "Accessories"};
 
+    // Every tab's grids, decoded once per profile on the parser thread
+    private record Inventories(List<List<Grid>> tabs, int wardrobeEquipped, int magicalPower, int bagUpgrades) {}
+
     @Override
     public String getTabName() {
         return "Inventories";
@@ -46,6 +62,11 @@ public class InventoriesPage extends ProfileViewerPage {
         return new ItemStack(Items.CHEST);
     }
 
+    @Override
+    public void onSelected() {
+        scrollOffset = 0;
+    }
+
     @Override
     public void render(GuiGraphicsExtractor ctx, int x, int y, int width, int height,
                        int mouseX, int mouseY, float delta) {
@@ -53,11 +74,11 @@ public class InventoriesPage extends ProfileViewerPage {
         if (profile == null) return;
 
         Font tr = Minecraft.getInstance().font;
-        JsonObject memberData = profile.getMemberData();
         int padding = 15;
         int contentX = x + padding;
 
         int lineY = y + padding;
+        tabsY = lineY;
 
         int tabX = contentX;
         for (int i = 0; i < TABS.length; i++) {
@@ -67,134 +88,176 @@ public class InventoriesPage extends ProfileViewerPage {
         }
         lineY += 20;
 
-        switch (selectedTab) {
-            case 0 -> renderInventory(ctx, tr, memberData, contentX, lineY, width);
-            case 1 -> renderEnderChest(ctx, tr, memberData, contentX, lineY, width);
-            case 2 -> renderBackpacks(ctx, tr, memberData, contentX, lineY, width);
-            case 3 -> renderWardrobe(ctx, tr, memberData, contentX, lineY, width);
-            case 4 -> renderAccessories(ctx, tr, memberData, contentX, lineY, width);
+        var section = profile.section("inventories", this::parseInventories);
+        if (!section.isDone()) {
+            ctx.text(tr, "Decoding...", contentX, lineY, TEXT_GRAY);
+            return;
         }
-    }
-
-    private void renderInventory(GuiGraphicsExtractor ctx, Font tr, JsonObject memberData,
-                                  int x, int lineY, int width) {
-        ctx.text(tr, "Player Inventory", x, lineY, TEXT_GREEN);
-        lineY += 16;
-
-        JsonObject inventory = getNestedObject(memberData, "inventory.inv_contents");
-        if (inventory == null || !inventory.has("data")) {
-            ctx.text(tr, "No inventory data available", x, lineY, TEXT_GRAY);
-            ctx.text(tr, "(Inventory API may be disabled)", x, lineY + 12, TEXT_GRAY);
+        Inventories inventories = section.join();
+        if (inventories == null) {
+            ctx.text(tr, "No inventory data available", contentX, lineY, TEXT_GRAY);
+            ctx.text(tr, "(Inventory API may be disabled)", contentX, lineY + 12, TEXT_GRAY);
             return;
         }
 
-        String data = inventory.get("data").getAsString();
-        ctx.text(tr, "Inventory data: " + (data.length() / 1024) + " KB", x, lineY, TEXT_WHITE);
-        lineY += 12;
-
-        lineY += 8;
-        ctx.text(tr, "Equipment", x, lineY, TEXT_GREEN);
-        lineY += 16;
-
-        JsonObject equipment = getNestedObject(memberData, "inventory.equipment_contents");
-        if (equipment != null && equipment.has("data")) {
-            ctx.text(tr, "Equipment data available", x, lineY, TEXT_WHITE);
-        } else {
-            ctx.text(tr, "No equipment data", x, lineY, TEXT_GRAY);
+        List<Grid> grids = inventories.tabs().get(selectedTab);
+        double total = 0;
+        for (Grid g : grids) total += g.value();
+        ctx.text(tr, TABS[selectedTab], contentX, lineY, TEXT_GREEN);
+        if (total > 0) {
+            String value = "Value: " + formatCoins(total);
+            ctx.text(tr, value, contentX + tr.width(TABS[selectedTab]) + 10, lineY, TEXT_GOLD);
         }
-    }
-
-    private void renderEnderChest(GuiGraphicsExtractor ctx, Font tr, JsonObject memberData,
-                                   int x, int lineY, int width) {
-        ctx.text(tr, "Ender Chest", x, lineY, TEXT_GREEN);
-        lineY += 16;
+        lineY += 14;
 
-        JsonObject enderChest = getNestedObject(memberData, "inventory.ender_chest_contents");
-        if (enderChest == null || !enderChest.has("data")) {
-            ctx.text(tr, "No ender chest data available", x, lineY, TEXT_GRAY);
-            return;
+        String info = switch (selectedTab) {
+            case 3 -> inventories.wardrobeEquipped() > 0 ? "Equipped slot: " + inventories.wardrobeEquipped() : null;
+            case 4 -> inventories.magicalPower() > 0 ? "Highest Magical Power: " + formatNumber(inventories.magicalPower())
+                    + "  Bag Upgrades: " + inventories.bagUpgrades() : null;
+            default -> null;
+        };
+        if (info != null) {
+            ctx.text(tr, info, contentX, lineY, selectedTab == 4 ? TEXT_PURPLE : TEXT_GOLD);
+            lineY += 14;
         }
 
-        String data = enderChest.get("data").getAsString();
-        ctx.text(tr, "Ender chest data: " + (data.length() / 1024) + " KB", x, lineY, TEXT_WHITE);
-    }
-
-    private void renderBackpacks(GuiGraphicsExtractor ctx, Font tr, JsonObject memberData,
-                                  int x, int lineY, int width) {
-        ctx.text(tr, "Backpacks", x, lineY, TEXT_GREEN);
-        lineY += 16;
-
-        JsonObject backpackContents = getNestedObject(memberData, "inventory.backpack_contents");
-        if (backpackContents == null) {
-            ctx.text(tr, "No backpack data available", x, lineY, TEXT_GRAY);
+        if (grids.isEmpty()) {
+            ctx.text(tr, "No " + TABS[selectedTab].toLowerCase() + " data available", contentX, lineY, TEXT_GRAY);
             return;
         }
 
-        int count = backpackContents.size();
-        ctx.text(tr, "Backpacks: " + count, x, lineY, TEXT_WHITE);
-        lineY += 14;
-
-        int idx = 0;
-        for (var entry : backpackContents.entrySet()) {
-            if (idx >= 18) {
-                ctx.text(tr, "... and more", x, lineY, TEXT_GRAY);
-                break;
+        int top = lineY;
+        int bottom = y + height;
+        ItemStack hovered = null;
+        ctx.enableScissor(x, top, x + width, bottom);
+        int gy = top - scrollOffset;
+        for (Grid grid : grids) {
+            int rows = (grid.items().size() + COLUMNS - 1) / COLUMNS;
+            int gridHeight = 12 + rows * SLOT + 8;
+            if (gy + gridHeight < top || gy > bottom) {
+                gy += gridHeight;
+                continue;
+            }
+            ctx.text(tr, grid.title(), contentX, gy, TEXT_WHITE);
+            if (grid.value() > 0) {
+                ctx.text(tr, formatCoins(grid.value()), contentX + tr.width(grid.title()) + 8, gy, TEXT_GOLD);
             }
-            ctx.text(tr, "Backpack " + entry.getKey(), x, lineY, TEXT_WHITE);
-            lineY += 12;
-            idx++;
+            int slotsY = gy + 12;
+            ctx.fill(contentX - 1, slotsY - 1, contentX + COLUMNS * SLOT + 1, slotsY + rows * SLOT + 1, 0x80000000);
+            if (selectedTab == 3) highlightEquipped(ctx, grids.indexOf(grid), inventories.wardrobeEquipped(), contentX, slotsY, rows);
+            for (int i = 0; i < grid.items().size(); i++) {
+                ItemStack stack = grid.items().get(i);
+                int sx = contentX + (i % COLUMNS) * SLOT;
+                int sy = slotsY + (i / COLUMNS) * SLOT;
+                ctx.fill(sx, sy, sx + SLOT - 1, sy + SLOT - 1, 0xFF373737);
+                if (stack.isEmpty()) continue;
+                ctx.item(stack, sx + 1, sy + 1);
+                ctx.itemDecorations(tr, stack, sx + 1, sy + 1);
+                if (mouseX >= sx && mouseX < sx + SLOT && mouseY >= Math.max(sy, top) && mouseY < Math.min(sy + SLOT, bottom)) {
+                    ctx.fill(sx + 1, sy + 1, sx + SLOT - 1, sy + SLOT - 1, 0x80FFFFFF);
+                    hovered = stack;
+                }
+            }
+            gy += gridHeight;
         }
+        ctx.disableScissor();
+        contentHeight = Math.max(0, gy + scrollOffset - top - (bottom - top));
+        scrollOffset = Math.min(scrollOffset, contentHeight);
+
+        if (hovered != null) ctx.setTooltipForNextFrame(tr, hovered, mouseX, mouseY);
     }
 
-    private void renderWardrobe(GuiGraphicsExtractor ctx, Font tr, JsonObject memberData,
-                                 int x, int lineY, int width) {
-        ctx.text(tr, "Wardrobe", x, lineY, TEXT_GREEN);
-        lineY += 16;
+    private void highlightEquipped(GuiGraphicsExtractor ctx, int page, int equipped, int x, int y, int rows) {
+        if (equipped <= 0 || (equipped - 1) / COLUMNS != page) return;
+        int col = (equipped - 1) % COLUMNS;
+        drawBorder(ctx, x + col * SLOT - 1, y - 1, SLOT + 1, rows * SLOT + 1, TEXT_GOLD);
+    }
 
-        JsonObject wardrobe = getNestedObject(memberData, "inventory.wardrobe_contents");
-        if (wardrobe == null || !wardrobe.has("data")) {
-            ctx.text(tr, "No wardrobe data available", x, lineY, TEXT_GRAY);
-            return;
+    private Inventories parseInventories(SkyblockProfile profile) {
+        JsonObject memberData = profile.getMemberData();
+        String id = profile.getProfileId();
+        JsonObject inventory = memberData.has("inventory") && memberData.get("inventory").isJsonObject()
+                ? memberData.getAsJsonObject("inventory") : null;
+        if (inventory == null) return null;
+
+        List<List<Grid>> tabs = new ArrayList<>();
+
+        List<Grid> inv = new ArrayList<>();
+        Grid main = InventoryDecoder.grid(id, "Inventory", data(inventory, "inv_contents"));
+        if (main != null) inv.add(hotbarLast(main));
+        addIfPresent(inv, InventoryDecoder.grid(id, "Armor", data(inventory, "inv_armor")));
+        addIfPresent(inv, InventoryDecoder.grid(id, "Equipment", data(inventory, "equipment_contents")));
+        tabs.add(inv);
+
+        tabs.add(paged(InventoryDecoder.grid(id, "Ender Chest", data(inventory, "ender_chest_contents")), CHEST_PAGE));
+
+        List<Grid> backpacks = new ArrayList<>();
+        JsonObject contents = object(inventory, "backpack_contents");
+        if (contents != null) {
+            Map<Integer, String> ordered = new TreeMap<>();
+            for (Map.Entry<String, JsonElement> e : contents.entrySet()) {
+                try {
+                    ordered.put(Integer.parseInt(e.getKey()), data(contents, e.getKey()));
+                } catch (NumberFormatException ignored) {
+                }
+            }
+            for (Map.Entry<Integer, String> e : ordered.entrySet()) {
+                addIfPresent(backpacks, InventoryDecoder.grid(id, "Backpack " + (e.getKey() + 1), e.getValue()));
+            }
         }
+        tabs.add(backpacks);
 
-        String data = wardrobe.get("data").getAsString();
-        ctx.text(tr, "Wardrobe data: " + (data.length() / 1024) + " KB", x, lineY, TEXT_WHITE);
-        lineY += 14;
+        tabs.add(paged(InventoryDecoder.grid(id, "Wardrobe", data(inventory, "wardrobe_contents")), WARDROBE_PAGE));
+
+        JsonObject bags = object(inventory, "bag_contents");
+        tabs.add(paged(bags != null ? InventoryDecoder.grid(id, "Accessory Bag", data(bags, "talisman_bag")) : null, CHEST_PAGE));
 
-        if (memberData.has("wardrobe_equipped_slot")) {
-            int equipped = memberData.get("wardrobe_equipped_slot").getAsInt();
-            ctx.text(tr, "Equipped slot: " + equipped, x, lineY, TEXT_GOLD);
+        int equipped = memberData.has("wardrobe_equipped_slot") && !memberData.get("wardrobe_equipped_slot").isJsonNull()
+                ? memberData.get("wardrobe_equipped_slot").getAsInt() : -1;
+        int magicalPower = 0, upgrades = 0;
+        JsonObject storage = object(memberData, "accessory_bag_storage");
+        if (storage != null) {
+            if (storage.has("highest_magical_power")) magicalPower = storage.get("highest_magical_power").getAsInt();
+            if (storage.has("bag_upgrades_purchased")) upgrades = storage.get("bag_upgrades_purchased").getAsInt();
         }
+        return new Inventories(tabs, equipped, magicalPower, upgrades);
     }
 
-    private void renderAccessories(GuiGraphicsExtractor ctx, Font tr, JsonObject memberData,
-                                    int x, int lineY, int width) {
-        ctx.text(tr, "Accessory Bag", x, lineY, TEXT_GREEN);
-        lineY += 16;
+    // Slots 0-8 are the hotbar; show it under the main inventory like the game does
+    private static Grid hotbarLast(Grid grid) {
+        List<ItemStack> items = grid.items();
+        if (items.size() < COLUMNS * 4) return grid;
+        List<ItemStack> ordered = new ArrayList<>(items.subList(COLUMNS, items.size()));
+        ordered.addAll(items.subList(0, COLUMNS));
+        return new Grid(grid.title(), ordered, grid.value());
+    }
 
-        JsonObject talisman = getNestedObject(memberData, "inventory.bag_contents.talisman_bag");
-        if (talisman == null || !talisman.has("data")) {
-            ctx.text(tr, "No accessory bag data available", x, lineY, TEXT_GRAY);
-            return;
+    private static List<Grid> paged(Grid grid, int pageSize) {
+        List<Grid> pages = new ArrayList<>();
+        if (grid == null) return pages;
+        List<ItemStack> items = grid.items();
+        if (items.size() <= pageSize) {
+            pages.add(grid);
+            return pages;
         }
+        for (int start = 0, page = 1; start < items.size(); start += pageSize, page++) {
+            List<ItemStack> slice = items.subList(start, Math.min(items.size(), start + pageSize));
+            pages.add(new Grid(grid.title() + " - Page " + page, slice, InventoryDecoder.value(slice)));
+        }
+        return pages;
+    }
 
-        String data = talisman.get("data").getAsString();
-        ctx.text(tr, "Accessory bag data: " + (data.length() / 1024) + " KB", x, lineY, TEXT_WHITE);
-        lineY += 14;
+    private static void addIfPresent(List<Grid> grids, Grid grid) {
+        if (grid != null) grids.add(grid);
+    }
 
-        if (memberData.has("accessory_bag_storage")) {
-            JsonObject storage = memberData.getAsJsonObject("accessory_bag_storage");
-            if (storage.has("highest_magical_power")) {
-                int magicalPower = storage.get("highest_magical_power").getAsInt();
-                ctx.text(tr, "Highest Magical Power: " + formatNumber(magicalPower),
-                        x, lineY, TEXT_PURPLE);
-                lineY += 12;
-            }
-            if (storage.has("bag_upgrades_purchased")) {
-                int upgrades = storage.get("bag_upgrades_purchased").getAsInt();
-                ctx.text(tr, "Bag Upgrades: " + upgrades, x, lineY, TEXT_WHITE);
-            }
-        }
+    private static JsonObject object(JsonObject parent, String key) {
+        return parent.has(key) && parent.get(key).isJsonObject() ? parent.getAsJsonObject(key) : null;
+    }
+
+    private static String data(JsonObject parent, String key) {
+        JsonObject obj = object(parent, key);
+        return obj != null && obj.has("data") ? obj.get("data").getAsString() : null;
     }
 
     @Override
@@ -204,12 +267,12 @@ public class InventoriesPage extends ProfileViewerPage {
 
         Font tr = Minecraft.getInstance().font;
         int tabX = 15;
-        int tabY = 15;
 
         for (int i = 0; i < TABS.length; i++) {
             int tabWidth = tr.width(TABS[i]);
             if (mouseX >= tabX && mouseX <= tabX + tabWidth &&
-                    mouseY >= tabY && mouseY <= tabY + 12) {
+                    mouseY >= tabsY && mouseY <= tabsY + 12) {
+                if (selectedTab != i) scrollOffset = 0;
                 selectedTab = i;
                 return true;
             }
@@ -218,14 +281,9 @@ public class InventoriesPage extends ProfileViewerPage {
         return false;
     }
 
-    private JsonObject getNestedObject(JsonObject root, String path) {
-        String[] parts = path.split("\\.");
-        JsonObject current = root;
-        for (String part : parts) {
-            if (current == null || !current.has(part)) return null;
-            if (!current.get(part).isJsonObject()) return null;
-            current = current.getAsJsonObject(part);
-        }
-        return current;
+    @Override
+    public boolean mouseScrolled(double mouseX, double mouseY, double amount) {
+        scrollOffset = (int) Math.max(0, Math.min(contentHeight, scrollOffset - amount * 15));
+        return true;
     }
 }
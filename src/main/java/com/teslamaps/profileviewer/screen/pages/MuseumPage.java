@@ -15,13 +15,14 @@
  */
 package com.teslamaps.profileviewer.screen.pages;
 
-import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.teslamaps.profileviewer.api.HypixelApi;
 import com.teslamaps.profileviewer.data.SkyblockProfile;
 import com.teslamaps.profileviewer.data.SkyblockProfiles;
 import com.teslamaps.profileviewer.screen.ProfileViewerPage;
 import com.teslamaps.profileviewer.screen.ProfileViewerScreen;
+import java.util.ArrayList;
+import java.util.List;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.Font;
 import net.minecraft.client.gui.GuiGraphicsExtractor;
@@ -34,9 +35,12 @@ public class MuseumPage extends ProfileViewerPage {
     private static final int TEXT_GREEN = 0xFF55FF55;
     private static final int TEXT_GOLD = 0xFFFFAA00;
 
-    private JsonObject museumData;
+    private Museum museum;
     private boolean loading = true;
 
+    // Everything render needs, pulled out of the museum response once on the API thread
+    private record Museum(String error, long value, int itemCount, List<String> special, List<String> armor) {}
+
     @Override
     public String getTabName() {
         return "Museum";
@@ -55,7 +59,7 @@ public class MuseumPage extends ProfileViewerPage {
 
     @Override
     public void onSelected() {
-        if (museumData == null && !loading) {
+        if (museum == null && !loading) {
             loadMuseumData();
         }
     }
@@ -65,8 +69,9 @@ public class MuseumPage extends ProfileViewerPage {
         if (profile == null) return;
 
         loading = true;
+        String ownerUuid = profile.getOwnerUuid();
         HypixelApi.getMuseum(profile.getProfileId()).thenAccept(data -> {
-            this.museumData = data;
+            this.museum = parseMuseum(data, ownerUuid);
             this.loading = false;
         });
     }
@@ -88,80 +93,82 @@ public class MuseumPage extends ProfileViewerPage {
             return;
         }
 
-        if (museumData == null || museumData.has("error")) {
-            String error = museumData != null && museumData.has("error") ?
-                    museumData.get("error").getAsString() : "Failed to load museum data";
-            ctx.text(tr, error, contentX, lineY, TEXT_GRAY);
+        if (museum == null) {
+            ctx.text(tr, "Failed to load museum data", contentX, lineY, TEXT_GRAY);
             return;
         }
-
-        SkyblockProfile profile = getProfile();
-        if (profile == null) return;
-
-        JsonObject members = museumData.has("members") ?
-                museumData.getAsJsonObject("members") : null;
-        if (members == null) {
-            ctx.text(tr, "No museum data for this profile", contentX, lineY, TEXT_GRAY);
-            return;
-        }
-
-        JsonObject memberMuseum = members.has(profile.getOwnerUuid()) ?
-                members.getAsJsonObject(profile.getOwnerUuid()) : null;
-        if (memberMuseum == null) {
-            ctx.text(tr, "No museum data for this player", contentX, lineY, TEXT_GRAY);
+        if (museum.error() != null) {
+            ctx.text(tr, museum.error(), contentX, lineY, TEXT_GRAY);
             return;
         }
 
-        if (memberMuseum.has("value")) {
-            long value = memberMuseum.get("value").getAsLong();
-            ctx.text(tr, "Museum Value: " + formatCoins(value), contentX, lineY, TEXT_GOLD);
+        if (museum.value() >= 0) {
+            ctx.text(tr, "Museum Value: " + formatCoins(museum.value()), contentX, lineY, TEXT_GOLD);
             lineY += 16;
         }
 
-        if (memberMuseum.has("items")) {
-            JsonObject items = memberMuseum.getAsJsonObject("items");
-            int itemCount = items.size();
-            ctx.text(tr, "Items Donated: " + itemCount, contentX, lineY, TEXT_WHITE);
+        if (museum.itemCount() >= 0) {
+            ctx.text(tr, "Items Donated: " + museum.itemCount(), contentX, lineY, TEXT_WHITE);
             lineY += 16;
         }
 
         lineY += 8;
         ctx.text(tr, "Special Items", contentX, lineY, TEXT_GREEN);
         lineY += 16;
-
-        if (memberMuseum.has("special")) {
-            JsonObject special = memberMuseum.getAsJsonObject("special");
-            int count = 0;
-            for (var entry : special.entrySet()) {
-                if (count >= 15) {
-                    ctx.text(tr, "... and more", contentX, lineY, TEXT_GRAY);
-                    break;
-                }
-                String itemName = formatItemName(entry.getKey());
-                ctx.text(tr, "- " + itemName, contentX, lineY, TEXT_WHITE);
-                lineY += 12;
-                count++;
-            }
-        }
+        lineY = renderList(ctx, tr, museum.special(), 15, contentX, lineY);
 
         lineY += 8;
         ctx.text(tr, "Armor Sets", contentX, lineY, TEXT_GREEN);
         lineY += 16;
+        renderList(ctx, tr, museum.armor(), 10, contentX, lineY);
+    }
+
+    private int renderList(GuiGraphicsExtractor ctx, Font tr, List<String> names, int limit, int x, int lineY) {
+        int count = 0;
+        for (String name : names) {
+            if (count >= limit) {
+                ctx.text(tr, "... and more", x, lineY, TEXT_GRAY);
+                break;
+            }
+            ctx.text(tr, "- " + name, x, lineY, TEXT_WHITE);
+            lineY += 12;
+            count++;
+        }
+        return lineY;
+    }
+
+    private Museum parseMuseum(JsonObject museumData, String ownerUuid) {
+        if (museumData == null || museumData.has("error")) {
+            String error = museumData != null && museumData.has("error") ?
+                    museumData.get("error").getAsString() : "Failed to load museum data";
+            return new Museum(error, -1, -1, List.of(), List.of());
+        }
+
+        JsonObject members = museumData.has("members") ?
+                museumData.getAsJsonObject("members") : null;
+        if (members == null) {
+            return new Museum("No museum data for this profile", -1, -1, List.of(), List.of());
+        }
+
+        JsonObject memberMuseum = members.has(ownerUuid) ?
+                members.getAsJsonObject(ownerUuid) : null;
+        if (memberMuseum == null) {
+            return new Museum("No museum data for this player", -1, -1, List.of(), List.of());
+        }
+
+        long value = memberMuseum.has("value") ? memberMuseum.get("value").getAsLong() : -1;
+        int itemCount = memberMuseum.has("items") ? memberMuseum.getAsJsonObject("items").size() : -1;
+        return new Museum(null, value, itemCount, names(memberMuseum, "special"), names(memberMuseum, "armor"));
+    }
 
-        if (memberMuseum.has("armor")) {
-            JsonObject armor = memberMuseum.getAsJsonObject("armor");
-            int count = 0;
-            for (var entry : armor.entrySet()) {
-                if (count >= 10) {
-                    ctx.text(tr, "... and more", contentX, lineY, TEXT_GRAY);
-                    break;
-                }
-                String setName = formatItemName(entry.getKey());
-                ctx.text(tr, "- " + setName, contentX, lineY, TEXT_WHITE);
-                lineY += 12;
-                count++;
+    private List<String> names(JsonObject memberMuseum, String key) {
+        List<String> names = new ArrayList<>();
+        if (memberMuseum.has(key)) {
+            for (String id : memberMuseum.getAsJsonObject(key).keySet()) {
+                names.add(formatItemName(id));
             }
         }
+        return names;
     }
 
     private String formatItemName(String id) {
@@ -17,17 +17,348 @@ package com.teslamaps.render;
 
 import com.mojang.blaze3d.vertex.PoseStack;
 import com.mojang.blaze3d.vertex.VertexConsumer;
+import java.util.ArrayList;
+import java.util.List;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.MultiBufferSource;
+import net.minecraft.client.renderer.rendertype.RenderType;
 import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
 
+/**
+ * World-space ESP primitives. Between {@link #beginFrame} and {@link #endFrame} nothing is drawn immediately:
+ * primitives that pass {@link WorldCulling} go into a per-frame {@link Batch}, retained batches are
+ * {@link #submit submitted} by reference, and labels are queued. {@code endFrame} then emits each layer once (depth-tested before through-walls, fills
+ * before lines) and draws the labels on top, so a frame costs one draw call per used layer plus one for text.
+ * Outside a frame the methods keep their old immediate behaviour.
+ */
 public class ESPRenderer {
 
+    // layer slots in flush order
+    private static final int FILLED_DEPTH = 0, LINES_DEPTH = 1, FILLED_ESP = 2, LINES_ESP = 3;
+    private static final int LAYER_COUNT = 4;
+    private static final int LINE_FLOATS = 11;  // x0 y0 z0 x1 y1 z1 r g b a width
+    private static final int BOX_FLOATS = 11;   // minX minY minZ maxX maxY maxZ r g b a width (0 for fills)
+
+    private static RenderType layer(int slot) {
+        return switch (slot) {
+            case FILLED_DEPTH -> TeslaRenderLayers.FILLED_DEPTH;
+            case LINES_DEPTH -> TeslaRenderLayers.LINES_DEPTH;
+            case FILLED_ESP -> TeslaRenderLayers.FILLED_ESP;
+            default -> TeslaRenderLayers.LINES_ESP;
+        };
+    }
+
+    private static boolean isLines(int slot) {
+        return slot == LINES_DEPTH || slot == LINES_ESP;
+    }
+
+    /**
+     * Prebuilt primitives in world coordinates with colours already decoded, grouped by layer. Features build one
+     * for static geometry (a room's waypoints) and submit it every frame until it changes. Submitted batches are
+     * culled per box when emitted, and boxes past the LOD distance are drawn as one box per cell and colour.
+     */
+    public static final class Batch {
+        private static final int CELL = 8;
+
+        private final float[][] boxes = new float[LAYER_COUNT][];
+        private final int[] boxSize = new int[LAYER_COUNT];
+        private final float[][] segments = new float[LAYER_COUNT][];
+        private final int[] segmentSize = new int[LAYER_COUNT];
+
+        // LOD cells, rebuilt lazily after the batch changes
+        private final float[][] cells = new float[LAYER_COUNT][];
+        private final int[] cellSize = new int[LAYER_COUNT];
+        private final int[][] cellOf = new int[LAYER_COUNT][];
+        private final int[][] cellMembers = new int[LAYER_COUNT][];
+        private boolean cellsValid = false;
+        private boolean[] far = new boolean[16];
+
+        private record CellKey(int x, int y, int z, float r, float g, float b, float a, float w) {}
+
+        public Batch outline(AABB box, int color, float lineWidth, boolean throughWalls) {
+            addBox(throughWalls ? LINES_ESP : LINES_DEPTH, box, red(color), green(color), blue(color), alpha(color, 1.0f), lineWidth);
+            return this;
+        }
+
+        public Batch filled(AABB box, int color, boolean throughWalls) {
+            float a = alpha(color, com.teslamaps.config.TeslaMapsConfig.get().espAlpha);
+            addBox(throughWalls ? FILLED_ESP : FILLED_DEPTH, box, red(color), green(color), blue(color), a, 0f);
+            return this;
+        }
+
+        public Batch line(Vec3 from, Vec3 to, int color, float lineWidth, boolean throughWalls) {
+            int slot = throughWalls ? LINES_ESP : LINES_DEPTH;
+            float[] d = segments[slot] = reserve(segments[slot], segmentSize[slot], LINE_FLOATS);
+            int i = segmentSize[slot];
+            d[i] = (float) from.x; d[i + 1] = (float) from.y; d[i + 2] = (float) from.z;
+            d[i + 3] = (float) to.x; d[i + 4] = (float) to.y; d[i + 5] = (float) to.z;
+            d[i + 6] = red(color); d[i + 7] = green(color); d[i + 8] = blue(color); d[i + 9] = alpha(color, 1.0f);
+            d[i + 10] = lineWidth;
+            segmentSize[slot] = i + LINE_FLOATS;
+            return this;
+        }
+
+        public void clear() {
+            java.util.Arrays.fill(boxSize, 0);
+            java.util.Arrays.fill(segmentSize, 0);
+            cellsValid = false;
+        }
+
+        public boolean isEmpty() {
+            for (int slot = 0; slot < LAYER_COUNT; slot++) {
+                if (boxSize[slot] > 0 || segmentSize[slot] > 0) return false;
+            }
+            return true;
+        }
+
+        private boolean has(int slot) {
+            return boxSize[slot] > 0 || segmentSize[slot] > 0;
+        }
+
+        private void addBox(int slot, AABB box, float r, float g, float b, float a, float w) {
+            float[] d = boxes[slot] = reserve(boxes[slot], boxSize[slot], BOX_FLOATS);
+            int i = boxSize[slot];
+            d[i] = (float) box.minX; d[i + 1] = (float) box.minY; d[i + 2] = (float) box.minZ;
+            d[i + 3] = (float) box.maxX; d[i + 4] = (float) box.maxY; d[i + 5] = (float) box.maxZ;
+            d[i + 6] = r; d[i + 7] = g; d[i + 8] = b; d[i + 9] = a; d[i + 10] = w;
+            boxSize[slot] = i + BOX_FLOATS;
+            cellsValid = false;
+        }
+
+        private static float[] reserve(float[] d, int size, int n) {
+            if (d == null) return new float[Math.max(64, n * 4)];
+            if (size + n > d.length) return java.util.Arrays.copyOf(d, Math.max(d.length * 2, size + n));
+            return d;
+        }
+
+        private void buildCells() {
+            if (cellsValid) return;
+            cellsValid = true;
+            java.util.Map<CellKey, Integer> index = new java.util.HashMap<>();
+            for (int slot = 0; slot < LAYER_COUNT; slot++) {
+                int n = boxSize[slot] / BOX_FLOATS;
+                float[] d = boxes[slot];
+                float[] c = cells[slot] == null || cells[slot].length < boxSize[slot] ? new float[Math.max(BOX_FLOATS, boxSize[slot])] : cells[slot];
+                int[] of = cellOf[slot] == null || cellOf[slot].length < n ? new int[Math.max(1, n)] : cellOf[slot];
+                int[] members = cellMembers[slot] == null || cellMembers[slot].length < n ? new int[Math.max(1, n)] : cellMembers[slot];
+                int cn = 0;
+                index.clear();
+                for (int j = 0; j < n; j++) {
+                    int i = j * BOX_FLOATS;
+                    CellKey key = new CellKey(Math.floorDiv((int) Math.floor((d[i] + d[i + 3]) * 0.5f), CELL),
+                            Math.floorDiv((int) Math.floor((d[i + 1] + d[i + 4]) * 0.5f), CELL),
+                            Math.floorDiv((int) Math.floor((d[i + 2] + d[i + 5]) * 0.5f), CELL),
+                            d[i + 6], d[i + 7], d[i + 8], d[i + 9], d[i + 10]);
+                    Integer k = index.get(key);
+                    if (k == null) {
+                        k = cn++;
+                        index.put(key, k);
+                        System.arraycopy(d, i, c, k * BOX_FLOATS, BOX_FLOATS);
+                        members[k] = 0;
+                    } else {
+                        int ci = k * BOX_FLOATS;
+                        c[ci] = Math.min(c[ci], d[i]); c[ci + 1] = Math.min(c[ci + 1], d[i + 1]); c[ci + 2] = Math.min(c[ci + 2], d[i + 2]);
+                        c[ci + 3] = Math.max(c[ci + 3], d[i + 3]); c[ci + 4] = Math.max(c[ci + 4], d[i + 4]); c[ci + 5] = Math.max(c[ci + 5], d[i + 5]);
+                    }
+                    members[k]++;
+                    of[j] = k;
+                }
+                cells[slot] = c;
+                cellSize[slot] = cn * BOX_FLOATS;
+                cellOf[slot] = of;
+                cellMembers[slot] = members;
+            }
+        }
+
+        /** Emits one layer; {@code category} null means already culled (the per-frame batch). */
+        private int emit(int slot, PoseStack.Pose pose, WorldCulling.Category category) {
+            int vertices = 0;
+            float[] d = boxes[slot];
+            int n = boxSize[slot] / BOX_FLOATS;
+            boolean lod = category != null && n > 1;
+            if (lod) {
+                buildCells();
+                float[] c = cells[slot];
+                int cn = cellSize[slot] / BOX_FLOATS;
+                if (far.length < cn) far = new boolean[cn * 2];
+                for (int k = 0; k < cn; k++) {
+                    int i = k * BOX_FLOATS;
+                    far[k] = WorldCulling.beyondLod((c[i] + c[i + 3]) * 0.5, (c[i + 1] + c[i + 4]) * 0.5, (c[i + 2] + c[i + 5]) * 0.5);
+                    if (!far[k] || !WorldCulling.box(c[i], c[i + 1], c[i + 2], c[i + 3], c[i + 4], c[i + 5], category)) continue;
+                    if (cellMembers[slot][k] > 1) WorldCulling.countMerged(cellMembers[slot][k]);
+                    vertices += emitBox(slot, pose, c, i);
+                }
+            }
+            for (int j = 0; j < n; j++) {
+                int i = j * BOX_FLOATS;
+                if (lod && far[cellOf[slot][j]]) continue;
+                if (category != null && !WorldCulling.box(d[i], d[i + 1], d[i + 2], d[i + 3], d[i + 4], d[i + 5], category)) continue;
+                vertices += emitBox(slot, pose, d, i);
+            }
+            float[] s = segments[slot];
+            int sn = segmentSize[slot];
+            for (int i = 0; i < sn; i += LINE_FLOATS) {
+                if (category != null && !WorldCulling.box(Math.min(s[i], s[i + 3]), Math.min(s[i + 1], s[i + 4]), Math.min(s[i + 2], s[i + 5]),
+                        Math.max(s[i], s[i + 3]), Math.max(s[i + 1], s[i + 4]), Math.max(s[i + 2], s[i + 5]), category)) continue;
+                segment(pose, s[i], s[i + 1], s[i + 2], s[i + 3], s[i + 4], s[i + 5], s[i + 6], s[i + 7], s[i + 8], s[i + 9], s[i + 10]);
+                vertices += 2;
+            }
+            return vertices;
+        }
+
+        private static int emitBox(int slot, PoseStack.Pose pose, float[] d, int i) {
+            float x0 = d[i], y0 = d[i + 1], z0 = d[i + 2], x1 = d[i + 3], y1 = d[i + 4], z1 = d[i + 5];
+            float r = d[i + 6], g = d[i + 7], b = d[i + 8], a = d[i + 9], w = d[i + 10];
+            if (!isLines(slot)) {
+                renderFilledBox(pose, flushBuffer(), x0, y0, z0, x1, y1, z1, r, g, b, a);
+                return 24;
+            }
+            // bottom, top, verticals
+            segment(pose, x0, y0, z0, x1, y0, z0, r, g, b, a, w);
+            segment(pose, x1, y0, z0, x1, y0, z1, r, g, b, a, w);
+            segment(pose, x1, y0, z1, x0, y0, z1, r, g, b, a, w);
+            segment(pose, x0, y0, z1, x0, y0, z0, r, g, b, a, w);
+            segment(pose, x0, y1, z0, x1, y1, z0, r, g, b, a, w);
+            segment(pose, x1, y1, z0, x1, y1, z1, r, g, b, a, w);
+            segment(pose, x1, y1, z1, x0, y1, z1, r, g, b, a, w);
+            segment(pose, x0, y1, z1, x0, y1, z0, r, g, b, a, w);
+            segment(pose, x0, y0, z0, x0, y1, z0, r, g, b, a, w);
+            segment(pose, x1, y0, z0, x1, y1, z0, r, g, b, a, w);
+            segment(pose, x1, y0, z1, x1, y1, z1, r, g, b, a, w);
+            segment(pose, x0, y0, z1, x0, y1, z1, r, g, b, a, w);
+            return 24;
+        }
+
+        private static void segment(PoseStack.Pose pose, float x0, float y0, float z0, float x1, float y1, float z1,
+                                    float r, float g, float b, float a, float w) {
+            VertexConsumer buffer = flushBuffer();
+            float dx = x1 - x0, dy = y1 - y0, dz = z1 - z0;
+            buffer.addVertex(pose, x0, y0, z0).setColor(r, g, b, a).setNormal(pose, dx, dy, dz).setLineWidth(w);
+            buffer.addVertex(pose, x1, y1, z1).setColor(r, g, b, a).setNormal(pose, dx, dy, dz).setLineWidth(w);
+        }
+    }
+
+    private record Label(String text, double x, double y, double z, float scale, int color) {}
+
+    private static boolean inFrame = false;
+    private static final Batch frame = new Batch();
+    private static final List<Batch> submitted = new ArrayList<>();
+    private static final List<WorldCulling.Category> submittedCategories = new ArrayList<>();
+    private static final List<Label> labels = new ArrayList<>();
+    private static int lastVertices = 0;
+    private static int lastDrawCalls = 0;
+
+    // layer being flushed; its buffer is only requested once something in it survives culling
+    private static MultiBufferSource.BufferSource flushSource;
+    private static int flushSlot;
+    private static VertexConsumer flushBuffer;
+
+    private static VertexConsumer flushBuffer() {
+        if (flushBuffer == null) flushBuffer = flushSource.getBuffer(layer(flushSlot));
+        return flushBuffer;
+    }
+
+    public static void beginFrame(Vec3 cameraPos) {
+        inFrame = true;
+        frame.clear();
+        submitted.clear();
+        submittedCategories.clear();
+        labels.clear();
+        WorldCulling.beginFrame(cameraPos);
+    }
+
+    /**
+     * Queues a retained batch for this frame under the current {@link WorldCulling} category, or draws it
+     * straight away outside a frame.
+     */
+    public static void submit(PoseStack matrices, Batch batch, Vec3 cameraPos) {
+        if (batch == null || batch.isEmpty()) return;
+        if (inFrame) {
+            submitted.add(batch);
+            submittedCategories.add(WorldCulling.getCategory());
+            return;
+        }
+        Minecraft mc = Minecraft.getInstance();
+        if (mc.renderBuffers() == null) return;
+        submitted.add(batch);
+        submittedCategories.add(null);
+        flush(matrices, cameraPos, mc.renderBuffers().bufferSource());
+        submitted.clear();
+        submittedCategories.clear();
+    }
+
+    public static void endFrame(PoseStack matrices, Vec3 cameraPos) {
+        inFrame = false;
+        Minecraft mc = Minecraft.getInstance();
+        if (mc.renderBuffers() == null) return;
+        MultiBufferSource.BufferSource bufferSource = mc.renderBuffers().bufferSource();
+        submitted.add(frame);
+        submittedCategories.add(null);
+        int calls = flush(matrices, cameraPos, bufferSource);
+        if (!labels.isEmpty()) {
+            for (Label l : labels) emitText(matrices, l.text(), l.x(), l.y(), l.z(), l.scale(), l.color(), cameraPos, bufferSource);
+            bufferSource.endBatch();
+            calls++;
+        }
+        lastDrawCalls = calls;
+        submitted.clear();
+        submittedCategories.clear();
+        labels.clear();
+        frame.clear();
+    }
+
+    private static int flush(PoseStack matrices, Vec3 cameraPos, MultiBufferSource.BufferSource bufferSource) {
+        matrices.pushPose();
+        matrices.translate(-cameraPos.x, -cameraPos.y, -cameraPos.z);
+        PoseStack.Pose pose = matrices.last();
+        int vertices = 0, calls = 0;
+        flushSource = bufferSource;
+        for (int slot = 0; slot < LAYER_COUNT; slot++) {
+            flushSlot = slot;
+            flushBuffer = null;
+            for (int i = 0; i < submitted.size(); i++) {
+                Batch b = submitted.get(i);
+                if (b.has(slot)) vertices += b.emit(slot, pose, submittedCategories.get(i));
+            }
+            if (flushBuffer != null) {
+                bufferSource.endBatch(layer(slot));
+                calls++;
+            }
+        }
+        flushBuffer = null;
+        flushSource = null;
+        matrices.popPose();
+        lastVertices = vertices;
+        return calls;
+    }
+
+    /** Vertices emitted by the last frame flush (labels excluded). */
+    public static int getLastFrameVertices() {
+        return lastVertices;
+    }
+
+    /** Draw calls issued by the last frame flush: one per used layer, plus one if any label was drawn. */
+    public static int getLastFrameDrawCalls() {
+        return lastDrawCalls;
+    }
+
+    private static float red(int color) { return ((color >> 16) & 0xFF) / 255f; }
+    private static float green(int color) { return ((color >> 8) & 0xFF) / 255f; }
+    private static float blue(int color) { return (color & 0xFF) / 255f; }
+    private static float alpha(int color, float whenZero) {
+        float a = ((color >> 24) & 0xFF) / 255f;
+        return a == 0 ? whenZero : a;
+    }
+
     private static boolean depthTested = false;
 
     public static void drawBoxOutline(PoseStack matrices, AABB box, int color, float lineWidth, Vec3 cameraPos,
                                        MultiBufferSource.BufferSource bufferSource) {
+        if (inFrame) {
+            if (WorldCulling.box(box)) frame.outline(box, color, lineWidth, !depthTested);
+            return;
+        }
         float r = ((color >> 16) & 0xFF) / 255f;
         float g = ((color >> 8) & 0xFF) / 255f;
         float b = (color & 0xFF) / 255f;
@@ -98,6 +429,10 @@ public class ESPRenderer {
 
     public static void drawTracer(PoseStack matrices, Vec3 from, Vec3 to, int color, Vec3 cameraPos,
                                    MultiBufferSource.BufferSource bufferSource) {
+        if (inFrame) {
+            frame.line(from, to, color, 2.0f, true);
+            return;
+        }
         float r = ((color >> 16) & 0xFF) / 255f;
         float g = ((color >> 8) & 0xFF) / 255f;
         float b = (color & 0xFF) / 255f;
@@ -175,11 +510,16 @@ public class ESPRenderer {
         Minecraft mc = Minecraft.getInstance();
         if (mc.renderBuffers() == null) return;
         MultiBufferSource.BufferSource bufferSource = mc.renderBuffers().bufferSource();
+        if (inFrame && !WorldCulling.segment(start, end)) return;
         drawTracer(matrices, start, end, color, cameraPos, bufferSource);
     }
 
     public static void drawFilledBox(PoseStack matrices, AABB box, int color, Vec3 cameraPos,
                                        MultiBufferSource.BufferSource bufferSource) {
+        if (inFrame) {
+            if (WorldCulling.box(box)) frame.filled(box, color, !depthTested);
+            return;
+        }
         float r = ((color >> 16) & 0xFF) / 255f;
         float g = ((color >> 8) & 0xFF) / 255f;
         float b = (color & 0xFF) / 255f;
@@ -265,16 +605,31 @@ public class ESPRenderer {
     }
 
     public static void drawText(PoseStack matrices, String text, Vec3 pos, float scale, Vec3 cameraPos) {
+        drawText(matrices, text, pos, scale, 0xFFFFFFFF, cameraPos);
+    }
+
+    /** {@code color} is the ARGB base colour; § codes in the text still override it. */
+    public static void drawText(PoseStack matrices, String text, Vec3 pos, float scale, int color, Vec3 cameraPos) {
         Minecraft mc = Minecraft.getInstance();
         if (mc.font == null || mc.gameRenderer == null || mc.gameRenderer.getMainCamera() == null) return;
+        if (inFrame) {
+            if (WorldCulling.label(pos)) labels.add(new Label(text, pos.x, pos.y, pos.z, scale, color));
+            return;
+        }
 
         MultiBufferSource.BufferSource immediate = mc.renderBuffers().bufferSource();
+        emitText(matrices, text, pos.x, pos.y, pos.z, scale, color, cameraPos, immediate);
+        immediate.endBatch(); // flush so the glyphs actually render this frame
+    }
 
+    private static void emitText(PoseStack matrices, String text, double x, double y, double z, float scale, int color,
+                                 Vec3 cameraPos, MultiBufferSource.BufferSource immediate) {
+        Minecraft mc = Minecraft.getInstance();
         matrices.pushPose();
 
         var pose = matrices.last().pose();
         float scaleFactor = scale * 0.025f;
-        pose.translate((float) (pos.x - cameraPos.x), (float) (pos.y - cameraPos.y), (float) (pos.z - cameraPos.z));
+        pose.translate((float) (x - cameraPos.x), (float) (y - cameraPos.y), (float) (z - cameraPos.z));
         pose.rotate(mc.gameRenderer.getMainCamera().rotation());
         pose.scale(scaleFactor, -scaleFactor, scaleFactor);
 
@@ -284,7 +639,7 @@ public class ESPRenderer {
             text,
             -textWidth / 2f,
             0f,
-            0xFFFFFFFF, // base color (white) — § codes in the string override
+            color,      // base color — § codes in the string override
             true,       // shadow
             pose,
             immediate,
@@ -293,7 +648,6 @@ public class ESPRenderer {
             15728880    // full brightness
         );
 
-        immediate.endBatch(); // flush so the glyphs actually render this frame
         matrices.popPose();
     }
 
@@ -22,6 +22,8 @@ import com.teslamaps.map.CheckmarkState;
 import com.teslamaps.map.DoorType;
 import com.teslamaps.map.DungeonRoom;
 import com.teslamaps.map.RoomType;
+import com.teslamaps.map.RoutePlan.Route;
+import com.teslamaps.map.RoutePlanner;
 import com.teslamaps.player.PlayerTracker;
 import com.teslamaps.scanner.ComponentGrid;
 import com.teslamaps.scanner.DoorScanner;
@@ -54,6 +56,7 @@ public class MapRenderer {
 
     public record PlayerMarker(int x, int y, String name, boolean self) {}
     private static final List<PlayerMarker> playerMarkers = new ArrayList<>();
+    private static final List<DungeonRoom> visibleRooms = new ArrayList<>();
     public static List<PlayerMarker> getPlayerMarkers() { return playerMarkers; }
 
     public static void render(GuiGraphicsExtractor context, DeltaTracker tickCounter) {
@@ -82,10 +85,13 @@ public class MapRenderer {
         playerMarkers.clear();
 
         boolean legit = com.teslamaps.features.LegitMode.isFiltering();
-        Collection<DungeonRoom> rooms = DungeonManager.getGrid().getAllRooms().stream()
-                .filter(r -> r.getType() != RoomType.UNKNOWN && !"Unknown".equals(r.getName()))
-                .filter(r -> !legit || r.isExplored())
-                .toList();
+        List<DungeonRoom> rooms = visibleRooms;
+        rooms.clear();
+        for (DungeonRoom r : DungeonManager.getGrid().getAllRooms()) {
+            if (r.getType() == RoomType.UNKNOWN || "Unknown".equals(r.getName())) continue;
+            if (legit && !r.isExplored()) continue;
+            rooms.add(r);
+        }
         calculateDungeonBounds(rooms);
 
         int gridWidth = maxGridX - minGridX + 1;
@@ -102,16 +108,18 @@ public class MapRenderer {
         }
         drawRoomConnections(context, rooms, baseX, baseY, scale, legit);
 
-        Set<DungeonRoom> drawnRooms = new HashSet<>();
+        // Grid rooms are already unique by identity
         for (DungeonRoom room : rooms) {
-            if (!drawnRooms.contains(room)) { drawRoom(context, room, baseX, baseY, scale); drawnRooms.add(room); }
+            drawRoom(context, room, baseX, baseY, scale);
         }
         if (legit) {
             drawGuessRooms(context, baseX, baseY, scale);
         }
-        drawnRooms.clear();
+        if (config.dungeonRoutePlanner && !leapMode) {
+            drawRoutes(context, baseX, baseY, scale);
+        }
         for (DungeonRoom room : rooms) {
-            if (!drawnRooms.contains(room) && room.isIdentified()) { drawRoomName(context, room, baseX, baseY, scale); drawnRooms.add(room); }
+            if (room.isIdentified()) drawRoomName(context, room, baseX, baseY, scale);
         }
 
         if (config.showPlayerMarker || leapMode) {
@@ -129,12 +137,8 @@ public class MapRenderer {
         minGridZ = 0; maxGridZ = ComponentGrid.GRID_SIZE - 1;
         totalSecrets = 0;
 
-        Set<DungeonRoom> counted = new HashSet<>();
         for (DungeonRoom room : rooms) {
-            if (!counted.contains(room) && room.getSecrets() > 0) {
-                totalSecrets += room.getSecrets();
-                counted.add(room);
-            }
+            if (room.getSecrets() > 0) totalSecrets += room.getSecrets();
         }
     }
 
@@ -401,6 +405,33 @@ public class MapRenderer {
         }
     }
 
+    // One line per party member through the centres of the cells its share walks (the cells on either side of each
+    // door it crosses, joined through the room in between), nudged apart so shared corridors show every share.
+    private static void drawRoutes(GuiGraphicsExtractor context, int baseX, int baseY, float scale) {
+        List<Route> routes = RoutePlanner.getRoutes();
+        int thickness = Math.max(2, (int) (2 * scale));
+        int half = (int) (ROOM_SIZE / 2 * scale);
+        for (int i = 0; i < routes.size(); i++) {
+            Route route = routes.get(i);
+            int color = getDungeonClassColor(route.dungeonClass());
+            int offset = (2 * i - (routes.size() - 1)) * thickness / 2;
+            int[] cells = route.cells();
+            int px = 0, py = 0;
+            for (int j = 0; j < cells.length; j++) {
+                int gx = cells[j] / ComponentGrid.GRID_SIZE, gz = cells[j] % ComponentGrid.GRID_SIZE;
+                int x = gridToPixelX(gx, baseX, scale) + half + offset;
+                int y = gridToPixelY(gz, baseY, scale) + half + offset;
+                if (j == 0) {
+                    context.fill(x - thickness, y - thickness, x + thickness, y + thickness, color);
+                } else {
+                    drawThickLine(context, px, py, x, y, thickness, color);
+                }
+                px = x;
+                py = y;
+            }
+        }
+    }
+
     private static void drawRoom(GuiGraphicsExtractor context, DungeonRoom room, int baseX, int baseY, float scale) {
         int color = getRoomColor(room);
 
@@ -841,7 +872,7 @@ public class MapRenderer {
         if (!config.showOtherPlayers) return;
 
         List<int[]> mapPositions = MapScanner.getMapPlayerPositions();
-        PlayerTracker.DungeonPlayer[] players = PlayerTracker.getPlayersOrdered();
+        PlayerTracker.Party party = PlayerTracker.getParty();
         int playerIdx = 1; // Start at 1, index 0 is self
 
         for (int[] pos : mapPositions) {
@@ -853,8 +884,8 @@ public class MapRenderer {
             if (isLocal == 1) continue;
 
             PlayerTracker.DungeonPlayer dungeonPlayer = null;
-            while (playerIdx < players.length) {
-                dungeonPlayer = players[playerIdx];
+            while (playerIdx < party.slotCount()) {
+                dungeonPlayer = party.slot(playerIdx);
                 playerIdx++;
                 if (dungeonPlayer != null && dungeonPlayer.isAlive()) break;
                 dungeonPlayer = null;
@@ -0,0 +1,170 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.render;
+
+import com.teslamaps.config.TeslaMapsConfig;
+import net.minecraft.client.DeltaTracker;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiGraphicsExtractor;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * Per-frame visibility test for ESP geometry queued through {@link ESPRenderer}. The view is a cone around the
+ * camera's look direction, sized from the FOV setting and window aspect with some slack for dynamic FOV, and
+ * each {@link Category} has its own max distance. Tracers are never culled; they exist to point off-screen.
+ */
+public final class WorldCulling {
+
+    public enum Category { GENERAL, WAYPOINTS, SECRETS, MOBS, PUZZLES }
+
+    private static final Category[] CATEGORIES = Category.values();
+    private static final double FOV_SLACK = 1.3;
+
+    private static Category current = Category.GENERAL;
+    private static boolean enabled;
+    private static double camX, camY, camZ;
+    private static double lookX, lookY, lookZ;
+    private static double halfAngle;
+    private static final double[] maxDist2 = new double[CATEGORIES.length];
+    private static double labelDist2, lodDist2;
+
+    private static final int[] drawn = new int[CATEGORIES.length];
+    private static final int[] culled = new int[CATEGORIES.length];
+    private static final int[] lastDrawn = new int[CATEGORIES.length];
+    private static final int[] lastCulled = new int[CATEGORIES.length];
+    private static int merged, lastMerged, labelsDropped, lastLabelsDropped;
+
+    public static void beginFrame(Vec3 cameraPos) {
+        TeslaMapsConfig cfg = TeslaMapsConfig.get();
+        Minecraft mc = Minecraft.getInstance();
+        enabled = cfg.espCulling && mc.gameRenderer != null && mc.gameRenderer.getMainCamera() != null;
+        current = Category.GENERAL;
+        System.arraycopy(drawn, 0, lastDrawn, 0, drawn.length);
+        System.arraycopy(culled, 0, lastCulled, 0, culled.length);
+        java.util.Arrays.fill(drawn, 0);
+        java.util.Arrays.fill(culled, 0);
+        lastMerged = merged;
+        lastLabelsDropped = labelsDropped;
+        merged = labelsDropped = 0;
+        if (!enabled) return;
+
+        camX = cameraPos.x;
+        camY = cameraPos.y;
+        camZ = cameraPos.z;
+        var camera = mc.gameRenderer.getMainCamera();
+        double yawRad = Math.toRadians(-camera.yRot());
+        double pitchRad = Math.toRadians(-camera.xRot());
+        double cosP = Math.cos(pitchRad);
+        lookX = Math.sin(yawRad) * cosP;
+        lookY = Math.sin(pitchRad);
+        lookZ = Math.cos(yawRad) * cosP;
+
+        // half-angle to the corner of the view, widened for sprint/speed FOV changes
+        double tanV = Math.tan(Math.toRadians(mc.options.fov().get()) / 2) * FOV_SLACK;
+        double aspect = (double) mc.getWindow().getGuiScaledWidth() / Math.max(1, mc.getWindow().getGuiScaledHeight());
+        halfAngle = Math.atan(Math.sqrt(tanV * tanV * (1 + aspect * aspect)));
+
+        maxDist2[Category.GENERAL.ordinal()] = 0;
+        maxDist2[Category.WAYPOINTS.ordinal()] = sq(cfg.cullDistanceWaypoints);
+        maxDist2[Category.SECRETS.ordinal()] = sq(cfg.cullDistanceSecrets);
+        maxDist2[Category.MOBS.ordinal()] = sq(cfg.cullDistanceMobs);
+        maxDist2[Category.PUZZLES.ordinal()] = sq(cfg.cullDistancePuzzles);
+        labelDist2 = sq(cfg.labelDistance);
+        lodDist2 = sq(cfg.espLodDistance);
+    }
+
+    private static double sq(int blocks) {
+        return blocks <= 0 ? 0 : (double) blocks * blocks;
+    }
+
+    /** Category for everything drawn until the next call; the feature registry sets it around each render. */
+    public static void setCategory(Category category) {
+        current = category;
+    }
+
+    public static Category getCategory() {
+        return current;
+    }
+
+    public static boolean box(AABB box) {
+        return box(box.minX, box.minY, box.minZ, box.maxX, box.maxY, box.maxZ, current);
+    }
+
+    public static boolean box(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, Category category) {
+        boolean visible = !enabled || inView(minX, minY, minZ, maxX, maxY, maxZ, maxDist2[category.ordinal()]);
+        if (visible) drawn[category.ordinal()]++;
+        else culled[category.ordinal()]++;
+        return visible;
+    }
+
+    public static boolean segment(Vec3 from, Vec3 to) {
+        return box(Math.min(from.x, to.x), Math.min(from.y, to.y), Math.min(from.z, to.z),
+                Math.max(from.x, to.x), Math.max(from.y, to.y), Math.max(from.z, to.z), current);
+    }
+
+    public static boolean label(Vec3 pos) {
+        if (!enabled) return true;
+        double dx = pos.x - camX, dy = pos.y - camY, dz = pos.z - camZ;
+        if (labelDist2 > 0 && dx * dx + dy * dy + dz * dz > labelDist2
+                || !inView(pos.x, pos.y, pos.z, pos.x, pos.y, pos.z, maxDist2[current.ordinal()])) {
+            labelsDropped++;
+            return false;
+        }
+        return true;
+    }
+
+    /** Whether a static box is far enough to be drawn merged with its neighbours. */
+    static boolean beyondLod(double cx, double cy, double cz) {
+        if (!enabled || lodDist2 <= 0) return false;
+        double dx = cx - camX, dy = cy - camY, dz = cz - camZ;
+        return dx * dx + dy * dy + dz * dz > lodDist2;
+    }
+
+    static void countMerged(int boxes) {
+        merged += boxes;
+    }
+
+    private static boolean inView(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, double limit2) {
+        double cx = (minX + maxX) * 0.5 - camX, cy = (minY + maxY) * 0.5 - camY, cz = (minZ + maxZ) * 0.5 - camZ;
+        double ex = (maxX - minX) * 0.5, ey = (maxY - minY) * 0.5, ez = (maxZ - minZ) * 0.5;
+        double radius = Math.sqrt(ex * ex + ey * ey + ez * ez);
+        double d2 = cx * cx + cy * cy + cz * cz;
+        if (limit2 > 0) {
+            double near = Math.max(0, Math.sqrt(d2) - radius);
+            if (near * near > limit2) return false;
+        }
+        if (d2 <= radius * radius) return true; // camera is inside the bounding sphere
+        double d = Math.sqrt(d2);
+        double cos = (cx * lookX + cy * lookY + cz * lookZ) / d;
+        double angle = Math.acos(Math.max(-1, Math.min(1, cos)));
+        return angle <= halfAngle + Math.asin(radius / d);
+    }
+
+    public static void renderDebug(GuiGraphicsExtractor context, DeltaTracker delta) {
+        if (!TeslaMapsConfig.get().debugMode) return;
+        Minecraft mc = Minecraft.getInstance();
+        if (mc.options.hideGui || mc.player == null) return;
+        StringBuilder sb = new StringBuilder("§7ESP ");
+        for (Category c : CATEGORIES) {
+            int i = c.ordinal();
+            if (lastDrawn[i] == 0 && lastCulled[i] == 0) continue;
+            sb.append("§f").append(c.name().toLowerCase()).append(" §a").append(lastDrawn[i])
+                    .append("§7/§c").append(lastCulled[i]).append(' ');
+        }
+        sb.append("§7merged §e").append(lastMerged).append(" §7labels culled §e").append(lastLabelsDropped);
+        int y = mc.getWindow().getGuiScaledHeight() - mc.font.lineHeight - 2;
+        context.text(mc.font, sb.toString(), 2, y, 0xFFFFFFFF);
+    }
+}
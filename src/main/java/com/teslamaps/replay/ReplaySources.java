@@ -0,0 +1,86 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.replay;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stand-ins for the client state the scanner stack reads (clock, scoreboard, tab list, local player position)
+ * while {@link RunReplayer} is driving it. Callers check {@link #isActive()} before touching Minecraft.
+ */
+public final class ReplaySources {
+    private static boolean active = false;
+    private static long nowMs = 0L;
+    private static double playerX = 0, playerY = 0, playerZ = 0;
+
+    static final List<String> scoreboard = new ArrayList<>();
+    static final List<String> tab = new ArrayList<>();
+
+    private ReplaySources() {}
+
+    public static boolean isActive() {
+        return active;
+    }
+
+    /** Replay clock while active, wall clock otherwise. */
+    public static long now() {
+        return active ? nowMs : System.currentTimeMillis();
+    }
+
+    public static List<String> scoreboardLines() {
+        return scoreboard;
+    }
+
+    /** Tab list display names in tab order ("" for entries without one). */
+    public static List<String> tabLines() {
+        return tab;
+    }
+
+    public static double playerX() {
+        return playerX;
+    }
+
+    public static double playerY() {
+        return playerY;
+    }
+
+    public static double playerZ() {
+        return playerZ;
+    }
+
+    static void begin(long startMs) {
+        active = true;
+        nowMs = startMs;
+        scoreboard.clear();
+        tab.clear();
+        playerX = playerY = playerZ = 0;
+    }
+
+    static void end() {
+        active = false;
+        scoreboard.clear();
+        tab.clear();
+    }
+
+    static void setNow(long ms) {
+        nowMs = ms;
+    }
+
+    static void setPlayer(double x, double y, double z) {
+        playerX = x;
+        playerY = y;
+        playerZ = z;
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.replay;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary format for recorded dungeon runs (.tmrun, gzipped).
+ *
+ * File: "TMRN" magic, varint version, then events until {@link #RUN_END}. Version 1 logs are still read;
+ * their RUN_START has no local player.
+ * Event: [type byte][varint ms since previous event][payload].
+ * Strings are interned per file: varint 0 = new string (varint length + UTF-8) that takes
+ * the next id, otherwise id + 1 of an earlier string.
+ */
+public final class RunLog {
+    public static final byte[] MAGIC = {'T', 'M', 'R', 'N'};
+    public static final int VERSION = 2;
+    public static final int MIN_VERSION = 1;
+    public static final String EXTENSION = ".tmrun";
+
+    public static final int RUN_START = 0;      // string floor, varlong epoch ms, string local player
+    public static final int MAP_DIFF = 1;       // varint count, count x (varint index delta, byte color)
+    public static final int ROOM = 2;           // byte gridX, byte gridZ, zigzag core, string name, varint rotation + 1
+    public static final int CHAT = 3;           // string
+    public static final int SCOREBOARD = 4;     // varint line count, varint changed, changed x (varint index, string)
+    public static final int TAB = 5;            // same layout as SCOREBOARD, lines in tab order ("" = no display name)
+    public static final int POSITION = 6;       // byte slot, zigzag dx, dy, dz (1/32 block, relative to slot's last)
+    public static final int CHECKMARK = 7;      // byte gridX, byte gridZ, byte CheckmarkState ordinal
+    public static final int ACTION_BAR = 8;     // string
+    public static final int PLAYER = 9;         // byte slot, string name
+    public static final int COLUMN = 10;        // byte gridX, byte gridZ, zigzag core, varint n, n x byte legacy id
+    public static final int RUN_END = 127;
+
+    public static final int POSITION_SCALE = 32;
+
+    private RunLog() {}
+
+    /**
+     * Append-only buffer of fixed-size chunks. Chunks are allocated on first use and reused across runs so
+     * recording never grows or copies an array; once the cap is hit further events are dropped and the run is
+     * marked truncated rather than overwriting the start, which delta-decoding depends on.
+     */
+    public static final class Writer {
+        private static final int CHUNK_SIZE = 64 * 1024;
+
+        private final List<byte[]> chunks = new ArrayList<>();
+        private final int maxChunks;
+        private final Map<String, Integer> strings = new HashMap<>();
+        private byte[] current;
+        private int chunkIndex;
+        private int pos;
+        private boolean truncated;
+
+        public Writer(int maxBytes) {
+            this.maxChunks = Math.max(1, maxBytes / CHUNK_SIZE);
+            reset();
+        }
+
+        public void reset() {
+            if (chunks.isEmpty()) chunks.add(new byte[CHUNK_SIZE]);
+            chunkIndex = 0;
+            current = chunks.get(0);
+            pos = 0;
+            truncated = false;
+            strings.clear();
+        }
+
+        public boolean isTruncated() {
+            return truncated;
+        }
+
+        public int size() {
+            return chunkIndex * CHUNK_SIZE + pos;
+        }
+
+        /** True if at least {@code bytes} more can be written; marks the log truncated otherwise. */
+        public boolean reserve(int bytes) {
+            if (truncated) return false;
+            if (size() + bytes > maxChunks * CHUNK_SIZE) {
+                truncated = true;
+                return false;
+            }
+            return true;
+        }
+
+        public void writeByte(int b) {
+            if (pos == CHUNK_SIZE) nextChunk();
+            current[pos++] = (byte) b;
+        }
+
+        public void writeVarInt(int value) {
+            while ((value & ~0x7F) != 0) {
+                writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            writeByte(value);
+        }
+
+        public void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                writeByte((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            writeByte((int) value);
+        }
+
+        public void writeZigZag(int value) {
+            writeVarInt((value << 1) ^ (value >> 31));
+        }
+
+        public void writeString(String s) {
+            if (s == null) s = "";
+            Integer id = strings.get(s);
+            if (id != null) {
+                writeVarInt(id + 1);
+                return;
+            }
+            strings.put(s, strings.size());
+            byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(0);
+            writeVarInt(utf8.length);
+            for (byte b : utf8) writeByte(b);
+        }
+
+        private void nextChunk() {
+            chunkIndex++;
+            if (chunkIndex == chunks.size()) chunks.add(new byte[CHUNK_SIZE]);
+            current = chunks.get(chunkIndex);
+            pos = 0;
+        }
+
+        /** Copies the written bytes out so the chunks can be reused while the copy is flushed off-thread. */
+        public byte[] toByteArray() {
+            byte[] out = new byte[size()];
+            for (int i = 0; i < chunkIndex; i++) {
+                System.arraycopy(chunks.get(i), 0, out, i * CHUNK_SIZE, CHUNK_SIZE);
+            }
+            System.arraycopy(current, 0, out, chunkIndex * CHUNK_SIZE, pos);
+            return out;
+        }
+
+        public static void writeHeader(OutputStream out) throws IOException {
+            out.write(MAGIC);
+            out.write(VERSION);  // single-byte varint while VERSION < 128
+        }
+    }
+
+    /** Sequential reader for a decompressed .tmrun stream. */
+    public static final class Reader {
+        private final InputStream in;
+        private final List<String> strings = new ArrayList<>();
+        private final int version;
+        private long timeMs;
+
+        public Reader(InputStream in) throws IOException {
+            this.in = in;
+            byte[] magic = in.readNBytes(MAGIC.length);
+            if (!java.util.Arrays.equals(magic, MAGIC)) throw new IOException("Not a TeslaMaps run log");
+            version = readVarInt();
+            if (version < MIN_VERSION || version > VERSION) throw new IOException("Unsupported run log version " + version);
+        }
+
+        public int version() {
+            return version;
+        }
+
+        /** Reads the next event header; returns the event type (or {@link #RUN_END} at EOF). */
+        public int next() throws IOException {
+            int type = in.read();
+            if (type < 0) return RUN_END;
+            if (type == RUN_END) return RUN_END;
+            timeMs += readVarInt();
+            return type;
+        }
+
+        /** Milliseconds since the start of the recording for the current event. */
+        public long timeMs() {
+            return timeMs;
+        }
+
+        public int readByte() throws IOException {
+            int b = in.read();
+            if (b < 0) throw new EOFException();
+            return b;
+        }
+
+        public int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            throw new IOException("VarInt too long");
+        }
+
+        public long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 70; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            throw new IOException("VarLong too long");
+        }
+
+        public int readZigZag() throws IOException {
+            int v = readVarInt();
+            return (v >>> 1) ^ -(v & 1);
+        }
+
+        public String readString() throws IOException {
+            int ref = readVarInt();
+            if (ref > 0) return strings.get(ref - 1);
+            int len = readVarInt();
+            String s = new String(in.readNBytes(len), StandardCharsets.UTF_8);
+            strings.add(s);
+            return s;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.replay;
+
+import com.teslamaps.TeslaMaps;
+import com.teslamaps.config.TeslaMapsConfig;
+import com.teslamaps.map.CheckmarkState;
+import com.teslamaps.utils.ScoreboardUtils;
+import com.teslamaps.utils.TabListUtils;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.client.Minecraft;
+import net.minecraft.world.entity.player.Player;
+
+/**
+ * Records a dungeon run into a {@link RunLog} while {@code recordRuns} is on. Hooks are a single branch when
+ * not recording; while recording they only append bytes to a reused chunk buffer. The buffer is copied and
+ * written to config/teslamaps/runs/ off-thread when the run ends.
+ */
+public class RunRecorder {
+    private static final Path RUNS_DIR = FabricLoader.getInstance().getConfigDir().resolve("teslamaps").resolve("runs");
+    private static final int MAX_BYTES = 4 * 1024 * 1024;
+    private static final int MAX_SLOTS = 16;
+
+    private static final RunLog.Writer writer = new RunLog.Writer(MAX_BYTES);
+    private static final ExecutorService FLUSH = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "TeslaMaps-RunRecorder");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private static boolean recording = false;
+    private static String floor = "";
+    private static long startMs = 0;
+    private static long lastEventMs = 0;
+    private static int tickCounter = 0;
+
+    private static final byte[] lastColors = new byte[128 * 128];
+
+    private static final List<String> lastScoreboard = new ArrayList<>();
+    private static final List<String> lastTab = new ArrayList<>();
+    private static String lastActionBar = "";
+
+    private static final Map<String, Integer> playerSlots = new HashMap<>();
+    private static final int[] lastPos = new int[MAX_SLOTS * 3];
+
+    public static Path getRunsDir() {
+        return RUNS_DIR;
+    }
+
+    public static boolean isRecording() {
+        return recording;
+    }
+
+    public static void start(String floorName) {
+        if (!TeslaMapsConfig.get().recordRuns) return;
+        writer.reset();
+        java.util.Arrays.fill(lastColors, (byte) 0);
+        java.util.Arrays.fill(lastPos, 0);
+        lastScoreboard.clear();
+        lastTab.clear();
+        lastActionBar = "";
+        playerSlots.clear();
+        tickCounter = 0;
+        floor = floorName == null ? "" : floorName;
+        startMs = System.currentTimeMillis();
+        lastEventMs = startMs;
+        recording = true;
+
+        Minecraft mc = Minecraft.getInstance();
+        String self = mc.player != null ? mc.player.getName().getString() : "";
+        if (begin(RunLog.RUN_START, 24 + (floor.length() + self.length()) * 3)) {
+            writer.writeString(floor);
+            writer.writeVarLong(startMs);
+            writer.writeString(self);
+        }
+        TeslaMaps.LOGGER.info("[RunRecorder] Recording {}", floor);
+    }
+
+    public static void stop() {
+        if (!recording) return;
+        recording = false;
+        writer.writeByte(RunLog.RUN_END);
+
+        byte[] data = writer.toByteArray();
+        boolean truncated = writer.isTruncated();
+        String name = new java.text.SimpleDateFormat("yyyyMMdd-HHmmss").format(new java.util.Date(startMs))
+                + "_" + (floor.isEmpty() ? "unknown" : floor) + RunLog.EXTENSION;
+        FLUSH.execute(() -> {
+            Path path = RUNS_DIR.resolve(name);
+            try {
+                Files.createDirectories(RUNS_DIR);
+                try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(path))) {
+                    RunLog.Writer.writeHeader(out);
+                    out.write(data);
+                }
+                TeslaMaps.LOGGER.info("[RunRecorder] Saved {} ({} KB raw{})", path.getFileName(),
+                        data.length / 1024, truncated ? ", truncated" : "");
+            } catch (Exception e) {
+                TeslaMaps.LOGGER.error("[RunRecorder] Failed to save " + path, e);
+            }
+        });
+    }
+
+    /** Writes an event header if there is room for {@code maxPayload} more bytes. */
+    private static boolean begin(int type, int maxPayload) {
+        if (!writer.reserve(maxPayload + 6)) return false;
+        long now = System.currentTimeMillis();
+        writer.writeByte(type);
+        writer.writeVarInt((int) Math.max(0, now - lastEventMs));
+        lastEventMs = now;
+        return true;
+    }
+
+    public static void tick() {
+        if (!recording) return;
+        Minecraft mc = Minecraft.getInstance();
+        if (mc.level == null || mc.player == null) return;
+        tickCounter++;
+
+        if (tickCounter % 2 == 0) {
+            for (Player player : mc.level.players()) {
+                recordPosition(player.getName().getString(), player.getX(), player.getY(), player.getZ());
+            }
+        }
+
+        if (tickCounter % 20 == 0) {
+            recordLines(RunLog.SCOREBOARD, ScoreboardUtils.getScoreboardLines(), lastScoreboard);
+            recordLines(RunLog.TAB, TabListUtils.getOrderedTabListLines(), lastTab);
+        }
+    }
+
+    private static void recordPosition(String name, double x, double y, double z) {
+        Integer slot = playerSlots.get(name);
+        if (slot == null) {
+            if (playerSlots.size() >= MAX_SLOTS) return;
+            slot = playerSlots.size();
+            playerSlots.put(name, slot);
+            if (!begin(RunLog.PLAYER, 8 + name.length() * 3)) return;
+            writer.writeByte(slot);
+            writer.writeString(name);
+        }
+
+        int qx = (int) Math.round(x * RunLog.POSITION_SCALE);
+        int qy = (int) Math.round(y * RunLog.POSITION_SCALE);
+        int qz = (int) Math.round(z * RunLog.POSITION_SCALE);
+        int base = slot * 3;
+        int dx = qx - lastPos[base], dy = qy - lastPos[base + 1], dz = qz - lastPos[base + 2];
+        if (dx == 0 && dy == 0 && dz == 0) return;
+        if (!begin(RunLog.POSITION, 16)) return;
+        writer.writeByte(slot);
+        writer.writeZigZag(dx);
+        writer.writeZigZag(dy);
+        writer.writeZigZag(dz);
+        lastPos[base] = qx;
+        lastPos[base + 1] = qy;
+        lastPos[base + 2] = qz;
+    }
+
+    private static void recordLines(int type, List<String> lines, List<String> last) {
+        int changed = 0;
+        int bytes = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            if (i >= last.size() || !lines.get(i).equals(last.get(i))) {
+                changed++;
+                bytes += 8 + lines.get(i).length() * 3;
+            }
+        }
+        if (changed == 0 && lines.size() == last.size()) return;
+        if (!begin(type, bytes + 8)) return;
+        writer.writeVarInt(lines.size());
+        writer.writeVarInt(changed);
+        for (int i = 0; i < lines.size(); i++) {
+            if (i >= last.size() || !lines.get(i).equals(last.get(i))) {
+                writer.writeVarInt(i);
+                writer.writeString(lines.get(i));
+            }
+        }
+        last.clear();
+        last.addAll(lines);
+    }
+
+    public static void onMapColors(byte[] colors) {
+        if (!recording || colors == null || colors.length < lastColors.length) return;
+        int changed = 0;
+        for (int i = 0; i < lastColors.length; i++) {
+            if (colors[i] != lastColors[i]) changed++;
+        }
+        if (changed == 0) return;
+        if (!begin(RunLog.MAP_DIFF, 5 + changed * 4)) return;
+        writer.writeVarInt(changed);
+        int prev = 0;
+        for (int i = 0; i < lastColors.length; i++) {
+            if (colors[i] == lastColors[i]) continue;
+            writer.writeVarInt(i - prev);
+            writer.writeByte(colors[i]);
+            lastColors[i] = colors[i];
+            prev = i;
+        }
+    }
+
+    public static void onRoomIdentified(int gridX, int gridZ, int core, String name, int rotation) {
+        if (!recording) return;
+        if (!begin(RunLog.ROOM, 24 + (name == null ? 0 : name.length() * 3))) return;
+        writer.writeByte(gridX);
+        writer.writeByte(gridZ);
+        writer.writeZigZag(core);
+        writer.writeString(name);
+        writer.writeVarInt(rotation + 1);
+    }
+
+    public static void onColumn(int gridX, int gridZ, int core, int[] legacyIds) {
+        if (!recording) return;
+        if (!begin(RunLog.COLUMN, 16 + legacyIds.length)) return;
+        writer.writeByte(gridX);
+        writer.writeByte(gridZ);
+        writer.writeZigZag(core);
+        writer.writeVarInt(legacyIds.length);
+        for (int id : legacyIds) writer.writeByte(id);
+    }
+
+    public static void onCheckmark(int gridX, int gridZ, CheckmarkState state) {
+        if (!recording) return;
+        if (!begin(RunLog.CHECKMARK, 3)) return;
+        writer.writeByte(gridX);
+        writer.writeByte(gridZ);
+        writer.writeByte(state.ordinal());
+    }
+
+    public static void onChat(String text) {
+        if (!recording) return;
+        if (!begin(RunLog.CHAT, 8 + text.length() * 3)) return;
+        writer.writeString(text);
+    }
+
+    public static void onActionBar(String text) {
+        if (!recording || text.equals(lastActionBar)) return;
+        lastActionBar = text;
+        if (!begin(RunLog.ACTION_BAR, 8 + text.length() * 3)) return;
+        writer.writeString(text);
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.replay;
+
+import com.teslamaps.dungeon.DungeonFloor;
+import com.teslamaps.dungeon.DungeonManager;
+import com.teslamaps.dungeon.DungeonScore;
+import com.teslamaps.dungeon.Splits;
+import com.teslamaps.map.DungeonRoom;
+import com.teslamaps.scanner.ComponentGrid;
+import com.teslamaps.scanner.CoreHasher;
+import com.teslamaps.scanner.MapScanner;
+import com.teslamaps.scanner.RoomScanner;
+import com.teslamaps.scanner.SecretTracker;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Feeds a recorded .tmrun back through the scanner stack (room placement from recorded core columns,
+ * MapScanner checkmarks, SecretTracker, DungeonScore, Splits) on a simulated 20 TPS clock, with no world or
+ * server involved. Checks the derived state against what was recorded and reports throughput, which makes it
+ * the benchmark for scanner changes. Runs synchronously on the calling thread; must not be used in a dungeon.
+ */
+public final class RunReplayer {
+    private static final int TICK_MS = 50;
+    private static final int SETTLE_TICKS = 40;  // enough map scans after the last event for checkmark debounce
+
+    public static final class Result {
+        public String floor = "";
+        public int events;
+        public int ticks;
+        public int rooms;
+        public int identifiedRooms;
+        public int columns;
+        public int coreMismatches;
+        public int roomMismatches;
+        public int checkmarksCompared;
+        public int checkmarkMismatches;
+        public int score;
+        public int secretsFound;
+        public final List<String> roomStates = new ArrayList<>();  // "x,z Name STATE found/total", one per room
+        public final List<String> splits = new ArrayList<>();
+        public long nanos;
+        public long allocatedBytes = -1;  // -1 when the JVM can't measure per-thread allocation
+
+        public double eventsPerSecond() {
+            return nanos == 0 ? 0 : events * 1_000_000_000.0 / nanos;
+        }
+
+        public double bytesPerEvent() {
+            return allocatedBytes < 0 || events == 0 ? -1 : (double) allocatedBytes / events;
+        }
+    }
+
+    private final byte[] colors = new byte[128 * 128];
+    private final int[] column = new int[CoreHasher.COLUMN_HEIGHT];
+    private final int[] recordedCheckmarks = new int[ComponentGrid.GRID_SIZE * ComponentGrid.GRID_SIZE];
+    private final String[] slotNames = new String[16];
+    private final int[] slotPos = new int[16 * 3];
+    private final Result result = new Result();
+    private String self = "";
+    private long startMs;
+    private long tickMs;
+    private boolean mapSeen;
+
+    private RunReplayer() {}
+
+    public static Result replay(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return replay(in);
+        }
+    }
+
+    /** Replays a gzipped recording; the caller closes {@code file}. */
+    public static Result replay(InputStream file) throws IOException {
+        if (DungeonManager.isInDungeon()) throw new IllegalStateException("Can't replay while in a dungeon");
+        InputStream in = new BufferedInputStream(new GZIPInputStream(file, 64 * 1024));
+        return new RunReplayer().run(new RunLog.Reader(in));
+    }
+
+    private Result run(RunLog.Reader reader) throws IOException {
+        Arrays.fill(recordedCheckmarks, -1);
+        com.sun.management.ThreadMXBean threads = allocationBean();
+        long threadId = Thread.currentThread().threadId();
+        long allocStart = threads != null ? threads.getThreadAllocatedBytes(threadId) : 0;
+        long start = System.nanoTime();
+
+        try {
+            int type;
+            while ((type = reader.next()) != RunLog.RUN_END) {
+                if (result.events > 0) advanceTo(reader.timeMs());
+                apply(type, reader);
+                result.events++;
+            }
+            advanceTo(tickMs + (long) SETTLE_TICKS * TICK_MS);
+
+            result.nanos = System.nanoTime() - start;
+            if (threads != null) result.allocatedBytes = threads.getThreadAllocatedBytes(threadId) - allocStart;
+            collect();
+        } finally {
+            DungeonManager.endReplay();
+            ReplaySources.end();
+        }
+        return result;
+    }
+
+    private void apply(int type, RunLog.Reader reader) throws IOException {
+        switch (type) {
+            case RunLog.RUN_START -> {
+                result.floor = reader.readString();
+                startMs = reader.readVarLong();
+                self = reader.version() >= 2 ? reader.readString() : "";
+                ReplaySources.begin(startMs);
+                DungeonManager.beginReplay(DungeonFloor.fromString(result.floor));
+            }
+            case RunLog.MAP_DIFF -> {
+                int count = reader.readVarInt();
+                int index = 0;
+                for (int i = 0; i < count; i++) {
+                    index += reader.readVarInt();
+                    colors[index] = (byte) reader.readByte();
+                }
+                mapSeen = true;
+            }
+            case RunLog.COLUMN -> {
+                int gridX = reader.readByte();
+                int gridZ = reader.readByte();
+                int core = reader.readZigZag();
+                int n = reader.readVarInt();
+                int[] ids = n == column.length ? column : new int[n];
+                for (int i = 0; i < n; i++) ids[i] = reader.readByte();
+                int computed = CoreHasher.calculateCore(ids);
+                if (computed != core) result.coreMismatches++;
+                result.columns++;
+                RoomScanner.placeRoom(gridX, gridZ, computed, ids, false);
+            }
+            case RunLog.ROOM -> {
+                int gridX = reader.readByte();
+                int gridZ = reader.readByte();
+                reader.readZigZag();
+                String name = reader.readString();
+                int rotation = reader.readVarInt() - 1;
+                DungeonRoom room = DungeonManager.getRoomAt(gridX, gridZ);
+                if (room == null || !name.equals(room.getName())) {
+                    result.roomMismatches++;
+                } else if (rotation >= 0 && !room.hasRotation()) {
+                    room.setRotation(rotation);
+                }
+            }
+            case RunLog.CHECKMARK -> {
+                int gridX = reader.readByte();
+                int gridZ = reader.readByte();
+                recordedCheckmarks[gridX * ComponentGrid.GRID_SIZE + gridZ] = reader.readByte();
+            }
+            case RunLog.CHAT -> {
+                String text = reader.readString();
+                DungeonScore.onChatMessage(text);
+                Splits.onChatMessage(text);
+            }
+            case RunLog.ACTION_BAR -> SecretTracker.onActionBarText(reader.readString());
+            case RunLog.SCOREBOARD -> {
+                readLines(reader, ReplaySources.scoreboard);
+                DungeonManager.updateReplayState();
+            }
+            case RunLog.TAB -> readLines(reader, ReplaySources.tab);
+            case RunLog.PLAYER -> {
+                int slot = reader.readByte();
+                slotNames[slot] = reader.readString();
+            }
+            case RunLog.POSITION -> {
+                int slot = reader.readByte();
+                int base = slot * 3;
+                slotPos[base] += reader.readZigZag();
+                slotPos[base + 1] += reader.readZigZag();
+                slotPos[base + 2] += reader.readZigZag();
+                if (self.equals(slotNames[slot])) {
+                    ReplaySources.setPlayer((double) slotPos[base] / RunLog.POSITION_SCALE,
+                            (double) slotPos[base + 1] / RunLog.POSITION_SCALE,
+                            (double) slotPos[base + 2] / RunLog.POSITION_SCALE);
+                }
+            }
+            default -> throw new IOException("Unknown event type " + type);
+        }
+    }
+
+    private static void readLines(RunLog.Reader reader, List<String> lines) throws IOException {
+        int size = reader.readVarInt();
+        int changed = reader.readVarInt();
+        while (lines.size() > size) lines.remove(lines.size() - 1);
+        while (lines.size() < size) lines.add("");
+        for (int i = 0; i < changed; i++) {
+            int index = reader.readVarInt();
+            lines.set(index, reader.readString());
+        }
+    }
+
+    /** Runs the client-tick work of every simulated tick up to {@code timeMs} into the recording. */
+    private void advanceTo(long timeMs) {
+        while (tickMs + TICK_MS <= timeMs) {
+            tickMs += TICK_MS;
+            result.ticks++;
+            ReplaySources.setNow(startMs + tickMs);
+            SecretTracker.tick();
+            Splits.tick();
+            if (result.ticks % 10 == 0) {
+                if (mapSeen) MapScanner.processMapColors(colors);
+                DungeonScore.calculateScore();
+            }
+        }
+    }
+
+    private void collect() {
+        ComponentGrid grid = DungeonManager.getGrid();
+        result.rooms = grid.getRoomCount();
+        for (DungeonRoom room : grid.getAllRooms()) {
+            if (room.isIdentified()) result.identifiedRooms++;
+        }
+        for (int i = 0; i < recordedCheckmarks.length; i++) {
+            if (recordedCheckmarks[i] < 0) continue;
+            result.checkmarksCompared++;
+            DungeonRoom room = grid.getRoom(i / ComponentGrid.GRID_SIZE, i % ComponentGrid.GRID_SIZE);
+            if (room == null || room.getCheckmarkState().ordinal() != recordedCheckmarks[i]) {
+                result.checkmarkMismatches++;
+            }
+        }
+        List<DungeonRoom> rooms = new ArrayList<>(grid.getAllRooms());
+        rooms.sort(Comparator.comparingInt((DungeonRoom r) -> r.getPrimaryComponent()[0])
+                .thenComparingInt(r -> r.getPrimaryComponent()[1]));
+        for (DungeonRoom room : rooms) {
+            int[] cell = room.getPrimaryComponent();
+            result.roomStates.add(cell[0] + "," + cell[1] + " " + room.getName() + " " + room.getCheckmarkState()
+                    + " " + Math.max(0, room.getFoundSecrets()) + "/" + room.getSecrets());
+        }
+        result.secretsFound = SecretTracker.getDungeonSecretsFound();
+        result.score = DungeonScore.getScore();
+        List<Splits.Split> splits = Splits.getSplits();
+        long first = splits.isEmpty() ? 0L : splits.get(0).time;
+        for (Splits.Split split : splits) {
+            String name = split.name.replaceAll("(?i)§[0-9A-FK-OR]", "");
+            result.splits.add(split.time == 0L || first == 0L ? name + " -" : name + " " + (split.time - first) + "ms");
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+            return bean;
+        }
+        return null;
+    }
+}
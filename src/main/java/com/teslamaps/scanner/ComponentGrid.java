@@ -16,10 +16,12 @@
 package com.teslamaps.scanner;
 
 import com.teslamaps.map.DungeonRoom;
+import com.teslamaps.map.RoomType;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Collections;
+import java.util.List;
 
 public class ComponentGrid {
     public static final int DUNGEON_MIN_X = -200;
@@ -34,25 +36,88 @@ public class ComponentGrid {
 
     public static final int GRID_SIZE = 6;       // 6x6 component grid
 
-    private final Map<Integer, DungeonRoom> rooms = new HashMap<>();
+    // Cell index is gridX * GRID_SIZE + gridZ, same key RoomScanner uses for scannedPositions
+    private final DungeonRoom[] cells = new DungeonRoom[GRID_SIZE * GRID_SIZE];
+
+    // Unique rooms (by identity) in first-seen cell order, rebuilt only when a cell changes
+    private final List<DungeonRoom> uniqueRooms = new ArrayList<>(GRID_SIZE * GRID_SIZE);
+    private final List<DungeonRoom> uniqueRoomsView = Collections.unmodifiableList(uniqueRooms);
+
+    private DungeonRoom entranceRoom;
+    private DungeonRoom bloodRoom;
+    private DungeonRoom fairyRoom;
+
+    // Bumped on every mutation so consumers can skip recomputing derived state
+    private int version = 0;
 
     public void clear() {
-        rooms.clear();
+        java.util.Arrays.fill(cells, null);
+        uniqueRooms.clear();
+        entranceRoom = null;
+        bloodRoom = null;
+        fairyRoom = null;
+        version++;
     }
 
     public void setRoom(int gridX, int gridZ, DungeonRoom room) {
-        if (isValidGridPos(gridX, gridZ)) {
-            rooms.put(gridX * GRID_SIZE + gridZ, room);
-        }
+        if (!isValidGridPos(gridX, gridZ)) return;
+        int index = gridX * GRID_SIZE + gridZ;
+        if (cells[index] == room) return;
+        cells[index] = room;
+        rebuildIndex();
     }
 
     public DungeonRoom getRoom(int gridX, int gridZ) {
         if (!isValidGridPos(gridX, gridZ)) return null;
-        return rooms.get(gridX * GRID_SIZE + gridZ);
+        return cells[gridX * GRID_SIZE + gridZ];
     }
 
+    /** Unique rooms in the grid. Read-only live view, valid until the next mutation - don't mutate the grid while iterating. */
     public Collection<DungeonRoom> getAllRooms() {
-        return new java.util.HashSet<>(rooms.values());
+        return uniqueRoomsView;
+    }
+
+    public int getRoomCount() {
+        return uniqueRooms.size();
+    }
+
+    public DungeonRoom getEntranceRoom() {
+        return entranceRoom;
+    }
+
+    public DungeonRoom getBloodRoom() {
+        return bloodRoom;
+    }
+
+    public DungeonRoom getFairyRoom() {
+        return fairyRoom;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    private void rebuildIndex() {
+        uniqueRooms.clear();
+        entranceRoom = null;
+        bloodRoom = null;
+        fairyRoom = null;
+        for (DungeonRoom room : cells) {
+            if (room == null || containsIdentity(room)) continue;
+            uniqueRooms.add(room);
+            RoomType type = room.getType();
+            if (type == RoomType.ENTRANCE && entranceRoom == null) entranceRoom = room;
+            else if (type == RoomType.BLOOD && bloodRoom == null) bloodRoom = room;
+            else if (type == RoomType.FAIRY && fairyRoom == null) fairyRoom = room;
+        }
+        version++;
+    }
+
+    private boolean containsIdentity(DungeonRoom room) {
+        for (int i = 0, n = uniqueRooms.size(); i < n; i++) {
+            if (uniqueRooms.get(i) == room) return true;
+        }
+        return false;
     }
 
     public boolean hasRoom(int gridX, int gridZ) {
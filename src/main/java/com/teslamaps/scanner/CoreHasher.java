@@ -443,33 +443,57 @@ public class CoreHasher {
         return 0;
     }
 
-    public static int calculateCore(Level world, int centerX, int centerZ) {
-        StringBuilder blockIds = new StringBuilder();
+    public static final int COLUMN_TOP = 140;
+    public static final int COLUMN_BOTTOM = 12;
+    public static final int COLUMN_HEIGHT = COLUMN_TOP - COLUMN_BOTTOM + 1;
+
+    // Block -> legacy id (blacklisted blocks map to 0), filled lazily so the registry key string is built once per block
+    private static final Map<Block, Integer> BLOCK_IDS = new java.util.IdentityHashMap<>();
 
-        for (int y = 140; y >= 12; y--) {
-            BlockPos pos = new BlockPos(centerX, y, centerZ);
-            Block block = world.getBlockState(pos).getBlock();
-            String blockName = BuiltInRegistries.BLOCK.getKey(block).toString();
+    private static final int[] columnBuffer = new int[COLUMN_HEIGHT];
+
+    public static int calculateCore(Level world, int centerX, int centerZ) {
+        readColumn(world, centerX, centerZ, columnBuffer);
+        return calculateCore(columnBuffer);
+    }
 
-            if (BLACKLISTED_BLOCKS.contains(blockName)) {
-                blockIds.append("0");
-            } else {
-                int legacyId = getLegacyBlockId(blockName);
-                blockIds.append(legacyId);
-            }
+    /** Fills {@code out} (length {@link #COLUMN_HEIGHT}) with legacy ids from y=140 down to y=12. */
+    public static void readColumn(Level world, int centerX, int centerZ, int[] out) {
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (int y = COLUMN_TOP; y >= COLUMN_BOTTOM; y--) {
+            Block block = world.getBlockState(pos.set(centerX, y, centerZ)).getBlock();
+            out[COLUMN_TOP - y] = legacyId(block);
         }
+    }
 
-        return hashCode(blockIds.toString());
+    private static int legacyId(Block block) {
+        Integer cached = BLOCK_IDS.get(block);
+        if (cached != null) return cached;
+        String blockName = BuiltInRegistries.BLOCK.getKey(block).toString();
+        int id = BLACKLISTED_BLOCKS.contains(blockName) ? 0 : getLegacyBlockId(blockName);
+        BLOCK_IDS.put(block, id);
+        return id;
     }
 
-    private static int hashCode(String s) {
+    /**
+     * Core hash of a column of legacy ids: the Java String hash of the ids' decimal digits concatenated,
+     * computed without building the string.
+     */
+    public static int calculateCore(int[] legacyIds) {
         int hash = 0;
-        for (int i = 0; i < s.length(); i++) {
-            hash = ((hash << 5) - hash) + s.charAt(i);
+        for (int id : legacyIds) {
+            if (id >= 100) hash = 31 * hash + ('0' + id / 100);
+            if (id >= 10) hash = 31 * hash + ('0' + (id / 10) % 10);
+            hash = 31 * hash + ('0' + id % 10);
         }
         return hash;
     }
 
+    /** Copy of the column read by the last {@link #calculateCore(Level, int, int)}; safe to keep. */
+    public static int[] lastColumn() {
+        return columnBuffer.clone();
+    }
+
     public static boolean isPositionLoaded(Level world, int x, int z) {
         return world.hasChunk(x >> 4, z >> 4);
     }
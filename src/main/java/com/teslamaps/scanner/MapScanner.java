@@ -20,6 +20,8 @@ import com.teslamaps.config.TeslaMapsConfig;
 import com.teslamaps.dungeon.DungeonManager;
 import com.teslamaps.map.CheckmarkState;
 import com.teslamaps.map.DungeonRoom;
+import com.teslamaps.replay.ReplaySources;
+import com.teslamaps.replay.RunRecorder;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -94,6 +96,12 @@ public class MapScanner {
             return;
         }
 
+        RunRecorder.onMapColors(colors);
+        processMapColors(colors);
+    }
+
+    /** Updates exploration and checkmark state of every known room from a 128x128 map color buffer. */
+    public static void processMapColors(byte[] colors) {
         if (!mapParamsDetected) {
             detectMapParameters(colors);
         }
@@ -232,11 +240,12 @@ public class MapScanner {
             }
 
             int scansSinceExplored = roomExplorationScanCount.getOrDefault(roomKey, 0);
-            com.teslamaps.dungeon.InstaClearAlert.onRoomState(room, bestState);
+            if (!ReplaySources.isActive()) com.teslamaps.dungeon.InstaClearAlert.onRoomState(room, bestState);
             if (bestState != CheckmarkState.UNEXPLORED && room.getCheckmarkState() != bestState) {
                 if (wasAlreadyExplored && scansSinceExplored >= 2) {
                     CheckmarkState oldState = room.getCheckmarkState();
                     room.setCheckmarkState(bestState);
+                    RunRecorder.onCheckmark(room.getPrimaryComponent()[0], room.getPrimaryComponent()[1], bestState);
                     TeslaMaps.LOGGER.debug("[MapScanner] Room '{}' [{}] checkmark updated: {} -> {} (after {} scans)",
                             room.getName(), room.getPrimaryComponent()[0] + "," + room.getPrimaryComponent()[1],
                             oldState, bestState, scansSinceExplored);
@@ -447,14 +456,7 @@ public class MapScanner {
 
     private static double[] mapToWorldPosition(int mapX, int mapY, boolean isVerticalDoor) {
 
-        DungeonRoom entranceRoom = null;
-        for (DungeonRoom room : DungeonManager.getGrid().getAllRooms()) {
-            if (room.getType() == com.teslamaps.map.RoomType.ENTRANCE) {
-                entranceRoom = room;
-                break;
-            }
-        }
-
+        DungeonRoom entranceRoom = DungeonManager.getGrid().getEntranceRoom();
         if (entranceRoom == null) {
             return null;
         }
@@ -547,13 +549,7 @@ public class MapScanner {
         } else {
             mapRoomSize = roomSize;
 
-            DungeonRoom entranceRoom = null;
-            for (DungeonRoom room : DungeonManager.getGrid().getAllRooms()) {
-                if (room.getType() == com.teslamaps.map.RoomType.ENTRANCE) {
-                    entranceRoom = room;
-                    break;
-                }
-            }
+            DungeonRoom entranceRoom = DungeonManager.getGrid().getEntranceRoom();
 
             if (entranceRoom != null) {
                 int[] entranceGrid = entranceRoom.getPrimaryComponent();
@@ -574,20 +570,15 @@ public class MapScanner {
         mapParamsDetected = true;
     }
 
+    private static final int[][] ADJACENT_OFFSETS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+
     private static boolean isAdjacentToEntrance(DungeonRoom room) {
-        DungeonRoom entrance = null;
-        for (DungeonRoom r : DungeonManager.getGrid().getAllRooms()) {
-            if (r.getType() == com.teslamaps.map.RoomType.ENTRANCE) {
-                entrance = r;
-                break;
-            }
-        }
+        DungeonRoom entrance = DungeonManager.getGrid().getEntranceRoom();
         if (entrance == null) return false;
 
-        int[][] offsets = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
         for (int[] comp : room.getComponents()) {
             for (int[] entranceComp : entrance.getComponents()) {
-                for (int[] offset : offsets) {
+                for (int[] offset : ADJACENT_OFFSETS) {
                     if (comp[0] + offset[0] == entranceComp[0] && comp[1] + offset[1] == entranceComp[1]) {
                         return true;
                     }
@@ -0,0 +1,242 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.scanner;
+
+import com.teslamaps.map.DungeonRoom;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import net.minecraft.client.Minecraft;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+
+/**
+ * A room's anchor block and rotation, and the room-relative <-> world transforms built on it.
+ *
+ * Two anchors exist per room: the corner from {@link RoomScanner#detectRotation} (what the puzzle solvers use)
+ * and the blue terracotta "clay" marker (rotation-invariant waypoint files). Both use the same convention:
+ * world = anchor + relative rotated by (360 - rotation). Frames are resolved once per room and cached until
+ * the room gains a component; a clay scan that hits unloaded chunks is only retried after a chunk loads.
+ */
+public final class RoomFrame {
+    // offsets from a component center to the clay marker, tried in this order (legacy scan order)
+    private static final int[][] CLAY_OFFSETS = {{15, 15}, {-15, -15}, {15, -15}, {-15, 15}};
+    private static final int[] CLAY_ROTATIONS = {180, 0, 90, 270};
+    private static final int CLAY_TOP = 150;
+    private static final int CLAY_BOTTOM = 11;
+
+    private static final Map<DungeonRoom, Entry> entries = new IdentityHashMap<>();
+    private static int chunkLoads = 0;
+
+    private final int anchorX;
+    private final int anchorZ;
+    private final int rotation;
+    private final boolean clay;
+
+    private RoomFrame(int anchorX, int anchorZ, int rotation, boolean clay) {
+        this.anchorX = anchorX;
+        this.anchorZ = anchorZ;
+        this.rotation = ((rotation % 360) + 360) % 360;
+        this.clay = clay;
+    }
+
+    private static final class Entry {
+        int components;
+        RoomFrame corner;
+        RoomFrame clay;
+        boolean clayMissing;    // scanned with every candidate chunk loaded and found no marker
+        int scannedAt = -1;     // chunkLoads at the last scan
+    }
+
+    /** A free-standing corner frame, for callers probing candidate anchors. */
+    public static RoomFrame at(int anchorX, int anchorZ, int rotation) {
+        return new RoomFrame(anchorX, anchorZ, rotation, false);
+    }
+
+    /** Corner + rotation from room identification, or null until the rotation is known. */
+    public static RoomFrame corner(DungeonRoom room) {
+        if (room == null || !room.hasRotation()) return null;
+        Entry e = entry(room);
+        RoomFrame f = e.corner;
+        if (f == null || f.rotation != room.getRotation() || f.anchorX != room.getCornerX() || f.anchorZ != room.getCornerZ()) {
+            e.corner = f = new RoomFrame(room.getCornerX(), room.getCornerZ(), room.getRotation(), false);
+        }
+        return f;
+    }
+
+    /** The blue terracotta frame, or null if it isn't loaded yet or the room has none. */
+    public static RoomFrame clay(DungeonRoom room) {
+        if (room == null || room.getComponents().isEmpty()) return null;
+        Entry e = entry(room);
+        if (e.clay != null || e.clayMissing || e.scannedAt == chunkLoads) return e.clay;
+
+        Level level = Minecraft.getInstance().level;
+        if (level == null) return null;
+        e.scannedAt = chunkLoads;
+        e.clay = scanClay(level, room, e);
+        return e.clay;
+    }
+
+    /** The clay frame if the room has one, otherwise its corner frame once the clay scan has ruled it out. */
+    public static RoomFrame of(DungeonRoom room) {
+        RoomFrame f = clay(room);
+        if (f != null) return f;
+        Entry e = room == null ? null : entries.get(room);
+        return e != null && e.clayMissing ? corner(room) : null;
+    }
+
+    public static void onChunkLoad() {
+        chunkLoads++;
+    }
+
+    public static void reset() {
+        entries.clear();
+    }
+
+    private static Entry entry(DungeonRoom room) {
+        Entry e = entries.get(room);
+        if (e == null) {
+            e = new Entry();
+            e.components = room.getComponents().size();
+            entries.put(room, e);
+        } else if (e.components != room.getComponents().size()) {
+            e.components = room.getComponents().size();
+            e.clay = null;
+            e.clayMissing = false;
+            e.scannedAt = -1;
+        }
+        return e;
+    }
+
+    private static RoomFrame scanClay(Level level, DungeonRoom room, Entry e) {
+        List<int[]> comps = room.getComponents();
+        boolean multi = comps.size() > 1;
+        boolean unloaded = false;
+        BlockPos.MutableBlockPos m = new BlockPos.MutableBlockPos();
+        for (int i = 0; i < CLAY_OFFSETS.length; i++) {
+            for (int[] comp : comps) {
+                int[] corner = ComponentGrid.gridToWorldCorner(comp[0], comp[1]);
+                int bx = corner[0] + ComponentGrid.HALF_ROOM_SIZE + CLAY_OFFSETS[i][0];
+                int bz = corner[1] + ComponentGrid.HALF_ROOM_SIZE + CLAY_OFFSETS[i][1];
+                if (!CoreHasher.isPositionLoaded(level, bx, bz)) {
+                    unloaded = true;
+                    continue;
+                }
+                for (int y = CLAY_TOP; y >= CLAY_BOTTOM; y--) {
+                    if (level.getBlockState(m.set(bx, y, bz)).is(Blocks.BLUE_TERRACOTTA)
+                            && (!multi || neighborsClear(level, m, bx, y, bz))) {
+                        return new RoomFrame(bx, bz, CLAY_ROTATIONS[i], true);
+                    }
+                }
+            }
+        }
+        e.clayMissing = !unloaded;
+        return null;
+    }
+
+    // multi-component rooms have decorative terracotta; the marker stands alone
+    private static boolean neighborsClear(Level level, BlockPos.MutableBlockPos m, int x, int y, int z) {
+        for (int d = 0; d < 4; d++) {
+            int dx = d == 0 ? 1 : d == 1 ? -1 : 0;
+            int dz = d == 2 ? 1 : d == 3 ? -1 : 0;
+            Block b = level.getBlockState(m.set(x + dx, y, z + dz)).getBlock();
+            if (b != Blocks.AIR && b != Blocks.BLUE_TERRACOTTA) return false;
+        }
+        return true;
+    }
+
+    public int anchorX() {
+        return anchorX;
+    }
+
+    public int anchorZ() {
+        return anchorZ;
+    }
+
+    /** 0, 90, 180 or 270, same convention as {@link DungeonRoom#getRotation()}. */
+    public int rotation() {
+        return rotation;
+    }
+
+    public boolean isClay() {
+        return clay;
+    }
+
+    public int worldX(int relX, int relZ) {
+        return switch (rotation) {
+            case 90 -> anchorX - relZ;
+            case 180 -> anchorX - relX;
+            case 270 -> anchorX + relZ;
+            default -> anchorX + relX;
+        };
+    }
+
+    public int worldZ(int relX, int relZ) {
+        return switch (rotation) {
+            case 90 -> anchorZ + relX;
+            case 180 -> anchorZ - relZ;
+            case 270 -> anchorZ - relX;
+            default -> anchorZ + relZ;
+        };
+    }
+
+    public double worldX(double relX, double relZ) {
+        return switch (rotation) {
+            case 90 -> anchorX - relZ;
+            case 180 -> anchorX - relX;
+            case 270 -> anchorX + relZ;
+            default -> anchorX + relX;
+        };
+    }
+
+    public double worldZ(double relX, double relZ) {
+        return switch (rotation) {
+            case 90 -> anchorZ + relX;
+            case 180 -> anchorZ - relZ;
+            case 270 -> anchorZ - relX;
+            default -> anchorZ + relZ;
+        };
+    }
+
+    public int relX(int worldX, int worldZ) {
+        int dx = worldX - anchorX, dz = worldZ - anchorZ;
+        return switch (rotation) {
+            case 90 -> dz;
+            case 180 -> -dx;
+            case 270 -> -dz;
+            default -> dx;
+        };
+    }
+
+    public int relZ(int worldX, int worldZ) {
+        int dx = worldX - anchorX, dz = worldZ - anchorZ;
+        return switch (rotation) {
+            case 90 -> -dx;
+            case 180 -> -dz;
+            case 270 -> dx;
+            default -> dz;
+        };
+    }
+
+    /** Writes the world position of a relative point into {@code out} (Y is absolute). */
+    public BlockPos.MutableBlockPos toWorld(int relX, int y, int relZ, BlockPos.MutableBlockPos out) {
+        return out.set(worldX(relX, relZ), y, worldZ(relX, relZ));
+    }
+
+    public BlockPos toWorld(int relX, int y, int relZ) {
+        return new BlockPos(worldX(relX, relZ), y, worldZ(relX, relZ));
+    }
+}
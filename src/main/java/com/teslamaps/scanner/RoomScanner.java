@@ -17,11 +17,13 @@ package com.teslamaps.scanner;
 
 import com.teslamaps.TeslaMaps;
 import com.teslamaps.config.TeslaMapsConfig;
+import com.teslamaps.database.RoomColumnIndex;
 import com.teslamaps.database.RoomData;
 import com.teslamaps.database.RoomDatabase;
 import com.teslamaps.dungeon.DungeonManager;
 import com.teslamaps.map.DungeonRoom;
 import com.teslamaps.map.RoomType;
+import com.teslamaps.replay.RunRecorder;
 import java.util.HashSet;
 import java.util.Set;
 import net.minecraft.client.Minecraft;
@@ -140,57 +142,80 @@ public class RoomScanner {
             return false;
         }
 
-        RoomData roomData = RoomDatabase.getInstance().findByCore(coreHash);
-
-        if (roomData != null) {
-            TeslaMaps.LOGGER.debug("[ScanDebug] [{},{}] Looking for adjacent room named '{}'",
-                    gridX, gridZ, roomData.getName());
-
-            DungeonRoom existingRoom = findAdjacentRoomWithName(gridX, gridZ, roomData.getName());
-
-            if (existingRoom != null) {
-                existingRoom.addComponent(gridX, gridZ);
-                DungeonManager.getGrid().setRoom(gridX, gridZ, existingRoom);
-
-                detectAndSetRotation(existingRoom);
-
-                TeslaMaps.LOGGER.debug("[ScanDebug] [{},{}] Added to existing room '{}' (now {} components)",
-                        gridX, gridZ, roomData.getName(), existingRoom.getComponents().size());
-            } else {
-                int[][] offsets = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
-                String[] dirs = {"West", "East", "North", "South"};
-                for (int i = 0; i < offsets.length; i++) {
-                    int adjX = gridX + offsets[i][0];
-                    int adjZ = gridZ + offsets[i][1];
-                    DungeonRoom adj = DungeonManager.getGrid().getRoom(adjX, adjZ);
-                    if (adj != null) {
-                        TeslaMaps.LOGGER.debug("[ScanDebug] [{},{}] {} neighbor [{},{}] has room '{}' (expected '{}')",
-                                gridX, gridZ, dirs[i], adjX, adjZ, adj.getName(), roomData.getName());
-                    }
-                }
-
-                DungeonRoom room = new DungeonRoom(gridX, gridZ);
-                room.loadFromRoomData(roomData);
-                DungeonManager.addRoom(room);
-
-                detectAndSetRotation(room);
+        int[] column = CoreHasher.lastColumn();
+        RunRecorder.onColumn(gridX, gridZ, coreHash, column);
 
-                TeslaMaps.LOGGER.debug("[ScanDebug] [{},{}] Created NEW room '{}' core={} rotation={}",
-                        gridX, gridZ, roomData.getName(), coreHash, room.getRotation());
-            }
-
-            return true;
+        DungeonRoom room = placeRoom(gridX, gridZ, coreHash, column, true);
+        if (room.isIdentified()) {
+            detectAndSetRotation(room);
+        }
+        RunRecorder.onRoomIdentified(gridX, gridZ, coreHash, room.getName(), room.getRotation());
+        if (room.isIdentified()) {
+            TeslaMaps.LOGGER.debug("[ScanDebug] [{},{}] Room '{}' core={} rotation={} ({} components)",
+                    gridX, gridZ, room.getName(), coreHash, room.getRotation(), room.getComponents().size());
         } else {
             TeslaMaps.LOGGER.debug("Unknown room at grid [{},{}] core={} (roof={})",
                     gridX, gridZ, coreHash, roofHeight);
+        }
+        return true;
+    }
+
+    /**
+     * Looks up {@code coreHash} and puts the cell into the grid, either as a new component of an adjacent room
+     * with the same name or as a new room. Rotation is left to the caller (it needs the world).
+     *
+     * <p>A core missing from the database falls back to the nearest learned {@code column}. Only {@code live}
+     * scans teach the column index and report unknown rooms; replays just read it.
+     */
+    public static DungeonRoom placeRoom(int gridX, int gridZ, int coreHash, int[] column, boolean live) {
+        RoomData roomData = RoomDatabase.getInstance().findByCore(coreHash);
 
+        if (roomData != null) {
+            if (live) RoomColumnIndex.learn(coreHash, roomData, column);
+        } else if (column != null && RoomDatabase.getInstance().isLoaded()) {
+            RoomColumnIndex.Match match = RoomColumnIndex.match(column);
+            if (match != null && match.confidence() >= RoomColumnIndex.MIN_CONFIDENCE) {
+                roomData = match.room();
+                TeslaMaps.LOGGER.info("[ScanDebug] [{},{}] core={} not in database, matched '{}' by column (d={}, {}%)",
+                        gridX, gridZ, coreHash, roomData.getName(), match.distance(), Math.round(match.confidence() * 100));
+            }
+            if (live) RoomColumnIndex.reportUnknown(coreHash, column, match);
+        }
+
+        if (roomData == null) {
             DungeonRoom room = new DungeonRoom(gridX, gridZ);
             room.setName("Unknown");
             room.setType(RoomType.UNKNOWN);
-
             DungeonManager.addRoom(room);
-            return true;
+            return room;
         }
+
+        TeslaMaps.LOGGER.debug("[ScanDebug] [{},{}] Looking for adjacent room named '{}'",
+                gridX, gridZ, roomData.getName());
+
+        DungeonRoom existingRoom = findAdjacentRoomWithName(gridX, gridZ, roomData.getName());
+        if (existingRoom != null) {
+            existingRoom.addComponent(gridX, gridZ);
+            DungeonManager.getGrid().setRoom(gridX, gridZ, existingRoom);
+            return existingRoom;
+        }
+
+        int[][] offsets = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+        String[] dirs = {"West", "East", "North", "South"};
+        for (int i = 0; i < offsets.length; i++) {
+            int adjX = gridX + offsets[i][0];
+            int adjZ = gridZ + offsets[i][1];
+            DungeonRoom adj = DungeonManager.getGrid().getRoom(adjX, adjZ);
+            if (adj != null) {
+                TeslaMaps.LOGGER.debug("[ScanDebug] [{},{}] {} neighbor [{},{}] has room '{}' (expected '{}')",
+                        gridX, gridZ, dirs[i], adjX, adjZ, adj.getName(), roomData.getName());
+            }
+        }
+
+        DungeonRoom room = new DungeonRoom(gridX, gridZ);
+        room.loadFromRoomData(roomData);
+        DungeonManager.addRoom(room);
+        return room;
     }
 
     private static DungeonRoom findAdjacentRoomWithName(int gridX, int gridZ, String roomName) {
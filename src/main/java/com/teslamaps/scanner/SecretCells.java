@@ -0,0 +1,67 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.scanner;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One room's secrets in a spatial hash of 4-block cells, so an event only looks at the cells its search
+ * radius touches. {@code T} is the waypoint type; an event only matches secrets of its own type.
+ */
+final class SecretCells<T> {
+    static final int CELL_SHIFT = 2;
+
+    record Secret<T>(int x, int y, int z, T type) {}
+
+    private final Long2ObjectOpenHashMap<List<Secret<T>>> cells = new Long2ObjectOpenHashMap<>();
+
+    void add(int x, int y, int z, T type) {
+        cells.computeIfAbsent(key(x >> CELL_SHIFT, y >> CELL_SHIFT, z >> CELL_SHIFT), k -> new ArrayList<>())
+                .add(new Secret<>(x, y, z, type));
+    }
+
+    /** Secret of {@code type} whose block centre is nearest to (x, y, z), within {@code radius}; else null. */
+    Secret<T> nearest(double x, double y, double z, T type, double radius) {
+        Secret<T> best = null;
+        double bestSq = radius * radius;
+        int minX = (int) Math.floor(x - radius) >> CELL_SHIFT, maxX = (int) Math.floor(x + radius) >> CELL_SHIFT;
+        int minY = (int) Math.floor(y - radius) >> CELL_SHIFT, maxY = (int) Math.floor(y + radius) >> CELL_SHIFT;
+        int minZ = (int) Math.floor(z - radius) >> CELL_SHIFT, maxZ = (int) Math.floor(z + radius) >> CELL_SHIFT;
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                for (int cz = minZ; cz <= maxZ; cz++) {
+                    List<Secret<T>> cell = cells.get(key(cx, cy, cz));
+                    if (cell == null) continue;
+                    for (Secret<T> s : cell) {
+                        if (s.type() != type) continue;
+                        double dx = s.x() + 0.5 - x, dy = s.y() + 0.5 - y, dz = s.z() + 0.5 - z;
+                        double d = dx * dx + dy * dy + dz * dz;
+                        if (d <= bestSq) {
+                            bestSq = d;
+                            best = s;
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    // same bit layout as BlockPos.asLong: 26 bits x, 26 bits z, 12 bits y
+    private static long key(int cx, int cy, int cz) {
+        return ((long) cx & 0x3FFFFFFL) << 38 | ((long) cz & 0x3FFFFFFL) << 12 | (cy & 0xFFFL);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.scanner;
+
+import com.teslamaps.TeslaMaps;
+import com.teslamaps.dungeon.DungeonManager;
+import com.teslamaps.features.SecretItemPickup;
+import com.teslamaps.features.SecretWaypoints;
+import com.teslamaps.features.SecretWaypoints.WaypointType;
+import com.teslamaps.map.DungeonRoom;
+import it.unimi.dsi.fastutil.ints.IntList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import net.minecraft.client.Minecraft;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.ambient.Bat;
+import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.ChestBlock;
+import net.minecraft.world.level.block.SkullBlock;
+import net.minecraft.world.level.block.WallSkullBlock;
+import net.minecraft.world.level.block.state.BlockState;
+
+/**
+ * Secret collection from packets, for anyone in the party: item pickups, bat deaths, chest lids opening and
+ * essence/redstone-key skulls disappearing. Each event is matched against the known secrets of the room it
+ * happens in through a per-room {@link SecretCells} spatial hash, then the waypoint is hidden and
+ * {@link SecretTracker} counts it right away; the scoreboard and action bar only reconcile afterwards.
+ */
+public final class SecretEvents {
+    private static final double ITEM_RADIUS = 3;
+    private static final double BAT_RADIUS = 10; // bats fly around their spawn before they are hit
+    private static final double CHEST_RADIUS = 1.5;
+
+    private static final Map<DungeonRoom, SecretCells<WaypointType>> rooms = new IdentityHashMap<>();
+
+    private SecretEvents() {}
+
+    public static void onTakeItem(int itemId) {
+        Minecraft mc = Minecraft.getInstance();
+        if (!mc.isSameThread() || mc.level == null || !active()) return;
+        Entity entity = mc.level.getEntity(itemId);
+        if (!(entity instanceof ItemEntity item) || !SecretItemPickup.isSecretItem(item)) return;
+        collect(entity.getX(), entity.getY(), entity.getZ(), WaypointType.ITEM, ITEM_RADIUS);
+    }
+
+    public static void onRemoveEntities(IntList ids) {
+        Minecraft mc = Minecraft.getInstance();
+        if (!mc.isSameThread() || mc.level == null || !active()) return;
+        for (int i = 0; i < ids.size(); i++) {
+            // removed alive means unloaded or despawned, not killed
+            if (mc.level.getEntity(ids.getInt(i)) instanceof Bat bat && bat.isDeadOrDying()) {
+                collect(bat.getX(), bat.getY(), bat.getZ(), WaypointType.BAT, BAT_RADIUS);
+            }
+        }
+    }
+
+    /** Chest lid events go to everyone nearby, so this sees teammates' chests too. */
+    public static void onBlockEvent(BlockPos pos, Block block, int type, int param) {
+        if (!Minecraft.getInstance().isSameThread() || !active()) return;
+        if (type != 1 || param <= 0 || !(block instanceof ChestBlock)) return;
+        onChestOpened(pos);
+    }
+
+    public static void onChestOpened(BlockPos pos) {
+        if (!active()) return;
+        collect(pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5, WaypointType.CHEST, CHEST_RADIUS);
+    }
+
+    public static void onBlockUpdate(BlockPos pos, BlockState oldState, BlockState newState) {
+        if (!newState.isAir() || !active()) return;
+        Block old = oldState.getBlock();
+        if (!(old instanceof SkullBlock) && !(old instanceof WallSkullBlock)) return;
+        double x = pos.getX() + 0.5, y = pos.getY() + 0.5, z = pos.getZ() + 0.5;
+        if (!collect(x, y, z, WaypointType.ESSENCE, 1)) collect(x, y, z, WaypointType.REDSTONE, 1);
+    }
+
+    public static void reset() {
+        rooms.clear();
+    }
+
+    private static boolean active() {
+        return DungeonManager.isInDungeon() && !DungeonManager.isInBoss();
+    }
+
+    private static boolean collect(double x, double y, double z, WaypointType type, double radius) {
+        DungeonRoom room = SecretTracker.roomAt(x, z);
+        if (room == null) return false;
+        SecretCells<WaypointType> cells = cells(room);
+        SecretCells.Secret<WaypointType> secret = cells != null ? cells.nearest(x, y, z, type, radius) : null;
+        if (secret == null) return false;
+        BlockPos pos = new BlockPos(secret.x(), secret.y(), secret.z());
+        if (!SecretWaypoints.markFound(pos)) return false;
+        TeslaMaps.LOGGER.debug("[SecretEvents] {} collected in '{}' at {}", type.key, room.getName(), pos);
+        SecretTracker.onSecretCollected(room);
+        return true;
+    }
+
+    // built on the first event in a room; null until the room's frame and the waypoint data are available
+    private static SecretCells<WaypointType> cells(DungeonRoom room) {
+        SecretCells<WaypointType> cells = rooms.get(room);
+        if (cells != null) return cells;
+        Map<WaypointType, List<int[]>> waypoints = SecretWaypoints.worldWaypoints(room);
+        if (waypoints == null) return null;
+        cells = new SecretCells<>();
+        for (Map.Entry<WaypointType, List<int[]>> e : waypoints.entrySet()) {
+            for (int[] p : e.getValue()) cells.add(p[0], p[1], p[2], e.getKey());
+        }
+        rooms.put(room, cells);
+        return cells;
+    }
+}
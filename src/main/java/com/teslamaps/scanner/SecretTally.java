@@ -0,0 +1,68 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.scanner;
+
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+
+/**
+ * The dungeon's secret count. The scoreboard's "Secrets Found" is authoritative; on top of it sit the secrets
+ * {@link SecretEvents} saw that the scoreboard doesn't show yet. Each scoreboard increase first settles those,
+ * so a secret is never counted twice. An event the scoreboard hasn't matched within {@link #PENDING_TIMEOUT}
+ * never will be (a bat that wasn't the room's secret, an item someone else got first) and stops counting.
+ */
+final class SecretTally {
+    /** How long an event may wait for its scoreboard increase; the scoreboard lags pickups by a second or two. */
+    static final long PENDING_TIMEOUT = 5000;
+
+    private int scoreboard = -1; // -1 until the first reading
+    private final LongArrayFIFOQueue pending = new LongArrayFIFOQueue(); // event times, oldest first
+
+    void onEvent(long now) {
+        pending.enqueue(now);
+    }
+
+    /** Applies a scoreboard reading and returns how many of its new secrets no event accounted for. */
+    int onScoreboard(int found, long now) {
+        if (scoreboard < 0 || found < scoreboard) {
+            // first reading, or a new run: nothing earlier can be matched against it
+            scoreboard = found;
+            pending.clear();
+            return 0;
+        }
+        expire(now);
+        int gained = found - scoreboard;
+        scoreboard = found;
+        int settled = Math.min(gained, pending.size());
+        for (int i = 0; i < settled; i++) pending.dequeueLong();
+        return gained - settled;
+    }
+
+    private void expire(long now) {
+        while (!pending.isEmpty() && now - pending.firstLong() > PENDING_TIMEOUT) pending.dequeueLong();
+    }
+
+    boolean hasScoreboard() {
+        return scoreboard >= 0;
+    }
+
+    int total(long now) {
+        expire(now);
+        return Math.max(0, scoreboard) + pending.size();
+    }
+
+    void reset() {
+        scoreboard = -1;
+        pending.clear();
+    }
+}
@@ -17,19 +17,26 @@ package com.teslamaps.scanner;
 
 import com.teslamaps.TeslaMaps;
 import com.teslamaps.dungeon.DungeonManager;
+import com.teslamaps.map.CheckmarkState;
 import com.teslamaps.map.DungeonRoom;
+import com.teslamaps.replay.ReplaySources;
 import com.teslamaps.utils.ScoreboardUtils;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import net.minecraft.client.Minecraft;
 import net.minecraft.network.chat.Component;
 
 public class SecretTracker {
-    private static int dungeonSecretsFound = 0;
-    private static int lastKnownFound = -1;  // -1 means not initialized yet
+    private static final SecretTally tally = new SecretTally();
     private static int tickCounter = 0;
 
+    // the action bar lags behind pickups, so it may not lower a room's count right after one
+    private static final Map<DungeonRoom, Long> lastEventSecret = new IdentityHashMap<>();
+    private static final long ACTION_BAR_GRACE = 2000;
+
     private static final Pattern ACTION_BAR_PATTERN = Pattern.compile("(\\d+)/(\\d+) Secrets");
 
     private static final Pattern SCOREBOARD_PATTERN = Pattern.compile("Secrets Found: (\\d+)");
@@ -60,9 +67,11 @@ public class SecretTracker {
     }
 
     public static void onActionBarMessage(Component message) {
-        if (!DungeonManager.isInDungeon()) return;
+        onActionBarText(message.getString());
+    }
 
-        String text = message.getString();
+    public static void onActionBarText(String text) {
+        if (!DungeonManager.isInDungeon()) return;
 
         String cleanText = text.replaceAll("§.", "");
 
@@ -80,7 +89,9 @@ public class SecretTracker {
                 if (currentRoom != null) {
                     if (currentRoom.getSecrets() == roomTotal || currentRoom.getSecrets() == 0) {
                         int oldFound = currentRoom.getFoundSecrets();
-                        if (oldFound != roomFound) {
+                        Long last = lastEventSecret.get(currentRoom);
+                        boolean settling = last != null && ReplaySources.now() - last < ACTION_BAR_GRACE;
+                        if (oldFound != roomFound && (roomFound > oldFound || !settling)) {
                             currentRoom.setFoundSecrets(roomFound);
                             TeslaMaps.LOGGER.debug("[SecretTracker] Room '{}' secrets: {}/{} (was {})",
                                     currentRoom.getName(), roomFound, roomTotal, oldFound);
@@ -93,41 +104,59 @@ public class SecretTracker {
     }
 
     private static void processSecretUpdate(int newFound) {
-        if (lastKnownFound < 0) {
-            lastKnownFound = newFound;
-            dungeonSecretsFound = newFound;
+        boolean first = !tally.hasScoreboard();
+        // secrets already counted when their pickup/chest/bat event arrived are settled, not credited again
+        int secretsGained = tally.onScoreboard(newFound, ReplaySources.now());
+        if (first) {
             TeslaMaps.LOGGER.debug("[SecretTracker] Initialized with dungeon total: {}", newFound);
             return;
         }
+        if (secretsGained == 0) return;
+
+        DungeonRoom currentRoom = getCurrentPlayerRoom();
+        if (currentRoom != null && currentRoom.getSecrets() > 0) {
+            int current = Math.max(0, currentRoom.getFoundSecrets());
+            int newRoomFound = Math.min(current + secretsGained, currentRoom.getSecrets());
+            currentRoom.setFoundSecrets(newRoomFound);
+            TeslaMaps.LOGGER.debug("[SecretTracker] Secret found in '{}': {}/{} (dungeon total: {})",
+                    currentRoom.getName(), newRoomFound, currentRoom.getSecrets(), newFound);
+        } else {
+            TeslaMaps.LOGGER.debug("[SecretTracker] Secret found but no valid room (total: {})", newFound);
+        }
+    }
 
-        if (newFound > lastKnownFound) {
-            int secretsGained = newFound - lastKnownFound;
-            lastKnownFound = newFound;
-            dungeonSecretsFound = newFound;
-
-            DungeonRoom currentRoom = getCurrentPlayerRoom();
-            if (currentRoom != null && currentRoom.getSecrets() > 0) {
-                int current = Math.max(0, currentRoom.getFoundSecrets());
-                int newRoomFound = Math.min(current + secretsGained, currentRoom.getSecrets());
-                currentRoom.setFoundSecrets(newRoomFound);
-                TeslaMaps.LOGGER.debug("[SecretTracker] Secret found in '{}': {}/{} (dungeon total: {})",
-                        currentRoom.getName(), newRoomFound, currentRoom.getSecrets(), newFound);
-            } else {
-                TeslaMaps.LOGGER.debug("[SecretTracker] Secret found but no valid room (total: {})", newFound);
-            }
-        } else if (newFound != lastKnownFound) {
-            lastKnownFound = newFound;
-            dungeonSecretsFound = newFound;
+    /**
+     * A secret seen directly through {@link SecretEvents}. Counted at once, including the green checkmark when
+     * it was the room's last one; the scoreboard increase that follows settles it instead of counting it again.
+     */
+    public static void onSecretCollected(DungeonRoom room) {
+        long now = ReplaySources.now();
+        tally.onEvent(now);
+        lastEventSecret.put(room, now);
+        if (room.getSecrets() <= 0) return;
+        int found = Math.min(Math.max(0, room.getFoundSecrets()) + 1, room.getSecrets());
+        room.setFoundSecrets(found);
+        if (found >= room.getSecrets() && room.getCheckmarkState() == CheckmarkState.WHITE) {
+            room.setCheckmarkState(CheckmarkState.GREEN);
         }
+        TeslaMaps.LOGGER.debug("[SecretTracker] Secret event in '{}': {}/{}", room.getName(), found, room.getSecrets());
     }
 
     private static DungeonRoom getCurrentPlayerRoom() {
-        Minecraft mc = Minecraft.getInstance();
-        if (mc.player == null) return null;
-
-        double x = mc.player.getX();
-        double z = mc.player.getZ();
+        double x, z;
+        if (ReplaySources.isActive()) {
+            x = ReplaySources.playerX();
+            z = ReplaySources.playerZ();
+        } else {
+            Minecraft mc = Minecraft.getInstance();
+            if (mc.player == null) return null;
+            x = mc.player.getX();
+            z = mc.player.getZ();
+        }
+        return roomAt(x, z);
+    }
 
+    public static DungeonRoom roomAt(double x, double z) {
         int gridX = (int) Math.floor((x + 200) / 32.0);
         int gridZ = (int) Math.floor((z + 200) / 32.0);
 
@@ -146,12 +175,12 @@ public class SecretTracker {
     }
 
     public static int getDungeonSecretsFound() {
-        return dungeonSecretsFound;
+        return tally.total(ReplaySources.now());
     }
 
     public static void reset() {
-        dungeonSecretsFound = 0;
-        lastKnownFound = -1;  // -1 means not initialized
+        tally.reset();
         tickCounter = 0;
+        lastEventSecret.clear();
     }
 }
@@ -21,9 +21,12 @@ import com.teslamaps.utils.LoudSound;
 import org.lwjgl.glfw.GLFW;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.IntConsumer;
 import java.util.function.IntSupplier;
@@ -49,6 +52,13 @@ public class MapConfigScreen extends Screen {
     protected String selectedCategory = "Map";
     protected String searchQuery = "";
 
+    private final Map<SettingsEntry, String> searchIndex = new LinkedHashMap<>();
+    private final Set<SettingsEntry> searchHits = new HashSet<>();
+    private String hitsQuery;
+    private final List<SettingsEntry> shown = new ArrayList<>();
+    private String shownQuery, shownCategory;
+    private int[] shownTops;
+
     protected int sidebarScroll = 0;
     protected int sidebarMaxScroll = 0;
     protected static final int SIDEBAR_TOP = 50;
@@ -80,7 +90,7 @@ public class MapConfigScreen extends Screen {
             float v = Float.parseFloat(sliderEditText.trim());
             v = Math.max(editingSlider.min, Math.min(editingSlider.max, v));
             editingSlider.setter.accept(v);
-            TeslaMapsConfig.save();
+            TeslaMapsConfig.saveLater();
         } catch (NumberFormatException ignored) {}
         editingSlider = null;
     }
@@ -155,6 +165,7 @@ public class MapConfigScreen extends Screen {
             searchQuery = query.toLowerCase();
             scrollOffset = 0;
             expandedColorEntry = null;
+            rowHeightChanged();
         });
         addRenderableWidget(searchField);
     }
@@ -215,6 +226,7 @@ public class MapConfigScreen extends Screen {
         map.add(new ToggleEntry(contentX, contentWidth, "Show Others", () -> config.showOtherPlayers, v -> config.showOtherPlayers = v));
         map.add(new ToggleEntry(contentX, contentWidth, "Show Names", () -> config.showPlayerNames, v -> config.showPlayerNames = v));
         map.add(new ToggleEntry(contentX, contentWidth, "Use Heads (vs Markers)", () -> config.useHeadsInsteadOfMarkers, v -> config.useHeadsInsteadOfMarkers = v));
+        map.add(new ToggleEntry(contentX, contentWidth, "Suggested Clear Route", () -> config.dungeonRoutePlanner, v -> config.dungeonRoutePlanner = v));
         map.add(new ToggleEntry(contentX, contentWidth, "Rotate Heads", () -> config.rotatePlayerHeads, v -> config.rotatePlayerHeads = v));
         map.add(new SliderEntry(contentX, contentWidth, "Head Scale", 0.5f, 2.0f,
                 () -> config.playerHeadScale, v -> config.playerHeadScale = v));
@@ -251,6 +263,19 @@ public class MapConfigScreen extends Screen {
         esp.add(new ToggleEntry(contentX, contentWidth, "Box ESP (Hitbox)", () -> config.boxESP, v -> config.boxESP = v));
         esp.add(new SliderEntry(contentX, contentWidth, "ESP Transparency", 0.0f, 1.0f,
                 () -> config.espAlpha, v -> config.espAlpha = v));
+        esp.add(new ToggleEntry(contentX, contentWidth, "Cull Off-Screen Overlays", () -> config.espCulling, v -> config.espCulling = v));
+        esp.add(new SliderEntry(contentX, contentWidth, "Waypoint Distance", 0f, 256f,
+                () -> (float) config.cullDistanceWaypoints, v -> config.cullDistanceWaypoints = Math.round(v)));
+        esp.add(new SliderEntry(contentX, contentWidth, "Secret Waypoint Distance", 0f, 256f,
+                () -> (float) config.cullDistanceSecrets, v -> config.cullDistanceSecrets = Math.round(v)));
+        esp.add(new SliderEntry(contentX, contentWidth, "Mob ESP Distance", 0f, 256f,
+                () -> (float) config.cullDistanceMobs, v -> config.cullDistanceMobs = Math.round(v)));
+        esp.add(new SliderEntry(contentX, contentWidth, "Puzzle Overlay Distance", 0f, 256f,
+                () -> (float) config.cullDistancePuzzles, v -> config.cullDistancePuzzles = Math.round(v)));
+        esp.add(new SliderEntry(contentX, contentWidth, "Label Distance", 0f, 128f,
+                () -> (float) config.labelDistance, v -> config.labelDistance = Math.round(v)));
+        esp.add(new SliderEntry(contentX, contentWidth, "Merge Boxes Beyond", 0f, 128f,
+                () -> (float) config.espLodDistance, v -> config.espLodDistance = Math.round(v)));
         esp.add(new LabelEntry(contentX, "Dungeon ESP"));
         esp.add(new ToggleEntry(contentX, contentWidth, "Secret Click Highlight", () -> config.secretClickHighlight, v -> config.secretClickHighlight = v));
         esp.add(new ToggleEntry(contentX, contentWidth, "Color Portal by Score", () -> config.colorPortal, v -> config.colorPortal = v));
@@ -332,7 +357,7 @@ public class MapConfigScreen extends Screen {
             config.noFog = newValue;
             config.noHurtCam = newValue;
             config.noXpOrbs = newValue;
-            TeslaMapsConfig.save();
+            TeslaMapsConfig.saveLater();
         }));
         render.add(new ToggleEntry(contentX, contentWidth, "No Fire Overlay", () -> config.noFire, v -> config.noFire = v));
         render.add(new ToggleEntry(contentX, contentWidth, "No Water Overlay", () -> config.noWaterOverlay, v -> config.noWaterOverlay = v));
@@ -398,7 +423,7 @@ public class MapConfigScreen extends Screen {
             config.hideThrownBones = nv; config.hideSuperboomTnt = nv; config.hideBlessing = nv;
             config.hideReviveStone = nv; config.hidePremiumFlesh = nv; config.hideJournalEntry = nv;
             config.hideHealerOrbs = nv; config.hideHealerFairy = nv; config.hideCheapCoins = nv;
-            TeslaMapsConfig.save();
+            TeslaMapsConfig.saveLater();
         }));
         hide.add(new ToggleEntry(contentX, contentWidth, "Hide Dead Mobs", () -> config.hideDeadMobs, v -> config.hideDeadMobs = v));
         hide.add(new ToggleEntry(contentX, contentWidth, "Hide Soulweaver Skull", () -> config.hideSoulweaverSkull, v -> config.hideSoulweaverSkull = v));
@@ -602,6 +627,7 @@ public class MapConfigScreen extends Screen {
         colors.add(new ColorEntry(contentX, contentWidth, "Bat", () -> config.colorSecretBat, v -> config.colorSecretBat = v));
         colors.add(new ColorEntry(contentX, contentWidth, "Essence", () -> config.colorSecretEssence, v -> config.colorSecretEssence = v));
         colors.add(new ColorEntry(contentX, contentWidth, "Redstone", () -> config.colorSecretRedstone, v -> config.colorSecretRedstone = v));
+        colors.add(new ColorEntry(contentX, contentWidth, "Secret Route", () -> config.colorSecretRoute, v -> config.colorSecretRoute = v));
         colors.add(new LabelEntry(contentX, "Puzzle Colors"));
         colors.add(new ColorEntry(contentX, contentWidth, "Boulder Click", () -> config.colorBoulder, v -> config.colorBoulder = v));
         colors.add(new ColorEntry(contentX, contentWidth, "Quiz Correct", () -> config.colorQuiz, v -> config.colorQuiz = v));
@@ -653,6 +679,7 @@ public class MapConfigScreen extends Screen {
         waypoints.add(new LabelEntry(contentX, "Display Options"));
         waypoints.add(new ToggleEntry(contentX, contentWidth, "Hide When Collected", () -> config.secretWaypointHideCollected, v -> config.secretWaypointHideCollected = v));
         waypoints.add(new ToggleEntry(contentX, contentWidth, "Tracers to Waypoints", () -> config.secretWaypointTracers, v -> config.secretWaypointTracers = v));
+        waypoints.add(new ToggleEntry(contentX, contentWidth, "Show Secret Route", () -> config.secretWaypointRoute, v -> config.secretWaypointRoute = v));
 
         List<SettingsEntry> leap = new ArrayList<>();
         leap.add(new ToggleEntry(contentX, contentWidth, "Enable Leap Overlay", () -> config.leapOverlay, v -> config.leapOverlay = v));
@@ -732,6 +759,7 @@ public class MapConfigScreen extends Screen {
         timers.add(new ToggleEntry(contentX, contentWidth, "Relic Timer (M7)", () -> config.relicTimer, v -> config.relicTimer = v));
         timers.add(new ToggleEntry(contentX, contentWidth, "Simon Says Progress (F7)", () -> config.simonSaysProgress, v -> config.simonSaysProgress = v));
         timers.add(new ToggleEntry(contentX, contentWidth, "Leap Counter (F7)", () -> config.leapCounter, v -> config.leapCounter = v));
+        timers.add(new ToggleEntry(contentX, contentWidth, "Sound Triggers (/tmap soundtrigger)", () -> config.soundTriggers, v -> config.soundTriggers = v));
         categories.put("Timers", timers);
 
         List<SettingsEntry> bloodCamp = new ArrayList<>();
@@ -906,7 +934,7 @@ public class MapConfigScreen extends Screen {
             config.chatFilterProfileInfo = nv; config.chatFilterPerkBuffs = nv; config.chatFilterOruo = nv;
             config.chatFilterSacks = nv; config.chatFilterGfs = nv; config.chatFilterWatchdog = nv; config.chatFilterMort = nv; config.chatFilterEmpty = nv; config.chatFilterBonePlating = nv;
             config.chatFilterMilestone = nv;
-            TeslaMapsConfig.save();
+            TeslaMapsConfig.saveLater();
         }));
         chatFilter.add(new ToggleEntry(contentX, contentWidth, "Hide Empty Lines", () -> config.chatFilterEmpty, v -> config.chatFilterEmpty = v));
         chatFilter.add(new ToggleEntry(contentX, contentWidth, "Hide Watcher Messages", () -> config.chatFilterWatcher, v -> config.chatFilterWatcher = v));
@@ -963,6 +991,7 @@ public class MapConfigScreen extends Screen {
                 if (e instanceof ToggleEntry te && cheatLabels.contains(te.getLabel())) te.legit();
             }
         }
+        buildSearchIndex();
     }
 
     protected String categoryAtY(int my) {
@@ -978,21 +1007,79 @@ public class MapConfigScreen extends Screen {
         return null;
     }
 
+    // Lowercased label + category + search terms per searchable entry, built with the categories, so a
+    // query is answered by one pass of contains() when the text changes instead of per frame.
+    private void buildSearchIndex() {
+        searchIndex.clear();
+        for (Map.Entry<String, List<SettingsEntry>> cat : categories.entrySet()) {
+            String category = cat.getKey().toLowerCase();
+            for (SettingsEntry e : cat.getValue()) {
+                if (e.isLabel()) continue;
+                searchIndex.put(e, e.getLabel().toLowerCase() + "\n" + category + "\n" + e.searchTerms());
+            }
+        }
+        hitsQuery = null;
+        shownQuery = null;
+    }
+
+    private void updateSearchHits() {
+        if (searchQuery.equals(hitsQuery)) return;
+        hitsQuery = searchQuery;
+        searchHits.clear();
+        String[] words = searchQuery.trim().split("\\s+");
+        for (Map.Entry<SettingsEntry, String> e : searchIndex.entrySet()) {
+            boolean all = true;
+            for (String w : words) {
+                if (!e.getValue().contains(w)) { all = false; break; }
+            }
+            if (all) searchHits.add(e.getKey());
+        }
+    }
+
+    /** Whether {@code e} matches the current search; every word of the query has to appear. */
+    protected boolean matchesSearch(SettingsEntry e) {
+        updateSearchHits();
+        return searchHits.contains(e);
+    }
+
+    /** Entries of the selected category or the search results; rebuilt only when either changes. Don't modify. */
     protected List<SettingsEntry> getEntriesToShow() {
-        List<SettingsEntry> result = new ArrayList<>();
+        if (searchQuery.equals(shownQuery) && (!searchQuery.isEmpty() || selectedCategory.equals(shownCategory))) return shown;
+        shownQuery = searchQuery;
+        shownCategory = selectedCategory;
+        shown.clear();
         if (!searchQuery.isEmpty()) {
-            for (List<SettingsEntry> entries : categories.values()) {
-                for (SettingsEntry entry : entries) {
-                    if (entry.matchesSearch(searchQuery)) {
-                        result.add(entry);
-                    }
-                }
+            updateSearchHits();
+            for (SettingsEntry entry : searchIndex.keySet()) {
+                if (searchHits.contains(entry)) shown.add(entry);
             }
         } else {
             List<SettingsEntry> categoryEntries = categories.get(selectedCategory);
-            if (categoryEntries != null) result.addAll(categoryEntries);
+            if (categoryEntries != null) shown.addAll(categoryEntries);
         }
-        return result;
+        shownTops = null;
+        return shown;
+    }
+
+    // Row tops of getEntriesToShow() (one extra slot for the total); rebuilt after rowHeightChanged().
+    private int[] rowTops() {
+        List<SettingsEntry> entries = getEntriesToShow();
+        if (shownTops != null) return shownTops;
+        int[] tops = new int[entries.size() + 1];
+        for (int i = 0; i < entries.size(); i++) tops[i + 1] = tops[i] + entries.get(i).getHeight();
+        return shownTops = tops;
+    }
+
+    /** Call whenever an entry's getHeight() changes, e.g. a colour picker or dropdown opening or closing. */
+    protected void rowHeightChanged() {
+        shownTops = null;
+    }
+
+    /** Index of the row containing content offset {@code y}, clamped to the list. */
+    private static int rowAt(int[] tops, int y) {
+        int i = Arrays.binarySearch(tops, y);
+        if (i < 0) i = -i - 2;
+        return Math.max(0, Math.min(tops.length - 2, i));
     }
 
     @Override
@@ -1008,6 +1095,7 @@ public class MapConfigScreen extends Screen {
                 searchField.setValue("");
                 scrollOffset = 0;
                 expandedColorEntry = null;
+                rowHeightChanged();
             }
         }
 
@@ -1115,19 +1203,21 @@ public class MapConfigScreen extends Screen {
         context.text(font, header, SIDEBAR_WIDTH + 20, 35, 0xFFFFFFFF);
 
         List<SettingsEntry> entries = getEntriesToShow();
-        int totalHeight = 0;
-        for (SettingsEntry e : entries) totalHeight += e.getHeight();
+        int[] tops = rowTops();
+        int totalHeight = tops[entries.size()];
         int visibleHeight = contentBottom - contentTop;
         maxScroll = Math.max(0, totalHeight - visibleHeight);
+        if (scrollOffset > maxScroll) scrollOffset = maxScroll;
 
         context.enableScissor(contentLeft, contentTop, contentRight, contentBottom);
 
-        int y = contentTop - scrollOffset;
-        for (SettingsEntry entry : entries) {
-            if (y + entry.getHeight() > contentTop - 50 && y < contentBottom + 50) {
-                entry.render(context, this, y, mouseX, mouseY, clicked, isMouseDown);
-            }
-            y += entry.getHeight();
+        // only rows intersecting the viewport; a click on a row scrolled out of view can't reach it
+        for (int i = entries.isEmpty() ? 0 : rowAt(tops, scrollOffset); i < entries.size(); i++) {
+            int y = contentTop + tops[i] - scrollOffset;
+            if (y >= contentBottom) break;
+            // a row's render may expand or collapse a picker or dropdown, which moves the rows after it
+            entries.get(i).render(context, this, y, mouseX, mouseY, clicked, isMouseDown);
+            if (shownTops == null) tops = rowTops();
         }
 
         context.disableScissor();
@@ -1160,14 +1250,12 @@ public class MapConfigScreen extends Screen {
     @Override
     public boolean mouseScrolled(double mouseX, double mouseY, double h, double v) {
         if (mouseX > SIDEBAR_WIDTH) {
-            int y = 50 - scrollOffset; // contentTop = 50
-            for (SettingsEntry e : getEntriesToShow()) {
-                int hgt = e.getHeight();
-                if (mouseY >= y && mouseY < y + hgt) {
-                    if (e.scrollAt((int) mouseX, (int) mouseY, y, v)) return true;
-                    break;
-                }
-                y += hgt;
+            List<SettingsEntry> entries = getEntriesToShow();
+            int offset = (int) mouseY - 50 + scrollOffset; // contentTop = 50
+            if (!entries.isEmpty() && offset >= 0) {
+                int[] tops = rowTops();
+                int i = rowAt(tops, offset);
+                if (offset < tops[i + 1] && entries.get(i).scrollAt((int) mouseX, (int) mouseY, 50 + tops[i] - scrollOffset, v)) return true;
             }
             scrollOffset = (int) Math.max(0, Math.min(maxScroll, scrollOffset - v * 15));
             return true;
@@ -1183,6 +1271,19 @@ public class MapConfigScreen extends Screen {
         ctx.fill(x + w - 1, y, x + w, y + h, color);
     }
 
+    @Override
+    public void tick() {
+        super.tick();
+        TeslaMapsConfig.flushPendingSave(false);
+    }
+
+    @Override
+    public void removed() {
+        // also covers switching to a sub-screen (shortcuts, class filter) or the game closing the screen
+        TeslaMapsConfig.flushPendingSave(true);
+        super.removed();
+    }
+
     @Override
     public void onClose() {
         TeslaMapsConfig.save();
@@ -1195,7 +1296,8 @@ public class MapConfigScreen extends Screen {
     protected interface SettingsEntry {
         int getHeight();
         void render(GuiGraphicsExtractor ctx, MapConfigScreen screen, int y, int mouseX, int mouseY, boolean clicked, boolean mouseDown);
-        default boolean matchesSearch(String q) { return false; }
+        /** Extra words search should find this entry by, besides its label and category. */
+        default String searchTerms() { return ""; }
         default String getLabel() { return ""; }
         default boolean scrollAt(int mouseX, int mouseY, int rowY, double dir) { return false; }
         // Card layout (MapConfigScreen2) repositions entries into their card before rendering.
@@ -1237,11 +1339,10 @@ public class MapConfigScreen extends Screen {
 
         @Override public int getHeight() { return ROW_HEIGHT; }
         @Override public String getLabel() { return label; }
-        @Override public boolean matchesSearch(String q) { return label.toLowerCase().contains(q); }
         @Override public boolean isToggle() { return true; }
         @Override public void reposition(int x, int w) { this.x = x; this.width = w; }
         boolean get() { return getter.get(); }
-        void toggle() { setter.accept(!getter.get()); TeslaMapsConfig.save(); }
+        void toggle() { setter.accept(!getter.get()); TeslaMapsConfig.saveLater(); }
 
         @Override
         public void render(GuiGraphicsExtractor ctx, MapConfigScreen screen, int y, int mouseX, int mouseY, boolean clicked, boolean mouseDown) {
@@ -1272,7 +1373,7 @@ public class MapConfigScreen extends Screen {
 
             if (clicked && hovered) {
                 setter.accept(!value);
-                TeslaMapsConfig.save();
+                TeslaMapsConfig.saveLater();
                 value = !value;
             }
 
@@ -1296,7 +1397,6 @@ public class MapConfigScreen extends Screen {
 
         @Override public int getHeight() { return ROW_HEIGHT + 4; }
         @Override public String getLabel() { return label; }
-        @Override public boolean matchesSearch(String q) { return label.toLowerCase().contains(q); }
         @Override public void reposition(int x, int w) { this.x = x; this.width = w; }
 
         @Override
@@ -1326,7 +1426,7 @@ public class MapConfigScreen extends Screen {
 
         @Override public int getHeight() { return ROW_HEIGHT; }
         @Override public String getLabel() { return label; }
-        @Override public boolean matchesSearch(String q) { return label.toLowerCase().contains(q) || "class".contains(q); }
+        @Override public String searchTerms() { return "class"; }
         @Override public void reposition(int x, int w) { this.x = x; this.width = w; }
 
         @Override
@@ -1359,10 +1459,9 @@ public class MapConfigScreen extends Screen {
 
         @Override public int getHeight() { return ROW_HEIGHT; }
         @Override public String getLabel() { return label; }
-        @Override public boolean matchesSearch(String q) { return label.toLowerCase().contains(q); }
         @Override public void reposition(int x, int w) { this.x = x; this.width = w; }
 
-        void setKey(int key) { setter.accept(key); TeslaMapsConfig.save(); }
+        void setKey(int key) { setter.accept(key); TeslaMapsConfig.saveLater(); }
 
         @Override
         public void render(GuiGraphicsExtractor ctx, MapConfigScreen screen, int y, int mouseX, int mouseY, boolean clicked, boolean mouseDown) {
@@ -1397,7 +1496,6 @@ public class MapConfigScreen extends Screen {
         }
 
         @Override public String getLabel() { return label; }
-        @Override public boolean matchesSearch(String q) { return label.toLowerCase().contains(q); }
         @Override public void reposition(int x, int w) { this.x = x; this.width = w; }
 
         @Override
@@ -1420,6 +1518,7 @@ public class MapConfigScreen extends Screen {
             ctx.text(screen.font, screen.fitLabel(label, x + 8, hexX), x + 8, y + 9, AppleColors.TEXT_PRIMARY);
 
             if (clicked && hovered) {
+                rowHeightChanged();
                 if (isExpanded) {
                     expandedColorEntry = null;
                 } else {
@@ -1497,7 +1596,7 @@ public class MapConfigScreen extends Screen {
             int[] rgb = hsvToRgb(pickerHue, pickerSat, pickerBright);
             String hex = String.format("%02X%02X%02X", rgb[0], rgb[1], rgb[2]);
             setter.accept(hex);
-            TeslaMapsConfig.save();
+            TeslaMapsConfig.saveLater();
         }
     }
 
@@ -1560,13 +1659,12 @@ public class MapConfigScreen extends Screen {
             float step = (float) Math.pow(10, -decimals);
             float v = Math.max(min, Math.min(max, getter.get() + (float) (dir > 0 ? step : -step)));
             setter.accept(v);
-            TeslaMapsConfig.save();
+            TeslaMapsConfig.saveLater();
             return true;
         }
 
         @Override public int getHeight() { return ROW_HEIGHT; }
         @Override public String getLabel() { return label; }
-        @Override public boolean matchesSearch(String q) { return label.toLowerCase().contains(q); }
 
         @Override
         public void render(GuiGraphicsExtractor ctx, MapConfigScreen screen, int y, int mouseX, int mouseY, boolean clicked, boolean mouseDown) {
@@ -1587,7 +1685,7 @@ public class MapConfigScreen extends Screen {
                 ratio = Math.max(0, Math.min(1, (float)(mouseX - sliderX) / sliderW));
                 float newValue = min + ratio * (max - min);
                 setter.accept(newValue);
-                TeslaMapsConfig.save();
+                TeslaMapsConfig.saveLater();
             }
 
             ctx.fill(sliderX, sliderY, sliderX + sliderW, sliderY + sliderH, AppleColors.TOGGLE_OFF);
@@ -1625,7 +1723,6 @@ public class MapConfigScreen extends Screen {
 
         @Override public int getHeight() { return expanded ? ROW_HEIGHT + (options.length * 18) : ROW_HEIGHT; }
         @Override public String getLabel() { return label; }
-        @Override public boolean matchesSearch(String q) { return label.toLowerCase().contains(q); }
         @Override public void reposition(int x, int w) { this.x = x; this.width = w; }
 
         @Override
@@ -1645,6 +1742,7 @@ public class MapConfigScreen extends Screen {
 
             if (clicked && btnHovered) {
                 expanded = !expanded;
+                rowHeightChanged();
             }
 
             ctx.fill(btnX, btnY, btnX + btnW, btnY + btnH, btnHovered ? 0xFF3A3A3C : AppleColors.CARD_BACKGROUND);
@@ -1661,8 +1759,9 @@ public class MapConfigScreen extends Screen {
 
                     if (clicked && optHovered) {
                         setter.accept(option);
-                        TeslaMapsConfig.save();
+                        TeslaMapsConfig.saveLater();
                         expanded = false;
+                        rowHeightChanged();
                     }
 
                     int bgColor = option.equals(currentValue) ? AppleColors.ACCENT_GREEN : (optHovered ? 0xFF3A3A3C : AppleColors.CARD_BACKGROUND);
@@ -1691,7 +1790,6 @@ public class MapConfigScreen extends Screen {
 
         @Override public int getHeight() { return ROW_HEIGHT; }
         @Override public String getLabel() { return label; }
-        @Override public boolean matchesSearch(String q) { return label.toLowerCase().contains(q); }
         @Override public void reposition(int x, int w) { this.x = x; this.width = w; }
 
         @Override
@@ -1705,7 +1803,7 @@ public class MapConfigScreen extends Screen {
             boolean btnHovered = mouseX >= btnX && mouseX < btnX + btnW && mouseY >= btnY && mouseY < btnY + btnH;
             if (clicked && btnHovered) {
                 Minecraft.getInstance().setScreen(new SoundPickerScreen(screen, label, options, getter.get(),
-                        v -> { setter.accept(v); TeslaMapsConfig.save(); }));
+                        v -> { setter.accept(v); TeslaMapsConfig.saveLater(); }));
             }
 
             ctx.fill(btnX, btnY, btnX + btnW, btnY + btnH, btnHovered ? 0xFF3A3A3C : AppleColors.CARD_BACKGROUND);
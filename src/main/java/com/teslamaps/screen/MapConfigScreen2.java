@@ -99,7 +99,7 @@ public class MapConfigScreen2 extends MapConfigScreen {
                 shown = new ArrayList<>();
                 for (SettingsEntry e : entries) {
                     if (e.isLabel()) continue; // labels are sub-headers, not matchable rows
-                    if (e.matchesSearch(searchQuery)) shown.add(e);
+                    if (matchesSearch(e)) shown.add(e);
                 }
                 if (shown.isEmpty()) continue;
             } else {
@@ -102,7 +102,7 @@ public class MapConfigScreen4 extends MapConfigScreen {
             List<SettingsEntry> out = new ArrayList<>();
             for (SettingsEntry e : all) {
                 if (e.isLabel()) continue;
-                if (e.matchesSearch(searchQuery)) out.add(e);
+                if (matchesSearch(e)) out.add(e);
             }
             return out;
         }
@@ -340,7 +340,7 @@ public class MapConfigScreen4 extends MapConfigScreen {
                 if (entryClicked && rowHover) {
                     if (gated) {
                         TeslaMapsConfig.get().sectionEnabled.put(cat, !TeslaMapsConfig.get().section(cat));
-                        TeslaMapsConfig.save();
+                        TeslaMapsConfig.saveLater();
                     } else if (!COLLAPSED.remove(key)) {
                         COLLAPSED.add(key);
                     }
@@ -349,7 +349,7 @@ public class MapConfigScreen4 extends MapConfigScreen {
                         gated, !gated || TeslaMapsConfig.get().section(cat));
             } else if (e.isToggle()) {
                 ToggleEntry te = (ToggleEntry) e;
-                if (entryClicked && rowHover) { te.toggle(); TeslaMapsConfig.save(); }
+                if (entryClicked && rowHover) te.toggle();
                 drawOdinToggle(ctx, entryX, entryW, dY, h, te.getLabel(), te.get(), rowHover);
             } else {
                 e.reposition(entryX, entryW);
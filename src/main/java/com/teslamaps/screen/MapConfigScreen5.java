@@ -209,7 +209,7 @@ public class MapConfigScreen5 extends MapConfigScreen {
             for (List<SettingsEntry> entries : categories.values()) {
                 for (SettingsEntry e : entries) {
                     if (e.isLabel()) continue;
-                    if (!e.matchesSearch(searchQuery)) continue;
+                    if (!matchesSearch(e)) continue;
                     int h = e.getHeight();
                     rows.add(new Row(e, null, 0, y, h));
                     y += h;
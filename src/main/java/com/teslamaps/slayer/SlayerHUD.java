@@ -16,6 +16,7 @@
 package com.teslamaps.slayer;
 
 import com.teslamaps.config.TeslaMapsConfig;
+import com.teslamaps.hud.HudText;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -65,6 +66,8 @@ public class SlayerHUD {
 
     private static String currentPhaseType = null;  // SPIRIT, ASHEN, CRYSTAL, AURIC
     private static int phaseCount = 0;
+    private static final HudText.Cache text = new HudText.Cache();
+    private static double shownMaxHP; // phaseMaxHP the cached HP line was built with
 
     private static final Set<Entity> minibossEntities = new HashSet<>();
     private static String miniboss1Type = null;
@@ -308,8 +311,8 @@ public class SlayerHUD {
         int currentY = y + padding;
 
         if (showBossSection) {
-            int nameWidth = textRenderer.width(currentBossName);
-            context.text(textRenderer, currentBossName, centerX - nameWidth / 2, currentY, 0xFFFF5555, true);
+            HudText.Line name = text.get(0, currentBossName);
+            HudText.draw(context, textRenderer, name, centerX - name.width() / 2, currentY, 0xFFFF5555, true);
             currentY += 12;
 
             double hpPercent = Math.min(1.0, Math.max(0, currentHP / phaseMaxHP));
@@ -322,16 +325,20 @@ public class SlayerHUD {
                 drawRoundedRect(context, barX, currentY, filledWidth, barHeight, 2, barColor);
             }
 
-            String hpText = formatHP(currentHP) + " / " + formatHP(phaseMaxHP);
-            int hpTextWidth = textRenderer.width(hpText);
-            context.text(textRenderer, hpText, centerX - hpTextWidth / 2, currentY + 2, 0xFFFFFFFF, true);
+            if (phaseMaxHP != shownMaxHP) {
+                shownMaxHP = phaseMaxHP;
+                text.invalidate();
+            }
+            HudText.Line hpText = text.get(1, Double.doubleToLongBits(currentHP),
+                (slot, bits) -> formatHP(Double.longBitsToDouble(bits)) + " / " + formatHP(phaseMaxHP));
+            HudText.draw(context, textRenderer, hpText, centerX - hpText.width() / 2, currentY + 2, 0xFFFFFFFF, true);
             currentY += barHeight + 2;
 
             if (currentPhaseType != null) {
                 int phaseColor = getPhaseColor(currentPhaseType);
-                String phaseText = currentPhaseType + " x" + phaseCount;
-                int phaseWidth = textRenderer.width(phaseText);
-                context.text(textRenderer, phaseText, centerX - phaseWidth / 2, currentY, phaseColor, true);
+                HudText.Line phaseText = text.get(2, (long) currentPhaseType.hashCode() << 32 | phaseCount,
+                    (slot, key) -> currentPhaseType + " x" + phaseCount);
+                HudText.draw(context, textRenderer, phaseText, centerX - phaseText.width() / 2, currentY, phaseColor, true);
                 currentY += 12;
             }
         }
@@ -339,13 +346,13 @@ public class SlayerHUD {
         if (demonsActive) {
             if (quaziiHP > 0) {
                 drawMinionBar(context, textRenderer, barX, currentY, barWidth, smallBarHeight,
-                    "Quazii", quaziiHP, QUAZII_MAX_HP, 0xFF55FF55); // Green
+                    3, quaziiHP, QUAZII_MAX_HP, 0xFF55FF55); // Green
                 currentY += smallBarHeight + 2;
             }
 
             if (typhoeusHP > 0) {
                 drawMinionBar(context, textRenderer, barX, currentY, barWidth, smallBarHeight,
-                    "Typhoeus", typhoeusHP, TYPHOEUS_MAX_HP, 0xFFFF55FF); // Magenta
+                    4, typhoeusHP, TYPHOEUS_MAX_HP, 0xFFFF55FF); // Magenta
             }
         }
 
@@ -353,7 +360,7 @@ public class SlayerHUD {
     }
 
     private static void drawMinionBar(GuiGraphicsExtractor context, Font textRenderer,
-            int x, int y, int width, int height, String name, double hp, double maxHp, int color) {
+            int x, int y, int width, int height, int slot, double hp, double maxHp, int color) {
         double percent = Math.min(1.0, Math.max(0, hp / maxHp));
         int filledWidth = (int) (width * percent);
 
@@ -363,8 +370,9 @@ public class SlayerHUD {
             drawRoundedRect(context, x, y, filledWidth, height, 2, color);
         }
 
-        String text = name + ": " + formatHP(hp);
-        context.text(textRenderer, text, x + 2, y, 0xFFFFFFFF, true);
+        HudText.Line label = text.get(slot, Double.doubleToLongBits(hp),
+            (s, bits) -> (s == 3 ? "Quazii" : "Typhoeus") + ": " + formatHP(Double.longBitsToDouble(bits)));
+        HudText.draw(context, textRenderer, label, x + 2, y, 0xFFFFFFFF, true);
     }
 
     private static void drawRoundedRect(GuiGraphicsExtractor context, int x, int y, int width, int height, int radius, int color) {
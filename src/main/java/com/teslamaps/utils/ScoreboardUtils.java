@@ -16,6 +16,7 @@
 package com.teslamaps.utils;
 
 import com.teslamaps.TeslaMaps;
+import com.teslamaps.replay.ReplaySources;
 import net.minecraft.client.Minecraft;
 import net.minecraft.world.scores.DisplaySlot;
 import net.minecraft.world.scores.Objective;
@@ -33,6 +34,7 @@ public class ScoreboardUtils {
     private static final Pattern CLEARED_PATTERN = Pattern.compile("Cleared:\\s*(\\d+)%");
 
     public static List<String> getScoreboardLines() {
+        if (ReplaySources.isActive()) return new ArrayList<>(ReplaySources.scoreboardLines());
         List<String> lines = new ArrayList<>();
         Minecraft mc = Minecraft.getInstance();
 
@@ -0,0 +1,31 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.utils;
+
+// Server tick clock: Hypixel sends a ping packet every server tick, so counting distinct ping ids
+// tracks server time independent of client lag.
+public class ServerTicks {
+    private static volatile long ticks = 0L;
+    private static volatile int lastPingId = Integer.MIN_VALUE;
+
+    public static void onPing(int id) {
+        if (id == lastPingId) return;
+        lastPingId = id;
+        ticks++;
+    }
+
+    public static long now() {
+        return ticks;
+    }
+}
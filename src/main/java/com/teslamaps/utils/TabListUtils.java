@@ -15,12 +15,15 @@
  */
 package com.teslamaps.utils;
 
+import com.teslamaps.mixin.PlayerTabOverlayAccessor;
+import com.teslamaps.replay.ReplaySources;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.multiplayer.PlayerInfo;
+import net.minecraft.network.chat.Component;
 
 public class TabListUtils {
     private static final Pattern SECRETS_PERCENT_PATTERN = Pattern.compile("Secrets Found:\\s*(\\d+\\.?\\d*)%");
@@ -35,6 +38,12 @@ public class TabListUtils {
 
     public static List<String> getTabListLines() {
         List<String> lines = new ArrayList<>();
+        if (ReplaySources.isActive()) {
+            for (String line : ReplaySources.tabLines()) {
+                if (!line.isEmpty()) lines.add(line);
+            }
+            return lines;
+        }
         Minecraft mc = Minecraft.getInstance();
 
         if (mc.getConnection() == null) return lines;
@@ -48,6 +57,21 @@ public class TabListUtils {
         return lines;
     }
 
+    /** Display names in tab order, with "" for entries that have none so indices line up with the tab columns. */
+    public static List<String> getOrderedTabListLines() {
+        List<String> lines = new ArrayList<>();
+        Minecraft mc = Minecraft.getInstance();
+        if (mc.getConnection() == null) return lines;
+
+        List<PlayerInfo> entries = new ArrayList<>(mc.getConnection().getOnlinePlayers());
+        entries.sort(PlayerTabOverlayAccessor.getOrdering());
+        for (PlayerInfo entry : entries) {
+            Component name = entry.getTabListDisplayName();
+            lines.add(name != null ? name.getString() : "");
+        }
+        return lines;
+    }
+
     public static double getSecretsPercentage() {
         for (String line : getTabListLines()) {
             String clean = line.replaceAll("§.", "");
@@ -0,0 +1,144 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/** Synthetic room columns (129 legacy ids, like CoreHasher reads) against the banded index. */
+class ColumnIndexTest {
+    private static final int HEIGHT = 129;
+
+    private static byte[] randomColumn(Random random) {
+        byte[] column = new byte[HEIGHT];
+        for (int i = 0; i < HEIGHT; i++) column[i] = (byte) random.nextInt(200);
+        return column;
+    }
+
+    /** Changes exactly {@code n} distinct positions. */
+    private static byte[] mutate(byte[] column, int n, Random random) {
+        byte[] out = column.clone();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < HEIGHT; i++) positions.add(i);
+        Collections.shuffle(positions, random);
+        for (int i = 0; i < n; i++) {
+            int p = positions.get(i);
+            out[p] = (byte) ((out[p] + 1 + random.nextInt(199)) % 200);
+        }
+        return out;
+    }
+
+    @Test
+    void findsEachRoomWithinMaxDistance() {
+        Random random = new Random(47);
+        ColumnIndex index = new ColumnIndex();
+        byte[][] rooms = new byte[150][];
+        for (int id = 0; id < rooms.length; id++) {
+            rooms[id] = randomColumn(random);
+            index.add(1000 + id, id, rooms[id]);
+        }
+        for (int id = 0; id < rooms.length; id++) {
+            for (int changed = 0; changed <= ColumnIndex.MAX_DISTANCE; changed++) {
+                ColumnIndex.Nearest n = index.nearest(mutate(rooms[id], changed, random));
+                assertNotNull(n, "room " + id + " with " + changed + " changed blocks");
+                assertEquals(id, n.roomId());
+                assertEquals(changed, n.distance());
+            }
+            assertNull(index.nearest(mutate(rooms[id], ColumnIndex.MAX_DISTANCE + 3, random)));
+        }
+    }
+
+    @Test
+    void matchesLinearScan() {
+        Random random = new Random(4747);
+        ColumnIndex index = new ColumnIndex();
+        List<byte[]> columns = new ArrayList<>();
+        List<Integer> ids = new ArrayList<>();
+        // families of near-identical columns, so queries land between rooms
+        for (int family = 0; family < 20; family++) {
+            byte[] base = randomColumn(random);
+            for (int member = 0; member < 5; member++) {
+                byte[] column = mutate(base, random.nextInt(10), random);
+                int id = family * 5 + member;
+                if (index.add(id, id, column)) {
+                    columns.add(column);
+                    ids.add(id);
+                }
+            }
+        }
+        for (int q = 0; q < 2000; q++) {
+            byte[] query = mutate(columns.get(random.nextInt(columns.size())), random.nextInt(12), random);
+            int best = Integer.MAX_VALUE;
+            for (byte[] c : columns) best = Math.min(best, ColumnIndex.distance(query, c, Integer.MAX_VALUE));
+            ColumnIndex.Nearest n = index.nearest(query);
+            if (best > ColumnIndex.MAX_DISTANCE) {
+                assertNull(n);
+            } else {
+                assertNotNull(n);
+                assertEquals(best, n.distance());
+                assertEquals(best, ColumnIndex.distance(query, columns.get(ids.indexOf(n.roomId())), Integer.MAX_VALUE));
+            }
+        }
+    }
+
+    @Test
+    void confidenceDropsWhenAnotherRoomIsClose() {
+        Random random = new Random(1);
+        byte[] a = randomColumn(random);
+        byte[] b = mutate(a, 2, random);
+        ColumnIndex index = new ColumnIndex();
+        index.add(1, 10, a);
+        index.add(2, 20, b);
+        // a second core of the same room isn't competition
+        index.add(3, 10, mutate(a, 1, random));
+
+        ColumnIndex.Nearest n = index.nearest(a);
+        assertEquals(10, n.roomId());
+        assertEquals(0, n.distance());
+        assertEquals(2, n.runnerUp());
+        assertEquals(0.5f, n.confidence(), 1e-6);
+
+        ColumnIndex lone = new ColumnIndex();
+        lone.add(1, 10, a);
+        assertEquals(1f, lone.nearest(a).confidence(), 1e-6);
+    }
+
+    @Test
+    void ignoresDuplicateCoresAndOtherHeights() {
+        Random random = new Random(2);
+        byte[] a = randomColumn(random);
+        ColumnIndex index = new ColumnIndex();
+        assertTrue(index.add(5, 1, a));
+        assertFalse(index.add(5, 2, randomColumn(random)));
+        assertEquals(1, index.size());
+        assertNull(index.nearest(Arrays.copyOf(a, HEIGHT - 1)));
+    }
+
+    @Test
+    void packKeepsLegacyIds() {
+        int[] ids = {0, 1, 98, 159, 255};
+        byte[] packed = ColumnIndex.pack(ids);
+        for (int i = 0; i < ids.length; i++) assertEquals(ids[i], packed[i] & 0xFF);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/** Checks each bundle that generateRoomBundle puts in the resources against the JSON it came from. */
+class DataBundleTest {
+
+    private static <T> T json(DataBundle.Source<T> source) throws Exception {
+        try (Reader reader = new InputStreamReader(DataBundleTest.class.getResourceAsStream(source.json), StandardCharsets.UTF_8)) {
+            return source.fromJson(reader);
+        }
+    }
+
+    private static <T> T roundTrip(DataBundle.Source<T> source, T value) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        source.write(value, out);
+        return source.read(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    // arrays and the records holding them compare by identity; turn them into lists so assertEquals sees the values
+    private static Object plain(Object value) {
+        return switch (value) {
+            case int[] a -> Arrays.stream(a).boxed().toList();
+            case double[] a -> Arrays.stream(a).boxed().toList();
+            case List<?> l -> l.stream().map(DataBundleTest::plain).toList();
+            case Map<?, ?> m -> {
+                Map<Object, Object> out = new LinkedHashMap<>();
+                m.forEach((k, v) -> out.put(k, plain(v)));
+                yield List.of(List.copyOf(out.keySet()), out); // keeps file order in the comparison
+            }
+            case DataBundle.SecretRoom r -> List.of(String.valueOf(r.name()), r.roomID(), plain(r.waypoints()));
+            case DataBundle.IceFill i -> List.of(plain(i.identifier()), plain(i.easy()), plain(i.hard()));
+            case DataBundle.PrinceMarkers p -> List.of(plain(p.rooms()), plain(p.modes()));
+            default -> value;
+        };
+    }
+
+    @Test
+    void generatedBundlesMatchJson() throws Exception {
+        for (DataBundle.Source<?> source : DataBundle.SOURCES) {
+            try (InputStream in = DataBundleTest.class.getResourceAsStream(source.bin)) {
+                assertNotNull(in, source.bin + " missing; processResources should have run generateRoomBundle");
+                assertEquals(plain(json(source)), plain(source.read(in)), source.bin);
+            }
+        }
+    }
+
+    @Test
+    void roundTripsEdgeCases() throws Exception {
+        List<DataBundle.SecretRoom> secrets = DataBundle.SECRETS.fromJson(new StringReader("""
+                [{"name": "Full", "roomID": 4, "waypoints": {"chest": [[1, 2, 3], [4, 5]], "bat": [], "odd": null}},
+                 {"roomID": 9},
+                 null]
+                """));
+        assertEquals(2, secrets.size());
+        assertEquals(List.of(List.of(1, 2, 3)), plain(secrets.get(0).waypoints().get("chest")));
+        assertEquals(plain(secrets), plain(roundTrip(DataBundle.SECRETS, secrets)));
+
+        Map<String, Map<String, double[]>> water = DataBundle.WATER_TIMES.fromJson(new StringReader("""
+                {"1": {"012": {"quartz": [0.0, 10.0], "unknownLever": [1.5]}, "013": {}}}
+                """));
+        assertEquals(List.of("1:012", "1:013"), List.copyOf(water.keySet()));
+        assertEquals(plain(water), plain(roundTrip(DataBundle.WATER_TIMES, water)));
+
+        DataBundle.PrinceMarkers prince = DataBundle.PRINCE.fromJson(new StringReader("""
+                {"Supertall": [[49, 142, 45]], "Empty": [], "__modes__": {"Supertall": "corner"}}
+                """));
+        assertEquals(Map.of("Supertall", "corner"), prince.modes());
+        assertEquals(plain(prince), plain(roundTrip(DataBundle.PRINCE, prince)));
+
+        Map<String, List<String>> quiz = new LinkedHashMap<>();
+        quiz.put("Q ✓?", List.of("ⓐ", ""));
+        quiz.put("None?", List.of());
+        assertEquals(quiz, roundTrip(DataBundle.QUIZ_ANSWERS, quiz));
+    }
+
+    @Test
+    void rejectsOtherFiles() throws IOException {
+        ByteArrayOutputStream creeper = new ByteArrayOutputStream();
+        DataBundle.CREEPER_BEAMS.write(new ArrayList<>(List.of(new int[]{1, 2, 3, 4, 5, 6})), creeper);
+        assertThrows(IOException.class, () -> DataBundle.QUIZ_ANSWERS.read(new ByteArrayInputStream(creeper.toByteArray())));
+
+        ByteArrayOutputStream rooms = new ByteArrayOutputStream();
+        RoomBundle.write(List.of(), rooms);
+        assertThrows(IOException.class, () -> DataBundle.CREEPER_BEAMS.read(new ByteArrayInputStream(rooms.toByteArray())));
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.database;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/** Checks the rooms.bin that generateRoomBundle puts in the resources against the rooms.json it came from. */
+class RoomBundleTest {
+
+    private static List<RoomData> json() throws IOException {
+        try (Reader reader = new InputStreamReader(RoomBundleTest.class.getResourceAsStream("/assets/teslamaps/data/rooms.json"),
+                StandardCharsets.UTF_8)) {
+            List<String> warnings = new ArrayList<>();
+            List<RoomData> rooms = RoomBundle.fromJson(reader, warnings::add);
+            assertEquals(List.of(), warnings);
+            return rooms;
+        }
+    }
+
+    private static void assertSameRooms(List<RoomData> expected, List<RoomData> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            RoomData e = expected.get(i), a = actual.get(i);
+            String at = "room " + i + " (" + e.getName() + ")";
+            assertEquals(e.getName(), a.getName(), at);
+            assertEquals(e.getType(), a.getType(), at);
+            assertEquals(e.getSecrets(), a.getSecrets(), at);
+            assertArrayEquals(e.getCores(), a.getCores(), at);
+            assertEquals(e.getRoomID(), a.getRoomID(), at);
+            assertEquals(e.getClear(), a.getClear(), at);
+            assertEquals(e.getCrypts(), a.getCrypts(), at);
+            assertEquals(e.getShape(), a.getShape(), at);
+            assertEquals(e.getDoors(), a.getDoors(), at);
+            assertEquals(e.getPrince(), a.getPrince(), at);
+            assertEquals(e.getClearScore(), a.getClearScore(), at);
+            assertEquals(e.getSecretScore(), a.getSecretScore(), at);
+            assertEquals(e.getRoomScore(), a.getRoomScore(), at);
+        }
+    }
+
+    @Test
+    void generatedBundleMatchesJson() throws IOException {
+        try (InputStream in = RoomBundleTest.class.getResourceAsStream("/assets/teslamaps/data/rooms.bin")) {
+            assertNotNull(in, "rooms.bin missing; processResources should have run generateRoomBundle");
+            assertSameRooms(json(), RoomBundle.read(in));
+        }
+    }
+
+    @Test
+    void roundTripsNullableFields() throws IOException {
+        List<RoomData> rooms = RoomBundle.fromJson(new StringReader("""
+                [{"name": "Full", "type": "normal", "secrets": 3, "cores": [1, -2], "roomID": 7, "clear": "mob", "crypts": 1,
+                  "shape": "L", "doors": "NE", "prince": true, "clearScore": 5, "secretScore": 6, "roomScore": 9},
+                 {"name": "Sparse", "cores": []},
+                 {"name": "Coreless"}]
+                """), msg -> {});
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RoomBundle.write(rooms, out);
+        assertSameRooms(rooms, RoomBundle.read(new ByteArrayInputStream(out.toByteArray())));
+    }
+
+    @Test
+    void skipsRoomsWithoutName() {
+        List<String> warnings = new ArrayList<>();
+        List<RoomData> rooms = RoomBundle.fromJson(new StringReader("""
+                [{"name": "Kept", "roomID": 1}, {"roomID": 2, "secrets": 4}, null, {"name": "Also Kept", "roomID": 3}]
+                """), warnings::add);
+        assertEquals(List.of("Kept", "Also Kept"), rooms.stream().map(RoomData::getName).toList());
+        assertEquals(2, warnings.size());
+    }
+
+    @Test
+    void rejectsOtherFiles() {
+        byte[] notABundle = "[{\"name\": \"x\"}]".getBytes(StandardCharsets.UTF_8);
+        assertThrows(IOException.class, () -> RoomBundle.read(new ByteArrayInputStream(notABundle)));
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.dungeon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/** Feeds move-packet deltas (1/4096 block, as ClientboundMoveEntityPacket carries them) into a path. */
+class BloodMobPathTest {
+    private static final double EPS = 1e-9;
+
+    /** The prediction before the O(1) rewrite: keep every delta and normalize their sum on each packet. */
+    private static double[] summedEndpoint(double sx, double sy, double sz, List<double[]> deltas, double distance) {
+        double x = 0, y = 0, z = 0;
+        for (double[] d : deltas) {
+            x += d[0];
+            y += d[1];
+            z += d[2];
+        }
+        double len = Math.sqrt(x * x + y * y + z * z);
+        if (len < 1.0E-5) return new double[]{sx, sy, sz};
+        return new double[]{sx + x / len * distance, sy + y / len * distance, sz + z / len * distance};
+    }
+
+    @Test
+    void endpointMatchesSummedDeltas() {
+        Random random = new Random(32);
+        for (int run = 0; run < 200; run++) {
+            boolean first = random.nextBoolean();
+            double x = -120 + random.nextInt(64) + 0.5, y = 70, z = -120 + random.nextInt(64) + 0.5;
+            BloodMobPath path = new BloodMobPath(x, y, z, 0, first);
+            List<double[]> deltas = new ArrayList<>();
+            int dirX = random.nextInt(801) - 400, dirY = random.nextInt(41) - 20, dirZ = random.nextInt(801) - 400;
+            long now = 0;
+            for (int packet = 0; packet < 40; packet++) {
+                // packets quantize each step, so the direction wobbles slightly like on the server
+                double[] d = {(dirX + random.nextInt(3) - 1) / 4096.0, (dirY + random.nextInt(3) - 1) / 4096.0,
+                        (dirZ + random.nextInt(3) - 1) / 4096.0};
+                deltas.add(d);
+                x += d[0];
+                y += d[1];
+                z += d[2];
+                now += 50;
+                path.onMove(x, y, z, now);
+
+                double[] expected = summedEndpoint(path.startX, path.startY, path.startZ, deltas,
+                        first ? BloodMobPath.FIRST_WAVE_DISTANCE : BloodMobPath.LATER_WAVE_DISTANCE);
+                assertEquals(expected[0], path.endX, EPS);
+                assertEquals(expected[1], path.endY, EPS);
+                assertEquals(expected[2], path.endZ, EPS);
+                assertEquals(x, path.currX, EPS);
+                assertEquals(z, path.currZ, EPS);
+            }
+        }
+    }
+
+    @Test
+    void endpointIsWaveDistanceAlongHeading() {
+        BloodMobPath path = new BloodMobPath(0, 70, 0, 1000, true);
+        path.onMove(0.3, 70, 0.4, 1100);
+        assertEquals(16.1 * 0.6, path.endX, EPS);
+        assertEquals(70, path.endY, EPS);
+        assertEquals(16.1 * 0.8, path.endZ, EPS);
+
+        BloodMobPath later = new BloodMobPath(0, 70, 0, 1000, false);
+        later.onMove(-2, 70, 0, 1100);
+        assertEquals(-11.9, later.endX, EPS);
+        assertEquals(0, later.endZ, EPS);
+    }
+
+    @Test
+    void speedIsDisplacementOverTime() {
+        BloodMobPath path = new BloodMobPath(10, 70, 10, 1000, true);
+        path.onMove(11, 70, 12, 1250);
+        assertEquals(1.0 / 250, path.speedX, EPS);
+        assertEquals(2.0 / 250, path.speedZ, EPS);
+        assertEquals(1250, path.endUpdated);
+    }
+
+    @Test
+    void keepsPreviousEndpointForInterpolation() {
+        BloodMobPath path = new BloodMobPath(0, 70, 0, 0, false);
+        path.onMove(1, 70, 0, 50);
+        path.onMove(1, 70, 1, 100);
+        assertEquals(11.9, path.lastEndX, EPS);
+        assertEquals(0, path.lastEndZ, EPS);
+        assertEquals(11.9 / Math.sqrt(2), path.endX, EPS);
+        assertEquals(11.9 / Math.sqrt(2), path.endZ, EPS);
+    }
+
+    @Test
+    void timeLeftCountsDownFromFirstSighting() {
+        BloodMobPath first = new BloodMobPath(0, 70, 0, 1000, true);
+        BloodMobPath later = new BloodMobPath(0, 70, 0, 1000, false);
+        assertEquals(2000 + 38 * 50 + 40, first.timeLeft(1000, 38, 40), EPS);
+        assertEquals(38 * 50 + 40, later.timeLeft(1000, 38, 40), EPS);
+
+        // only the clock moves the countdown; packets, and gaps between them, don't
+        long now = 1000;
+        for (int packet = 1; packet <= 30; packet++) {
+            now += 50;
+            if (packet % 4 != 0) first.onMove(0.1 * packet, 70, 0, now);
+            assertEquals(3940 - 50 * packet, first.timeLeft(now, 38, 40), EPS);
+        }
+        assertEquals(-60, later.timeLeft(3000, 38, 40), EPS);
+        assertEquals(35 * 50 + 40 - 150, later.timeLeft(1150, 35, 40), EPS);
+    }
+
+    @Test
+    void timeLeftMatchesWalkToEndpoint() {
+        // a mob walking at the speed that puts it on its endpoint at spawn: the countdown is the distance left over its speed
+        for (boolean firstWave : new boolean[]{true, false}) {
+            double distance = firstWave ? BloodMobPath.FIRST_WAVE_DISTANCE : BloodMobPath.LATER_WAVE_DISTANCE;
+            BloodMobPath path = new BloodMobPath(-100.5, 70, 40.5, 0, firstWave);
+            float total = path.timeLeft(0, 38, 0);
+            double perMs = distance / total;
+            for (long now = 50; now < total; now += 50) {
+                double walked = perMs * now;
+                path.onMove(-100.5 + 0.6 * walked, 70, 40.5 - 0.8 * walked, now);
+                double left = Math.hypot(path.endX - path.currX, path.endZ - path.currZ);
+                double speed = Math.hypot(path.speedX, path.speedZ);
+                assertEquals(path.timeLeft(now, 38, 0), left / speed, 1e-6, "at " + now + " ms");
+            }
+            assertEquals(0, path.timeLeft((long) total, 38, 0), EPS);
+        }
+    }
+
+    @Test
+    void noMovementStaysAtStart() {
+        BloodMobPath path = new BloodMobPath(5, 70, 5, 100, true);
+        path.onMove(5, 70, 5, 100);
+        assertEquals(5, path.endX, EPS);
+        assertEquals(5, path.endZ, EPS);
+        assertEquals(0, path.speedX, EPS);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.dungeon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/** Streams synthetic boss-room particle bursts through the cell table. */
+class DragonSpawnCellsTest {
+    private static final double[][] RANGES = WitherDragons.SPAWN_RANGES;
+
+    private static final DragonSpawnCells CELLS = new DragonSpawnCells(RANGES);
+
+    /** The per-dragon range scan the table replaced. */
+    private static int scan(double x, double y, double z, int count) {
+        if (y != 19.0 || count != 20 || x % 1 != 0.0 || z % 1 != 0.0) return -1;
+        for (int i = 0; i < RANGES.length; i++) {
+            if (x >= RANGES[i][0] && x <= RANGES[i][1] && z >= RANGES[i][2] && z <= RANGES[i][3]) return i;
+        }
+        return -1;
+    }
+
+    @Test
+    void matchesRangeScanOnParticleStream() {
+        Random random = new Random(33);
+        int hits = 0;
+        for (int i = 0; i < 500_000; i++) {
+            // mostly boss-room noise: fractional positions, other heights and burst sizes, some outside the table
+            double x = random.nextInt(140) - 20 + (random.nextBoolean() ? 0 : random.nextDouble());
+            double z = random.nextInt(140) + 20 + (random.nextBoolean() ? 0 : random.nextDouble());
+            double y = random.nextInt(3) == 0 ? 19.0 : 5 + random.nextDouble() * 30;
+            int count = random.nextInt(3) == 0 ? 20 : random.nextInt(40);
+            int expected = scan(x, y, z, count);
+            assertEquals(expected, CELLS.indexAt(x, y, z, count), () -> "particle at " + x + "," + y + "," + z);
+            if (expected >= 0) hits++;
+        }
+        assertTrue(hits > 100, "stream should contain spawn flames");
+    }
+
+    @Test
+    void everySpawnCellMapsToItsDragon() {
+        for (int i = 0; i < RANGES.length; i++) {
+            for (int x = (int) RANGES[i][0]; x <= RANGES[i][1]; x++) {
+                for (int z = (int) RANGES[i][2]; z <= RANGES[i][3]; z++) assertEquals(i, CELLS.indexAt(x, 19, z, 20));
+            }
+        }
+    }
+
+    @Test
+    void rejectsNearMisses() {
+        assertEquals(-1, CELLS.indexAt(27, 19.5, 59, 20));
+        assertEquals(-1, CELLS.indexAt(27, 19, 59, 19));
+        assertEquals(-1, CELLS.indexAt(27.5, 19, 59, 20));
+        assertEquals(-1, CELLS.indexAt(23, 19, 56, 20));   // just west of red
+        assertEquals(-1, CELLS.indexAt(89, 19, 97, 20));   // just east of blue
+        assertEquals(-1, CELLS.indexAt(-500, 19, 59, 20));
+        assertEquals(-1, CELLS.indexAt(500, 19, 59, 20));
+        assertEquals(-1, CELLS.indexAt(56, 19, 500, 20));
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.dungeon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.teslamaps.config.TeslaMapsConfig;
+import com.teslamaps.dungeon.WitherDragons.Dragon;
+import com.teslamaps.dungeon.WitherDragons.SpawnEvent;
+import com.teslamaps.dungeon.WitherDragons.State;
+import java.util.ArrayList;
+import java.util.List;
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Plays a recorded boss-room particle stream through the spawn cells, the countdown and the priority split. */
+class WitherDragonsTest {
+
+    // client tick, x, y, z, burst size: the flame packets that got past the particle type and spread check
+    private static final String STREAM = """
+            0   40.3  18.2  70.9   1
+            3   27    19    59     20
+            5   27.5  19    59     20
+            8   27    19    59     20
+            12  88.6  19    54.1   20
+            20  56    19    125    20
+            25  56    19    125    19
+            26  24    19    56     20
+            40  84    24    94     20
+            110 27    19    59     20
+            """;
+
+    private static final DragonSpawnCells CELLS = new DragonSpawnCells(WitherDragons.SPAWN_RANGES);
+
+    private boolean msg, title, priority;
+
+    /** Delivers each tick's packets through the cell table to the flame hook, then runs that client tick. */
+    private static final class Replay {
+        private final List<double[]> packets = new ArrayList<>();
+        private int next, tick;
+
+        Replay(String stream) {
+            for (String line : stream.strip().split("\n")) {
+                String[] f = line.trim().split("\\s+");
+                double[] packet = new double[f.length];
+                for (int i = 0; i < f.length; i++) packet[i] = Double.parseDouble(f[i]);
+                packets.add(packet);
+            }
+        }
+
+        void runThrough(int lastTick) {
+            for (; tick <= lastTick; tick++) {
+                for (; next < packets.size() && packets.get(next)[0] == tick; next++) {
+                    double[] p = packets.get(next);
+                    int index = CELLS.indexAt(p[1], p[2], p[3], (int) p[4]);
+                    if (index >= 0) WitherDragons.onSpawnFlame(Dragon.values()[index], (int) p[1], (int) p[3], tick);
+                }
+                WitherDragons.tick();
+            }
+        }
+    }
+
+    @BeforeAll
+    static void bootstrap() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+
+    @BeforeEach
+    void enterDragonsPhase() {
+        TeslaMapsConfig c = TeslaMapsConfig.get();
+        msg = c.witherDragonMsg;
+        title = c.witherDragonTitle;
+        priority = c.witherDragonPriority;
+        // chat, titles and the class lookup need a player; the class split is checked through sortPriority below
+        c.witherDragonMsg = false;
+        c.witherDragonTitle = false;
+        c.witherDragonPriority = false;
+        WitherDragons.reset();
+        DungeonManager.beginReplay(DungeonFloor.M7);
+        WitherDragons.onChatMessage("[BOSS] Wither King: You... again?");
+    }
+
+    @AfterEach
+    void leave() {
+        DungeonManager.endReplay();
+        WitherDragons.reset();
+        TeslaMapsConfig c = TeslaMapsConfig.get();
+        c.witherDragonMsg = msg;
+        c.witherDragonTitle = title;
+        c.witherDragonPriority = priority;
+    }
+
+    @Test
+    void countdownAndSplitFollowTheStream() {
+        Replay replay = new Replay(STREAM);
+
+        replay.runThrough(19);
+        assertEquals(State.SPAWNING, Dragon.RED.state);
+        assertEquals(100 - 17, Dragon.RED.timeToSpawn); // first flame on tick 3, counted down on ticks 3..19
+        assertEquals(State.DEAD, Dragon.ORANGE.state);  // tick 12 is off the block grid
+        assertNull(WitherDragons.getPriorityDragon());  // tick 8's repeat flame: one dragon up, nothing to split
+
+        replay.runThrough(20);
+        assertEquals(Dragon.RED, WitherDragons.getPriorityDragon()); // red and purple up; default order takes red
+        assertEquals(99, Dragon.PURPLE.timeToSpawn);
+
+        replay.runThrough(102);
+        assertEquals(State.SPAWNING, Dragon.RED.state);
+        assertEquals(0, Dragon.RED.timeToSpawn);
+        replay.runThrough(103);
+        assertEquals(State.ALIVE, Dragon.RED.state);
+        assertEquals(1, Dragon.RED.timesSpawned);
+        assertEquals(16, Dragon.PURPLE.timeToSpawn);
+
+        replay.runThrough(120);
+        assertEquals(State.ALIVE, Dragon.PURPLE.state);
+        // the burst of 19 on tick 25, the y=24 one on tick 40 and red's flame once alive start nothing
+        assertEquals(List.of(new SpawnEvent(Dragon.RED, 3, 27, 59), new SpawnEvent(Dragon.PURPLE, 20, 56, 125)),
+                WitherDragons.getSpawnEvents());
+        assertEquals(State.DEAD, Dragon.BLUE.state);
+    }
+
+    @Test
+    void classSplitOnTheRecordedPair() {
+        new Replay(STREAM).runThrough(20);
+        List<Dragon> pair = WitherDragons.getSpawnEvents().stream().map(SpawnEvent::dragon).toList();
+        assertEquals(List.of(Dragon.RED, Dragon.PURPLE), pair);
+
+        TeslaMapsConfig c = new TeslaMapsConfig();
+        c.witherDragonNormalPower = 20;
+        c.witherDragonEasyPower = 15;
+        // split power: Berserk and Mage take the front of Odin's list, everyone else the back
+        assertEquals(Dragon.RED, split(pair, 22, "Berserk", c));
+        assertEquals(Dragon.RED, split(pair, 22, "Mage", c));
+        assertEquals(Dragon.PURPLE, split(pair, 22, "Archer", c));
+        assertEquals(Dragon.PURPLE, split(pair, 22, "Tank", c));
+        // with purple up, the healer (and the tank once soloDebuff is 1) flips to the other end of the order
+        assertEquals(Dragon.RED, split(pair, 22, "Healer", c));
+        c.witherDragonSoloDebuff = 1;
+        assertEquals(Dragon.RED, split(pair, 22, "Tank", c));
+        // purple lowers the bar to the easy power; below both, everyone takes the default order
+        assertEquals(Dragon.PURPLE, split(pair, 16, "Archer", c));
+        assertEquals(Dragon.RED, split(pair, 10, "Archer", c));
+    }
+
+    private static Dragon split(List<Dragon> spawning, double power, String playerClass, TeslaMapsConfig c) {
+        return WitherDragons.sortPriority(new ArrayList<>(spawning), power, playerClass, c);
+    }
+}
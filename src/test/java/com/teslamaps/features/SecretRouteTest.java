@@ -0,0 +1,132 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.features;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/** Checks the route orders against hand-solved layouts and a brute force over every visiting order. */
+class SecretRouteTest {
+    private static final double EPS = 1e-9;
+
+    private record Room(double[] fromStart, double[][] dist) {
+        double length(int[] order) {
+            double total = fromStart[order[0]];
+            for (int i = 1; i < order.length; i++) total += dist[order[i - 1]][order[i]];
+            return total;
+        }
+
+        int[] exact() {
+            return SecretRoute.heldKarp(fromStart, dist);
+        }
+
+        int[] greedy() {
+            return SecretRoute.nearestNeighbour(fromStart, dist);
+        }
+    }
+
+    /** Secrets on a line at {@code xs}, starting from x = 0. */
+    private static Room line(double... xs) {
+        int n = xs.length;
+        double[] fromStart = new double[n];
+        double[][] dist = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            fromStart[i] = Math.abs(xs[i]);
+            for (int j = 0; j < n; j++) dist[i][j] = Math.abs(xs[i] - xs[j]);
+        }
+        return new Room(fromStart, dist);
+    }
+
+    private static double bruteForce(Room room, int[] order, int placed, boolean[] used) {
+        if (placed == order.length) return room.length(order);
+        double best = Double.POSITIVE_INFINITY;
+        for (int k = 0; k < order.length; k++) {
+            if (used[k]) continue;
+            used[k] = true;
+            order[placed] = k;
+            best = Math.min(best, bruteForce(room, order, placed + 1, used));
+            used[k] = false;
+        }
+        return best;
+    }
+
+    /** Random points in a 32x32 room with asymmetric costs, like the climb-weighted ones. */
+    private static Room randomRoom(Random random, int n) {
+        double[][] p = new double[n + 1][];
+        for (int i = 0; i <= n; i++) p[i] = new double[]{random.nextInt(32), random.nextInt(4) * 6, random.nextInt(32)};
+        double[] fromStart = new double[n];
+        double[][] dist = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            fromStart[i] = cost(p[n], p[i]);
+            for (int j = 0; j < n; j++) if (i != j) dist[i][j] = cost(p[i], p[j]);
+        }
+        return new Room(fromStart, dist);
+    }
+
+    private static double cost(double[] from, double[] to) {
+        double dx = to[0] - from[0], dy = to[1] - from[1], dz = to[2] - from[2];
+        if (dy > 0) dy *= 2;
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    @Test
+    void lineIsWalkedFromTheNearEnd() {
+        assertArrayEquals(new int[]{1, 2, 0}, line(3, 1, 2).exact());
+    }
+
+    @Test
+    void exactRouteBacktracksWhereGreedyDoesNot() {
+        // greedy takes +1 first and then has to cross the start twice: 1 + 3 + 12 = 16
+        Room room = line(1, -2, 10);
+        assertArrayEquals(new int[]{0, 1, 2}, room.greedy());
+        assertArrayEquals(new int[]{1, 0, 2}, room.exact());
+        assertEquals(16, room.length(room.greedy()), EPS);
+        assertEquals(14, room.length(room.exact()), EPS);
+    }
+
+    @Test
+    void singleSecret() {
+        assertArrayEquals(new int[]{0}, line(5).exact());
+        assertArrayEquals(new int[]{0}, line(5).greedy());
+    }
+
+    @Test
+    void heldKarpMatchesBruteForce() {
+        Random random = new Random(49);
+        for (int run = 0; run < 300; run++) {
+            int n = 1 + random.nextInt(7);
+            Room room = randomRoom(random, n);
+            int[] order = room.exact();
+            assertEquals(n, order.length);
+            boolean[] seen = new boolean[n];
+            for (int i : order) seen[i] = true;
+            for (boolean s : seen) assertTrue(s);
+            assertEquals(bruteForce(room, new int[n], 0, new boolean[n]), room.length(order), EPS);
+        }
+    }
+
+    @Test
+    void exactRouteNeverLosesToGreedyAtTheLimit() {
+        Random random = new Random(12);
+        for (int run = 0; run < 20; run++) {
+            Room room = randomRoom(random, SecretRoute.EXACT_LIMIT);
+            double exact = room.length(room.exact()), greedy = room.length(room.greedy());
+            assertTrue(exact <= greedy + EPS, exact + " > " + greedy);
+        }
+    }
+}
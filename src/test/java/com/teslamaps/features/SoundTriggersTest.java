@@ -0,0 +1,113 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.features;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.teslamaps.config.TeslaMapsConfig.SoundTrigger;
+import java.util.ArrayList;
+import java.util.List;
+import net.minecraft.resources.Identifier;
+import org.junit.jupiter.api.Test;
+
+/** Runs synthetic sound events through {@link SoundTriggers#simulate}. */
+class SoundTriggersTest {
+    private static final Identifier WITHER = Identifier.fromNamespaceAndPath("minecraft", "entity.wither.spawn");
+    private static final Identifier DING = Identifier.fromNamespaceAndPath("minecraft", "entity.experience_orb.pickup");
+
+    private static SoundTrigger rule(String sound) {
+        SoundTrigger t = new SoundTrigger();
+        t.sound = sound;
+        t.debounceMs = 0;
+        return t;
+    }
+
+    private static SoundTriggers.Event event(Identifier sound, float pitch, double x, long timeMs) {
+        return new SoundTriggers.Event(sound, pitch, 1f, x, 70, 0, timeMs);
+    }
+
+    @Test
+    void matchesOnSoundIdAndPitch() {
+        SoundTrigger low = rule("minecraft:entity.wither.spawn");
+        low.maxPitch = 0.9f;
+        SoundTrigger high = rule("entity.wither.spawn");  // namespace defaults to minecraft
+        high.minPitch = 1.1f;
+        List<Integer> fired = SoundTriggers.simulate(List.of(low, high), List.of(
+                event(WITHER, 0.5f, 0, 0),
+                event(WITHER, 1.0f, 0, 10),
+                event(WITHER, 1.5f, 0, 20),
+                event(DING, 0.5f, 0, 30)));
+        assertEquals(List.of(0, 1), fired);
+    }
+
+    @Test
+    void regionIsInclusiveInAnyCornerOrder() {
+        SoundTrigger t = rule("minecraft:entity.experience_orb.pickup");
+        t.region = new double[]{10, 80, 10, -10, 60, -10};
+        List<Integer> fired = SoundTriggers.simulate(List.of(t), List.of(
+                event(DING, 1f, -10, 0),
+                event(DING, 1f, 10, 1),
+                event(DING, 1f, 10.5, 2)));
+        assertEquals(List.of(0, 0), fired);
+    }
+
+    @Test
+    void debounceUsesEventTimestamps() {
+        SoundTrigger t = rule("minecraft:entity.wither.spawn");
+        t.debounceMs = 1000;
+        List<SoundTriggers.Event> events = new ArrayList<>();
+        for (long ms = 0; ms <= 2500; ms += 250) events.add(event(WITHER, 1f, 0, ms));
+        // fires at 0, 1000 and 2000; everything in between is inside the window of the last firing
+        assertEquals(List.of(0, 0, 0), SoundTriggers.simulate(List.of(t), events));
+    }
+
+    @Test
+    void everyMatchingRuleFiresInListOrder() {
+        SoundTrigger a = rule("minecraft:entity.wither.spawn");
+        SoundTrigger off = rule("minecraft:entity.wither.spawn");
+        off.enabled = false;
+        SoundTrigger b = rule("minecraft:entity.wither.spawn");
+        b.text = null;  // matching does not read the text
+        List<SoundTrigger> rules = new ArrayList<>(List.of(a, off, b));
+        rules.add(null);
+        assertEquals(List.of(0, 2), SoundTriggers.simulate(rules, List.of(event(WITHER, 1f, 0, 0))));
+    }
+
+    @Test
+    void simulateHasNoSharedDebounceState() {
+        SoundTrigger t = rule("minecraft:entity.wither.spawn");
+        t.debounceMs = 60_000;
+        List<SoundTriggers.Event> once = List.of(event(WITHER, 1f, 0, 0));
+        assertEquals(List.of(0), SoundTriggers.simulate(List.of(t), once));
+        assertEquals(List.of(0), SoundTriggers.simulate(List.of(t), once));
+    }
+
+    @Test
+    void fingerprintOnlyChangesWithTheRules() {
+        SoundTrigger a = rule("minecraft:entity.wither.spawn");
+        a.region = new double[]{0, 0, 0, 1, 1, 1};
+        SoundTrigger copy = rule("minecraft:entity.wither.spawn");
+        copy.region = new double[]{0, 0, 0, 1, 1, 1};
+        // a config save that left the rules alone reloads equal objects, which must not recompile
+        assertEquals(SoundTriggers.fingerprint(List.of(a)), SoundTriggers.fingerprint(List.of(copy)));
+
+        copy.timerSeconds = 5;
+        assertNotEquals(SoundTriggers.fingerprint(List.of(a)), SoundTriggers.fingerprint(List.of(copy)));
+        copy.timerSeconds = a.timerSeconds;
+        copy.region[4] = 2;
+        assertNotEquals(SoundTriggers.fingerprint(List.of(a)), SoundTriggers.fingerprint(List.of(copy)));
+        assertNotEquals(SoundTriggers.fingerprint(List.of(a)), SoundTriggers.fingerprint(List.of(a, a)));
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.teslamaps.map.RoutePlan.Layout;
+import com.teslamaps.map.RoutePlan.Route;
+import com.teslamaps.scanner.ComponentGrid;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/** Plans hand-built corridors and generated dungeons, a random door tree over 1x1, 1x2, L-shaped and 2x2 rooms. */
+class RoutePlanTest {
+    private static final int N = ComponentGrid.GRID_SIZE;
+
+    /** Mutable builder for a {@link Layout}; cells are packed {@code gx * N + gz} as in the planner. */
+    private static final class Dungeon {
+        final int[] cellRoom = new int[N * N];
+        final byte[] doorRight = new byte[N * N], doorDown = new byte[N * N];
+        final List<RoomType> types = new ArrayList<>();
+        final List<Integer> missing = new ArrayList<>();
+        final List<Boolean> cleared = new ArrayList<>();
+
+        Dungeon() {
+            Arrays.fill(cellRoom, -1);
+        }
+
+        int room(RoomType type, int missingSecrets, int... cells) {
+            int id = types.size();
+            types.add(type);
+            missing.add(missingSecrets);
+            cleared.add(false);
+            for (int c : cells) cellRoom[c] = id;
+            return id;
+        }
+
+        void door(int a, int b, DoorType type) {
+            int lo = Math.min(a, b), hi = Math.max(a, b);
+            if (hi - lo == N) doorRight[lo] = (byte) type.ordinal();
+            else doorDown[lo] = (byte) type.ordinal();
+        }
+
+        Layout layout(int entrance, String... players) {
+            int n = types.size();
+            int[] missingSecrets = new int[n];
+            boolean[] clearedRooms = new boolean[n];
+            for (int i = 0; i < n; i++) {
+                missingSecrets[i] = missing.get(i);
+                clearedRooms[i] = cleared.get(i);
+            }
+            String[] classes = new String[players.length];
+            Arrays.fill(classes, "Mage");
+            return new Layout(cellRoom, doorRight, doorDown, types.toArray(new RoomType[0]), missingSecrets,
+                    clearedRooms, entrance, players, classes);
+        }
+    }
+
+    private static int cell(int gx, int gz) {
+        return gx * N + gz;
+    }
+
+    @Test
+    void corridorIsSplitInHalfWithBloodLast() {
+        // entrance - A - B - C - D - blood along the top row
+        Dungeon d = new Dungeon();
+        int entrance = d.room(RoomType.ENTRANCE, 0, cell(0, 0));
+        for (int x = 1; x <= 4; x++) d.room(RoomType.NORMAL, 0, cell(x, 0));
+        d.room(RoomType.BLOOD, 0, cell(5, 0));
+        for (int x = 0; x < 5; x++) d.door(cell(x, 0), cell(x + 1, 0), x == 4 ? DoorType.BLOOD : DoorType.NORMAL);
+
+        List<Route> routes = RoutePlan.plan(d.layout(entrance, "first", "second"));
+        assertEquals(2, routes.size());
+        assertEquals("first", routes.get(0).player());
+        assertEquals("second", routes.get(1).player());
+        assertArrayEquals(new int[]{cell(1, 0), cell(2, 0)}, routes.get(0).cells());
+        assertArrayEquals(new int[]{cell(3, 0), cell(4, 0), cell(5, 0)}, routes.get(1).cells());
+    }
+
+    @Test
+    void branchBehindWitherDoorComesAfterTheOpenOne() {
+        // entrance in the middle of the top row, a wither door to the left and a normal door to the right
+        Dungeon d = new Dungeon();
+        d.room(RoomType.NORMAL, 0, cell(0, 0));
+        int entrance = d.room(RoomType.ENTRANCE, 0, cell(1, 0));
+        d.room(RoomType.NORMAL, 0, cell(2, 0));
+        d.door(cell(0, 0), cell(1, 0), DoorType.WITHER);
+        d.door(cell(1, 0), cell(2, 0), DoorType.NORMAL);
+
+        List<Route> routes = RoutePlan.plan(d.layout(entrance, "solo"));
+        assertEquals(1, routes.size());
+        assertArrayEquals(new int[]{cell(2, 0), cell(1, 0), cell(0, 0)}, routes.get(0).cells());
+    }
+
+    @Test
+    void clearedRoomsWithoutSecretsDropOut() {
+        Dungeon d = new Dungeon();
+        int entrance = d.room(RoomType.ENTRANCE, 0, cell(0, 0));
+        d.room(RoomType.NORMAL, 0, cell(1, 0));
+        d.room(RoomType.NORMAL, 2, cell(2, 0));
+        d.door(cell(0, 0), cell(1, 0), DoorType.NORMAL);
+        d.door(cell(1, 0), cell(2, 0), DoorType.NORMAL);
+        d.cleared.set(1, true);
+        d.cleared.set(2, true);
+
+        List<Route> routes = RoutePlan.plan(d.layout(entrance, "solo"));
+        assertArrayEquals(new int[]{cell(2, 0)}, routes.get(0).cells());
+    }
+
+    @Test
+    void lShapedRoomIsWalkedRoundItsCorner() {
+        // the L's doors sit on diagonal cells, so the route steps through the corner cell between them
+        Dungeon d = new Dungeon();
+        int entrance = d.room(RoomType.ENTRANCE, 0, cell(0, 0));
+        d.room(RoomType.NORMAL, 0, cell(1, 0), cell(1, 1), cell(2, 1));
+        d.room(RoomType.NORMAL, 0, cell(3, 1));
+        d.door(cell(0, 0), cell(1, 0), DoorType.NORMAL);
+        d.door(cell(2, 1), cell(3, 1), DoorType.NORMAL);
+
+        List<Route> routes = RoutePlan.plan(d.layout(entrance, "solo"));
+        assertArrayEquals(new int[]{cell(1, 0), cell(1, 1), cell(2, 1), cell(3, 1)}, routes.get(0).cells());
+    }
+
+    /** Room shapes as grid offsets from their first cell in scan order: 2x2, the three L's, 1x2 either way. */
+    private static final int[][][] SHAPES = {
+            {{0, 0}, {1, 0}, {0, 1}, {1, 1}},
+            {{0, 0}, {1, 0}, {0, 1}},
+            {{0, 0}, {1, 0}, {1, 1}},
+            {{0, 0}, {0, 1}, {1, 1}},
+            {{0, 0}, {0, 1}},
+            {{0, 0}, {1, 0}},
+    };
+
+    /** A random door tree over the whole grid, with rooms of every {@link #SHAPES shape} and a blood room at a leaf. */
+    private static Dungeon generate(Random random, int[] entranceOut) {
+        Dungeon d = new Dungeon();
+        RoomType[] kinds = {RoomType.NORMAL, RoomType.NORMAL, RoomType.NORMAL, RoomType.PUZZLE, RoomType.TRAP,
+                RoomType.YELLOW, RoomType.FAIRY};
+        for (int c = 0; c < N * N; c++) {
+            if (d.cellRoom[c] >= 0) continue;
+            int gx = c / N, gz = c % N;
+            RoomType type = kinds[random.nextInt(kinds.length)];
+            int secrets = type == RoomType.FAIRY ? 0 : random.nextInt(6);
+            int[] cells = {c};
+            if (random.nextInt(2) == 0) {
+                int[][] shape = SHAPES[random.nextInt(SHAPES.length)];
+                int[] fit = new int[shape.length];
+                for (int k = 0; k < shape.length && fit != null; k++) {
+                    int x = gx + shape[k][0], z = gz + shape[k][1];
+                    if (x >= N || z >= N || d.cellRoom[cell(x, z)] >= 0) fit = null;
+                    else fit[k] = cell(x, z);
+                }
+                if (fit != null) cells = fit;
+            }
+            d.room(type, secrets, cells);
+        }
+        int n = d.types.size();
+        for (int i = 0; i < n; i++) d.cleared.set(i, random.nextInt(4) == 0);
+
+        // randomized Prim over cell edges between different rooms
+        int entrance = d.cellRoom[random.nextInt(N * N)];
+        d.types.set(entrance, RoomType.ENTRANCE);
+        d.missing.set(entrance, 0);
+        boolean[] connected = new boolean[n];
+        connected[entrance] = true;
+        int[] degree = new int[n];
+        for (int joined = 1; joined < n; joined++) {
+            List<int[]> frontier = new ArrayList<>();
+            for (int c = 0; c < N * N; c++) {
+                int gx = c / N, gz = c % N;
+                if (gx + 1 < N && connected[d.cellRoom[c]] != connected[d.cellRoom[c + N]]) frontier.add(new int[]{c, c + N});
+                if (gz + 1 < N && connected[d.cellRoom[c]] != connected[d.cellRoom[c + 1]]) frontier.add(new int[]{c, c + 1});
+            }
+            int[] edge = frontier.get(random.nextInt(frontier.size()));
+            d.door(edge[0], edge[1], random.nextInt(5) == 0 ? DoorType.WITHER : DoorType.NORMAL);
+            connected[d.cellRoom[edge[0]]] = connected[d.cellRoom[edge[1]]] = true;
+            degree[d.cellRoom[edge[0]]]++;
+            degree[d.cellRoom[edge[1]]]++;
+        }
+        for (int i = 0; i < n; i++) {
+            if (i != entrance && degree[i] == 1) {
+                d.types.set(i, RoomType.BLOOD);
+                d.missing.set(i, 0);
+                d.cleared.set(i, false);
+                break;
+            }
+        }
+        entranceOut[0] = entrance;
+        return d;
+    }
+
+    private static boolean hasDoor(Dungeon d, int a, int b) {
+        int lo = Math.min(a, b), hi = Math.max(a, b);
+        if (hi - lo == N) return d.doorRight[lo] != DoorType.NONE.ordinal();
+        return hi - lo == 1 && lo % N != N - 1 && d.doorDown[lo] != DoorType.NONE.ordinal();
+    }
+
+    @Test
+    void generatedLayoutsAreCoveredByConnectedShares() {
+        Random random = new Random(50);
+        String[] party = {"a", "b", "c", "d", "e"};
+        for (int run = 0; run < 500; run++) {
+            int[] entrance = new int[1];
+            Dungeon d = generate(random, entrance);
+            String[] players = Arrays.copyOf(party, 1 + random.nextInt(party.length));
+            List<Route> routes = RoutePlan.plan(d.layout(entrance[0], players));
+            assertTrue(routes.size() <= players.length);
+
+            int n = d.types.size(), blood = d.types.indexOf(RoomType.BLOOD);
+            boolean[] visited = new boolean[n];
+            for (int i = 0; i < routes.size(); i++) {
+                Route route = routes.get(i);
+                assertEquals(players[i], route.player(), "shares go out in party order");
+                int[] cells = route.cells();
+                assertTrue(cells.length > 0);
+                for (int j = 0; j < cells.length; j++) {
+                    visited[d.cellRoom[cells[j]]] = true;
+                    if (j == 0) continue;
+                    int a = cells[j - 1], b = cells[j];
+                    // each step goes to a neighbouring cell, either through a door or within one room
+                    assertEquals(1, Math.abs(a / N - b / N) + Math.abs(a % N - b % N), "run " + run + " step " + a + "->" + b);
+                    assertTrue(d.cellRoom[a] == d.cellRoom[b] || hasDoor(d, a, b), "run " + run + " step " + a + "->" + b);
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                boolean work = i == blood || (!d.cleared.get(i) && d.types.get(i) != RoomType.ENTRANCE
+                        && d.types.get(i) != RoomType.FAIRY) || d.missing.get(i) > 0;
+                if (work) assertTrue(visited[i], "run " + run + " skipped room " + i + " " + d.types.get(i));
+            }
+            if (blood >= 0) {
+                int[] last = routes.get(routes.size() - 1).cells();
+                assertEquals(blood, d.cellRoom[last[last.length - 1]], "blood ends the last share");
+            }
+        }
+    }
+}
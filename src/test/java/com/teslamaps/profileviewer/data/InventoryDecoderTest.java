@@ -0,0 +1,101 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.profileviewer.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import net.minecraft.SharedConstants;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.core.component.DataComponents;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.component.CustomData;
+import net.minecraft.world.item.component.ItemLore;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Decodes src/test/resources/profileviewer/inventory.b64, a 1.8-format blob shaped like the profile API's
+ * {@code inv_contents.data}: a Hyperion with lore and ExtraAttributes, an empty slot, 16 ender pearls and a
+ * numeric id no fixer knows.
+ */
+class InventoryDecoderTest {
+    private static List<ItemStack> items;
+
+    @BeforeAll
+    static void decodeSample() throws IOException {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+        String base64;
+        try (InputStream in = InventoryDecoderTest.class.getResourceAsStream("/profileviewer/inventory.b64")) {
+            base64 = new String(in.readAllBytes(), StandardCharsets.US_ASCII).trim();
+        }
+        items = InventoryDecoder.decode(base64, RegistryAccess.fromRegistryOfRegistries(BuiltInRegistries.REGISTRY));
+    }
+
+    private static CompoundTag customData(ItemStack stack) {
+        CustomData data = stack.get(DataComponents.CUSTOM_DATA);
+        assertNotNull(data);
+        return data.copyTag();
+    }
+
+    @Test
+    void keepsSlotOrderAndEmptySlots() {
+        assertEquals(4, items.size());
+        assertSame(ItemStack.EMPTY, items.get(1));
+    }
+
+    @Test
+    void upgradesLegacyStacks() {
+        ItemStack sword = items.get(0);
+        assertTrue(sword.is(Items.IRON_SWORD));
+        assertEquals("§dHeroic Hyperion §6✪✪✪✪✪", sword.getHoverName().getString());
+        ItemLore lore = sword.get(DataComponents.LORE);
+        assertNotNull(lore);
+        assertEquals("§7Gear Score: §d1247", lore.lines().get(0).getString());
+
+        ItemStack pearls = items.get(2);
+        assertTrue(pearls.is(Items.ENDER_PEARL));
+        assertEquals(16, pearls.getCount());
+    }
+
+    @Test
+    void flattensExtraAttributes() {
+        CompoundTag tag = customData(items.get(0));
+        assertEquals("HYPERION", tag.getStringOr("id", ""));
+        assertEquals("heroic", tag.getStringOr("modifier", ""));
+        assertEquals(5, tag.getIntOr("dungeon_item_level", 0));
+        assertTrue(tag.getCompoundOrEmpty("ExtraAttributes").isEmpty());
+    }
+
+    @Test
+    void unknownItemBecomesNamedPaper() {
+        ItemStack stack = items.get(3);
+        assertTrue(stack.is(Items.PAPER));
+        assertEquals(3, stack.getCount());
+        assertEquals("§aMystery Item", stack.getHoverName().getString());
+        assertEquals("§7Not a vanilla item", stack.get(DataComponents.LORE).lines().get(0).getString());
+        assertEquals("MYSTERY", customData(stack).getStringOr("id", ""));
+    }
+}
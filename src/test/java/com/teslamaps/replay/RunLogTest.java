@@ -0,0 +1,152 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.replay;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+
+/** Replays the fixture logs in src/test/resources/replay event by event, the way RunReplayer reads them. */
+class RunLogTest {
+
+    private record Event(int type, long timeMs, String payload) {}
+
+    private static List<Event> replay(String fixture) throws IOException {
+        try (InputStream in = new GZIPInputStream(RunLogTest.class.getResourceAsStream("/replay/" + fixture))) {
+            return replay(new RunLog.Reader(in));
+        }
+    }
+
+    private static List<Event> replay(RunLog.Reader reader) throws IOException {
+        List<Event> events = new ArrayList<>();
+        int type;
+        while ((type = reader.next()) != RunLog.RUN_END) {
+            events.add(new Event(type, reader.timeMs(), payload(type, reader)));
+        }
+        return events;
+    }
+
+    private static String payload(int type, RunLog.Reader r) throws IOException {
+        return switch (type) {
+            case RunLog.RUN_START -> r.readString() + " " + r.readVarLong() + " " + (r.version() >= 2 ? r.readString() : "-");
+            case RunLog.PLAYER -> r.readByte() + " " + r.readString();
+            case RunLog.POSITION -> r.readByte() + " " + r.readZigZag() + " " + r.readZigZag() + " " + r.readZigZag();
+            case RunLog.MAP_DIFF -> {
+                StringBuilder sb = new StringBuilder();
+                int count = r.readVarInt(), index = 0;
+                for (int i = 0; i < count; i++) {
+                    index += r.readVarInt();
+                    sb.append(index).append('=').append(r.readByte()).append(' ');
+                }
+                yield sb.toString().trim();
+            }
+            case RunLog.COLUMN -> {
+                StringBuilder sb = new StringBuilder(r.readByte() + "," + r.readByte() + " " + r.readZigZag());
+                int n = r.readVarInt();
+                for (int i = 0; i < n; i++) sb.append(' ').append(r.readByte());
+                yield sb.toString();
+            }
+            case RunLog.ROOM -> r.readByte() + "," + r.readByte() + " " + r.readZigZag() + " " + r.readString() + " " + (r.readVarInt() - 1);
+            case RunLog.SCOREBOARD, RunLog.TAB -> {
+                StringBuilder sb = new StringBuilder(r.readVarInt() + ":");
+                int changed = r.readVarInt();
+                for (int i = 0; i < changed; i++) sb.append(' ').append(r.readVarInt()).append('=').append(r.readString());
+                yield sb.toString();
+            }
+            case RunLog.CHECKMARK -> r.readByte() + "," + r.readByte() + " " + r.readByte();
+            case RunLog.CHAT, RunLog.ACTION_BAR -> r.readString();
+            default -> throw new IOException("Unknown event type " + type);
+        };
+    }
+
+    private static final String ENTRANCE = "[BOSS] The Watcher: Congratulations, you made it through the Entrance.";
+
+    private static List<Event> expected(String start) {
+        return List.of(
+                new Event(RunLog.RUN_START, 0, start),
+                new Event(RunLog.PLAYER, 0, "0 Teslanator20"),
+                new Event(RunLog.POSITION, 50, "0 -5920 2240 -5440"),
+                new Event(RunLog.MAP_DIFF, 100, "5=18 15=30"),
+                new Event(RunLog.COLUMN, 200, "0,1 -12345 1 98 159"),
+                new Event(RunLog.ROOM, 200, "0,1 -12345 Cathedral 1"),
+                new Event(RunLog.SCOREBOARD, 450, "2: 0=Cleared: 12% 1=Secrets Found: 3"),
+                new Event(RunLog.ACTION_BAR, 850, "3/5 Secrets"),
+                new Event(RunLog.CHAT, 1000, ENTRANCE),
+                new Event(RunLog.CHAT, 1050, ENTRANCE),  // second occurrence is an interned string reference
+                new Event(RunLog.CHECKMARK, 2050, "0,1 3"));
+    }
+
+    @Test
+    void replaysCurrentFixture() throws IOException {
+        assertEquals(expected("F7 1767225600000 Teslanator20"), replay("run-v2.tmrun"));
+    }
+
+    @Test
+    void replaysVersionOneFixtureWithoutLocalPlayer() throws IOException {
+        assertEquals(expected("F7 1767225600000 -"), replay("run-v1.tmrun"));
+    }
+
+    @Test
+    void writerOutputReadsBack() throws IOException {
+        RunLog.Writer writer = new RunLog.Writer(1 << 20);
+        writer.writeByte(RunLog.RUN_START);
+        writer.writeVarInt(0);
+        writer.writeString("M7");
+        writer.writeVarLong(Long.MAX_VALUE);
+        writer.writeString("");
+        writer.writeByte(RunLog.POSITION);
+        writer.writeVarInt(Integer.MAX_VALUE);
+        writer.writeByte(4);
+        writer.writeZigZag(Integer.MIN_VALUE);
+        writer.writeZigZag(-1);
+        writer.writeZigZag(Integer.MAX_VALUE);
+        writer.writeByte(RunLog.RUN_END);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RunLog.Writer.writeHeader(out);
+        out.write(writer.toByteArray());
+        List<Event> events = replay(new RunLog.Reader(new ByteArrayInputStream(out.toByteArray())));
+        assertEquals(List.of(
+                new Event(RunLog.RUN_START, 0, "M7 " + Long.MAX_VALUE + " "),
+                new Event(RunLog.POSITION, Integer.MAX_VALUE, "4 " + Integer.MIN_VALUE + " -1 " + Integer.MAX_VALUE)), events);
+    }
+
+    @Test
+    void writerSpansChunks() {
+        RunLog.Writer writer = new RunLog.Writer(1 << 20);
+        byte[] expected = new byte[200_000];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = (byte) (i * 31);
+            writer.writeByte(expected[i]);
+        }
+        assertArrayEquals(expected, writer.toByteArray());
+    }
+
+    @Test
+    void rejectsUnknownVersions() {
+        byte[] future = {'T', 'M', 'R', 'N', RunLog.VERSION + 1};
+        assertThrows(IOException.class, () -> new RunLog.Reader(new ByteArrayInputStream(future)));
+        byte[] notALog = {'N', 'O', 'P', 'E', 1};
+        assertThrows(IOException.class, () -> new RunLog.Reader(new ByteArrayInputStream(notALog)));
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.replay;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.teslamaps.database.RoomDatabase;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Replays the fixture logs through the scanner stack. run-f1.tmrun is a short F1 clear (Entrance, Cages, Dueces
+ * and Blood, Watcher done) whose columns hash to cores from rooms.json; run-v2.tmrun is RunLogTest's format
+ * fixture, whose made-up core and room must show up as mismatches.
+ */
+class RunReplayerTest {
+
+    @BeforeAll
+    static void loadRooms() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+        RoomDatabase.getInstance().load().join();
+    }
+
+    private static RunReplayer.Result replay(String fixture) throws IOException {
+        try (InputStream in = RunReplayerTest.class.getResourceAsStream("/replay/" + fixture)) {
+            RunReplayer.Result result = RunReplayer.replay(in);
+            System.out.printf("%s: %d events, %d ticks in %.1f ms (%.0f events/s), %s%n", fixture, result.events, result.ticks,
+                    result.nanos / 1e6, result.eventsPerSecond(),
+                    result.allocatedBytes < 0 ? "allocation unavailable" : String.format("%.0f B/event", result.bytesPerEvent()));
+            return result;
+        }
+    }
+
+    @Test
+    void f1ClearRebuildsTheMap() throws IOException {
+        RunReplayer.Result result = replay("run-f1.tmrun");
+        assertEquals("F1", result.floor);
+        assertEquals(54, result.events);
+        assertEquals(4, result.columns);
+        assertEquals(0, result.coreMismatches);
+        assertEquals(0, result.roomMismatches);
+        assertEquals(4, result.rooms);
+        assertEquals(4, result.identifiedRooms);
+        // Dueces: the scoreboard's +1 lands on top of the action bar's 1/3, and the next action bar brings it back down
+        assertEquals(List.of(
+                "0,0 Entrance GREEN 0/0",
+                "0,1 Blood NONE 0/0",
+                "1,0 Cages GREEN 2/2",
+                "1,1 Dueces WHITE 1/3"), result.roomStates);
+        assertEquals(4, result.checkmarksCompared);
+        assertEquals(0, result.checkmarkMismatches);
+        assertEquals(3, result.secretsFound);
+    }
+
+    @Test
+    void f1ClearScoresAndSplits() throws IOException {
+        RunReplayer.Result result = replay("run-f1.tmrun");
+        // 100 time + 60 rooms (3 of 4 done, blood counted) + 40 secrets (60% against F1's 30%) + 100 skill + 3 crypts
+        assertEquals(303, result.score);
+        assertEquals(List.of("Blood Open 0ms", "Blood Clear 12000ms", "Portal Entry 37000ms", "Bonzo's Sike -", "Cleared -", "Total -"),
+                result.splits);
+    }
+
+    @Test
+    void formatFixtureFlagsItsMadeUpCore() throws IOException {
+        RunReplayer.Result result = replay("run-v2.tmrun");
+        assertEquals("F7", result.floor);
+        assertEquals(11, result.events);
+        assertEquals(1, result.columns);
+        assertEquals(1, result.coreMismatches);
+        assertEquals(1, result.roomMismatches);
+        assertEquals(List.of("0,1 Unknown UNEXPLORED 0/0"), result.roomStates);
+        assertEquals(1, result.checkmarksCompared);
+        assertEquals(1, result.checkmarkMismatches);
+        assertEquals(3, result.secretsFound);  // the first scoreboard reading, taken as is
+        // 100 time + 20 skill: no cleared rooms, no secrets percentage on the tab list
+        assertEquals(120, result.score);
+    }
+
+    @Test
+    void replaysLeaveNoStateBehind() throws IOException {
+        RunReplayer.Result first = replay("run-f1.tmrun");
+        replay("run-v2.tmrun");
+        RunReplayer.Result again = replay("run-f1.tmrun");
+        assertEquals(first.roomStates, again.roomStates);
+        assertEquals(first.secretsFound, again.secretsFound);
+        assertEquals(first.score, again.score);
+        assertEquals(first.splits, again.splits);
+    }
+}
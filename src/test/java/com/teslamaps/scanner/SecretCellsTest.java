@@ -0,0 +1,108 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.scanner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/** Secret positions fed into a room's spatial hash, then matched against event positions as SecretEvents does. */
+class SecretCellsTest {
+    private enum Type { ITEM, CHEST, BAT, ESSENCE }
+
+    private static SecretCells.Secret<Type> find(SecretCells<Type> cells, double x, double y, double z, Type type, double radius) {
+        return cells.nearest(x, y, z, type, radius);
+    }
+
+    @Test
+    void matchesEventToSecretOfItsType() {
+        SecretCells<Type> cells = new SecretCells<>();
+        cells.add(-150, 70, -120, Type.CHEST);
+        cells.add(-148, 70, -120, Type.ITEM);
+        // item entity picked up right next to the chest: the chest is nearer but only items match
+        SecretCells.Secret<Type> s = find(cells, -149.6, 70.1, -119.5, Type.ITEM, 3);
+        assertEquals(-148, s.x());
+        assertSame(Type.ITEM, s.type());
+        assertEquals(-150, find(cells, -149.5, 70.5, -119.5, Type.CHEST, 1.5).x());
+        assertNull(find(cells, -149.5, 70.5, -119.5, Type.BAT, 10));
+    }
+
+    @Test
+    void picksNearestWithinRadius() {
+        SecretCells<Type> cells = new SecretCells<>();
+        cells.add(-100, 80, -100, Type.BAT);
+        cells.add(-92, 80, -100, Type.BAT);
+        assertEquals(-92, find(cells, -95, 82, -100, Type.BAT, 10).x());
+        assertEquals(-100, find(cells, -97, 78, -101, Type.BAT, 10).x());
+        // block centre is 3.5 away on x: inside 3.5, outside 3.4
+        assertEquals(-100, find(cells, -103, 80.5, -99.5, Type.BAT, 3.5).x());
+        assertNull(find(cells, -103, 80.5, -99.5, Type.BAT, 3.4));
+    }
+
+    @Test
+    void searchesAcrossCellBoundaries() {
+        SecretCells<Type> cells = new SecretCells<>();
+        // x -1 and -4 sit in cell -1, x 0 in cell 0; y 63 and 64 straddle a boundary too
+        cells.add(-1, 63, 3, Type.ESSENCE);
+        cells.add(0, 64, 4, Type.ESSENCE);
+        assertEquals(-1, find(cells, -0.5, 63.5, 3.5, Type.ESSENCE, 1).x());
+        assertEquals(0, find(cells, 0.5, 64.5, 4.5, Type.ESSENCE, 1).x());
+        assertEquals(-1, find(cells, 0.2, 63.5, 3.5, Type.ESSENCE, 1).x());
+    }
+
+    @Test
+    void agreesWithLinearScan() {
+        Random random = new Random(48);
+        Type[] types = Type.values();
+        for (int room = 0; room < 50; room++) {
+            SecretCells<Type> cells = new SecretCells<>();
+            List<int[]> secrets = new ArrayList<>();
+            int ox = -200 + random.nextInt(6) * 32, oz = -200 + random.nextInt(6) * 32;
+            for (int i = 0; i < 12; i++) {
+                int[] p = {ox + random.nextInt(31), 60 + random.nextInt(40), oz + random.nextInt(31), random.nextInt(types.length)};
+                secrets.add(p);
+                cells.add(p[0], p[1], p[2], types[p[3]]);
+            }
+            for (int e = 0; e < 500; e++) {
+                double x = ox + random.nextDouble() * 31, y = 60 + random.nextDouble() * 40, z = oz + random.nextDouble() * 31;
+                Type type = types[random.nextInt(types.length)];
+                double radius = 1 + random.nextDouble() * 10;
+                double bestSq = radius * radius;
+                int[] best = null;
+                for (int[] p : secrets) {
+                    if (types[p[3]] != type) continue;
+                    double dx = p[0] + 0.5 - x, dy = p[1] + 0.5 - y, dz = p[2] + 0.5 - z;
+                    double d = dx * dx + dy * dy + dz * dz;
+                    if (d <= bestSq) {
+                        bestSq = d;
+                        best = p;
+                    }
+                }
+                SecretCells.Secret<Type> s = find(cells, x, y, z, type, radius);
+                if (best == null) {
+                    assertNull(s);
+                } else {
+                    assertEquals(best[0], s.x());
+                    assertEquals(best[1], s.y());
+                    assertEquals(best[2], s.z());
+                }
+            }
+        }
+    }
+}
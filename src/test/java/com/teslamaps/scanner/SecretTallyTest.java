@@ -0,0 +1,82 @@
+/*
+ * This file is part of TeslaMaps.
+ *
+ * TeslaMaps is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version. TeslaMaps is distributed WITHOUT ANY WARRANTY; see the GNU General
+ * Public License for more details.
+ *
+ * Copyright (c) 2026 Teslanator20.
+ *
+ * See the LICENSE file in the project root for full terms.
+ */
+package com.teslamaps.scanner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class SecretTallyTest {
+
+    @Test
+    void eventsCountAtOnceAndScoreboardSettlesThem() {
+        SecretTally tally = new SecretTally();
+        assertEquals(0, tally.onScoreboard(4, 0));
+        tally.onEvent(1000);
+        tally.onEvent(1200);
+        assertEquals(6, tally.total(1200));
+        // the scoreboard catches up one secret at a time within the timeout
+        assertEquals(0, tally.onScoreboard(5, 2500));
+        assertEquals(6, tally.total(2500));
+        assertEquals(0, tally.onScoreboard(6, 4000));
+        assertEquals(6, tally.total(60_000));
+    }
+
+    @Test
+    void secretsWithoutAnEventAreReturnedForTheRoom() {
+        SecretTally tally = new SecretTally();
+        tally.onScoreboard(0, 0);
+        tally.onEvent(100);
+        // one secret seen as an event, two the scoreboard found on its own (e.g. a lever or a teammate far away)
+        assertEquals(2, tally.onScoreboard(3, 600));
+        assertEquals(3, tally.total(600));
+        assertEquals(0, tally.onScoreboard(3, 1100));
+    }
+
+    @Test
+    void scoreboardIsAuthoritativeOnResetAndFirstRead() {
+        SecretTally tally = new SecretTally();
+        tally.onEvent(0);
+        assertEquals(1, tally.total(0));
+        assertEquals(0, tally.onScoreboard(7, 500));
+        assertEquals(7, tally.total(500));
+        tally.onEvent(800);
+        // a lower reading is a new run; nothing pending carries over
+        assertEquals(0, tally.onScoreboard(0, 1000));
+        assertEquals(0, tally.total(1000));
+    }
+
+    @Test
+    void unmatchedEventExpiresWithoutAbsorbingLaterSecrets() {
+        SecretTally tally = new SecretTally();
+        tally.onScoreboard(2, 0);
+        // a bat dies next to the player but wasn't the secret bat: the scoreboard never moves for it
+        tally.onEvent(1000);
+        assertEquals(3, tally.total(1000));
+        assertEquals(0, tally.onScoreboard(2, 1000 + SecretTally.PENDING_TIMEOUT));
+        assertEquals(3, tally.total(1000 + SecretTally.PENDING_TIMEOUT));
+        assertEquals(2, tally.total(1001 + SecretTally.PENDING_TIMEOUT));
+
+        // the next real secret isn't swallowed by the stale event: the room gets it and the total stays exact
+        assertEquals(1, tally.onScoreboard(3, 20_000));
+        assertEquals(3, tally.total(20_000));
+
+        // a fresh event still settles a scoreboard increase that arrives inside the window
+        tally.onEvent(30_000);
+        tally.onEvent(30_050);
+        assertEquals(5, tally.total(30_100));
+        assertEquals(0, tally.onScoreboard(5, 31_500));
+        assertEquals(5, tally.total(40_000));
+    }
+}